@@ -0,0 +1,62 @@
+package au.com.paulmurphy.generators.http;
+
+import net.java.quickcheck.collection.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link HeaderGenerator#next()}.
+ *
+ * @author Paul Murphy
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderGeneratorBenchmark {
+
+    private HeaderGenerator generator;
+
+    @SuppressWarnings("unchecked")
+    private final Pair<String, String>[] batch = new Pair[1024];
+
+    @Setup
+    public void setUp() {
+        generator = new HeaderGenerator();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Pair<String, String> singleThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Pair<String, String> multiThreaded() {
+        return generator.next();
+    }
+
+    /**
+     * Each operation fills 1024 values.
+     */
+    @Benchmark
+    @Threads(1)
+    public Pair<String, String>[] fill() {
+        generator.fill(batch, 0, batch.length);
+        return batch;
+    }
+}
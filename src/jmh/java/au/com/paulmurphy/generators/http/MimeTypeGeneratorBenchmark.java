@@ -0,0 +1,89 @@
+package au.com.paulmurphy.generators.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link MimeTypeGenerator#next()} for every factory method. Once the ensured values have been handed out
+ * {@code allMimeTypes} only produces random mime types, so that is what its numbers describe.
+ *
+ * @author Paul Murphy
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MimeTypeGeneratorBenchmark {
+
+    @Param({"allMimeTypes", "application", "audio", "image", "multipart", "text", "video"})
+    private String factory;
+
+    private MimeTypeGenerator generator;
+
+    private final String[] batch = new String[1024];
+
+    @Setup
+    public void setUp() {
+        switch (factory) {
+            case "allMimeTypes":
+                generator = MimeTypeGenerator.allMimeTypes();
+                break;
+            case "application":
+                generator = MimeTypeGenerator.application();
+                break;
+            case "audio":
+                generator = MimeTypeGenerator.audio();
+                break;
+            case "image":
+                generator = MimeTypeGenerator.image();
+                break;
+            case "multipart":
+                generator = MimeTypeGenerator.multipart();
+                break;
+            case "text":
+                generator = MimeTypeGenerator.text();
+                break;
+            case "video":
+                generator = MimeTypeGenerator.video();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown factory " + factory);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String multiThreaded() {
+        return generator.next();
+    }
+
+    /**
+     * Each operation fills 1024 values.
+     */
+    @Benchmark
+    @Threads(1)
+    public String[] fill() {
+        generator.fill(batch, 0, batch.length);
+        return batch;
+    }
+}
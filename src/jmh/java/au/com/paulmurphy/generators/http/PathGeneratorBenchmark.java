@@ -0,0 +1,98 @@
+package au.com.paulmurphy.generators.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static net.java.quickcheck.generator.PrimitiveGenerators.integers;
+
+/**
+ * Measures {@link PathGenerator#next()} at a fixed path depth, plus the default constructor which picks a depth
+ * between 1 and 5.
+ *
+ * @author Paul Murphy
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathGeneratorBenchmark {
+
+    /**
+     * Fixed path depth, or {@code default} for {@link PathGenerator#PathGenerator()}.
+     */
+    @Param({"default", "1", "5", "10"})
+    private String depth;
+
+    @Param({"false", "true"})
+    private boolean trailingPathSeparator;
+
+    private PathGenerator generator;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+
+    private final String[] batch = new String[1024];
+
+    @Setup
+    public void setUp() {
+        if ("default".equals(depth)) {
+            generator = new PathGenerator();
+        } else {
+            final int fixedDepth = Integer.parseInt(depth);
+            generator = new PathGenerator(integers(fixedDepth, fixedDepth));
+        }
+        generator.trailingPathSeparator(trailingPathSeparator);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String singleThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String multiThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public StringBuilder nextIntoBuilder() {
+        builder.setLength(0);
+        return generator.nextInto(builder);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int nextIntoBuffer() {
+        buffer.clear();
+        return generator.nextInto(buffer);
+    }
+
+    /**
+     * Each operation fills 1024 values.
+     */
+    @Benchmark
+    @Threads(1)
+    public String[] fill() {
+        generator.fill(batch, 0, batch.length);
+        return batch;
+    }
+}
@@ -0,0 +1,81 @@
+package au.com.paulmurphy.generators.http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link StatusCodeGenerator#next()} for each factory method.
+ *
+ * @author Paul Murphy
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusCodeGeneratorBenchmark {
+
+    @Param({"allCodes", "successCodes", "exclude"})
+    private String factory;
+
+    private StatusCodeGenerator generator;
+
+    private final int[] codes = new int[1024];
+
+    @Setup
+    public void setUp() {
+        switch (factory) {
+            case "allCodes":
+                generator = StatusCodeGenerator.allCodes();
+                break;
+            case "successCodes":
+                generator = StatusCodeGenerator.successCodes();
+                break;
+            case "exclude":
+                generator = StatusCodeGenerator.exclude(StatusCodeGenerator.CLIENT_ERROR_CODES);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown factory " + factory);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer singleThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer multiThreaded() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int nextInt() {
+        return generator.nextInt();
+    }
+
+    /**
+     * Each operation fills 1024 status codes.
+     */
+    @Benchmark
+    @Threads(1)
+    public int[] fill() {
+        return generator.fill(codes);
+    }
+}
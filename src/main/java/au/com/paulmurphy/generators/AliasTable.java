@@ -0,0 +1,111 @@
+package au.com.paulmurphy.generators;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Samples indexes in proportion to a set of weights in constant time, using Vose's alias method.
+ *
+ * <p>The table is built once, in time linear in the number of weights. It splits the weights into equally likely
+ * columns, each holding its own index and at most one alias. {@link #sample(RandomSource)} draws a single
+ * {@code long}: the high 32 bits choose the column and the low 32 bits choose between the index and its alias.</p>
+ *
+ * <p>A table is immutable, so it can be shared between generators and threads.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class AliasTable {
+
+    private static final long ONE = 1L << Integer.SIZE;
+    private static final long LOW_BITS = ONE - 1;
+
+    /**
+     * The chance of each column keeping its own index, scaled to {@code 2^32}.
+     */
+    private final long[] thresholds;
+
+    private final int[] aliases;
+
+    private AliasTable(final long[] thresholds, final int[] aliases) {
+        this.thresholds = thresholds;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Builds a table sampling each index in proportion to its weight.
+     *
+     * @param weights the weight of each index. Weights of zero are never sampled.
+     * @return the table.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or not finite, or every weight
+     *                                  is zero.
+     */
+    public static AliasTable of(final double... weights) {
+        Preconditions.checkArgument(weights != null, "weights is required");
+        Preconditions.checkArgument(weights.length > 0, "weights must not be empty");
+        double total = 0;
+        for (double weight : weights) {
+            Preconditions.checkArgument(weight >= 0 && weight < Double.POSITIVE_INFINITY,
+                    "weights must be finite and not negative");
+            total += weight;
+        }
+        Preconditions.checkArgument(total > 0, "weights must not all be zero");
+
+        final int n = weights.length;
+        final double[] scaled = new double[n];
+        final int[] small = new int[n];
+        final int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        final long[] thresholds = new long[n];
+        final int[] aliases = new int[n];
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            thresholds[less] = (long) (scaled[less] * ONE);
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // whatever is left is only short of, or over, one through rounding
+        while (largeCount > 0) {
+            thresholds[large[--largeCount]] = ONE;
+        }
+        while (smallCount > 0) {
+            thresholds[small[--smallCount]] = ONE;
+        }
+        return new AliasTable(thresholds, aliases);
+    }
+
+    /**
+     * The number of indexes in the table.
+     *
+     * @return the number of weights the table was built from.
+     */
+    public int size() {
+        return thresholds.length;
+    }
+
+    /**
+     * Draws an index with one {@link RandomSource#nextLong()}.
+     *
+     * @param source the source to draw from.
+     * @return an index between 0, inclusive, and {@link #size()}, exclusive.
+     */
+    public int sample(final RandomSource source) {
+        final long bits = source.nextLong();
+        final int column = (int) ((bits >>> Integer.SIZE) * thresholds.length >>> Integer.SIZE);
+        return (bits & LOW_BITS) < thresholds[column] ? column : aliases[column];
+    }
+}
@@ -0,0 +1,34 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+import java.util.List;
+
+/**
+ * A {@link Generator} which can produce values in blocks. Implementations hoist the per value work of
+ * {@link #next()}, such as choosing between nested generators, out of the loop which fills the block.
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public interface BatchGenerator<T> extends Generator<T> {
+
+    /**
+     * Fills {@code dest[off]} to {@code dest[off + len - 1]} with generated values.
+     *
+     * @param dest the array to fill.
+     * @param off the first index to fill.
+     * @param len the number of values to generate.
+     * @throws IndexOutOfBoundsException if the range does not fit within {@code dest}.
+     */
+    void fill(T[] dest, int off, int len);
+
+    /**
+     * Produces the next {@code n} values.
+     *
+     * @param n the number of values to generate.
+     * @return fixed size List of the generated values.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    List<T> nextBatch(int n);
+}
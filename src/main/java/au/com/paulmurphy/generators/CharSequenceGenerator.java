@@ -0,0 +1,33 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+/**
+ * A generator of text which appends each value to a builder of the caller rather than making a {@code String}.
+ *
+ * <p>A caller composing a larger value, such as a request line or a log line, appends each part to one builder,
+ * cleared with {@code builder.setLength(0)} between values, so no intermediate {@code String} is made per part.
+ * {@link #asGenerator()} adapts it back to a {@link Generator} for code which takes one.</p>
+ *
+ * @author Paul Murphy
+ */
+@FunctionalInterface
+public interface CharSequenceGenerator {
+
+    /**
+     * Appends the next value to the provided builder. The builder is not cleared first.
+     *
+     * @param builder the builder the value is appended to.
+     * @return the provided builder.
+     */
+    StringBuilder nextInto(StringBuilder builder);
+
+    /**
+     * A {@link Generator} producing the values of this generator as {@code String}s.
+     *
+     * @return the generator.
+     */
+    default Generator<String> asGenerator() {
+        return () -> nextInto(new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,19 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+/**
+ * A {@link Generator} which produces a list of ensured values before it produces random ones.
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public interface EnsuringGenerator<T> extends Generator<T> {
+
+    /**
+     * The number of ensured values still to be produced before the values become random.
+     *
+     * @return the number of ensured values left.
+     */
+    int remainingEnsuredValues();
+}
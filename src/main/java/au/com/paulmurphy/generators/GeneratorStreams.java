@@ -0,0 +1,176 @@
+package au.com.paulmurphy.generators;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams of generated values which can be run in parallel.
+ *
+ * <p>The streams are backed by a {@link Spliterator} which knows its exact size. Splitting it hands half of the
+ * remaining values to a {@link SplittableGenerator#split() split} of the generator, so every part of a parallel
+ * pipeline draws from its own random stream and no generator is shared between threads. Sequentially, the stream
+ * produces the same values as calling {@code next()} on the generator.</p>
+ *
+ * @author Paul Murphy
+ * @see SplittableGenerator#stream(long)
+ */
+public final class GeneratorStreams {
+
+    private static final int CHARACTERISTICS =
+            Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+
+    private GeneratorStreams() {
+    }
+
+    /**
+     * Produces a stream of {@code n} values of the provided generator. The stream draws from the generator until it
+     * is split, so the generator must not be used elsewhere while the stream is consumed.
+     *
+     * @param generator the generator.
+     * @param n the number of values in the stream.
+     * @param <T> the type of the values.
+     * @return Stream of {@code n} values.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    public static <T> Stream<T> stream(final SplittableGenerator<T> generator, final long n) {
+        Preconditions.checkArgument(generator != null, "generator is required");
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        return StreamSupport.stream(new GeneratorSpliterator<>(generator, n), false);
+    }
+
+    /**
+     * Produces a stream of {@code n} int values, drawn without boxing. The stream draws from the generator until it
+     * is split, so the generator must not be used elsewhere while the stream is consumed.
+     *
+     * @param generator the generator.
+     * @param nextInt produces the next value of a generator.
+     * @param split splits a generator.
+     * @param n the number of values in the stream.
+     * @param <G> the type of the generator.
+     * @return IntStream of {@code n} values.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    public static <G> IntStream ints(final G generator, final ToIntFunction<G> nextInt, final UnaryOperator<G> split,
+                                     final long n) {
+        Preconditions.checkArgument(generator != null, "generator is required");
+        Preconditions.checkArgument(nextInt != null, "nextInt is required");
+        Preconditions.checkArgument(split != null, "split is required");
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        return StreamSupport.intStream(new IntGeneratorSpliterator<>(generator, nextInt, split, n), false);
+    }
+
+    private static final class GeneratorSpliterator<T> implements Spliterator<T> {
+
+        private final SplittableGenerator<T> generator;
+
+        private long remaining;
+
+        GeneratorSpliterator(final SplittableGenerator<T> generator, final long remaining) {
+            this.generator = generator;
+            this.remaining = remaining;
+        }
+
+        // CHECKSTYLE:OFF the wildcards of Spliterator, which the whitespace check does not expect
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            action.accept(generator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            for (; remaining > 0; remaining--) {
+                action.accept(generator.next());
+            }
+        }
+        // CHECKSTYLE:ON
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final long half = remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            remaining -= half;
+            return new GeneratorSpliterator<>(generator.split(), half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+
+    private static final class IntGeneratorSpliterator<G> implements Spliterator.OfInt {
+
+        private final G generator;
+
+        private final ToIntFunction<G> nextInt;
+
+        private final UnaryOperator<G> split;
+
+        private long remaining;
+
+        IntGeneratorSpliterator(final G generator, final ToIntFunction<G> nextInt, final UnaryOperator<G> split,
+                                final long remaining) {
+            this.generator = generator;
+            this.nextInt = nextInt;
+            this.split = split;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            action.accept(nextInt.applyAsInt(generator));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            for (; remaining > 0; remaining--) {
+                action.accept(nextInt.applyAsInt(generator));
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+            final long half = remaining >>> 1;
+            if (half == 0) {
+                return null;
+            }
+            remaining -= half;
+            return new IntGeneratorSpliterator<>(split.apply(generator), nextInt, split, half);
+        }
+
+        @Override
+        public long estimateSize() {
+            return remaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return CHARACTERISTICS;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+/**
+ * A generator of {@code int} values which produces them without boxing.
+ *
+ * <p>A caller holding an {@code IntGenerator} of a single class calls {@link #nextInt()} at a call site which only
+ * ever sees that class, so the call can be inlined, and no {@code Integer} is made per value.
+ * {@link #asGenerator()} adapts it back to a {@link Generator} for code which takes one.</p>
+ *
+ * @author Paul Murphy
+ */
+@FunctionalInterface
+public interface IntGenerator {
+
+    /**
+     * Produces the next value.
+     *
+     * @return the next value.
+     */
+    int nextInt();
+
+    /**
+     * Fills the provided array with values.
+     *
+     * @param dest the array to fill.
+     * @return the provided array.
+     */
+    default int[] fill(final int[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = nextInt();
+        }
+        return dest;
+    }
+
+    /**
+     * A {@link Generator} producing the values of this generator, boxed.
+     *
+     * @return the generator.
+     */
+    default Generator<Integer> asGenerator() {
+        return this::nextInt;
+    }
+}
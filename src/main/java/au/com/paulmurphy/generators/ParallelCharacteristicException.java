@@ -0,0 +1,60 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Characteristic;
+import net.java.quickcheck.CharacteristicException;
+
+/**
+ * Thrown by {@link ParallelQuickCheck} when a characteristic does not hold. Besides the failing value it carries
+ * the seed of the run and the position of the value, which reproduce the value with
+ * {@code generators.apply(getSeed()).skip(getPosition()).next()}, and the smallest failing value a {@link Shrinker}
+ * found.
+ *
+ * @author Paul Murphy
+ */
+public class ParallelCharacteristicException extends CharacteristicException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long seed;
+
+    private final long position;
+
+    private final transient Object shrunkInstance;
+
+    <T> ParallelCharacteristicException(final String message, final Throwable cause,
+                                        final Characteristic<T> characteristic, final T value, final T shrunkValue,
+                                        final long seed, final long position) {
+        super(message, cause, characteristic, value);
+        this.shrunkInstance = shrunkValue;
+        this.seed = seed;
+        this.position = position;
+    }
+
+    /**
+     * The smallest failing value found by shrinking the failing value, which is the failing value itself when it was
+     * not shrunk.
+     *
+     * @return the shrunk value.
+     */
+    public Object getShrunkInstance() {
+        return shrunkInstance;
+    }
+
+    /**
+     * The seed of the failing run.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * The position of the failing value in the run.
+     *
+     * @return the position.
+     */
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,258 @@
+package au.com.paulmurphy.generators;
+
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.Characteristic;
+import net.java.quickcheck.CharacteristicException;
+import net.java.quickcheck.QuickCheck;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Checks a {@link Characteristic} against the values of a seeded generator on a {@link ForkJoinPool}.
+ *
+ * <p>The run is split into ranges of positions which the workers steal from each other. Each range draws from a
+ * generator created from the seed of the run and skipped to the start of the range, so the value at each position
+ * is the same whichever worker checks it. Once a value fails, ranges after it are abandoned, while ranges before it
+ * carry on so that the failure reported is always the first one in the run, with its seed and position.</p>
+ *
+ * <p>The generators are created with a factory taking the seed, such as {@code StatusCodeGenerator::allCodes} or
+ * {@code PathGenerator::new}. {@link Characteristic#specify(Object)} is called from many threads at once;
+ * {@link Characteristic#setUp()} and {@link Characteristic#tearDown()} are called once, on the calling thread.
+ * Values rejected with {@link QuickCheck#guard(boolean)} are skipped rather than replaced.</p>
+ *
+ * <p>With a {@link Shrinker}, the first failing value is shrunk once the run is over, by checking its smaller
+ * candidates on the calling thread. The exception reports both the failing value and the smallest value found.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class ParallelQuickCheck {
+
+    /**
+     * The number of ranges each worker's share of the run is split into, so that idle workers can steal.
+     */
+    private static final int RANGES_PER_WORKER = 8;
+
+    private static final Predicate<Throwable> GUARD_EXCEPTION = guardException();
+
+    private ParallelQuickCheck() {
+    }
+
+    /**
+     * Checks the characteristic against {@code runs} values, with a seed drawn from the QuickCheck random number
+     * generator.
+     *
+     * @param generators creates the generator of the run from its seed.
+     * @param characteristic the characteristic to check, which must be thread safe.
+     * @param runs the number of values to check.
+     * @param parallelism the number of worker threads.
+     * @param <T> the type of the generated values.
+     * @throws ParallelCharacteristicException if the characteristic does not hold for a value.
+     */
+    public static <T> void forAll(final LongFunction<SkippableGenerator<T>> generators,
+                                  final Characteristic<T> characteristic,
+                                  final int runs, final int parallelism) {
+        forAll(generators, RandomSource.quickCheck().nextLong(), characteristic, runs, parallelism);
+    }
+
+    /**
+     * Checks the characteristic against the first {@code runs} values of the generator created with the seed.
+     *
+     * @param generators creates the generator of the run from its seed.
+     * @param seed the seed of the run.
+     * @param characteristic the characteristic to check, which must be thread safe.
+     * @param runs the number of values to check.
+     * @param parallelism the number of worker threads.
+     * @param <T> the type of the generated values.
+     * @throws ParallelCharacteristicException if the characteristic does not hold for a value.
+     */
+    public static <T> void forAll(final LongFunction<SkippableGenerator<T>> generators, final long seed,
+                                  final Characteristic<T> characteristic,
+                                  final int runs, final int parallelism) {
+        forAll(generators, seed, characteristic, runs, parallelism, Shrinker.none());
+    }
+
+    /**
+     * Checks the characteristic against the first {@code runs} values of the generator created with the seed, and
+     * shrinks the first failing value.
+     *
+     * @param generators creates the generator of the run from its seed.
+     * @param seed the seed of the run.
+     * @param characteristic the characteristic to check, which must be thread safe.
+     * @param runs the number of values to check.
+     * @param parallelism the number of worker threads.
+     * @param shrinker shrinks the first failing value, such as {@code new PathGenerator().shrinker()}.
+     * @param <T> the type of the generated values.
+     * @throws ParallelCharacteristicException if the characteristic does not hold for a value.
+     */
+    public static <T> void forAll(final LongFunction<SkippableGenerator<T>> generators, final long seed,
+                                  final Characteristic<T> characteristic,
+                                  final int runs, final int parallelism, final Shrinker<T> shrinker) {
+        Preconditions.checkArgument(generators != null, "generators is required");
+        Preconditions.checkArgument(characteristic != null, "characteristic is required");
+        Preconditions.checkArgument(runs >= 0, "runs must not be negative");
+        Preconditions.checkArgument(parallelism > 0, "parallelism must be positive");
+        Preconditions.checkArgument(shrinker != null, "shrinker is required");
+
+        setUp(characteristic);
+        try {
+            final Run<T> run = new Run<>(generators, seed, characteristic);
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                pool.invoke(new Check<>(run, 0, runs, Math.max(1, runs / (parallelism * RANGES_PER_WORKER))));
+            } finally {
+                pool.shutdown();
+            }
+            run.throwIfFailed(shrinker);
+        } finally {
+            tearDown(characteristic);
+        }
+    }
+
+    private static <T> void setUp(final Characteristic<T> characteristic) {
+        // CHECKSTYLE:OFF setUp is declared to throw Exception, as in QuickCheck.forAll
+        try {
+            characteristic.setUp();
+        } catch (Exception e) {
+            throw new CharacteristicException("setup failed", e, characteristic);
+        }
+        // CHECKSTYLE:ON
+    }
+
+    private static <T> void tearDown(final Characteristic<T> characteristic) {
+        // CHECKSTYLE:OFF tearDown is declared to throw Exception, as in QuickCheck.forAll
+        try {
+            characteristic.tearDown();
+        } catch (Exception e) {
+            throw new CharacteristicException("teardown failed", e, characteristic);
+        }
+        // CHECKSTYLE:ON
+    }
+
+    /**
+     * The exception {@link QuickCheck#guard(boolean)} rejects a value with is not public, so it is found by
+     * rejecting one.
+     */
+    private static Predicate<Throwable> guardException() {
+        // CHECKSTYLE:OFF the type guard throws is not public, so its supertype is caught
+        try {
+            QuickCheck.guard(false);
+            throw new IllegalStateException("guard(false) did not reject the value");
+        } catch (RuntimeException e) {
+            return e.getClass()::isInstance;
+        }
+        // CHECKSTYLE:ON
+    }
+
+    /**
+     * The state shared by the workers of one run, holding the first failure found so far.
+     */
+    private static final class Run<T> {
+
+        private final LongFunction<SkippableGenerator<T>> generators;
+        private final long seed;
+        private final Characteristic<T> characteristic;
+
+        private volatile long failedPosition = Long.MAX_VALUE;
+        private T failedValue;
+        private Throwable failure;
+        private Throwable shrunkFailure;
+
+        Run(final LongFunction<SkippableGenerator<T>> generators, final long seed,
+            final Characteristic<T> characteristic) {
+            this.generators = generators;
+            this.seed = seed;
+            this.characteristic = characteristic;
+        }
+
+        void check(final long from, final long to) {
+            final SkippableGenerator<T> generator = generators.apply(seed).skip(from);
+            for (long position = from; position < to && position < failedPosition; position++) {
+                final T value = generator.next();
+                final Throwable cause = specify(value);
+                if (cause != null) {
+                    fail(position, value, cause);
+                }
+            }
+        }
+
+        /**
+         * Checks a value.
+         *
+         * @return the failure, or {@code null} if the value passed or was rejected by a guard.
+         */
+        private Throwable specify(final T value) {
+            // CHECKSTYLE:OFF a characteristic may throw anything, as in QuickCheck.forAll
+            try {
+                characteristic.specify(value);
+            } catch (Throwable t) {
+                return GUARD_EXCEPTION.test(t) ? null : t;
+            }
+            // CHECKSTYLE:ON
+            return null;
+        }
+
+        private synchronized boolean stillFails(final T value) {
+            final Throwable cause = specify(value);
+            if (cause != null) {
+                shrunkFailure = cause;
+            }
+            return cause != null;
+        }
+
+        private synchronized void fail(final long position, final T value, final Throwable cause) {
+            if (position < failedPosition) {
+                failedValue = value;
+                failure = cause;
+                failedPosition = position;
+            }
+        }
+
+        synchronized void throwIfFailed(final Shrinker<T> shrinker) {
+            if (failure != null) {
+                final T shrunkValue = shrinker.shrink(failedValue, this::stillFails);
+                String message = String.format(
+                        "Characteristic %s is not true for value(# %s):[%s] seed: %s message: >%s<",
+                        characteristic.name(), failedPosition, failedValue, seed, failure.getMessage());
+                if (shrunkFailure != null) {
+                    message += String.format(" shrunk to value:[%s] message: >%s<", shrunkValue,
+                            shrunkFailure.getMessage());
+                }
+                throw new ParallelCharacteristicException(
+                        message, failure, characteristic, failedValue, shrunkValue, seed, failedPosition);
+            }
+        }
+    }
+
+    /**
+     * Checks a range of positions, splitting it in half until it is no larger than the grain.
+     */
+    private static final class Check<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Run<T> run;
+        private final long from;
+        private final long to;
+        private final long grain;
+
+        Check(final Run<T> run, final long from, final long to, final long grain) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                run.check(from, to);
+            } else {
+                final long middle = (from + to) >>> 1;
+                invokeAll(new Check<>(run, from, middle, grain), new Check<>(run, middle, to, grain));
+            }
+        }
+    }
+}
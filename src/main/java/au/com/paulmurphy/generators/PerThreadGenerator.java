@@ -0,0 +1,40 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+/**
+ * A thread safe {@link Generator} which hands each calling thread its own split of a root
+ * {@link SplittableGenerator}. The root is only locked the first time a thread draws a value, after which each
+ * thread generates values without any contention.
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public final class PerThreadGenerator<T> implements Generator<T> {
+
+    private final ThreadLocal<Generator<T>> generators;
+
+    private PerThreadGenerator(final SplittableGenerator<T> root) {
+        generators = ThreadLocal.withInitial(() -> {
+            synchronized (root) {
+                return root.split();
+            }
+        });
+    }
+
+    /**
+     * Produces a generator which gives every thread its own split of {@code root}.
+     *
+     * @param root the generator to split for each thread. It must not be used directly once handed over.
+     * @param <T> the type of the generated values.
+     * @return PerThreadGenerator of the provided generator.
+     */
+    public static <T> PerThreadGenerator<T> of(final SplittableGenerator<T> root) {
+        return new PerThreadGenerator<>(root);
+    }
+
+    @Override
+    public T next() {
+        return generators.get().next();
+    }
+}
@@ -0,0 +1,237 @@
+package au.com.paulmurphy.generators;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Uninterruptibles;
+import net.java.quickcheck.Generator;
+
+import java.io.Closeable;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link Generator} which produces the values of another generator ahead of demand on a background thread, so the
+ * calling thread does not pay for generating them.
+ *
+ * <p>The producer thread fills a bounded single producer, single consumer ring buffer, and parks while it is full.
+ * {@link #next()} takes the next value from the buffer: usually an array load, a volatile read of whether the
+ * producer is parked, which it then unparks, and a volatile read of the producer's position once the values it last
+ * saw have been taken. A parked producer also wakes on its own, waiting twice as long each time up to 100 milliseconds,
+ * so a producer whose consumer is idle costs next to nothing. The values come out in the order the wrapped generator
+ * produced them, so a seeded generator produces the same values as it would inline. The calling thread only waits
+ * when it takes values faster than the producer can make them.</p>
+ *
+ * <p>Only one thread may call {@link #next()}; give each thread its own prefetching generator over its own
+ * {@link SplittableGenerator#split() split}. {@link #close()} stops the producer thread, which is a daemon thread by
+ * default. A failure of the wrapped generator is rethrown by {@code next()} once the values before it have been
+ * taken.</p>
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public final class PrefetchingGenerator<T> implements Generator<T>, Closeable {
+
+    private static final int SPINS = 100;
+    private static final long WAIT_NANOS = 10_000;
+    private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private final Object[] buffer;
+
+    private final int mask;
+
+    private final AtomicLong head = new AtomicLong();
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final Thread producer;
+
+    private volatile boolean closed;
+
+    private volatile Throwable failure;
+
+    /**
+     * Whether the producer is parked on a full buffer, for the consumer to unpark it once it takes a value.
+     */
+    private volatile boolean producerParked;
+
+    /**
+     * The number of values taken; only used by the consumer, which publishes it through {@link #head}.
+     */
+    private long taken;
+
+    /**
+     * The position of the producer the last time the consumer read it; only used by the consumer.
+     */
+    private long availableTail;
+
+    private PrefetchingGenerator(final Generator<T> generator, final int capacity, final ThreadFactory threads) {
+        this.buffer = new Object[capacity];
+        this.mask = capacity - 1;
+        this.producer = threads.newThread(new Producer(generator));
+        producer.start();
+    }
+
+    /**
+     * Starts prefetching the values of the provided generator on a daemon thread.
+     *
+     * @param generator the generator, which must not be used elsewhere once handed over.
+     * @param capacity the number of values to produce ahead, rounded up to a power of two.
+     * @param <T> the type of the generated values.
+     * @return the prefetching generator.
+     */
+    public static <T> PrefetchingGenerator<T> of(final Generator<T> generator, final int capacity) {
+        return of(generator, capacity, runnable -> {
+            final Thread thread = new Thread(runnable, "prefetching-generator-" + THREADS.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts prefetching the values of the provided generator on a thread made by the provided factory.
+     *
+     * @param generator the generator, which must not be used elsewhere once handed over.
+     * @param capacity the number of values to produce ahead, rounded up to a power of two.
+     * @param threads makes the producer thread.
+     * @param <T> the type of the generated values.
+     * @return the prefetching generator.
+     */
+    public static <T> PrefetchingGenerator<T> of(final Generator<T> generator, final int capacity,
+                                                 final ThreadFactory threads) {
+        Preconditions.checkArgument(generator != null, "generator is required");
+        Preconditions.checkArgument(capacity > 0 && capacity <= 1 << (Integer.SIZE - 2),
+                "capacity must be between 1 and 2^30");
+        Preconditions.checkArgument(threads != null, "threads is required");
+        return new PrefetchingGenerator<>(generator, Integer.highestOneBit(capacity * 2 - 1), threads);
+    }
+
+    /**
+     * The number of values produced ahead.
+     *
+     * @return the capacity of the buffer.
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Takes the next value produced by the wrapped generator.
+     *
+     * @return the value.
+     * @throws IllegalStateException if the generator is closed, or the wrapped generator failed, and the values
+     *     produced before have all been taken.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        final long position = taken;
+        if (position == availableTail) {
+            availableTail = awaitValue(position);
+        }
+        final int index = (int) position & mask;
+        final T value = (T) buffer[index];
+        buffer[index] = null;
+        taken = position + 1;
+        head.lazySet(taken);
+        if (producerParked) {
+            LockSupport.unpark(producer);
+        }
+        return value;
+    }
+
+    private long awaitValue(final long position) {
+        int spins = 0;
+        while (true) {
+            // the producer publishes its last value before it stops, so reading its position after seeing it stop
+            // never drops a value
+            final boolean stopped = closed || failure != null;
+            final long available = tail.get();
+            if (available != position) {
+                return available;
+            }
+            if (stopped) {
+                Preconditions.checkState(!closed, "generator is closed");
+                throw new IllegalStateException("generator failed", failure);
+            }
+            if (spins++ < SPINS) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(WAIT_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Stops the producer thread and waits for it to finish. {@link #next()} fails once the values already produced
+     * have been taken.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        producer.interrupt();
+        Uninterruptibles.joinUninterruptibly(producer);
+    }
+
+    /**
+     * Fills the buffer, waiting while it is full.
+     */
+    private final class Producer implements Runnable {
+
+        private final Generator<T> generator;
+
+        /**
+         * The position of the consumer the last time the producer read it.
+         */
+        private long takenHead;
+
+        Producer(final Generator<T> generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void run() {
+            // CHECKSTYLE:OFF a generator may throw anything, which the consumer rethrows
+            try {
+                produce();
+            } catch (Throwable t) {
+                failure = t;
+            }
+            // CHECKSTYLE:ON
+        }
+
+        private void produce() {
+            long position = tail.get();
+            long waitNanos = WAIT_NANOS;
+            while (!closed) {
+                if (position - takenHead == buffer.length) {
+                    takenHead = head.get();
+                    if (position - takenHead == buffer.length) {
+                        waitNanos = awaitSpace(position, waitNanos);
+                        continue;
+                    }
+                    waitNanos = WAIT_NANOS;
+                }
+                buffer[(int) position & mask] = generator.next();
+                tail.lazySet(++position);
+            }
+        }
+
+        /**
+         * Parks until the consumer takes a value or the wait is over, and returns the next wait. The consumer's
+         * position is read again once the producer is marked as parked, so a value taken before the consumer could
+         * see the mark does not leave the producer parked for the whole wait.
+         */
+        private long awaitSpace(final long position, final long waitNanos) {
+            producerParked = true;
+            if (position - head.get() == buffer.length) {
+                LockSupport.parkNanos(PrefetchingGenerator.this, waitNanos);
+            }
+            producerParked = false;
+            return Math.min(waitNanos * 2, MAX_WAIT_NANOS);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package au.com.paulmurphy.generators;
+
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.generator.distribution.Distribution;
+
+import java.util.SplittableRandom;
+
+/**
+ * The source of randomness the generators draw from.
+ *
+ * <p>{@link #quickCheck()} draws from the random number generator of the QuickCheck library, so seeds set with
+ * {@link net.java.quickcheck.generator.distribution.RandomConfiguration} still apply. It is shared by every
+ * generator which uses it. {@link #splittable(long)} is backed by a {@link SplittableRandom}; {@link #split()}
+ * produces an independent source which can be handed to another thread without any locking.</p>
+ *
+ * <p>{@link #seeded(long)} derives a fresh stream for every generated value from the seed and the position of the
+ * value. Generators mark the start of each value with {@link #nextElement()}, so any value can be reproduced from
+ * the seed and its position alone, and {@link #skip(long)} moves past any number of values in constant time.</p>
+ *
+ * <p>Instances are not thread safe.</p>
+ *
+ * @author Paul Murphy
+ */
+public abstract class RandomSource {
+
+    private static final RandomSource QUICK_CHECK = new QuickCheckRandomSource();
+
+    RandomSource() {
+    }
+
+    /**
+     * The source shared with the QuickCheck library generators.
+     *
+     * @return RandomSource drawing from the QuickCheck random number generator.
+     */
+    public static RandomSource quickCheck() {
+        return QUICK_CHECK;
+    }
+
+    /**
+     * A source backed by a {@link SplittableRandom} created with the provided seed.
+     *
+     * @param seed the initial seed.
+     * @return RandomSource backed by a SplittableRandom.
+     */
+    public static RandomSource splittable(final long seed) {
+        return new SplittableRandomSource(new SplittableRandom(seed));
+    }
+
+    /**
+     * A source which derives the stream of each generated value from the provided seed and the position of the value.
+     *
+     * @param seed the seed.
+     * @return RandomSource with reproducible, seekable streams.
+     */
+    public static RandomSource seeded(final long seed) {
+        return new SeededRandomSource(seed);
+    }
+
+    /**
+     * Marks the start of the next generated value. Does nothing unless the source is {@link #seeded(long) seeded}.
+     */
+    public void nextElement() {
+    }
+
+    /**
+     * Moves past {@code n} generated values without drawing them. Only a {@link #seeded(long) seeded} source can
+     * skip; any other source leaves the values to be drawn by the caller.
+     *
+     * @param n the number of values to skip.
+     * @return true if the values were skipped, false if the caller must draw them.
+     */
+    public boolean skip(final long n) {
+        return false;
+    }
+
+    /**
+     * A view of this source for the components of a generator. The view draws from this source, but ignores
+     * {@link #nextElement()} and {@link #skip(long)} so that only the owning generator marks the values.
+     *
+     * @return RandomSource drawing from this source.
+     */
+    public RandomSource component() {
+        return new ComponentRandomSource(this);
+    }
+
+    /**
+     * Produces a uniformly distributed value between 0 (inclusive) and the bound (exclusive).
+     *
+     * @param bound the upper bound, must be positive.
+     * @return the next value.
+     */
+    public abstract int nextInt(int bound);
+
+    /**
+     * Produces a uniformly distributed value between {@code min} and {@code max}, both inclusive.
+     *
+     * @param min the lower bound.
+     * @param max the upper bound.
+     * @return the next value.
+     */
+    public int nextInt(final int min, final int max) {
+        Preconditions.checkArgument(min <= max, "min must not be greater than max");
+        return min + nextInt(max - min + 1);
+    }
+
+    /**
+     * Produces a uniformly distributed long value.
+     *
+     * @return the next value.
+     */
+    public abstract long nextLong();
+
+    /**
+     * Produces a new source with its own random stream. Values drawn from the new source are statistically
+     * independent of the values drawn from this one.
+     *
+     * @return RandomSource backed by a SplittableRandom.
+     */
+    public abstract RandomSource split();
+
+
+    private static final class QuickCheckRandomSource extends RandomSource {
+
+        private static final double TWO_TO_THE_32 = 0x1p32;
+
+        @Override
+        public int nextInt(final int bound) {
+            Preconditions.checkArgument(bound > 0, "bound must be positive");
+            return (int) (Distribution.UNIFORM.nextRandomNumber() * bound);
+        }
+
+        @Override
+        public long nextLong() {
+            final long high = (long) (Distribution.UNIFORM.nextRandomNumber() * TWO_TO_THE_32);
+            final long low = (long) (Distribution.UNIFORM.nextRandomNumber() * TWO_TO_THE_32);
+            return high << Integer.SIZE | low;
+        }
+
+        @Override
+        public RandomSource split() {
+            return splittable(nextLong());
+        }
+    }
+
+    private static final class SplittableRandomSource extends RandomSource {
+
+        private final SplittableRandom random;
+
+        SplittableRandomSource(final SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public int nextInt(final int bound) {
+            return random.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return random.nextLong();
+        }
+
+        @Override
+        public RandomSource split() {
+            return new SplittableRandomSource(random.split());
+        }
+    }
+
+    /**
+     * A SplitMix64 generator. The state of each value starts from the mixed seed and position, and every draw
+     * advances it by the golden gamma.
+     */
+    private static final class SeededRandomSource extends RandomSource {
+
+        private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+        private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+        private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+        private static final int MIX_SHIFT_1 = 30;
+        private static final int MIX_SHIFT_2 = 27;
+        private static final int MIX_SHIFT_3 = 31;
+
+        private final long seed;
+
+        private long position;
+
+        private long state;
+
+        SeededRandomSource(final long seed) {
+            this.seed = seed;
+            this.state = seed;
+        }
+
+        @Override
+        public void nextElement() {
+            state = mix64(seed + position++ * GOLDEN_GAMMA);
+        }
+
+        @Override
+        public boolean skip(final long n) {
+            position += n;
+            return true;
+        }
+
+        @Override
+        public int nextInt(final int bound) {
+            Preconditions.checkArgument(bound > 0, "bound must be positive");
+            return (int) ((nextLong() >>> Integer.SIZE) * bound >>> Integer.SIZE);
+        }
+
+        @Override
+        public long nextLong() {
+            state += GOLDEN_GAMMA;
+            return mix64(state);
+        }
+
+        @Override
+        public RandomSource split() {
+            return seeded(nextLong());
+        }
+
+        private static long mix64(final long value) {
+            final long z = (value ^ (value >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+            final long mixed = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+            return mixed ^ (mixed >>> MIX_SHIFT_3);
+        }
+    }
+
+    private static final class ComponentRandomSource extends RandomSource {
+
+        private final RandomSource source;
+
+        ComponentRandomSource(final RandomSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public int nextInt(final int bound) {
+            return source.nextInt(bound);
+        }
+
+        @Override
+        public long nextLong() {
+            return source.nextLong();
+        }
+
+        @Override
+        public RandomSource split() {
+            return source.split().component();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package au.com.paulmurphy.generators;
+
+import java.util.function.Predicate;
+
+/**
+ * Reduces a failing value to a smaller value which still fails, so that a failure is reported with a minimal
+ * counterexample.
+ *
+ * <p>{@link #shrinkStep(Object, Predicate)} offers the smaller candidates for a value to the predicate one at a
+ * time, in a loop over the value rather than from a list of candidates built up front, and stops at the first one
+ * that still fails. {@link #shrink(Object, Predicate)} repeats the step from each smaller value until no candidate
+ * fails. A shrinker is not thread safe.</p>
+ *
+ * @param <T> the type of the values.
+ * @author Paul Murphy
+ * @see ParallelQuickCheck#forAll(java.util.function.LongFunction, long, net.java.quickcheck.Characteristic, int,
+ * int, Shrinker)
+ */
+@FunctionalInterface
+public interface Shrinker<T> {
+
+    /**
+     * Finds a smaller value for which the predicate holds.
+     *
+     * @param value the value to shrink.
+     * @param failing tests whether a candidate still fails.
+     * @return the first smaller candidate which still fails, or {@code null} if there is none.
+     */
+    T shrinkStep(T value, Predicate<T> failing);
+
+    /**
+     * Shrinks the value until no smaller candidate fails.
+     *
+     * @param value the failing value.
+     * @param failing tests whether a candidate still fails.
+     * @return the smallest failing value found, which is the provided value if it cannot be shrunk.
+     */
+    default T shrink(final T value, final Predicate<T> failing) {
+        T smallest = value;
+        for (T smaller = shrinkStep(value, failing); smaller != null; smaller = shrinkStep(smaller, failing)) {
+            smallest = smaller;
+        }
+        return smallest;
+    }
+
+    /**
+     * A shrinker which never finds a smaller value.
+     *
+     * @param <T> the type of the values.
+     * @return the shrinker.
+     */
+    static <T> Shrinker<T> none() {
+        return (value, failing) -> null;
+    }
+}
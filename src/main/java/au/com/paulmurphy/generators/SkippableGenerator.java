@@ -0,0 +1,26 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+/**
+ * A {@link Generator} which can move past values without producing them.
+ *
+ * <p>A generator created with a seed skips in constant time, so shard {@code k} of a run of {@code N} values per
+ * shard can start at value {@code k * N}, and a failing value can be reproduced from the seed and its position with
+ * {@code skip(position).next()}. Generators without a seed, or with components outside their seed, draw and discard
+ * the skipped values instead.</p>
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public interface SkippableGenerator<T> extends Generator<T> {
+
+    /**
+     * Moves past the next {@code n} values.
+     *
+     * @param n the number of values to skip.
+     * @return this generator.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    SkippableGenerator<T> skip(long n);
+}
@@ -0,0 +1,51 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+
+import java.util.stream.Stream;
+
+/**
+ * A {@link Generator} which can be split into independent generators, one per worker thread.
+ *
+ * <p>A generator is not thread safe, but the generator returned by {@link #split()} shares no mutable state with
+ * the one it was split from. Each split has the same configuration as the original, draws from its own random
+ * stream and starts from the beginning, so any ensured values are produced again.</p>
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ * @see PerThreadGenerator
+ */
+public interface SplittableGenerator<T> extends Generator<T> {
+
+    /**
+     * Produces an independent generator with the same configuration as this one.
+     *
+     * @return the new generator.
+     */
+    SplittableGenerator<T> split();
+
+    /**
+     * Produces a stream of {@code n} values of this generator. The stream can be made parallel; each part of a
+     * parallel pipeline draws from its own split of this generator.
+     *
+     * @param n the number of values in the stream.
+     * @return Stream of {@code n} values.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     * @see GeneratorStreams
+     */
+    default Stream<T> stream(final long n) {
+        return GeneratorStreams.stream(this, n);
+    }
+
+    /**
+     * Splits the provided generator when it is a {@code SplittableGenerator}. Any other generator is returned as
+     * is, and will be shared with the generator being split.
+     *
+     * @param generator the generator to split.
+     * @param <T> the type of the generated values.
+     * @return the split generator, or the provided generator.
+     */
+    static <T> Generator<T> splitIfPossible(final Generator<T> generator) {
+        return generator instanceof SplittableGenerator ? ((SplittableGenerator<T>) generator).split() : generator;
+    }
+}
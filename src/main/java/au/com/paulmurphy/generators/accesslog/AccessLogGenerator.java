@@ -0,0 +1,248 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import au.com.paulmurphy.generators.AliasTable;
+import au.com.paulmurphy.generators.CharSequenceGenerator;
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.MimeTypeGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import au.com.paulmurphy.generators.http.StatusCodeGenerator;
+import com.google.common.base.Preconditions;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Produces the lines of an Http server access log, in a {@link LogFormat}, without a line separator.
+ *
+ * <p>The request of each line takes its path from a {@link PathGenerator} and its status from a
+ * {@link StatusCodeGenerator}; the Combined Log Format adds a {@code Referer} and a {@code User-Agent} from a
+ * {@link HeaderGenerator}, and the content type is drawn from a {@link MimeTypeGenerator}. The client address,
+ * method and size of the response are drawn by the generator itself. Responses which have no body, those with a
+ * {@code 1xx}, {@code 204} or {@code 304} status, are logged with {@code -} for their size.</p>
+ *
+ * <p>Lines are logged in order of time, {@link #linesPerSecond(int)} each second from {@link #startTime(Instant)},
+ * so the time of a line depends on its position alone.</p>
+ *
+ * <p>Use {@link #split()} to give each worker thread its own generator. {@link #AccessLogGenerator(long, LogFormat)}
+ * produces reproducible lines which can be skipped in constant time, so any part of a log can be produced on its
+ * own.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class AccessLogGenerator
+        implements SplittableGenerator<String>, SkippableGenerator<String>, CharSequenceGenerator {
+
+    /**
+     * The time of the first line by default, 2020-01-01T00:00:00Z.
+     */
+    public static final Instant DEFAULT_START_TIME = Instant.parse("2020-01-01T00:00:00Z");
+
+    static final int DEFAULT_LINES_PER_SECOND = 1_000;
+
+    private static final String[] METHODS = {"GET", "POST", "HEAD", "PUT", "DELETE"};
+    private static final AliasTable METHOD_WEIGHTS = AliasTable.of(80, 12, 4, 2, 2);
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH).withZone(ZoneOffset.UTC);
+
+    /**
+     * Each field is drawn from its own seed, the seed of the generator plus the offset of the field.
+     */
+    private static final int PATH_SEED = 1;
+    private static final int STATUS_CODE_SEED = 2;
+    private static final int MIME_TYPE_SEED = 3;
+    private static final int HEADER_SEED = 4;
+
+    private static final int OCTET = 0xFF;
+    private static final int FIRST_OCTET_SHIFT = 24;
+    private static final int SECOND_OCTET_SHIFT = 16;
+    private static final int THIRD_OCTET_SHIFT = 8;
+
+    private static final int FIRST_SUCCESS_STATUS = 200;
+    private static final int NO_CONTENT = 204;
+    private static final int NOT_MODIFIED = 304;
+    private static final int MAX_RESPONSE_BYTES = 1_048_576;
+
+    private static final String REFERER = "Referer";
+    private static final String USER_AGENT = "User-Agent";
+
+    private final RandomSource source;
+
+    private final PathGenerator paths;
+
+    private final StatusCodeGenerator statusCodes;
+
+    private final MimeTypeGenerator mimeTypes;
+
+    private final HeaderGenerator headers;
+
+    private final LogFormat format;
+
+    private long startSecond = DEFAULT_START_TIME.getEpochSecond();
+
+    private int linesPerSecond = DEFAULT_LINES_PER_SECOND;
+
+    /**
+     * The position of the next line.
+     */
+    private long line;
+
+    /**
+     * The second the cached date was formatted for.
+     */
+    private long second = Long.MIN_VALUE;
+
+    private String date;
+
+    /**
+     * Construct an instance producing lines in the provided format.
+     *
+     * @param format the format of the lines.
+     * @throws IllegalArgumentException if {@code format} is missing.
+     */
+    public AccessLogGenerator(final LogFormat format) {
+        this(RandomSource.quickCheck(), new PathGenerator(), StatusCodeGenerator.allCodes(),
+                MimeTypeGenerator.allMimeTypes(), new HeaderGenerator(), format);
+    }
+
+    /**
+     * Construct an instance producing lines in the provided format, drawn from the provided seed.
+     *
+     * @param seed the seed.
+     * @param format the format of the lines.
+     * @throws IllegalArgumentException if {@code format} is missing.
+     */
+    public AccessLogGenerator(final long seed, final LogFormat format) {
+        this(RandomSource.seeded(seed), new PathGenerator(seed + PATH_SEED),
+                StatusCodeGenerator.allCodes(seed + STATUS_CODE_SEED),
+                MimeTypeGenerator.allMimeTypes(seed + MIME_TYPE_SEED), new HeaderGenerator(seed + HEADER_SEED), format);
+    }
+
+    private AccessLogGenerator(final RandomSource source, final PathGenerator paths,
+                               final StatusCodeGenerator statusCodes, final MimeTypeGenerator mimeTypes,
+                               final HeaderGenerator headers, final LogFormat format) {
+        Preconditions.checkArgument(format != null, "format is required");
+        this.source = source;
+        this.paths = paths;
+        this.statusCodes = statusCodes;
+        this.mimeTypes = mimeTypes;
+        this.headers = headers;
+        this.format = format;
+    }
+
+    /**
+     * Sets the time of the first line. Times are logged to the second, in UTC.
+     *
+     * @param startTime the time of the first line. {@link #DEFAULT_START_TIME} by default.
+     * @return instance of the {@code AccessLogGenerator}.
+     */
+    public AccessLogGenerator startTime(final Instant startTime) {
+        Preconditions.checkArgument(startTime != null, "startTime is required");
+        this.startSecond = startTime.getEpochSecond();
+        return this;
+    }
+
+    /**
+     * Sets the number of lines logged each second.
+     *
+     * @param linesPerSecond the number of lines. 1,000 by default.
+     * @return instance of the {@code AccessLogGenerator}.
+     * @throws IllegalArgumentException if {@code linesPerSecond} is not positive.
+     */
+    public AccessLogGenerator linesPerSecond(final int linesPerSecond) {
+        Preconditions.checkArgument(linesPerSecond > 0, "linesPerSecond must be positive");
+        this.linesPerSecond = linesPerSecond;
+        return this;
+    }
+
+    @Override
+    public AccessLogGenerator split() {
+        return new AccessLogGenerator(source.split(), paths.split(), statusCodes.split(), mimeTypes.split(),
+                headers.split(), format).linesPerSecond(linesPerSecond).startTime(Instant.ofEpochSecond(startSecond));
+    }
+
+    @Override
+    public AccessLogGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (source.skip(n)) {
+            paths.skip(n);
+            statusCodes.skip(n);
+            mimeTypes.skip(n);
+            headers.skip(2 * n);
+            line += n;
+        } else {
+            final StringBuilder skipped = new StringBuilder();
+            for (long i = 0; i < n; i++) {
+                nextInto(skipped).setLength(0);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public String next() {
+        return nextInto(new StringBuilder()).toString();
+    }
+
+    /**
+     * This generator, which builds each line in a new {@link StringBuilder}.
+     *
+     * @return this generator.
+     */
+    @Override
+    public AccessLogGenerator asGenerator() {
+        return this;
+    }
+
+    /**
+     * Appends the next line to the provided builder, without a line separator.
+     *
+     * @param builder the builder to append to.
+     * @return the provided builder.
+     */
+    @Override
+    public StringBuilder nextInto(final StringBuilder builder) {
+        source.nextElement();
+        final long epochSecond = startSecond + line / linesPerSecond;
+        line++;
+        final long address = source.nextLong();
+        builder.append(address >>> FIRST_OCTET_SHIFT & OCTET).append('.')
+                .append(address >>> SECOND_OCTET_SHIFT & OCTET).append('.')
+                .append(address >>> THIRD_OCTET_SHIFT & OCTET).append('.')
+                .append(address & OCTET)
+                .append(" - - [").append(date(epochSecond)).append("] \"")
+                .append(METHODS[METHOD_WEIGHTS.sample(source)]).append(' ');
+        paths.nextInto(builder).append(" HTTP/1.1\" ");
+        final int status = statusCodes.nextInt();
+        builder.append(status).append(' ');
+        if (status < FIRST_SUCCESS_STATUS || status == NO_CONTENT || status == NOT_MODIFIED) {
+            builder.append('-');
+        } else {
+            builder.append(1 + source.nextInt(MAX_RESPONSE_BYTES));
+        }
+        if (format.requestHeaders()) {
+            builder.append(" \"").append(headers.nextValue(REFERER))
+                    .append("\" \"").append(headers.nextValue(USER_AGENT)).append('"');
+        }
+        if (format.contentType()) {
+            mimeTypes.nextInto(builder.append(" \"")).append('"');
+        }
+        return builder;
+    }
+
+    /**
+     * The date of a second, formatted when the second differs from that of the previous line.
+     */
+    private String date(final long epochSecond) {
+        if (epochSecond != second) {
+            second = epochSecond;
+            date = DATE_FORMAT.format(Instant.ofEpochSecond(epochSecond));
+        }
+        return date;
+    }
+}
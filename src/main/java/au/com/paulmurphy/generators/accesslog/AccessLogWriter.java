@@ -0,0 +1,189 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes access log lines to a file, producing them on several threads while writing them in order.
+ *
+ * <pre>
+ * long size = AccessLogWriter.to(Paths.get("access.log.gz"))
+ *         .threads(8)
+ *         .write(() -&gt; new AccessLogGenerator(seed, LogFormat.COMBINED), 100_000_000);
+ * </pre>
+ *
+ * <p>The lines are cut into chunks of {@link #chunkLines(int)} lines. Each chunk is produced by a worker from a new
+ * generator skipped to the first line of the chunk, so the generators must be seeded alike, and a chunk holds the
+ * same lines whichever worker produces it. The file is written by the calling thread, one chunk after another, while
+ * the workers produce at most two chunks each ahead of it; memory is bounded by the size of those chunks, however
+ * many lines are written.</p>
+ *
+ * <p>When the file name ends with {@code .gz}, or {@link #gzip(boolean)} is set, each chunk is compressed by its
+ * worker as a gzip member of its own. A gzip file may hold any number of members one after another, and is read as
+ * the concatenation of their contents, so compressing scales with the workers rather than being left to the writing
+ * thread.</p>
+ *
+ * <p>A writer is configured before a write and is not thread safe.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class AccessLogWriter {
+
+    static final int DEFAULT_CHUNK_LINES = 16_384;
+    private static final int CHUNKS_PER_THREAD = 2;
+    private static final String GZIP_SUFFIX = ".gz";
+
+    private final Path file;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int chunkLines = DEFAULT_CHUNK_LINES;
+
+    private boolean gzip;
+
+    private AccessLogWriter(final Path file) {
+        this.file = file;
+        this.gzip = file.toString().endsWith(GZIP_SUFFIX);
+    }
+
+    /**
+     * Creates a writer to the provided file, which is replaced if it exists. The file is compressed with gzip when
+     * its name ends with {@code .gz}, and the lines are produced on a thread for each processor.
+     *
+     * @param file the file.
+     * @return the writer.
+     */
+    public static AccessLogWriter to(final Path file) {
+        Preconditions.checkArgument(file != null, "file is required");
+        return new AccessLogWriter(file);
+    }
+
+    /**
+     * Sets the number of threads the lines are produced on.
+     *
+     * @param threads the number of threads.
+     * @return this writer.
+     * @throws IllegalArgumentException if {@code threads} is not positive.
+     */
+    public AccessLogWriter threads(final int threads) {
+        Preconditions.checkArgument(threads > 0, "threads must be positive");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the number of lines of each chunk.
+     *
+     * @param chunkLines the number of lines. 16,384 by default.
+     * @return this writer.
+     * @throws IllegalArgumentException if {@code chunkLines} is not positive.
+     */
+    public AccessLogWriter chunkLines(final int chunkLines) {
+        Preconditions.checkArgument(chunkLines > 0, "chunkLines must be positive");
+        this.chunkLines = chunkLines;
+        return this;
+    }
+
+    /**
+     * Sets whether the file is compressed with gzip.
+     *
+     * @param gzip true to compress the file.
+     * @return this writer.
+     */
+    public AccessLogWriter gzip(final boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    /**
+     * Writes {@code n} lines, each followed by {@code \n}.
+     *
+     * @param lines creates the generator of each chunk, on the worker producing it; every generator must produce
+     *     the same lines.
+     * @param n the number of lines.
+     * @return the size of the file.
+     * @throws IOException if the file cannot be written.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     * @throws RuntimeException the failure of a worker, such as a failure of the generator.
+     */
+    public long write(final Supplier<AccessLogGenerator> lines, final long n) throws IOException {
+        Preconditions.checkArgument(lines != null, "lines is required");
+        return writeChunks(first -> lines.get().skip(first), n);
+    }
+
+    /**
+     * Writes {@code n} lines, taking the generator of each chunk from {@code generators}, which is given the first
+     * line of the chunk and returns a generator positioned at it.
+     */
+    long writeChunks(final LongFunction<AccessLogGenerator> generators, final long n) throws IOException {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        // a gzip file needs a member even when there are no lines
+        final long chunks = Math.max(1, (n + chunkLines - 1) / chunkLines);
+        final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            long size = 0;
+            long submitted = 0;
+            for (long written = 0; written < chunks; written++) {
+                for (; submitted < chunks && pending.size() < CHUNKS_PER_THREAD * threads; submitted++) {
+                    final long first = submitted * chunkLines;
+                    final int count = (int) Math.min(chunkLines, n - first);
+                    pending.add(executor.submit(() -> chunk(generators.apply(first), count)));
+                }
+                final byte[] chunk = await(pending.remove());
+                out.write(chunk);
+                size += chunk.length;
+            }
+            return size;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Produces the bytes of the next {@code count} lines of the generator.
+     */
+    private byte[] chunk(final AccessLogGenerator generator, final int count) throws IOException {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            generator.nextInto(builder).append('\n');
+        }
+        final byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+        if (!gzip) {
+            return bytes;
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static byte[] await(final Future<byte[]> chunk) throws IOException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for the lines");
+        } catch (ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * Writes an access log file from the command line.
+ *
+ * <pre>
+ * java -cp property-generators.jar:guava.jar:quickcheck.jar au.com.paulmurphy.generators.accesslog.AccessLogs \
+ *         --lines 100000000 --output access.log.gz --format combined --seed 42
+ * </pre>
+ *
+ * <p>{@code --lines} and {@code --output} are required. The log is compressed with gzip when the output ends with
+ * {@code .gz} or {@code --gzip} is given. The other options, with their defaults:</p>
+ *
+ * <ul>
+ *     <li>{@code --format common|combined|combined-with-content-type}, {@code combined}</li>
+ *     <li>{@code --seed}, 0; the same seed writes the same log</li>
+ *     <li>{@code --start-time}, the time of the first line, {@code 2020-01-01T00:00:00Z}</li>
+ *     <li>{@code --lines-per-second}, 1000</li>
+ *     <li>{@code --threads}, the number of processors</li>
+ *     <li>{@code --chunk-lines}, the number of lines each thread produces at a time, 16384</li>
+ * </ul>
+ *
+ * @author Paul Murphy
+ */
+public final class AccessLogs {
+
+    private static final String USAGE = "usage: --lines <n> --output <file> [--gzip]"
+            + " [--format common|combined|combined-with-content-type] [--seed <n>] [--start-time <instant>]"
+            + " [--lines-per-second <n>] [--threads <n>] [--chunk-lines <n>]";
+
+    private Path output;
+
+    private long lines = -1;
+
+    private boolean gzip;
+
+    private LogFormat format = LogFormat.COMBINED;
+
+    private long seed;
+
+    private Instant startTime = AccessLogGenerator.DEFAULT_START_TIME;
+
+    private int linesPerSecond = AccessLogGenerator.DEFAULT_LINES_PER_SECOND;
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private int chunkLines = AccessLogWriter.DEFAULT_CHUNK_LINES;
+
+    private AccessLogs() {
+    }
+
+    /**
+     * Writes the access log described by the arguments.
+     *
+     * @param args the options.
+     * @throws IOException if the log cannot be written.
+     * @throws IllegalArgumentException if the options are not valid.
+     */
+    public static void main(final String[] args) throws IOException {
+        parse(args).run();
+    }
+
+    /**
+     * Reads the options.
+     *
+     * @throws IllegalArgumentException if an option is unknown, a value is not valid, or a required option is
+     *     missing.
+     */
+    static AccessLogs parse(final String... args) {
+        final AccessLogs command = new AccessLogs();
+        for (int i = 0; i < args.length; i++) {
+            if ("--gzip".equals(args[i])) {
+                command.gzip = true;
+            } else {
+                Preconditions.checkArgument(i + 1 < args.length, "%s needs a value; %s", args[i], USAGE);
+                command.set(args[i], args[++i]);
+            }
+        }
+        Preconditions.checkArgument(command.output != null, "--output is required; %s", USAGE);
+        Preconditions.checkArgument(command.lines >= 0, "--lines is required; %s", USAGE);
+        return command;
+    }
+
+    private void set(final String option, final String value) {
+        switch (option) {
+            case "--lines":
+                lines = Long.parseLong(value);
+                Preconditions.checkArgument(lines >= 0, "--lines must not be negative");
+                break;
+            case "--output":
+                output = Paths.get(value);
+                break;
+            case "--format":
+                format = LogFormat.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+                break;
+            case "--seed":
+                seed = Long.parseLong(value);
+                break;
+            case "--start-time":
+                startTime = Instant.parse(value);
+                break;
+            case "--lines-per-second":
+                linesPerSecond = Integer.parseInt(value);
+                break;
+            case "--threads":
+                threads = Integer.parseInt(value);
+                break;
+            case "--chunk-lines":
+                chunkLines = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown option " + option + "; " + USAGE);
+        }
+    }
+
+    /**
+     * Writes the log.
+     *
+     * @return the size of the file.
+     */
+    long run() throws IOException {
+        final AccessLogWriter writer = AccessLogWriter.to(output).threads(threads).chunkLines(chunkLines);
+        if (gzip) {
+            writer.gzip(true);
+        }
+        return writer.write(() -> new AccessLogGenerator(seed, format).startTime(startTime)
+                .linesPerSecond(linesPerSecond), lines);
+    }
+}
@@ -0,0 +1,48 @@
+package au.com.paulmurphy.generators.accesslog;
+
+/**
+ * The formats of the lines written by an {@link AccessLogGenerator}.
+ *
+ * @author Paul Murphy
+ */
+public enum LogFormat {
+
+    /**
+     * The Common Log Format: {@code host ident authuser [date] "request" status bytes}.
+     */
+    COMMON(false, false),
+
+    /**
+     * The Combined Log Format, which follows the Common Log Format with the quoted {@code Referer} and
+     * {@code User-Agent} of the request.
+     */
+    COMBINED(true, false),
+
+    /**
+     * The Combined Log Format followed by the quoted {@code Content-Type} of the response.
+     */
+    COMBINED_WITH_CONTENT_TYPE(true, true);
+
+    private final boolean requestHeaders;
+
+    private final boolean contentType;
+
+    LogFormat(final boolean requestHeaders, final boolean contentType) {
+        this.requestHeaders = requestHeaders;
+        this.contentType = contentType;
+    }
+
+    /**
+     * Whether a line has the {@code Referer} and {@code User-Agent} of the request.
+     */
+    boolean requestHeaders() {
+        return requestHeaders;
+    }
+
+    /**
+     * Whether a line has the {@code Content-Type} of the response.
+     */
+    boolean contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,98 @@
+package au.com.paulmurphy.generators.corpus;
+
+import net.java.quickcheck.collection.Pair;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The {@link ValueCodec}s provided by {@link ValueCodec#integers()}, {@link ValueCodec#strings()} and
+ * {@link ValueCodec#headers()}.
+ *
+ * @author Paul Murphy
+ */
+final class Codecs {
+
+    private static final int VARINT_BITS = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int VARINT_MORE = 0x80;
+
+    private Codecs() {
+    }
+
+    static void writeVarint(final DataOutput out, final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VARINT_MASK) != 0) {
+            out.writeByte(remaining & VARINT_MASK | VARINT_MORE);
+            remaining >>>= VARINT_BITS;
+        }
+        out.writeByte(remaining);
+    }
+
+    static int readVarint(final ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while (b < 0);
+        return value;
+    }
+
+    static final class IntegerCodec implements ValueCodec<Integer> {
+
+        @Override
+        public void write(final Integer value, final DataOutput out) throws IOException {
+            writeVarint(out, value << 1 ^ value >> (Integer.SIZE - 1));
+        }
+
+        @Override
+        public Integer read(final ByteBuffer in) {
+            final int zigZag = readVarint(in);
+            return zigZag >>> 1 ^ -(zigZag & 1);
+        }
+    }
+
+    static final class StringCodec implements ValueCodec<String> {
+
+        private byte[] bytes = new byte[0];
+
+        @Override
+        public void write(final String value, final DataOutput out) throws IOException {
+            final byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, encoded.length);
+            out.write(encoded);
+        }
+
+        @Override
+        public String read(final ByteBuffer in) {
+            final int length = readVarint(in);
+            if (bytes.length < length) {
+                bytes = new byte[length];
+            }
+            in.get(bytes, 0, length);
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    static final class HeaderCodec implements ValueCodec<Pair<String, String>> {
+
+        private final StringCodec strings = new StringCodec();
+
+        @Override
+        public void write(final Pair<String, String> value, final DataOutput out) throws IOException {
+            strings.write(value.getFirst(), out);
+            strings.write(value.getSecond(), out);
+        }
+
+        @Override
+        public Pair<String, String> read(final ByteBuffer in) {
+            final String name = strings.read(in);
+            return new Pair<>(name, strings.read(in));
+        }
+    }
+}
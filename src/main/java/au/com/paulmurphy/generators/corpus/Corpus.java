@@ -0,0 +1,129 @@
+package au.com.paulmurphy.generators.corpus;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A corpus of messages written by a {@link CorpusWriter}, mapped read only.
+ *
+ * <p>The directory holds the messages in segment files, {@code corpus-00000.seg} onwards, and an index,
+ * {@code corpus.idx}, with an entry for each message: the segment, the offset within the segment and the length, as
+ * three big-endian ints. {@link #message(long)} looks the entry up and returns the message in place, so any message
+ * can be read without reading the ones before it. The index is mapped in chunks, so it has no size limit either.</p>
+ *
+ * <p>A corpus is thread safe. The files are no longer needed open once the corpus is created; the mappings are
+ * released when the corpus is garbage collected.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class Corpus {
+
+    static final String INDEX = "corpus.idx";
+
+    /**
+     * The size of an index entry: segment, offset and length.
+     */
+    static final int ENTRY_SIZE = 3 * Integer.BYTES;
+
+    private static final int SEGMENT = 0;
+    private static final int OFFSET = Integer.BYTES;
+    private static final int LENGTH = 2 * Integer.BYTES;
+
+    /**
+     * The number of index entries mapped together, keeping each chunk below 2 GB.
+     */
+    static final int CHUNK_ENTRIES = 67_108_864;
+
+    private final long size;
+
+    private final int chunkEntries;
+
+    private final MappedByteBuffer[] chunks;
+
+    private final MappedByteBuffer[] segments;
+
+    private Corpus(final long size, final int chunkEntries, final MappedByteBuffer[] chunks,
+                   final MappedByteBuffer[] segments) {
+        this.size = size;
+        this.chunkEntries = chunkEntries;
+        this.chunks = chunks;
+        this.segments = segments;
+    }
+
+    /**
+     * Maps the corpus in the provided directory.
+     *
+     * @param directory the directory the corpus was written to.
+     * @return the corpus.
+     * @throws IOException if the index or a segment cannot be mapped.
+     */
+    public static Corpus open(final Path directory) throws IOException {
+        return open(directory, CHUNK_ENTRIES);
+    }
+
+    static Corpus open(final Path directory, final int chunkEntries) throws IOException {
+        Preconditions.checkArgument(directory != null, "directory is required");
+        final long size;
+        final MappedByteBuffer[] chunks;
+        try (FileChannel index = FileChannel.open(directory.resolve(INDEX), StandardOpenOption.READ)) {
+            size = index.size() / ENTRY_SIZE;
+            chunks = new MappedByteBuffer[(int) ((size + chunkEntries - 1) / chunkEntries)];
+            for (int i = 0; i < chunks.length; i++) {
+                final long offset = (long) i * chunkEntries * ENTRY_SIZE;
+                chunks[i] = index.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min((long) chunkEntries * ENTRY_SIZE, index.size() - offset));
+            }
+        }
+        final int segmentCount = size == 0 ? 0 : field(chunks, chunkEntries, size - 1, SEGMENT) + 1;
+        final MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segments.length; i++) {
+            try (FileChannel segment = FileChannel.open(segment(directory, i), StandardOpenOption.READ)) {
+                segments[i] = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+            }
+        }
+        return new Corpus(size, chunkEntries, chunks, segments);
+    }
+
+    /**
+     * The number of messages in the corpus.
+     *
+     * @return the number of messages.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The message at the provided index, as a read only buffer positioned at the start of the message with its
+     * limit at the end.
+     *
+     * @param index the index of the message.
+     * @return the message.
+     * @throws IndexOutOfBoundsException if {@code index} is negative or not less than {@link #size()}.
+     */
+    public ByteBuffer message(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    String.format("index (%s) must be between 0 and size (%s), exclusive", index, size));
+        }
+        final ByteBuffer message = segments[field(chunks, chunkEntries, index, SEGMENT)].duplicate();
+        final int offset = field(chunks, chunkEntries, index, OFFSET);
+        message.limit(offset + field(chunks, chunkEntries, index, LENGTH)).position(offset);
+        return message;
+    }
+
+    static Path segment(final Path directory, final int segment) {
+        return directory.resolve(String.format("corpus-%05d.seg", segment));
+    }
+
+    private static int field(final MappedByteBuffer[] chunks, final int chunkEntries, final long index,
+                             final int field) {
+        return chunks[(int) (index / chunkEntries)].getInt((int) (index % chunkEntries) * ENTRY_SIZE + field);
+    }
+}
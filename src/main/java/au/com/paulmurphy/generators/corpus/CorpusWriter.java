@@ -0,0 +1,222 @@
+package au.com.paulmurphy.generators.corpus;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Writes generated messages to a directory as a {@link Corpus}.
+ *
+ * <p>Messages are written straight into memory-mapped segment files of a fixed size, so a message costs no more than
+ * producing its bytes. A message never straddles two segments: when the space left in a segment is smaller than the
+ * largest message, the segment is forced to disk, unmapped and cut to the bytes used, and the next one is mapped.
+ * Every segment stays below 2 GB, while the corpus as a whole has no size limit.</p>
+ *
+ * <p>Each message is written by a {@link Consumer} which puts its bytes at the position of the buffer it is given,
+ * such as {@code HeaderBlockGenerator::nextInto}. Writing past the largest message size throws a
+ * {@link java.nio.BufferOverflowException}. A message which throws is not written: the bytes it put are overwritten
+ * by the next message.</p>
+ *
+ * <pre>
+ * try (CorpusWriter writer = CorpusWriter.create(directory, requests.maxBlockSize())) {
+ *     for (int i = 0; i &lt; 1_000_000; i++) {
+ *         writer.write(requests::nextInto);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>A writer is not thread safe.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class CorpusWriter implements Closeable {
+
+    /**
+     * The default segment size, 1 GiB.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 1_073_741_824;
+
+    private static final int INDEX_BUFFER_SIZE = 4096 * Corpus.ENTRY_SIZE;
+
+    private final Path directory;
+
+    private final int maxMessageSize;
+
+    private final int segmentSize;
+
+    private final FileChannel index;
+
+    private final ByteBuffer indexBuffer = ByteBuffer.allocate(INDEX_BUFFER_SIZE);
+
+    private FileChannel segmentChannel;
+
+    private MappedByteBuffer segment;
+
+    private int segmentNumber = -1;
+
+    private long size;
+
+    private boolean closed;
+
+    private CorpusWriter(final Path directory, final int maxMessageSize, final int segmentSize,
+                         final FileChannel index) {
+        this.directory = directory;
+        this.maxMessageSize = maxMessageSize;
+        this.segmentSize = segmentSize;
+        this.index = index;
+    }
+
+    /**
+     * Creates a writer with the default segment size. Any corpus already in the directory is replaced; segments it
+     * had past the last one written are deleted on {@link #close()}.
+     *
+     * @param directory the directory the corpus is written to, created if it does not exist.
+     * @param maxMessageSize the size of the largest message.
+     * @return the writer.
+     * @throws IOException if the directory or the index cannot be created.
+     */
+    public static CorpusWriter create(final Path directory, final int maxMessageSize) throws IOException {
+        return create(directory, maxMessageSize, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Creates a writer with the provided segment size. Any corpus already in the directory is replaced; segments it
+     * had past the last one written are deleted on {@link #close()}.
+     *
+     * @param directory the directory the corpus is written to, created if it does not exist.
+     * @param maxMessageSize the size of the largest message.
+     * @param segmentSize the size each segment is mapped with.
+     * @return the writer.
+     * @throws IOException if the directory or the index cannot be created.
+     */
+    public static CorpusWriter create(final Path directory, final int maxMessageSize, final int segmentSize)
+            throws IOException {
+        Preconditions.checkArgument(directory != null, "directory is required");
+        Preconditions.checkArgument(maxMessageSize > 0, "maxMessageSize must be positive");
+        Preconditions.checkArgument(segmentSize >= maxMessageSize, "segmentSize must not be less than maxMessageSize");
+        Files.createDirectories(directory);
+        final FileChannel index = FileChannel.open(directory.resolve(Corpus.INDEX), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new CorpusWriter(directory, maxMessageSize, segmentSize, index);
+    }
+
+    /**
+     * Writes a message. The message is given a buffer positioned where the message starts, with at least the
+     * largest message size remaining, and puts its bytes at that position. If it throws, nothing is written and the
+     * exception is passed on.
+     *
+     * <p>The buffer is a mapping of the current segment, which is unmapped once the segment is finished. The message
+     * must not keep the buffer, or a view of it, after it returns: using it once the segment is unmapped crashes the
+     * JVM rather than throwing.</p>
+     *
+     * @param message writes the message into the buffer.
+     * @return the index of the message in the corpus.
+     * @throws IOException if the next segment cannot be mapped or the index cannot be written.
+     * @throws java.nio.BufferOverflowException if the message is larger than the largest message size.
+     */
+    public long write(final Consumer<ByteBuffer> message) throws IOException {
+        Preconditions.checkState(!closed, "writer is closed");
+        if (segment == null || segment.remaining() < maxMessageSize) {
+            nextSegment();
+        }
+        final int start = segment.position();
+        segment.limit(start + maxMessageSize);
+        boolean written = false;
+        try {
+            message.accept(segment);
+            written = true;
+        } finally {
+            segment.limit(segment.capacity());
+            if (!written) {
+                segment.position(start);
+            }
+        }
+        if (!indexBuffer.hasRemaining()) {
+            flushIndex();
+        }
+        indexBuffer.putInt(segmentNumber).putInt(start).putInt(segment.position() - start);
+        return size++;
+    }
+
+    /**
+     * The number of messages written.
+     *
+     * @return the number of messages.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Cuts the last segment to the bytes used, writes the rest of the index and forces both to disk. Segments left
+     * from a larger corpus which was replaced are deleted.
+     *
+     * @throws IOException if the segment or the index cannot be written, or a segment left cannot be deleted.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                finishSegment();
+                flushIndex();
+                index.force(true);
+            } finally {
+                index.close();
+            }
+            deleteSegmentsFrom(segmentNumber + 1);
+        }
+    }
+
+    private void nextSegment() throws IOException {
+        finishSegment();
+        segmentNumber++;
+        segmentChannel = FileChannel.open(Corpus.segment(directory, segmentNumber), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void finishSegment() throws IOException {
+        if (segment != null) {
+            final MappedByteBuffer finished = segment;
+            final int used = finished.position();
+            segment = null;
+            try {
+                finished.force();
+                // the file cannot be truncated while it is mapped on every platform
+                Unmapper.unmap(finished);
+                segmentChannel.truncate(used);
+                segmentChannel.force(true);
+            } finally {
+                segmentChannel.close();
+            }
+        }
+    }
+
+    /**
+     * A corpus has no gaps in its segment numbers, so the segments left by a replaced corpus end at the first one
+     * missing.
+     */
+    private void deleteSegmentsFrom(final int first) throws IOException {
+        int number = first;
+        while (Files.deleteIfExists(Corpus.segment(directory, number))) {
+            number++;
+        }
+    }
+
+    private void flushIndex() throws IOException {
+        indexBuffer.flip();
+        while (indexBuffer.hasRemaining()) {
+            index.write(indexBuffer);
+        }
+        indexBuffer.clear();
+    }
+}
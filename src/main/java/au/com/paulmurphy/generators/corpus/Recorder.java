@@ -0,0 +1,150 @@
+package au.com.paulmurphy.generators.corpus;
+
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.Generator;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Wraps a generator and records every value it produces to a file, which a {@link Replay} reads back.
+ *
+ * <p>The file starts with a magic number and the number of values, written when the recorder is closed, followed by
+ * the values as written by the {@link ValueCodec}. Values are buffered, and only reach the file in large writes.</p>
+ *
+ * <pre>
+ * Recorder.record(StatusCodeGenerator.allCodes(seed), ValueCodec.integers(), 1_000_000, file);
+ *
+ * Replay&lt;Integer&gt; codes = Replay.open(file, ValueCodec.integers());
+ * </pre>
+ *
+ * <p>A recorder is not thread safe.</p>
+ *
+ * @param <T> the type of the values.
+ * @author Paul Murphy
+ */
+public final class Recorder<T> implements Generator<T>, Closeable {
+
+    static final int MAGIC = 0x50474331;
+
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    private static final int BUFFER_SIZE = 65_536;
+
+    private final Generator<T> generator;
+
+    private final ValueCodec<T> codec;
+
+    private final Path file;
+
+    private final DataOutputStream out;
+
+    private long size;
+
+    private boolean closed;
+
+    private Recorder(final Generator<T> generator, final ValueCodec<T> codec, final Path file,
+                     final DataOutputStream out) {
+        this.generator = generator;
+        this.codec = codec;
+        this.file = file;
+        this.out = out;
+    }
+
+    /**
+     * Creates a recorder writing to the provided file, which is replaced if it exists.
+     *
+     * @param generator the generator to record.
+     * @param codec the codec writing each value.
+     * @param file the file to write to.
+     * @param <T> the type of the values.
+     * @return the recorder.
+     * @throws IOException if the file cannot be created.
+     */
+    public static <T> Recorder<T> create(final Generator<T> generator, final ValueCodec<T> codec, final Path file)
+            throws IOException {
+        Preconditions.checkArgument(generator != null, "generator is required");
+        Preconditions.checkArgument(codec != null, "codec is required");
+        Preconditions.checkArgument(file != null, "file is required");
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeLong(-1);
+        return new Recorder<>(generator, codec, file, out);
+    }
+
+    /**
+     * Records {@code n} values of the provided generator to a file.
+     *
+     * @param generator the generator to record.
+     * @param codec the codec writing each value.
+     * @param n the number of values to record.
+     * @param file the file to write to.
+     * @param <T> the type of the values.
+     * @throws IOException if the file cannot be written.
+     */
+    public static <T> void record(final Generator<T> generator, final ValueCodec<T> codec, final long n,
+                                  final Path file) throws IOException {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        try (Recorder<T> recorder = create(generator, codec, file)) {
+            for (long i = 0; i < n; i++) {
+                recorder.next();
+            }
+        }
+    }
+
+    /**
+     * Produces the next value of the wrapped generator, and records it.
+     *
+     * @return the value.
+     * @throws UncheckedIOException if the value cannot be written.
+     */
+    @Override
+    public T next() {
+        Preconditions.checkState(!closed, "recorder is closed");
+        final T value = generator.next();
+        try {
+            codec.write(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        size++;
+        return value;
+    }
+
+    /**
+     * The number of values recorded.
+     *
+     * @return the number of values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes the remaining values and the number of values to the file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            out.close();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                final ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, size);
+                while (count.hasRemaining()) {
+                    channel.write(count, Integer.BYTES + count.position());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package au.com.paulmurphy.generators.corpus;
+
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.Generator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * A {@link Generator} replaying the values recorded by a {@link Recorder}, in the order they were recorded.
+ *
+ * <p>The file is mapped read only and each value is read in place; the only work per value is decoding its final
+ * form, such as the {@code String}. Once every value has been replayed, {@link #next()} throws, and
+ * {@link #rewind()} starts again from the first value. Files of up to 2 GB can be replayed; a larger fixture can be
+ * split over several recordings, or written as a {@link Corpus}.</p>
+ *
+ * <p>A replay is not thread safe.</p>
+ *
+ * @param <T> the type of the values.
+ * @author Paul Murphy
+ */
+public final class Replay<T> implements Generator<T> {
+
+    private final ByteBuffer buffer;
+
+    private final ValueCodec<T> codec;
+
+    private final long size;
+
+    private long position;
+
+    private Replay(final ByteBuffer buffer, final ValueCodec<T> codec, final long size) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.size = size;
+    }
+
+    /**
+     * Maps a file written by a {@link Recorder}.
+     *
+     * @param file the recorded file.
+     * @param codec the codec the values were written with.
+     * @param <T> the type of the values.
+     * @return the replay, positioned at the first value.
+     * @throws IOException if the file cannot be mapped.
+     * @throws IllegalArgumentException if the file is not a closed recording, or is larger than 2 GB.
+     */
+    public static <T> Replay<T> open(final Path file, final ValueCodec<T> codec) throws IOException {
+        Preconditions.checkArgument(file != null, "file is required");
+        Preconditions.checkArgument(codec != null, "codec is required");
+        final ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Preconditions.checkArgument(channel.size() <= Integer.MAX_VALUE, "file must not be larger than 2 GB");
+            Preconditions.checkArgument(channel.size() >= Recorder.HEADER_SIZE, "file is not a recording");
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        Preconditions.checkArgument(buffer.getInt() == Recorder.MAGIC, "file is not a recording");
+        final long size = buffer.getLong();
+        Preconditions.checkArgument(size >= 0, "recording was not closed");
+        return new Replay<>(buffer, codec, size);
+    }
+
+    /**
+     * Reads the next recorded value.
+     *
+     * @return the value.
+     * @throws NoSuchElementException if every value has been replayed.
+     */
+    @Override
+    public T next() {
+        if (position == size) {
+            throw new NoSuchElementException(String.format("all %s recorded values have been replayed", size));
+        }
+        position++;
+        return codec.read(buffer);
+    }
+
+    /**
+     * The number of recorded values.
+     *
+     * @return the number of values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * The number of values left to replay.
+     *
+     * @return the number of values.
+     */
+    public long remaining() {
+        return size - position;
+    }
+
+    /**
+     * Starts again from the first recorded value.
+     *
+     * @return this replay.
+     */
+    public Replay<T> rewind() {
+        buffer.position(Recorder.HEADER_SIZE);
+        position = 0;
+        return this;
+    }
+}
@@ -0,0 +1,46 @@
+package au.com.paulmurphy.generators.corpus;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * Releases the mapping of a buffer straight away instead of when it is garbage collected.
+ *
+ * <p>Some platforms, Windows among them, refuse to truncate or delete a file while any part of it is mapped. Java has
+ * no public way to unmap a buffer, so the buffer's cleaner is run through {@code sun.misc.Unsafe} on Java 9 and later,
+ * and called directly on Java 8. The buffer must not be read or written once it is unmapped.</p>
+ *
+ * @author Paul Murphy
+ */
+final class Unmapper {
+
+    private Unmapper() {
+    }
+
+    /**
+     * Unmaps a buffer.
+     *
+     * @param buffer the buffer to unmap, not used again by the caller.
+     * @throws IOException if the buffer cannot be unmapped on this JVM.
+     */
+    static void unmap(final MappedByteBuffer buffer) throws IOException {
+        try {
+            final Field theUnsafe = Class.forName("sun.misc.Unsafe").getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            try {
+                theUnsafe.getType().getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+            } catch (NoSuchMethodException e) {
+                // Java 8 has no invokeCleaner, but its buffers hand out their cleaner
+                final Method cleaner = buffer.getClass().getMethod("cleaner");
+                cleaner.setAccessible(true);
+                final Object clean = cleaner.invoke(buffer);
+                clean.getClass().getMethod("clean").invoke(clean);
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IOException("the segment cannot be unmapped", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package au.com.paulmurphy.generators.corpus;
+
+import net.java.quickcheck.collection.Pair;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes generated values to a {@link Recorder} file and reads them back for a {@link Replay}.
+ *
+ * <p>The codecs provided here keep values compact: ints are written as zig-zag varints, so small codes take one or two
+ * bytes, and strings as a varint length followed by their UTF-8 bytes. Reading a string copies its bytes into a
+ * buffer owned by the codec, so a codec must not be shared by replays read from different threads.</p>
+ *
+ * @param <T> the type of the values.
+ * @author Paul Murphy
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Writes a value.
+     *
+     * @param value the value, which must not be {@code null}.
+     * @param out the output to write to.
+     * @throws IOException if the value cannot be written.
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads a value written by {@link #write(Object, DataOutput)}, advancing the position of the buffer past it.
+     *
+     * @param in the buffer to read from.
+     * @return the value.
+     */
+    T read(ByteBuffer in);
+
+    /**
+     * A codec for {@code Integer} values, such as status codes.
+     *
+     * @return the codec.
+     */
+    static ValueCodec<Integer> integers() {
+        return new Codecs.IntegerCodec();
+    }
+
+    /**
+     * A codec for {@code String} values, such as paths and mime types.
+     *
+     * @return the codec.
+     */
+    static ValueCodec<String> strings() {
+        return new Codecs.StringCodec();
+    }
+
+    /**
+     * A codec for header {@link Pair}s of a name and a value.
+     *
+     * @return the codec.
+     */
+    static ValueCodec<Pair<String, String>> headers() {
+        return new Codecs.HeaderCodec();
+    }
+}
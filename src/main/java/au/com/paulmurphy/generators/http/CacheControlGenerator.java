@@ -0,0 +1,51 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+/**
+ * Produces request {@code Cache-Control} values: one to three directives, such as
+ * {@code no-cache, max-age=3600}. Directives ending in {@code =} take a number of seconds up to a day.
+ *
+ * @author Paul Murphy
+ */
+final class CacheControlGenerator implements Generator<String> {
+
+    private static final String[] DIRECTIVES =
+        {"no-cache", "no-store", "no-transform", "only-if-cached", "max-age=", "max-stale=", "min-fresh="};
+
+    private static final int MAX_DIRECTIVES = 3;
+    private static final int MAX_SECONDS = 86_400;
+
+    private final RandomSource source;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    CacheControlGenerator(final RandomSource source) {
+        this.source = source;
+    }
+
+    /**
+     * The length of the longest value: as many {@code max-stale} directives as are drawn, each with the most seconds.
+     */
+    static int maxValueLength() {
+        return MAX_DIRECTIVES * ("max-stale=" + MAX_SECONDS).length() + (MAX_DIRECTIVES - 1) * ", ".length();
+    }
+
+    @Override
+    public String next() {
+        builder.setLength(0);
+        final int directives = source.nextInt(1, MAX_DIRECTIVES);
+        for (int i = 0; i < directives; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            final String directive = DIRECTIVES[source.nextInt(DIRECTIVES.length)];
+            builder.append(directive);
+            if (directive.endsWith("=")) {
+                builder.append(source.nextInt(0, MAX_SECONDS));
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,57 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * Produces Http dates in the RFC 1123 format, such as {@code Thu, 01 Jan 2015 00:00:00 GMT}. A fixed set of dates,
+ * roughly three days apart and at different times of day, is formatted once when the generator is created, so
+ * producing a date only draws one of them.
+ *
+ * @author Paul Murphy
+ */
+final class DateGenerator implements Generator<String> {
+
+    static final int DATES = 256;
+
+    /**
+     * The first date, 2015-01-01T00:00:00Z, in seconds.
+     */
+    static final long FIRST = 1_420_070_400L;
+
+    /**
+     * The seconds between dates: three days, one hour, two minutes and seven seconds.
+     */
+    static final long STEP = 3 * 86_400L + 3_727L;
+
+    private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
+    private final String[] dates = new String[DATES];
+
+    private final RandomSource source;
+
+    DateGenerator(final RandomSource source) {
+        this.source = source;
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = FORMAT.format(Instant.ofEpochSecond(FIRST + i * STEP));
+        }
+    }
+
+    /**
+     * The length of every date.
+     */
+    static int maxValueLength() {
+        return FORMAT.format(Instant.ofEpochSecond(FIRST)).length();
+    }
+
+    @Override
+    public String next() {
+        return dates[source.nextInt(dates.length)];
+    }
+}
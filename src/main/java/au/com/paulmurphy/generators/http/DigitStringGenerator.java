@@ -0,0 +1,41 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+/**
+ * Produces non-negative decimal numbers without leading zeros, such as {@code Content-Length} values. The number of
+ * digits is drawn first, so short and long numbers are equally likely. The digits are drawn one at a time into a
+ * reusable buffer, without producing a number first.
+ *
+ * @author Paul Murphy
+ */
+final class DigitStringGenerator implements Generator<String> {
+
+    private static final int DIGITS = 10;
+
+    private final int minDigits;
+
+    private final int maxDigits;
+
+    private final RandomSource source;
+
+    private final char[] buffer;
+
+    DigitStringGenerator(final int minDigits, final int maxDigits, final RandomSource source) {
+        this.minDigits = minDigits;
+        this.maxDigits = maxDigits;
+        this.source = source;
+        this.buffer = new char[maxDigits];
+    }
+
+    @Override
+    public String next() {
+        final int length = source.nextInt(minDigits, maxDigits);
+        buffer[0] = (char) ('0' + (length == 1 ? source.nextInt(DIGITS) : source.nextInt(1, DIGITS - 1)));
+        for (int i = 1; i < length; i++) {
+            buffer[i] = (char) ('0' + source.nextInt(DIGITS));
+        }
+        return new String(buffer, 0, length);
+    }
+}
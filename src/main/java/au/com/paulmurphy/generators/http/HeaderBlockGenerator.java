@@ -0,0 +1,199 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Produces complete Http request header blocks as US-ASCII bytes: a request line with a path from
+ * {@link PathGenerator}, a number of headers and the empty line ending the block.
+ *
+ * <pre>
+ * GET /path/to/resource HTTP/1.1\r\n
+ * Accept: text/html\r\n
+ * Content-Length: 348\r\n
+ * \r\n
+ * </pre>
+ *
+ * <p>Header names are drawn from {@link HeaderGenerator#HEADER_NAMES}, and each value is drawn in the format of its
+ * header by the value generators of {@link HeaderGenerator#nextValue(String)}, so the blocks can be read by an Http
+ * parser. Names are encoded once, when the generator is created, and every other byte is written straight into the
+ * buffer.</p>
+ *
+ * <p>{@link #next()} returns a direct buffer owned by the generator, flipped and ready to be written to a channel.
+ * The buffer is reused by the next call. {@link #nextInto(ByteBuffer)} writes into a buffer of the caller instead;
+ * {@link #maxBlockSize()} is the capacity needed to hold any block.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class HeaderBlockGenerator
+        implements SplittableGenerator<ByteBuffer>, SkippableGenerator<ByteBuffer> {
+
+    private static final int DEFAULT_MIN_HEADERS = 1;
+    private static final int DEFAULT_MAX_HEADERS = HeaderGenerator.HEADER_NAMES.size();
+
+    private static final String[] METHODS = {"GET ", "HEAD ", "POST ", "PUT ", "DELETE ", "OPTIONS ", "PATCH "};
+    private static final byte[] VERSION = " HTTP/1.1\r\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = ": ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] methods = encode(METHODS);
+    private final byte[][] names = encode(HeaderGenerator.WIRE_NAMES.toArray(new String[0]));
+
+    private final int minHeaders;
+
+    private final int maxHeaders;
+
+    private final RandomSource source;
+
+    private final PathGenerator pathGenerator;
+
+    private final HeaderGenerator.GeneratorProvider values;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Default constructor, producing blocks with between 1 and {@code HEADER_NAMES.size()} headers.
+     */
+    public HeaderBlockGenerator() {
+        this(DEFAULT_MIN_HEADERS, DEFAULT_MAX_HEADERS);
+    }
+
+    /**
+     * Construct an instance producing blocks with a number of headers between the provided bounds.
+     *
+     * @param minHeaders the minimum number of headers, inclusive.
+     * @param maxHeaders the maximum number of headers, inclusive.
+     * @throws IllegalArgumentException if {@code minHeaders} is negative or greater than {@code maxHeaders}.
+     */
+    public HeaderBlockGenerator(final int minHeaders, final int maxHeaders) {
+        this(RandomSource.quickCheck(), minHeaders, maxHeaders);
+    }
+
+    /**
+     * Construct an instance with the default number of headers which draws its blocks from the provided seed.
+     *
+     * @param seed the seed.
+     */
+    public HeaderBlockGenerator(final long seed) {
+        this(seed, DEFAULT_MIN_HEADERS, DEFAULT_MAX_HEADERS);
+    }
+
+    /**
+     * Construct an instance producing blocks with a number of headers between the provided bounds, drawn from the
+     * provided seed.
+     *
+     * @param seed the seed.
+     * @param minHeaders the minimum number of headers, inclusive.
+     * @param maxHeaders the maximum number of headers, inclusive.
+     * @throws IllegalArgumentException if {@code minHeaders} is negative or greater than {@code maxHeaders}.
+     */
+    public HeaderBlockGenerator(final long seed, final int minHeaders, final int maxHeaders) {
+        this(RandomSource.seeded(seed), minHeaders, maxHeaders);
+    }
+
+    private HeaderBlockGenerator(final RandomSource source, final int minHeaders, final int maxHeaders) {
+        Preconditions.checkArgument(minHeaders >= 0, "minHeaders must not be negative");
+        Preconditions.checkArgument(minHeaders <= maxHeaders, "minHeaders must not be greater than maxHeaders");
+        this.minHeaders = minHeaders;
+        this.maxHeaders = maxHeaders;
+        this.source = source;
+        final RandomSource components = source.component();
+        this.pathGenerator = new PathGenerator(components);
+        this.values = new HeaderGenerator.GeneratorProvider(components);
+        this.buffer = ByteBuffer.allocateDirect(maxBlockSize());
+    }
+
+    /**
+     * The size of the largest block this generator can produce.
+     *
+     * @return the largest block size in bytes.
+     */
+    public int maxBlockSize() {
+        final int maxHeader = maxLength(names) + SEPARATOR.length + HeaderGenerator.GeneratorProvider.maxValueLength()
+                + CRLF.length;
+        return maxLength(methods) + PathGenerator.DEFAULT_MAX_LENGTH + VERSION.length + maxHeaders * maxHeader
+                + CRLF.length;
+    }
+
+    /**
+     * Produces the next block in a direct buffer owned by this generator. The buffer is positioned at the start of
+     * the block with its limit at the end, and is overwritten by the next call.
+     *
+     * @return the buffer holding the block.
+     */
+    @Override
+    public ByteBuffer next() {
+        buffer.clear();
+        nextInto(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the next block at the current position of the provided buffer, advancing the position past the block.
+     *
+     * @param dest the buffer the block is written to.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if the block does not fit in the remaining space of the buffer.
+     */
+    public int nextInto(final ByteBuffer dest) {
+        final int start = dest.position();
+        source.nextElement();
+        dest.put(methods[source.nextInt(methods.length)]);
+        pathGenerator.nextInto(dest);
+        dest.put(VERSION);
+        final int headers = source.nextInt(minHeaders, maxHeaders);
+        for (int i = 0; i < headers; i++) {
+            putHeader(dest);
+        }
+        dest.put(CRLF);
+        return dest.position() - start;
+    }
+
+    @Override
+    public HeaderBlockGenerator split() {
+        return new HeaderBlockGenerator(source.split(), minHeaders, maxHeaders);
+    }
+
+    @Override
+    public HeaderBlockGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (!source.skip(n)) {
+            for (long i = 0; i < n; i++) {
+                next();
+            }
+        }
+        return this;
+    }
+
+    private void putHeader(final ByteBuffer dest) {
+        final int name = source.nextInt(names.length);
+        dest.put(names[name]).put(SEPARATOR);
+        final String value = values.drawnValue(name);
+        for (int c = 0; c < value.length(); c++) {
+            dest.put((byte) value.charAt(c));
+        }
+        dest.put(CRLF);
+    }
+
+    static int maxLength(final byte[][] values) {
+        int max = 0;
+        for (byte[] value : values) {
+            max = Math.max(max, value.length);
+        }
+        return max;
+    }
+
+    static byte[][] encode(final String... values) {
+        final byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        return encoded;
+    }
+}
@@ -1,24 +1,44 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.BatchGenerator;
+import au.com.paulmurphy.generators.EnsuringGenerator;
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.Shrinker;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import net.java.quickcheck.Generator;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import net.java.quickcheck.collection.Pair;
-import net.java.quickcheck.generator.CombinedGenerators;
-import net.java.quickcheck.generator.PrimitiveGenerators;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Produces Key Value {@link Pair} representations for Http Headers. The Key names will produce both actual header
  * key and random key names. Some keys may also produce valid values plus random data.
  *
+ * <p>{@code Accept} and {@code Content-Type} take mime types, {@code Date} and the conditional date headers take
+ * RFC 1123 dates, and {@code Content-Length}, {@code Max-Forwards}, {@code Host}, {@code Cache-Control} and
+ * {@code Range} take values in their own formats. Every other header, and every random key, takes random letters.</p>
+ *
+ * <p>The value of each header is drawn through a table of value kinds, built once from {@link #HEADER_NAMES}, which
+ * selects one of the value generators held in final fields of their own classes.</p>
+ *
+ * <p>Use {@link #split()} to give each worker thread its own generator, with its own key and value generators.
+ * {@link #HeaderGenerator(long)} produces reproducible headers which can be skipped in constant time once the
+ * configured headers have been produced.</p>
+ *
  * @author Paul Murphy
  */
-public class HeaderGenerator implements Generator<Pair<String, String>> {
+public class HeaderGenerator implements BatchGenerator<Pair<String, String>>,
+        SplittableGenerator<Pair<String, String>>, SkippableGenerator<Pair<String, String>>,
+        EnsuringGenerator<Pair<String, String>> {
 
     public static final List<String> HEADER_NAMES = ImmutableList.<String>builder()
-            .add("Accept-Charset").add("Accept").add("Accept-Charset").add("Accept-Encoding")
+            .add("Accept-Charset").add("Accept").add("Accept-Encoding")
             .add("Accept-Language").add("Accept-Datetime").add("Authorization").add("Cache-Control")
             .add("Connection").add("Cookie").add("Content-Length").add("Content-MD5").add("Content-Type")
             .add("Date").add("Expect").add("Forwarded").add("From").add("Host").add("If-Match")
@@ -28,36 +48,282 @@ public class HeaderGenerator implements Generator<Pair<String, String>> {
             .build();
     private static final int MIN_LENGTH = 5;
     private static final int MAX_LENGTH = 20;
+    private static final int MAX_CONTENT_LENGTH_DIGITS = 10;
+    private static final String[] NAMES = HEADER_NAMES.toArray(new String[0]);
+
+    /**
+     * The {@link #HEADER_NAMES} as they appear on the wire, without any annotation following the name.
+     */
+    static final List<String> WIRE_NAMES =
+            ImmutableList.copyOf(Lists.transform(HEADER_NAMES, name -> name.split(" ")[0]));
+    private static final Map<String, Integer> WIRE_NAME_INDEXES = wireNameIndexes();
+
+    private final RandomSource source;
+
+    private final GeneratorProvider generatorProvider;
+
+    private final LetterStringGenerator randomKeyGenerator;
+
+    private final LetterStringGenerator randomValueGenerator;
+
+    private int ensured;
+
+    /**
+     * Default constructor
+     */
+    public HeaderGenerator() {
+        this(RandomSource.quickCheck());
+    }
+
+    /**
+     * Construct an instance which draws its headers from the provided seed.
+     *
+     * @param seed the seed.
+     */
+    public HeaderGenerator(final long seed) {
+        this(RandomSource.seeded(seed));
+    }
+
+    private HeaderGenerator(final RandomSource source) {
+        this.source = source;
+        final RandomSource values = source.component();
+        this.generatorProvider = new GeneratorProvider(values);
+        this.randomKeyGenerator = new LetterStringGenerator(MIN_LENGTH, MAX_LENGTH, values);
+        this.randomValueGenerator = new LetterStringGenerator(MIN_LENGTH, MAX_LENGTH, values);
+    }
 
-    private GeneratorProvider generatorProvider = new GeneratorProvider();
+    /**
+     * A shrinker for the headers of this generator. It replaces random names with the names in
+     * {@link #HEADER_NAMES}, and shortens random names and values made of letters down to 5 letters. Values in the
+     * format of their header are left as they are.
+     *
+     * @return the shrinker.
+     */
+    public Shrinker<Pair<String, String>> shrinker() {
+        return new HeaderShrinker(MIN_LENGTH);
+    }
 
-    private Generator<String> keyGenerator =
-            CombinedGenerators.ensureValues(HEADER_NAMES, PrimitiveGenerators.letterStrings(MIN_LENGTH, MAX_LENGTH));
+    @Override
+    public HeaderGenerator split() {
+        return new HeaderGenerator(source.split());
+    }
+
+    @Override
+    public HeaderGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final long fromEnsured = Math.min(n, HEADER_NAMES.size() - ensured);
+        for (long i = 0; i < fromEnsured; i++) {
+            ensuredHeader();
+        }
+        if (!source.skip(n - fromEnsured)) {
+            for (long i = fromEnsured; i < n; i++) {
+                randomHeader();
+            }
+        }
+        return this;
+    }
 
+    /**
+     * The number of {@link #HEADER_NAMES} still to be produced before the headers become random.
+     *
+     * @return the number of ensured headers left.
+     */
+    @Override
+    public int remainingEnsuredValues() {
+        return HEADER_NAMES.size() - ensured;
+    }
 
     @Override
     public Pair<String, String> next() {
-        final String headerName = keyGenerator.next();
-        final Generator<String> valueGenerator = generatorProvider.provide(headerName);
-        return new Pair(headerName, valueGenerator.next());
+        return ensured < HEADER_NAMES.size() ? ensuredHeader() : randomHeader();
+    }
+
+    @Override
+    public List<Pair<String, String>> nextBatch(final int n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        @SuppressWarnings("unchecked")
+        final Pair<String, String>[] batch = new Pair[n];
+        fill(batch, 0, n);
+        return Arrays.asList(batch);
     }
 
+    @Override
+    public void fill(final Pair<String, String>[] dest, final int off, final int len) {
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+        final int end = off + len;
+        int i = off;
+        for (; i < end && ensured < HEADER_NAMES.size(); i++) {
+            dest[i] = ensuredHeader();
+        }
+        for (; i < end; i++) {
+            dest[i] = randomHeader();
+        }
+    }
 
-    static class GeneratorProvider {
+    /**
+     * Produces a value for one of the {@link #HEADER_NAMES}, in the format of that header, without a name. Each value
+     * takes the place of a header, so a seeded generator skips values and headers alike. Mime types are drawn from
+     * the known mime types rather than ensured, so a seeded value depends only on the seed and its position.
+     *
+     * @param headerName the name as it appears on the wire, such as {@code Referer}.
+     * @return the value.
+     * @throws IllegalArgumentException if the name is not one of {@link #HEADER_NAMES}.
+     */
+    public String nextValue(final String headerName) {
+        final Integer headerIndex = WIRE_NAME_INDEXES.get(headerName);
+        Preconditions.checkArgument(headerIndex != null, "headerName must be one of HEADER_NAMES");
+        source.nextElement();
+        return generatorProvider.drawnValue(headerIndex);
+    }
 
-        private MimeTypeGenerator mimeTypeGenerator = MimeTypeGenerator.allMimeTypes();
-        private Generator<String> valueGenerator = PrimitiveGenerators.letterStrings(MIN_LENGTH, MAX_LENGTH);
+    private Pair<String, String> ensuredHeader() {
+        source.nextElement();
+        final Pair<String, String> header = new Pair<>(NAMES[ensured], generatorProvider.value(ensured));
+        ensured++;
+        return header;
+    }
 
-        Generator<String> provide(final String headerName) {
-            Preconditions.checkArgument(headerName != null, "headerName is required");
+    private Pair<String, String> randomHeader() {
+        source.nextElement();
+        final String headerName = randomKeyGenerator.next();
+        return new Pair<>(headerName, randomValueGenerator.next());
+    }
 
-            if ("Accept".equals(headerName) || "Content-Type".equals(headerName)) {
-                return mimeTypeGenerator;
-            } else {
-                return valueGenerator;
-            }
+    /**
+     * The index of each of the {@link #HEADER_NAMES} by its name as it appears on the wire.
+     */
+    private static Map<String, Integer> wireNameIndexes() {
+        final ImmutableMap.Builder<String, Integer> indexes = ImmutableMap.builder();
+        for (int i = 0; i < WIRE_NAMES.size(); i++) {
+            indexes.put(WIRE_NAMES.get(i), i);
         }
+        return indexes.build();
     }
 
+    /**
+     * Produces the values of each entry in {@link #HEADER_NAMES}, by its index. The kind of value of each header is
+     * chosen once, when the provider is created, and {@link #value(int)} switches on it to one of the value
+     * generators.
+     */
+    static final class GeneratorProvider {
+
+        private static final byte LETTERS = 0;
+        private static final byte MIME_TYPE = 1;
+        private static final byte DATE = 2;
+        private static final byte CONTENT_LENGTH = 3;
+        private static final byte MAX_FORWARDS = 4;
+        private static final byte HOST = 5;
+        private static final byte CACHE_CONTROL = 6;
+        private static final byte RANGE = 7;
+
+        private static final Map<String, Byte> KINDS = ImmutableMap.<String, Byte>builder()
+                .put("Accept", MIME_TYPE).put("Content-Type", MIME_TYPE)
+                .put("Date", DATE).put("If-Modified-Since", DATE).put("If-Unmodified-Since", DATE)
+                .put("Content-Length", CONTENT_LENGTH)
+                .put("Max-Forwards", MAX_FORWARDS)
+                .put("Host", HOST)
+                .put("Cache-Control", CACHE_CONTROL)
+                .put("Range", RANGE)
+                .build();
+
+        /**
+         * The kind of value of each header, by its index in {@link #HEADER_NAMES}.
+         */
+        private final byte[] kinds = new byte[HEADER_NAMES.size()];
+
+        private final LetterStringGenerator letters;
+        private final MimeTypeGenerator mimeTypes;
+        private final MimeTypeGenerator knownMimeTypes;
+        private final DateGenerator dates;
+        private final DigitStringGenerator contentLengths;
+        private final DigitStringGenerator maxForwards;
+        private final HostGenerator hosts;
+        private final CacheControlGenerator cacheControls;
+        private final RangeGenerator ranges;
+
+        GeneratorProvider() {
+            this(RandomSource.quickCheck());
+        }
+
+        GeneratorProvider(final RandomSource source) {
+            mimeTypes = MimeTypeGenerator.allMimeTypes(source);
+            knownMimeTypes = MimeTypeGenerator.knownMimeTypes(source);
+            dates = new DateGenerator(source);
+            contentLengths = new DigitStringGenerator(1, MAX_CONTENT_LENGTH_DIGITS, source);
+            maxForwards = new DigitStringGenerator(1, 2, source);
+            hosts = new HostGenerator(source);
+            cacheControls = new CacheControlGenerator(source);
+            ranges = new RangeGenerator(source);
+            letters = new LetterStringGenerator(MIN_LENGTH, MAX_LENGTH, source);
+            for (int i = 0; i < kinds.length; i++) {
+                kinds[i] = KINDS.getOrDefault(HEADER_NAMES.get(i), LETTERS);
+            }
+        }
+
+        /**
+         * Whether a header name takes a mime type.
+         *
+         * @param headerName one of {@link #HEADER_NAMES}.
+         * @return true for {@code Accept} and {@code Content-Type}.
+         */
+        static boolean takesMimeType(final String headerName) {
+            return KINDS.getOrDefault(headerName, LETTERS) == MIME_TYPE;
+        }
+
+        /**
+         * The length of the longest value of any header.
+         *
+         * @return the length in chars.
+         */
+        static int maxValueLength() {
+            int max = Math.max(MAX_LENGTH, MAX_CONTENT_LENGTH_DIGITS);
+            for (String mimeType : MimeTypeGenerator.ALL_MIME_TYPES) {
+                max = Math.max(max, mimeType.length());
+            }
+            max = Math.max(max, DateGenerator.maxValueLength());
+            max = Math.max(max, HostGenerator.maxValueLength());
+            max = Math.max(max, CacheControlGenerator.maxValueLength());
+            return Math.max(max, RangeGenerator.maxValueLength());
+        }
 
+        /**
+         * Produces the next value of a header name.
+         *
+         * @param headerIndex the index of the header name in {@link #HEADER_NAMES}.
+         * @return the value.
+         * @throws IndexOutOfBoundsException if {@code headerIndex} is not an index of {@link #HEADER_NAMES}.
+         */
+        String value(final int headerIndex) {
+            switch (kinds[headerIndex]) {
+                case MIME_TYPE:
+                    return mimeTypes.next();
+                case DATE:
+                    return dates.next();
+                case CONTENT_LENGTH:
+                    return contentLengths.next();
+                case MAX_FORWARDS:
+                    return maxForwards.next();
+                case HOST:
+                    return hosts.next();
+                case CACHE_CONTROL:
+                    return cacheControls.next();
+                case RANGE:
+                    return ranges.next();
+                default:
+                    return letters.next();
+            }
+        }
+
+        /**
+         * Produces the next value of a header name, drawing mime types from the known mime types instead of ensuring
+         * each of them first, so the value does not depend on the values produced before it.
+         *
+         * @param headerIndex the index of the header name in {@link #HEADER_NAMES}.
+         * @return the value.
+         * @throws IndexOutOfBoundsException if {@code headerIndex} is not an index of {@link #HEADER_NAMES}.
+         */
+        String drawnValue(final int headerIndex) {
+            return kinds[headerIndex] == MIME_TYPE ? knownMimeTypes.next() : value(headerIndex);
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package au.com.paulmurphy.generators.http;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * The headers of one request, packed into a single {@code char[]} with their offsets in a single {@code int[]}.
+ *
+ * <p>Header {@code i} has its name from {@link #nameOffset(int)} to {@link #valueOffset(int)} of the chars of the
+ * set, immediately followed by its value, which ends where the name of the next header starts. Nothing else is
+ * stored, so a set holds two arrays however many headers it has, and reading the headers in order walks both arrays
+ * forwards. The arrays grow when a larger set is written into them, and are kept when the set is written again.</p>
+ *
+ * <p>{@link #name(int)} and {@link #value(int)} copy a header into a {@code String}, for tests and messages; code
+ * measuring a header map reads the chars in place with {@link #charAt(int)}. A set is overwritten by the generator
+ * that filled it, so use {@link #copy()} to keep one. A set is not thread safe.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class HeaderSet {
+
+    private static final int DEFAULT_HEADERS = 16;
+    private static final int DEFAULT_CHARS = 512;
+
+    private char[] chars;
+
+    /**
+     * The offset of the name of header {@code i} at {@code 2 * i}, of its value at {@code 2 * i + 1}, and the end of
+     * the set after the last header. The first name always starts at 0.
+     */
+    private int[] offsets;
+
+    private int size;
+
+    private int length;
+
+    /**
+     * Creates an empty set, which grows to hold the headers written into it.
+     */
+    public HeaderSet() {
+        this(DEFAULT_HEADERS, DEFAULT_CHARS);
+    }
+
+    HeaderSet(final int headers, final int chars) {
+        this.chars = new char[chars];
+        this.offsets = new int[2 * headers + 1];
+    }
+
+    /**
+     * The number of headers.
+     *
+     * @return the number of headers.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of chars of every name and value.
+     *
+     * @return the number of chars.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * A char of a name or a value.
+     *
+     * @param index the offset of the char.
+     * @return the char.
+     * @throws IndexOutOfBoundsException if {@code index} is not less than {@link #length()}.
+     */
+    public char charAt(final int index) {
+        Preconditions.checkElementIndex(index, length);
+        return chars[index];
+    }
+
+    /**
+     * The offset of the name of a header in the chars of the set.
+     *
+     * @param header the index of the header.
+     * @return the offset of the name.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public int nameOffset(final int header) {
+        Preconditions.checkElementIndex(header, size);
+        return offsets[2 * header];
+    }
+
+    /**
+     * The length of the name of a header.
+     *
+     * @param header the index of the header.
+     * @return the length of the name.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public int nameLength(final int header) {
+        Preconditions.checkElementIndex(header, size);
+        return offsets[2 * header + 1] - offsets[2 * header];
+    }
+
+    /**
+     * The offset of the value of a header in the chars of the set.
+     *
+     * @param header the index of the header.
+     * @return the offset of the value.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public int valueOffset(final int header) {
+        Preconditions.checkElementIndex(header, size);
+        return offsets[2 * header + 1];
+    }
+
+    /**
+     * The length of the value of a header.
+     *
+     * @param header the index of the header.
+     * @return the length of the value.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public int valueLength(final int header) {
+        Preconditions.checkElementIndex(header, size);
+        return offsets[2 * header + 2] - offsets[2 * header + 1];
+    }
+
+    /**
+     * Copies the name of a header.
+     *
+     * @param header the index of the header.
+     * @return the name.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public String name(final int header) {
+        return new String(chars, nameOffset(header), nameLength(header));
+    }
+
+    /**
+     * Copies the value of a header.
+     *
+     * @param header the index of the header.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if {@code header} is not an index of this set.
+     */
+    public String value(final int header) {
+        return new String(chars, valueOffset(header), valueLength(header));
+    }
+
+    /**
+     * Copies this set into a new set, sized to hold exactly these headers.
+     *
+     * @return the copy.
+     */
+    public HeaderSet copy() {
+        final HeaderSet copy = new HeaderSet(size, length);
+        System.arraycopy(chars, 0, copy.chars, 0, length);
+        System.arraycopy(offsets, 0, copy.offsets, 0, 2 * size + 1);
+        copy.size = size;
+        copy.length = length;
+        return copy;
+    }
+
+    /**
+     * The headers as {@code Name: value} lines, each ended by {@code \r\n}, as in a request header block.
+     *
+     * @return the headers.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.append(chars, nameOffset(i), nameLength(i)).append(": ")
+                    .append(chars, valueOffset(i), valueLength(i)).append("\r\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Empties the set, making room for the provided number of headers.
+     */
+    void clear(final int headers) {
+        final int needed = 2 * headers + 1;
+        if (offsets.length < needed) {
+            offsets = new int[needed];
+        }
+        size = 0;
+        length = 0;
+    }
+
+    /**
+     * Starts the value of the header whose name was started last.
+     */
+    void startValue() {
+        offsets[2 * size + 1] = length;
+    }
+
+    /**
+     * Ends the header whose value was started last, which starts the name of the next header.
+     */
+    void endHeader() {
+        size++;
+        offsets[2 * size] = length;
+    }
+
+    void append(final char c) {
+        if (length == chars.length) {
+            grow(1);
+        }
+        chars[length++] = c;
+    }
+
+    void append(final char[] value) {
+        if (chars.length - length < value.length) {
+            grow(value.length);
+        }
+        System.arraycopy(value, 0, chars, length, value.length);
+        length += value.length;
+    }
+
+    /**
+     * Copies chars of the set to its end.
+     */
+    void appendCopy(final int offset, final int n) {
+        if (chars.length - length < n) {
+            grow(n);
+        }
+        System.arraycopy(chars, offset, chars, length, n);
+        length += n;
+    }
+
+    private void grow(final int n) {
+        chars = Arrays.copyOf(chars, 2 * chars.length + n);
+    }
+
+    /**
+     * The chars of the set, which are overwritten when it is written again.
+     */
+    char[] chars() {
+        return chars;
+    }
+}
@@ -0,0 +1,296 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
+
+import java.util.List;
+
+/**
+ * Produces the headers of whole requests as {@link HeaderSet}s, flat arrays of chars and offsets with no object per
+ * header, for benchmarking header maps without the allocation and indirection of a list of {@code Pair}s.
+ *
+ * <p>Names are drawn without repeats from {@link HeaderGenerator#HEADER_NAMES}, as they appear on the wire, and once
+ * those are used up a set continues with {@code X-} extension names of random letters. With a
+ * {@link #duplicateNameRate(double) duplicate name rate}, a header repeats the name of an earlier header of the set,
+ * as {@code Cookie} and {@code Via} are repeated, and with a {@link #caseVariationRate(double) case variation rate}
+ * a name is written in lower case, upper case or mixed case, which a case insensitive map has to fold.
+ * {@code Accept} and {@code Content-Type} take a known mime type, every other header a string of letters. Names and
+ * mime types are held as {@code char[]}s from when the generator is created, so producing a set does not
+ * allocate.</p>
+ *
+ * <p>{@link #next()} returns a set owned by the generator, which is overwritten by the next call.
+ * {@link #nextInto(HeaderSet)} writes into a set of the caller instead, growing it if needed.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class HeaderSetGenerator
+        implements SplittableGenerator<HeaderSet>, SkippableGenerator<HeaderSet> {
+
+    private static final int DEFAULT_MIN_HEADERS = 10;
+    private static final int DEFAULT_MAX_HEADERS = 30;
+
+    private static final int MIN_LETTERS = 5;
+    private static final int MAX_LETTERS = 20;
+    private static final int LETTERS = 'z' - 'a' + 1;
+    private static final char[] EXTENSION_PREFIX = {'X', '-'};
+
+    /**
+     * A rate draw takes the top 53 bits of a long, the precision of a double.
+     */
+    private static final int RATE_SHIFT = Long.SIZE - 53;
+    private static final double RATE_SCALE = 0x1p53;
+
+    private static final int LOWER_CASE = 0;
+    private static final int UPPER_CASE = 1;
+    private static final int CASE_VARIANTS = 3;
+
+    private static final int EXTENSION = -1;
+
+    private final char[][] names = chars(HeaderGenerator.WIRE_NAMES);
+    private final boolean[] mimeTypeNames = mimeTypeNames();
+    private final char[][] mimeTypes = chars(MimeTypeGenerator.ALL_MIME_TYPES);
+
+    private final int minHeaders;
+
+    private final int maxHeaders;
+
+    private final RandomSource source;
+
+    /**
+     * The names not yet drawn for the current set, from {@code unused} on.
+     */
+    private final int[] order = new int[names.length];
+
+    /**
+     * The name of each header of the current set, as an index of {@link #names}, or {@link #EXTENSION}.
+     */
+    private final int[] headerNames;
+
+    private final HeaderSet set;
+
+    private double duplicateNameRate;
+
+    private long duplicateNameThreshold;
+
+    private double caseVariationRate;
+
+    private long caseVariationThreshold;
+
+    /**
+     * Default constructor, producing sets of between 10 and 30 headers.
+     */
+    public HeaderSetGenerator() {
+        this(DEFAULT_MIN_HEADERS, DEFAULT_MAX_HEADERS);
+    }
+
+    /**
+     * Construct an instance producing sets with a number of headers between the provided bounds.
+     *
+     * @param minHeaders the minimum number of headers, inclusive.
+     * @param maxHeaders the maximum number of headers, inclusive.
+     * @throws IllegalArgumentException if {@code minHeaders} is negative or greater than {@code maxHeaders}.
+     */
+    public HeaderSetGenerator(final int minHeaders, final int maxHeaders) {
+        this(RandomSource.quickCheck(), minHeaders, maxHeaders);
+    }
+
+    /**
+     * Construct an instance with the default number of headers which draws its sets from the provided seed.
+     *
+     * @param seed the seed.
+     */
+    public HeaderSetGenerator(final long seed) {
+        this(seed, DEFAULT_MIN_HEADERS, DEFAULT_MAX_HEADERS);
+    }
+
+    /**
+     * Construct an instance producing sets with a number of headers between the provided bounds, drawn from the
+     * provided seed.
+     *
+     * @param seed the seed.
+     * @param minHeaders the minimum number of headers, inclusive.
+     * @param maxHeaders the maximum number of headers, inclusive.
+     * @throws IllegalArgumentException if {@code minHeaders} is negative or greater than {@code maxHeaders}.
+     */
+    public HeaderSetGenerator(final long seed, final int minHeaders, final int maxHeaders) {
+        this(RandomSource.seeded(seed), minHeaders, maxHeaders);
+    }
+
+    private HeaderSetGenerator(final RandomSource source, final int minHeaders, final int maxHeaders) {
+        Preconditions.checkArgument(minHeaders >= 0, "minHeaders must not be negative");
+        Preconditions.checkArgument(minHeaders <= maxHeaders, "minHeaders must not be greater than maxHeaders");
+        this.minHeaders = minHeaders;
+        this.maxHeaders = maxHeaders;
+        this.source = source;
+        this.headerNames = new int[maxHeaders];
+        this.set = new HeaderSet();
+    }
+
+    /**
+     * Each header after the first repeats the name of an earlier header of its set with the provided probability.
+     *
+     * @param duplicateNameRate the probability of a repeated name, between 0 and 1. 0 by default.
+     * @return instance of the {@code HeaderSetGenerator}.
+     * @throws IllegalArgumentException if {@code duplicateNameRate} is not between 0 and 1.
+     */
+    public HeaderSetGenerator duplicateNameRate(final double duplicateNameRate) {
+        Preconditions.checkArgument(duplicateNameRate >= 0 && duplicateNameRate <= 1,
+                "duplicateNameRate must be between 0 and 1");
+        this.duplicateNameRate = duplicateNameRate;
+        this.duplicateNameThreshold = (long) (duplicateNameRate * RATE_SCALE);
+        return this;
+    }
+
+    /**
+     * Each name is written in lower case, upper case or mixed case, rather than as it is usually written, with the
+     * provided probability.
+     *
+     * @param caseVariationRate the probability of a varied name, between 0 and 1. 0 by default.
+     * @return instance of the {@code HeaderSetGenerator}.
+     * @throws IllegalArgumentException if {@code caseVariationRate} is not between 0 and 1.
+     */
+    public HeaderSetGenerator caseVariationRate(final double caseVariationRate) {
+        Preconditions.checkArgument(caseVariationRate >= 0 && caseVariationRate <= 1,
+                "caseVariationRate must be between 0 and 1");
+        this.caseVariationRate = caseVariationRate;
+        this.caseVariationThreshold = (long) (caseVariationRate * RATE_SCALE);
+        return this;
+    }
+
+    /**
+     * Produces the next set in a set owned by this generator, which is overwritten by the next call.
+     *
+     * @return the set.
+     */
+    @Override
+    public HeaderSet next() {
+        nextInto(set);
+        return set;
+    }
+
+    /**
+     * Writes the next set over the provided set, growing its arrays if they are too small.
+     *
+     * @param dest the set to write to.
+     * @return the number of headers written.
+     */
+    public int nextInto(final HeaderSet dest) {
+        source.nextElement();
+        final int headers = source.nextInt(minHeaders, maxHeaders);
+        dest.clear(headers);
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int unused = 0;
+        for (int i = 0; i < headers; i++) {
+            final int start = dest.length();
+            if (i > 0 && drawn(duplicateNameThreshold)) {
+                final int earlier = source.nextInt(i);
+                headerNames[i] = headerNames[earlier];
+                dest.appendCopy(dest.nameOffset(earlier), dest.nameLength(earlier));
+            } else if (unused < order.length) {
+                final int swap = unused + source.nextInt(order.length - unused);
+                headerNames[i] = order[swap];
+                order[swap] = order[unused];
+                dest.append(names[headerNames[i]]);
+                unused++;
+            } else {
+                headerNames[i] = EXTENSION;
+                dest.append(EXTENSION_PREFIX);
+                putLetters(dest);
+            }
+            if (drawn(caseVariationThreshold)) {
+                vary(dest, start);
+            }
+            dest.startValue();
+            putValue(dest, headerNames[i]);
+            dest.endHeader();
+        }
+        return headers;
+    }
+
+    @Override
+    public HeaderSetGenerator split() {
+        return new HeaderSetGenerator(source.split(), minHeaders, maxHeaders)
+                .duplicateNameRate(duplicateNameRate).caseVariationRate(caseVariationRate);
+    }
+
+    @Override
+    public HeaderSetGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (!source.skip(n)) {
+            for (long i = 0; i < n; i++) {
+                next();
+            }
+        }
+        return this;
+    }
+
+    private boolean drawn(final long threshold) {
+        return threshold > 0 && source.nextLong() >>> RATE_SHIFT < threshold;
+    }
+
+    private void putValue(final HeaderSet dest, final int name) {
+        if (name != EXTENSION && mimeTypeNames[name]) {
+            dest.append(mimeTypes[source.nextInt(mimeTypes.length)]);
+        } else {
+            putLetters(dest);
+        }
+    }
+
+    private void putLetters(final HeaderSet dest) {
+        final int length = source.nextInt(MIN_LETTERS, MAX_LETTERS);
+        for (int c = 0; c < length; c++) {
+            final int letter = source.nextInt(LETTERS + LETTERS);
+            dest.append((char) (letter < LETTERS ? 'a' + letter : 'A' + letter - LETTERS));
+        }
+    }
+
+    /**
+     * Rewrites the name started at {@code start} in lower case, upper case or mixed case. Mixed case takes the case
+     * of each char from a bit of one draw, as names are shorter than 64 chars.
+     */
+    private void vary(final HeaderSet dest, final int start) {
+        final char[] chars = dest.chars();
+        final int end = dest.length();
+        switch (source.nextInt(CASE_VARIANTS)) {
+            case LOWER_CASE:
+                for (int c = start; c < end; c++) {
+                    chars[c] = Character.toLowerCase(chars[c]);
+                }
+                break;
+            case UPPER_CASE:
+                for (int c = start; c < end; c++) {
+                    chars[c] = Character.toUpperCase(chars[c]);
+                }
+                break;
+            default:
+                final long cases = source.nextLong();
+                for (int c = start; c < end; c++) {
+                    chars[c] = (cases >>> (c - start) & 1) == 0
+                            ? Character.toLowerCase(chars[c]) : Character.toUpperCase(chars[c]);
+                }
+        }
+    }
+
+    /**
+     * Whether each of the {@link HeaderGenerator#HEADER_NAMES} takes a mime type.
+     */
+    private static boolean[] mimeTypeNames() {
+        final boolean[] mimeTypeNames = new boolean[HeaderGenerator.HEADER_NAMES.size()];
+        for (int i = 0; i < mimeTypeNames.length; i++) {
+            mimeTypeNames[i] = HeaderGenerator.GeneratorProvider.takesMimeType(HeaderGenerator.HEADER_NAMES.get(i));
+        }
+        return mimeTypeNames;
+    }
+
+    private static char[][] chars(final List<String> values) {
+        final char[][] chars = new char[values.size()][];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = values.get(i).toCharArray();
+        }
+        return chars;
+    }
+}
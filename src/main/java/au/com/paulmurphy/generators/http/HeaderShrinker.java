@@ -0,0 +1,67 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.Shrinker;
+import com.google.common.base.CharMatcher;
+import net.java.quickcheck.collection.Pair;
+
+import java.util.function.Predicate;
+
+/**
+ * Shrinks headers by replacing random names with the names in {@link HeaderGenerator#HEADER_NAMES}, and by
+ * shortening random names and values made of letters, down to the shortest random name or value.
+ *
+ * @author Paul Murphy
+ */
+final class HeaderShrinker implements Shrinker<Pair<String, String>> {
+
+    private final int minLength;
+
+    HeaderShrinker(final int minLength) {
+        this.minLength = minLength;
+    }
+
+    @Override
+    public Pair<String, String> shrinkStep(final Pair<String, String> header, final Predicate<Pair<String, String>>
+            failing) {
+        final String name = header.getFirst();
+        final String value = header.getSecond();
+        final boolean randomName = !HeaderGenerator.HEADER_NAMES.contains(name);
+        if (randomName) {
+            for (String headerName : HeaderGenerator.HEADER_NAMES) {
+                final Pair<String, String> candidate = new Pair<>(headerName, value);
+                if (failing.test(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        if (CharMatcher.JAVA_LETTER.matchesAllOf(value)) {
+            final String shorter = shorten(value, candidate -> failing.test(new Pair<>(name, candidate)));
+            if (shorter != null) {
+                return new Pair<>(name, shorter);
+            }
+        }
+        if (randomName) {
+            final String shorter = shorten(name, candidate -> failing.test(new Pair<>(candidate, value)));
+            if (shorter != null) {
+                return new Pair<>(shorter, value);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Offers the first half of the value, then the value without its last character.
+     */
+    private String shorten(final String value, final Predicate<String> failing) {
+        final int length = value.length();
+        if (length <= minLength) {
+            return null;
+        }
+        final String half = value.substring(0, Math.max(minLength, length / 2));
+        if (failing.test(half)) {
+            return half;
+        }
+        final String shorter = value.substring(0, length - 1);
+        return shorter.length() > half.length() && failing.test(shorter) ? shorter : null;
+    }
+}
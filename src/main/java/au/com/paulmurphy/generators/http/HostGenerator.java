@@ -0,0 +1,50 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+/**
+ * Produces {@code Host} values: a lower case name under a common top level domain, with a port one time in four,
+ * such as {@code qwerty.com} or {@code abc.com.au:8080}.
+ *
+ * @author Paul Murphy
+ */
+final class HostGenerator implements Generator<String> {
+
+    private static final String[] DOMAINS = {".com", ".org", ".net", ".io", ".com.au"};
+
+    private static final int MIN_NAME_LENGTH = 3;
+    private static final int MAX_NAME_LENGTH = 12;
+    private static final int LETTERS = 'z' - 'a' + 1;
+    private static final int PORT_ONE_IN = 4;
+    private static final int MAX_PORT = 65_535;
+
+    private final RandomSource source;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    HostGenerator(final RandomSource source) {
+        this.source = source;
+    }
+
+    /**
+     * The length of the longest host: the longest name, the longest domain and the largest port.
+     */
+    static int maxValueLength() {
+        return MAX_NAME_LENGTH + ".com.au".length() + (":" + MAX_PORT).length();
+    }
+
+    @Override
+    public String next() {
+        builder.setLength(0);
+        final int length = source.nextInt(MIN_NAME_LENGTH, MAX_NAME_LENGTH);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + source.nextInt(LETTERS)));
+        }
+        builder.append(DOMAINS[source.nextInt(DOMAINS.length)]);
+        if (source.nextInt(PORT_ONE_IN) == 0) {
+            builder.append(':').append(source.nextInt(1, MAX_PORT));
+        }
+        return builder.toString();
+    }
+}
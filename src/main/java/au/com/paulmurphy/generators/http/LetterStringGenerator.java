@@ -0,0 +1,41 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+/**
+ * Produces strings of upper and lower case letters, each equally likely, drawn from a {@link RandomSource} into a
+ * reusable buffer. This is the alphabet of {@code PrimitiveGenerators.letterStrings}, which it replaces: quickcheck
+ * builds those strings from {@code characters('a', 'z')} and adds {@code characters('A', 'Z')}.
+ *
+ * @author Paul Murphy
+ */
+final class LetterStringGenerator implements Generator<String> {
+
+    private static final int LETTERS = 'z' - 'a' + 1;
+
+    private final int minLength;
+
+    private final int maxLength;
+
+    private final RandomSource source;
+
+    private final char[] buffer;
+
+    LetterStringGenerator(final int minLength, final int maxLength, final RandomSource source) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.source = source;
+        this.buffer = new char[maxLength];
+    }
+
+    @Override
+    public String next() {
+        final int length = source.nextInt(minLength, maxLength);
+        for (int i = 0; i < length; i++) {
+            final int letter = source.nextInt(LETTERS + LETTERS);
+            buffer[i] = letter < LETTERS ? (char) ('a' + letter) : (char) ('A' + letter - LETTERS);
+        }
+        return new String(buffer, 0, length);
+    }
+}
@@ -1,20 +1,45 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.AliasTable;
+import au.com.paulmurphy.generators.BatchGenerator;
+import au.com.paulmurphy.generators.CharSequenceGenerator;
+import au.com.paulmurphy.generators.EnsuringGenerator;
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.Shrinker;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import net.java.quickcheck.Generator;
-import net.java.quickcheck.generator.PrimitiveGenerators;
-import net.java.quickcheck.generator.support.DefaultFrequencyGenerator;
-import net.java.quickcheck.generator.support.StringGenerator;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import static net.java.quickcheck.generator.PrimitiveGenerators.fixedValues;
-import static net.java.quickcheck.generator.CombinedGenerators.ensureValues;
+import java.util.Map;
 
 /**
+ * A {@link Generator} for mime types. {@link #allMimeTypes()} produces every known mime type once before producing
+ * random ones; the other factories draw from a single category.
+ *
+ * <p>{@link #weighted(Map)} and {@link #weightedCategories(Map)} draw mime types in proportion to a weight for each
+ * type or each {@link Category}, so that a handful of types can dominate as they do in real traffic. The weights are
+ * built into an {@link AliasTable} once, and each mime type is drawn in constant time.</p>
+ *
+ * <p>{@link #pooled(int, double)} also produces every known mime type first, but then draws its random mime types from
+ * a fixed-size pool generated once, so the number of distinct mime types is bounded as it is in real traffic. A churn
+ * rate replaces the least recently produced mime type of the pool with a new one.</p>
+ *
+ * <p>Each factory has a seeded variant whose mime types are reproducible and can be skipped in constant time, except
+ * for a pool with churn, which is skipped by producing the mime types.</p>
+ *
+ * <p>{@link #nextInto(StringBuilder)} appends the next mime type to a builder of the caller. Random mime types are
+ * copied straight from the buffer or pool they are drawn into, without making a {@code String}.</p>
+ *
  * @author Paul Murphy
  */
-public final class MimeTypeGenerator implements Generator<String> {
+public final class MimeTypeGenerator
+        implements BatchGenerator<String>, SplittableGenerator<String>, SkippableGenerator<String>,
+        EnsuringGenerator<String>, CharSequenceGenerator {
 
     public static final List<String> APPLICATION_MIME_TYPE = ImmutableList.<String>builder()
             .add("application/msword")                  //.doc
@@ -73,72 +98,598 @@ public final class MimeTypeGenerator implements Generator<String> {
             .addAll(VIDEO_MIME_TYPE)
             .build();
 
-    private final Generator<String> mimeTypeGenerator;
+    private final String[] values;
+
+    /**
+     * The weights of the values, {@code null} when they are drawn uniformly.
+     */
+    private final AliasTable weights;
+
+    private final RandomSource source;
+
+    /**
+     * Produces the random mime types once every value has been ensured, {@code null} for a fixed values generator.
+     */
+    private final RandomMimeTypes randomGenerator;
+
+    private int ensured;
+
+    private MimeTypeGenerator(final List<String> ensureValues, boolean includeRandom, final RandomSource source) {
+        this(ensureValues.toArray(new String[ensureValues.size()]), includeRandom, null, source);
+    }
+
+    private MimeTypeGenerator(final String[] values, final boolean includeRandom, final AliasTable weights,
+                              final RandomSource source) {
+        this(values, weights, source, includeRandom ? new RandomMimeTypeGenerator(source) : null);
+    }
 
-    private MimeTypeGenerator(final List<String> ensureValues, boolean includeRandom) {
-        mimeTypeGenerator =
-                includeRandom ? ensureValues(ensureValues, new RandomMimeTypeGenerator()) : fixedValues(ensureValues);
+    private MimeTypeGenerator(final String[] values, final AliasTable weights, final RandomSource source,
+                              final RandomMimeTypes randomGenerator) {
+        this.values = values;
+        this.weights = weights;
+        this.source = source;
+        this.randomGenerator = randomGenerator;
     }
 
 
     public static MimeTypeGenerator allMimeTypes() {
-        return new MimeTypeGenerator(ALL_MIME_TYPES, true);
+        return allMimeTypes(RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator allMimeTypes(final long seed) {
+        return allMimeTypes(RandomSource.seeded(seed));
+    }
+
+    static MimeTypeGenerator allMimeTypes(final RandomSource source) {
+        return new MimeTypeGenerator(ALL_MIME_TYPES, true, source);
+    }
+
+    /**
+     * Draws every value from the known mime types, none of them ensured first, so a value depends only on the
+     * source.
+     */
+    static MimeTypeGenerator knownMimeTypes(final RandomSource source) {
+        return new MimeTypeGenerator(ALL_MIME_TYPES, false, source);
+    }
+
+    /**
+     * Produces every known mime type once, then random mime types drawn from a pool of {@code poolSize} random mime
+     * types generated up front. Each random mime type is, with a probability of {@code churnRate}, a new one which
+     * takes the place of the least recently produced mime type of the pool.
+     *
+     * @param poolSize the number of random mime types in the pool.
+     * @param churnRate the probability of a new mime type, between 0 and 1.
+     * @return MimeTypeGenerator of the known and pooled mime types.
+     * @throws IllegalArgumentException if {@code poolSize} is not positive or too large, or {@code churnRate} is not
+     *     between 0 and 1.
+     */
+    public static MimeTypeGenerator pooled(final int poolSize, final double churnRate) {
+        return pooled(poolSize, churnRate, RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces every known mime type once, then random mime types drawn from a pool, with the pool and the mime types
+     * drawn from the provided seed.
+     *
+     * @param poolSize the number of random mime types in the pool.
+     * @param churnRate the probability of a new mime type, between 0 and 1.
+     * @param seed the seed.
+     * @return MimeTypeGenerator of the known and pooled mime types.
+     * @throws IllegalArgumentException if {@code poolSize} is not positive or too large, or {@code churnRate} is not
+     *     between 0 and 1.
+     * @see #pooled(int, double)
+     */
+    public static MimeTypeGenerator pooled(final int poolSize, final double churnRate, final long seed) {
+        return pooled(poolSize, churnRate, RandomSource.seeded(seed));
+    }
+
+    private static MimeTypeGenerator pooled(final int poolSize, final double churnRate, final RandomSource source) {
+        Preconditions.checkArgument(poolSize > 0 && poolSize <= PooledMimeTypeGenerator.MAX_POOL_SIZE,
+                "poolSize must be between 1 and %s", PooledMimeTypeGenerator.MAX_POOL_SIZE);
+        Preconditions.checkArgument(churnRate >= 0 && churnRate <= 1, "churnRate must be between 0 and 1");
+        return new MimeTypeGenerator(ALL_MIME_TYPES.toArray(new String[ALL_MIME_TYPES.size()]), null, source,
+                new PooledMimeTypeGenerator(source, poolSize, churnRate));
     }
 
     public static MimeTypeGenerator application() {
-        return new MimeTypeGenerator(APPLICATION_MIME_TYPE, false);
+        return new MimeTypeGenerator(APPLICATION_MIME_TYPE, false, RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator application(final long seed) {
+        return new MimeTypeGenerator(APPLICATION_MIME_TYPE, false, RandomSource.seeded(seed));
     }
 
     public static MimeTypeGenerator audio() {
-        return new MimeTypeGenerator(AUDIO_MIME_TYPE, false);
+        return new MimeTypeGenerator(AUDIO_MIME_TYPE, false, RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator audio(final long seed) {
+        return new MimeTypeGenerator(AUDIO_MIME_TYPE, false, RandomSource.seeded(seed));
     }
 
     public static MimeTypeGenerator image() {
-        return new MimeTypeGenerator(IMAGE_MIME_TYPE, false);
+        return new MimeTypeGenerator(IMAGE_MIME_TYPE, false, RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator image(final long seed) {
+        return new MimeTypeGenerator(IMAGE_MIME_TYPE, false, RandomSource.seeded(seed));
     }
 
     public static MimeTypeGenerator multipart() {
-        return new MimeTypeGenerator(MULTIPART_MIME_TYPE, false);
+        return new MimeTypeGenerator(MULTIPART_MIME_TYPE, false, RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator multipart(final long seed) {
+        return new MimeTypeGenerator(MULTIPART_MIME_TYPE, false, RandomSource.seeded(seed));
     }
 
     public static MimeTypeGenerator text() {
-        return new MimeTypeGenerator(TEXT_MIME_TYPE, false);
+        return new MimeTypeGenerator(TEXT_MIME_TYPE, false, RandomSource.quickCheck());
+    }
+
+    public static MimeTypeGenerator text(final long seed) {
+        return new MimeTypeGenerator(TEXT_MIME_TYPE, false, RandomSource.seeded(seed));
     }
 
     public static MimeTypeGenerator video() {
-        return new MimeTypeGenerator(VIDEO_MIME_TYPE, false);
+        return new MimeTypeGenerator(VIDEO_MIME_TYPE, false, RandomSource.quickCheck());
     }
 
+    public static MimeTypeGenerator video(final long seed) {
+        return new MimeTypeGenerator(VIDEO_MIME_TYPE, false, RandomSource.seeded(seed));
+    }
+
+    /**
+     * Produces the mime types of the provided map in proportion to their weights. The mime types do not have to be
+     * known ones.
+     *
+     * @param weights the weight of each mime type.
+     * @return MimeTypeGenerator of the weighted mime types.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or every weight is zero.
+     */
+    public static MimeTypeGenerator weighted(final Map<String, Double> weights) {
+        return weighted(weights, RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces the mime types of the provided map in proportion to their weights, drawn from the provided seed.
+     *
+     * @param weights the weight of each mime type.
+     * @param seed the seed.
+     * @return MimeTypeGenerator of the weighted mime types.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or every weight is zero.
+     */
+    public static MimeTypeGenerator weighted(final Map<String, Double> weights, final long seed) {
+        return weighted(weights, RandomSource.seeded(seed));
+    }
+
+    /**
+     * Produces the known mime types with each category in proportion to its weight, and the mime types of a category
+     * equally likely. Categories without a weight are left out.
+     *
+     * @param weights the weight of each category.
+     * @return MimeTypeGenerator of the weighted categories.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or every weight is zero.
+     */
+    public static MimeTypeGenerator weightedCategories(final Map<Category, Double> weights) {
+        return weighted(categoryWeights(weights), RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces the known mime types with each category in proportion to its weight, drawn from the provided seed.
+     *
+     * @param weights the weight of each category.
+     * @param seed the seed.
+     * @return MimeTypeGenerator of the weighted categories.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or every weight is zero.
+     */
+    public static MimeTypeGenerator weightedCategories(final Map<Category, Double> weights, final long seed) {
+        return weighted(categoryWeights(weights), RandomSource.seeded(seed));
+    }
+
+    private static MimeTypeGenerator weighted(final Map<String, Double> weights, final RandomSource source) {
+        Preconditions.checkArgument(weights != null, "weights is required");
+        final double[] table = new double[weights.size()];
+        int i = 0;
+        for (double weight : weights.values()) {
+            table[i++] = weight;
+        }
+        return new MimeTypeGenerator(weights.keySet().toArray(new String[table.length]), false, AliasTable.of(table),
+                source);
+    }
+
+    private static Map<String, Double> categoryWeights(final Map<Category, Double> weights) {
+        Preconditions.checkArgument(weights != null, "weights is required");
+        final Map<String, Double> typeWeights = new LinkedHashMap<>();
+        for (Map.Entry<Category, Double> weight : weights.entrySet()) {
+            final List<String> mimeTypes = weight.getKey().mimeTypes();
+            for (String mimeType : mimeTypes) {
+                typeWeights.put(mimeType, weight.getValue() / mimeTypes.size());
+            }
+        }
+        return typeWeights;
+    }
+
+    /**
+     * A shrinker for the mime types of this generator. A random mime type shrinks to the first of the mime types of
+     * the generator which still fails, and one of those mime types to an earlier one.
+     *
+     * @return the shrinker.
+     */
+    public Shrinker<String> shrinker() {
+        return (mimeType, failing) -> {
+            final int index = Arrays.asList(values).indexOf(mimeType);
+            final int end = index < 0 ? values.length : index;
+            for (int i = 0; i < end; i++) {
+                if (failing.test(values[i])) {
+                    return values[i];
+                }
+            }
+            return null;
+        };
+    }
+
+    @Override
+    public MimeTypeGenerator split() {
+        final RandomSource splitSource = source.split();
+        return new MimeTypeGenerator(values, weights, splitSource,
+                randomGenerator == null ? null : randomGenerator.split(splitSource));
+    }
+
+    @Override
+    public MimeTypeGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final long fromEnsured = randomGenerator == null ? 0 : Math.min(n, values.length - ensured);
+        ensured += fromEnsured;
+        final boolean skippable = randomGenerator == null || randomGenerator.skippable();
+        if (!skippable || !source.skip(n)) {
+            // the ensured values draw nothing, but still take their positions in a seeded stream
+            source.skip(fromEnsured);
+            for (long i = fromEnsured; i < n; i++) {
+                next();
+            }
+        }
+        return this;
+    }
+
+    /**
+     * The number of mime types still to be produced from the list before the mime types become random. A generator
+     * without random mime types draws every value from its list, so none of them count as ensured.
+     *
+     * @return the number of ensured mime types left.
+     */
+    @Override
+    public int remainingEnsuredValues() {
+        return randomGenerator == null ? 0 : values.length - ensured;
+    }
 
     @Override
     public String next() {
-        return mimeTypeGenerator.next();
+        source.nextElement();
+        if (randomGenerator == null) {
+            return values[nextIndex()];
+        }
+        return ensured < values.length ? values[ensured++] : randomGenerator.next();
     }
 
-    private static class RandomMimeTypeGenerator implements Generator<String> {
+    /**
+     * Appends the next mime type to the provided builder. The builder is not cleared first, so it can be reused across
+     * calls with {@code builder.setLength(0)}.
+     *
+     * @param builder the builder the mime type is appended to.
+     * @return the provided builder.
+     */
+    @Override
+    public StringBuilder nextInto(final StringBuilder builder) {
+        source.nextElement();
+        if (randomGenerator == null) {
+            return builder.append(values[nextIndex()]);
+        }
+        return ensured < values.length ? builder.append(values[ensured++]) : randomGenerator.nextInto(builder);
+    }
 
-        private final Generator<Character> allowedCharacters = PrimitiveGenerators.characters('a', 'z');
-        private final Generator<Character> allowedSymbols = PrimitiveGenerators.characters('-', '.');
+    /**
+     * This generator, whose {@link #next()} returns the known mime types without copying them.
+     *
+     * @return this generator.
+     */
+    @Override
+    public MimeTypeGenerator asGenerator() {
+        return this;
+    }
 
-        //Text left of the forward slash (/)
-        private StringGenerator leftPart;
-        //Text right of the forward slash (/)
-        private StringGenerator rightPart;
-        private final Generator<Integer> leftPartLength = PrimitiveGenerators.integers(10, 20);
-        private final Generator<Integer> rightPartLength = PrimitiveGenerators.integers(5, 15);
+    @Override
+    public List<String> nextBatch(final int n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final String[] batch = new String[n];
+        fill(batch, 0, n);
+        return Arrays.asList(batch);
+    }
 
-        RandomMimeTypeGenerator() {
-            leftPart = new StringGenerator(leftPartLength, allowedCharacters);
+    @Override
+    public void fill(final String[] dest, final int off, final int len) {
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+        final int end = off + len;
+        if (randomGenerator == null) {
+            for (int i = off; i < end; i++) {
+                source.nextElement();
+                dest[i] = values[nextIndex()];
+            }
+            return;
+        }
+        final int fromEnsured = Math.min(len, values.length - ensured);
+        System.arraycopy(values, ensured, dest, off, fromEnsured);
+        ensured += fromEnsured;
+        // the ensured values draw nothing, but still take their positions in a seeded stream
+        source.skip(fromEnsured);
+        for (int i = off + fromEnsured; i < end; i++) {
+            source.nextElement();
+            dest[i] = randomGenerator.next();
+        }
+    }
+
+    private int nextIndex() {
+        return weights == null ? source.nextInt(values.length) : weights.sample(source);
+    }
+
+    /**
+     * The categories of the known mime types.
+     */
+    public enum Category {
+        APPLICATION(APPLICATION_MIME_TYPE),
+        AUDIO(AUDIO_MIME_TYPE),
+        IMAGE(IMAGE_MIME_TYPE),
+        MULTIPART(MULTIPART_MIME_TYPE),
+        TEXT(TEXT_MIME_TYPE),
+        VIDEO(VIDEO_MIME_TYPE);
+
+        private final List<String> mimeTypes;
+
+        Category(final List<String> mimeTypes) {
+            this.mimeTypes = mimeTypes;
+        }
+
+        /**
+         * The known mime types of the category.
+         *
+         * @return the mime types.
+         */
+        public List<String> mimeTypes() {
+            return mimeTypes;
+        }
+    }
+
+    /**
+     * A generator of the random mime types produced once the known ones have been ensured.
+     */
+    private interface RandomMimeTypes extends Generator<String> {
+
+        /**
+         * A generator of the same kind drawing from the provided source.
+         */
+        RandomMimeTypes split(RandomSource splitSource);
+
+        /**
+         * Whether a value depends on its position alone, so a seeded source can skip values without drawing them.
+         */
+        boolean skippable();
+
+        /**
+         * Appends the next mime type to the provided builder, without making a {@code String}.
+         */
+        StringBuilder nextInto(StringBuilder builder);
+    }
+
+    /**
+     * Produces random {@code left/right} mime types. The characters are drawn straight into a reusable buffer
+     * rather than through nested string and frequency generators.
+     */
+    private static class RandomMimeTypeGenerator implements RandomMimeTypes {
+
+        static final int MAX_LENGTH = RandomMimeTypeGenerator.LEFT_MAX_LENGTH + 1
+                + RandomMimeTypeGenerator.RIGHT_MAX_LENGTH;
+
+        private static final int LEFT_MIN_LENGTH = 10;
+        private static final int LEFT_MAX_LENGTH = 20;
+        private static final int RIGHT_MIN_LENGTH = 5;
+        private static final int RIGHT_MAX_LENGTH = 15;
+        private static final int LETTER_WEIGHT = 10;
+        private static final int SYMBOL_WEIGHT = 1;
+        private static final int LETTERS = 'z' - 'a' + 1;
+        private static final int SYMBOLS = '.' - '-' + 1;
+
+        private final RandomSource source;
+
+        private final char[] buffer = new char[MAX_LENGTH];
+
+        RandomMimeTypeGenerator(final RandomSource source) {
+            this.source = source;
+        }
+
+        @Override
+        public RandomMimeTypeGenerator split(final RandomSource splitSource) {
+            return new RandomMimeTypeGenerator(splitSource);
+        }
+
+        @Override
+        public boolean skippable() {
+            return true;
+        }
+
+        @Override
+        public String next() {
+            return new String(buffer, 0, nextInto(buffer, 0));
+        }
+
+        @Override
+        public StringBuilder nextInto(final StringBuilder builder) {
+            return builder.append(buffer, 0, nextInto(buffer, 0));
+        }
+
+        /**
+         * Writes the next mime type into the provided array.
+         *
+         * @return the length of the mime type, at most {@link #MAX_LENGTH}.
+         */
+        int nextInto(final char[] dest, final int off) {
+            //Text left of the forward slash (/)
+            final int slash = source.nextInt(LEFT_MIN_LENGTH, LEFT_MAX_LENGTH);
+            //Text right of the forward slash (/)
+            final int length = slash + 1 + source.nextInt(RIGHT_MIN_LENGTH, RIGHT_MAX_LENGTH);
+            dest[off + slash] = '/';
+            for (int i = 0; i < slash; i++) {
+                dest[off + i] = letter();
+            }
+            for (int i = slash + 1; i < length; i++) {
+                dest[off + i] = source.nextInt(LETTER_WEIGHT + SYMBOL_WEIGHT) < LETTER_WEIGHT
+                        ? letter()
+                        : (char) ('-' + source.nextInt(SYMBOLS));
+            }
+            return length;
+        }
+
+        private char letter() {
+            return (char) ('a' + source.nextInt(LETTERS));
+        }
+    }
+
+    /**
+     * Produces random mime types drawn uniformly from a pool. The pool is generated once into a single {@code char}
+     * arena with a fixed-size slot for each mime type, so it holds no {@code String} objects. With churn, the slots
+     * are also kept in a doubly linked list from the least to the most recently produced, and a new mime type is
+     * written over the least recently produced one.
+     */
+    private static final class PooledMimeTypeGenerator implements RandomMimeTypes {
+
+        static final int MAX_POOL_SIZE = Integer.MAX_VALUE / RandomMimeTypeGenerator.MAX_LENGTH;
+
+        private static final int SLOT = RandomMimeTypeGenerator.MAX_LENGTH;
+
+        /**
+         * A churn draw takes the top 53 bits of a long, the precision of a double.
+         */
+        private static final int CHURN_SHIFT = Long.SIZE - 53;
+        private static final double CHURN_SCALE = 0x1p53;
+
+        private final RandomSource source;
+
+        private final RandomMimeTypeGenerator randomGenerator;
+
+        private final char[] arena;
+
+        private final byte[] lengths;
+
+        private final double churnRate;
+
+        /**
+         * Draws below this value churn the pool; 0 without churn.
+         */
+        private final long churnThreshold;
+
+        /**
+         * The next more recently produced slot of each slot, {@code null} without churn.
+         */
+        private final int[] newer;
 
-            rightPart = new StringGenerator(
-                    rightPartLength,
-                    new DefaultFrequencyGenerator(allowedCharacters, 10).add(allowedSymbols, 1));
+        /**
+         * The next less recently produced slot of each slot, {@code null} without churn.
+         */
+        private final int[] older;
 
+        private int oldest;
+
+        private int newest;
+
+        PooledMimeTypeGenerator(final RandomSource source, final int poolSize, final double churnRate) {
+            this(source, new char[poolSize * SLOT], new byte[poolSize], churnRate);
+            for (int slot = 0; slot < poolSize; slot++) {
+                lengths[slot] = (byte) randomGenerator.nextInto(arena, slot * SLOT);
+            }
+            if (newer != null) {
+                for (int slot = 0; slot < poolSize; slot++) {
+                    older[slot] = slot - 1;
+                    newer[slot] = slot + 1;
+                }
+                newest = poolSize - 1;
+            }
+        }
+
+        private PooledMimeTypeGenerator(final RandomSource source, final char[] arena, final byte[] lengths,
+                                        final double churnRate) {
+            this.source = source;
+            this.randomGenerator = new RandomMimeTypeGenerator(source);
+            this.arena = arena;
+            this.lengths = lengths;
+            this.churnRate = churnRate;
+            this.churnThreshold = (long) (churnRate * CHURN_SCALE);
+            this.newer = churnThreshold == 0 ? null : new int[lengths.length];
+            this.older = churnThreshold == 0 ? null : new int[lengths.length];
+        }
+
+        /**
+         * A copy of this pool, as it is now, drawing from the provided source.
+         */
+        @Override
+        public PooledMimeTypeGenerator split(final RandomSource splitSource) {
+            final PooledMimeTypeGenerator split = new PooledMimeTypeGenerator(splitSource, arena.clone(),
+                    lengths.clone(), churnRate);
+            if (newer != null) {
+                System.arraycopy(newer, 0, split.newer, 0, newer.length);
+                System.arraycopy(older, 0, split.older, 0, older.length);
+                split.oldest = oldest;
+                split.newest = newest;
+            }
+            return split;
+        }
+
+        @Override
+        public boolean skippable() {
+            return newer == null;
         }
 
         @Override
         public String next() {
-            return leftPart.next() + "/" + rightPart.next();
+            final int slot = nextSlot();
+            return new String(arena, slot * SLOT, lengths[slot]);
+        }
+
+        @Override
+        public StringBuilder nextInto(final StringBuilder builder) {
+            final int slot = nextSlot();
+            return builder.append(arena, slot * SLOT, lengths[slot]);
+        }
+
+        private int nextSlot() {
+            final int slot;
+            if (newer != null && source.nextLong() >>> CHURN_SHIFT < churnThreshold) {
+                slot = oldest;
+                lengths[slot] = (byte) randomGenerator.nextInto(arena, slot * SLOT);
+            } else {
+                slot = source.nextInt(lengths.length);
+            }
+            if (newer != null) {
+                touch(slot);
+            }
+            return slot;
+        }
+
+        /**
+         * Moves a slot to the most recently produced end of the list.
+         */
+        private void touch(final int slot) {
+            if (slot == newest) {
+                return;
+            }
+            final int newerSlot = newer[slot];
+            if (slot == oldest) {
+                oldest = newerSlot;
+            } else {
+                newer[older[slot]] = newerSlot;
+            }
+            older[newerSlot] = older[slot];
+            older[slot] = newest;
+            newer[newest] = slot;
+            newest = slot;
         }
     }
 }
@@ -1,20 +1,49 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.BatchGenerator;
+import au.com.paulmurphy.generators.CharSequenceGenerator;
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.Shrinker;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
 import net.java.quickcheck.Generator;
 
-import static net.java.quickcheck.generator.PrimitiveGenerators.characters;
-import static net.java.quickcheck.generator.PrimitiveGenerators.integers;
-import static net.java.quickcheck.generator.PrimitiveGenerators.strings;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A {@link Generator} which produces variable length paths.
  *
+ * <p>Besides {@link #next()}, paths can be written straight into a reusable {@link StringBuilder} or
+ * {@link ByteBuffer} with {@link #nextInto(StringBuilder)} and {@link #nextInto(ByteBuffer)}. When the part names
+ * are produced by the default name generator these do not allocate. As a {@link CharSequenceGenerator}, paths can
+ * be appended to a larger value built by the caller.</p>
+ *
+ * <p>Use {@link #split()} to give each worker thread its own generator. Custom depth and part name generators are
+ * split along with it when they are {@link SplittableGenerator}s, and shared otherwise.</p>
+ *
+ * <p>The seeded constructors produce reproducible paths which can be skipped in constant time.</p>
+ *
+ * <p>{@link #unique(long)} produces paths which never repeat, without remembering the paths already produced. The
+ * first part name of each path starts with 14 letters encoding its position, followed by up to 11 random letters;
+ * the rest of the path is drawn as usual. Splits of a unique generator never produce each other's paths.</p>
+ *
+ * <p>{@link #zipfian(long, double, int...)} builds a fixed trie of routes once and draws its paths from the routes
+ * with a Zipf distribution, so a few hot routes take most of the traffic and the rest form a long tail. Each route
+ * is drawn in constant time and its path is built up front, so the same {@code String} is returned every time the
+ * route is drawn.</p>
+ *
  * @author Paul Murphy
  */
-public class PathGenerator implements Generator<String> {
+public class PathGenerator
+        implements BatchGenerator<String>, SplittableGenerator<String>, SkippableGenerator<String>,
+        CharSequenceGenerator {
 
     private static final char LO = 'a';
     private static final char HI = 'z';
+    private static final int LETTERS = HI - LO + 1;
 
     private static final int NAME_MIN_SIZE = 3;
     private static final int NAME_MAX_SIZE = 25;
@@ -22,9 +51,44 @@ public class PathGenerator implements Generator<String> {
     private static final int PATH_MIN_DEPTH = 1;
     private static final int PATH_MAX_DEPTH = 5;
 
-    private Generator<Integer> pathDepth;
+    private static final int[] DEFAULT_FAN_OUTS = {8, 8, 4, 4, 2};
+    private static final double DEFAULT_ZIPF_EXPONENT = 1;
+
+    /**
+     * The longest path of the default depth, including a trailing path separator.
+     */
+    static final int DEFAULT_MAX_LENGTH = PATH_MAX_DEPTH * (NAME_MAX_SIZE + 1) + 1;
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final char UNMAPPABLE = '?';
+    private static final char MAX_ASCII = 0x7F;
+
+    /**
+     * The path depth generator, {@code null} when the depth is drawn between {@link #minDepth} and
+     * {@link #maxDepth}.
+     */
+    private final Generator<Integer> pathDepth;
+
+    private final int minDepth;
+
+    private final int maxDepth;
+
+    /**
+     * The part name generator, {@code null} when names are written in place from the random source.
+     */
+    private final Generator<String> stringGenerator;
+
+    private final RandomSource source;
 
-    private Generator<String> stringGenerator;
+    /**
+     * The first part names of unique paths, {@code null} unless the paths are unique.
+     */
+    private final UniqueNames uniqueNames;
+
+    /**
+     * The routes paths are drawn from, {@code null} unless the paths are drawn from a fixed set of routes.
+     */
+    private final RouteTrie routes;
 
     private boolean trailingPathSeparator;
 
@@ -32,8 +96,42 @@ public class PathGenerator implements Generator<String> {
      * Default constructor
      */
     public PathGenerator() {
-        this(integers(PATH_MIN_DEPTH, PATH_MAX_DEPTH),
-                strings(integers(NAME_MIN_SIZE, NAME_MAX_SIZE), characters(LO, HI)));
+        this(PATH_MIN_DEPTH, PATH_MAX_DEPTH);
+    }
+
+    /**
+     * Construct an instance which will produce paths with a depth between the provided bounds.
+     *
+     * @param minDepth the minimum path depth, inclusive.
+     * @param maxDepth the maximum path depth, inclusive.
+     * @throws IllegalArgumentException if {@code minDepth} is negative or greater than {@code maxDepth}.
+     */
+    public PathGenerator(final int minDepth, final int maxDepth) {
+        this(null, minDepth, maxDepth, null, RandomSource.quickCheck());
+        checkDepthBounds(minDepth, maxDepth);
+    }
+
+    /**
+     * Construct an instance with the default path depth which draws its paths from the provided seed.
+     *
+     * @param seed the seed.
+     */
+    public PathGenerator(final long seed) {
+        this(seed, PATH_MIN_DEPTH, PATH_MAX_DEPTH);
+    }
+
+    /**
+     * Construct an instance which will produce paths with a depth between the provided bounds, drawn from the
+     * provided seed.
+     *
+     * @param seed the seed.
+     * @param minDepth the minimum path depth, inclusive.
+     * @param maxDepth the maximum path depth, inclusive.
+     * @throws IllegalArgumentException if {@code minDepth} is negative or greater than {@code maxDepth}.
+     */
+    public PathGenerator(final long seed, final int minDepth, final int maxDepth) {
+        this(null, minDepth, maxDepth, null, RandomSource.seeded(seed));
+        checkDepthBounds(minDepth, maxDepth);
     }
 
     /**
@@ -42,9 +140,107 @@ public class PathGenerator implements Generator<String> {
      * @param pathDepth the generator which will determine the path depth.
      */
     public PathGenerator(Generator<Integer> pathDepth) {
-        this(pathDepth, strings(integers(NAME_MIN_SIZE, NAME_MAX_SIZE), characters(LO, HI)));
+        this(pathDepth, 0, 0, null, RandomSource.quickCheck());
+    }
+
+
+    /**
+     * Construct an instance which will use the provided generators to construct the path.
+     *
+     * @param pathDepth the generator which will determine the path depth.
+     * @param stringGenerator the generator which will construct each part name.
+     */
+    public PathGenerator(Generator<Integer> pathDepth, Generator<String> stringGenerator) {
+        this(pathDepth, 0, 0, stringGenerator, RandomSource.quickCheck());
+    }
+
+    /**
+     * Construct an instance with the default path depth which draws from the provided source.
+     *
+     * @param source the source of randomness.
+     */
+    PathGenerator(final RandomSource source) {
+        this(null, PATH_MIN_DEPTH, PATH_MAX_DEPTH, null, source);
+    }
+
+    private PathGenerator(final Generator<Integer> pathDepth, final int minDepth, final int maxDepth,
+                          final Generator<String> stringGenerator, final RandomSource source) {
+        this(pathDepth, minDepth, maxDepth, stringGenerator, source, null, null);
+    }
+
+    private PathGenerator(final Generator<Integer> pathDepth, final int minDepth, final int maxDepth,
+                          final Generator<String> stringGenerator, final RandomSource source,
+                          final UniqueNames uniqueNames, final RouteTrie routes) {
+        this.pathDepth = pathDepth;
+        this.minDepth = minDepth;
+        this.maxDepth = maxDepth;
+        this.stringGenerator = stringGenerator;
+        this.source = source;
+        this.uniqueNames = uniqueNames;
+        this.routes = routes;
+    }
+
+    /**
+     * Produces distinct paths with the default path depth, drawn from the provided seed.
+     *
+     * @param seed the seed.
+     * @return PathGenerator of unique paths.
+     */
+    public static PathGenerator unique(final long seed) {
+        return unique(seed, PATH_MIN_DEPTH, PATH_MAX_DEPTH);
+    }
+
+    /**
+     * Produces distinct paths with a depth between the provided bounds, drawn from the provided seed. Every path
+     * has at least one part name, which makes it unique.
+     *
+     * @param seed the seed.
+     * @param minDepth the minimum path depth, inclusive.
+     * @param maxDepth the maximum path depth, inclusive.
+     * @return PathGenerator of unique paths.
+     * @throws IllegalArgumentException if {@code minDepth} is not positive or greater than {@code maxDepth}.
+     */
+    public static PathGenerator unique(final long seed, final int minDepth, final int maxDepth) {
+        checkDepthBounds(minDepth, maxDepth);
+        Preconditions.checkArgument(minDepth > 0, "minDepth must be positive for unique paths");
+        return new PathGenerator(null, minDepth, maxDepth, null, RandomSource.seeded(seed), new UniqueNames(seed),
+                null);
+    }
+
+    /**
+     * Produces paths from a fixed trie of routes drawn from the provided seed, with 8, 8, 4, 4 and 2 children per
+     * node at each depth, and a Zipf exponent of 1.
+     *
+     * @param seed the seed.
+     * @return PathGenerator of Zipf distributed routes.
+     * @see #zipfian(long, double, int...)
+     */
+    public static PathGenerator zipfian(final long seed) {
+        return zipfian(seed, DEFAULT_ZIPF_EXPONENT, DEFAULT_FAN_OUTS);
     }
 
+    /**
+     * Produces paths from a fixed trie of routes drawn from the provided seed. Each node at depth {@code d} has
+     * {@code fanOuts[d]} children, and every node below the root is a route, so the paths have a depth between 1
+     * and {@code fanOuts.length}. The routes are ranked in a random order, and the {@code r}th most popular route
+     * is drawn in proportion to <code>1 / r<sup>exponent</sup></code>.
+     *
+     * @param seed the seed.
+     * @param exponent the exponent of the Zipf distribution; 0 draws every route equally often.
+     * @param fanOuts the number of children of each node at each depth, starting with the root.
+     * @return PathGenerator of Zipf distributed routes.
+     * @throws IllegalArgumentException if the exponent is negative or not finite, there are not between 1 and 5
+     *     fan-outs, a fan-out is not positive, or the trie would have more than 2<sup>24</sup> routes.
+     */
+    public static PathGenerator zipfian(final long seed, final double exponent, final int... fanOuts) {
+        Preconditions.checkArgument(fanOuts != null, "fanOuts is required");
+        Preconditions.checkArgument(fanOuts.length >= PATH_MIN_DEPTH && fanOuts.length <= PATH_MAX_DEPTH,
+                "fanOuts must have between %s and %s depths", PATH_MIN_DEPTH, PATH_MAX_DEPTH);
+        final RandomSource source = RandomSource.seeded(seed);
+        final PathGenerator names = new PathGenerator(source);
+        final RouteTrie routes = RouteTrie.build(fanOuts, exponent, source, names::nextName);
+        return new PathGenerator(null, PATH_MIN_DEPTH, fanOuts.length, null, source, null, routes);
+    }
 
     /**
      * The generated paths will have a trailing path separator.
@@ -58,28 +254,205 @@ public class PathGenerator implements Generator<String> {
     }
 
     /**
-     * Construct an instance which will use the provided generators to construct the path.
+     * A shrinker for the paths of this generator. It drops part names down to the minimum depth, shortens the names
+     * and replaces their letters with {@code 'a'}. Names from the default name generator keep their minimum length
+     * of 3; names from a custom generator, and paths of a custom depth, shrink down to a single character and no
+     * part names.
      *
-     * @param pathDepth the generator which will determine the path depth.
-     * @param stringGenerator the generator which will construct each part name.
+     * @return the shrinker.
      */
-    public PathGenerator(Generator<Integer> pathDepth, Generator<String> stringGenerator) {
-        this.pathDepth = pathDepth;
-        this.stringGenerator = stringGenerator;
+    public Shrinker<String> shrinker() {
+        return new PathShrinker(minDepth, stringGenerator == null ? NAME_MIN_SIZE : 1);
+    }
+
+    @Override
+    public PathGenerator split() {
+        final Generator<Integer> depth = pathDepth == null ? null : SplittableGenerator.splitIfPossible(pathDepth);
+        final Generator<String> names =
+                stringGenerator == null ? null : SplittableGenerator.splitIfPossible(stringGenerator);
+        return new PathGenerator(depth, minDepth, maxDepth, names, source.split(),
+                uniqueNames == null ? null : uniqueNames.split(), routes)
+                .trailingPathSeparator(trailingPathSeparator);
+    }
+
+    @Override
+    public PathGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (!source.skip(n)) {
+            final StringBuilder builder = new StringBuilder();
+            for (long i = 0; i < n; i++) {
+                builder.setLength(0);
+                nextInto(builder);
+            }
+        } else if (uniqueNames != null) {
+            uniqueNames.skip(n);
+        }
+        return this;
     }
 
     @Override
     public String next() {
-        int length = pathDepth.next();
-        StringBuilder builder = new StringBuilder(length + 1);
-        for (int i = 0; i < length; i++) {
-            builder.append("/");
-            builder.append(stringGenerator.next());
+        if (routes != null) {
+            return routes.path(nextRoute(), trailingPathSeparator);
+        }
+        final int depth = nextDepth();
+        final StringBuilder builder = new StringBuilder(depth * (NAME_MAX_SIZE + 1) + 1);
+        appendPath(builder, depth);
+        return builder.toString();
+    }
+
+    /**
+     * This generator, whose {@link #next()} sizes its builder for the path, and returns the routes of a
+     * {@link #zipfian(long) zipfian} generator without copying them.
+     *
+     * @return this generator.
+     */
+    @Override
+    public PathGenerator asGenerator() {
+        return this;
+    }
+
+    @Override
+    public List<String> nextBatch(final int n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final String[] batch = new String[n];
+        fill(batch, 0, n);
+        return Arrays.asList(batch);
+    }
+
+    @Override
+    public void fill(final String[] dest, final int off, final int len) {
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = off; i < off + len; i++) {
+            if (routes != null) {
+                dest[i] = routes.path(nextRoute(), trailingPathSeparator);
+            } else {
+                builder.setLength(0);
+                appendPath(builder, nextDepth());
+                dest[i] = builder.toString();
+            }
+        }
+    }
+
+    /**
+     * Appends the next path to the provided builder. The builder is not cleared first, so it can be reused across
+     * calls with {@code builder.setLength(0)}.
+     *
+     * @param builder the builder the path is appended to.
+     * @return the provided builder.
+     */
+    @Override
+    public StringBuilder nextInto(final StringBuilder builder) {
+        if (routes != null) {
+            return builder.append(routes.path(nextRoute(), trailingPathSeparator));
+        }
+        appendPath(builder, nextDepth());
+        return builder;
+    }
+
+    /**
+     * Writes the next path as US-ASCII bytes at the current position of the provided buffer, advancing the position
+     * past the path. Characters outside US-ASCII, which can only come from a custom part name generator, are
+     * written as {@code '?'}.
+     *
+     * @param buffer the buffer the path is written to.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if the path does not fit in the remaining space of the buffer.
+     */
+    public int nextInto(final ByteBuffer buffer) {
+        final int start = buffer.position();
+        if (routes != null) {
+            putAscii(buffer, routes.path(nextRoute(), trailingPathSeparator));
+            return buffer.position() - start;
+        }
+        final int depth = nextDepth();
+        for (int i = 0; i < depth; i++) {
+            buffer.put((byte) PATH_SEPARATOR);
+            if (i == 0 && uniqueNames != null) {
+                uniqueNames.putNext(buffer);
+                final int length = nextUniqueNamePadding();
+                for (int c = 0; c < length; c++) {
+                    buffer.put((byte) nextNameCharacter());
+                }
+            } else if (stringGenerator == null) {
+                final int length = nextNameLength();
+                for (int c = 0; c < length; c++) {
+                    buffer.put((byte) nextNameCharacter());
+                }
+            } else {
+                putAscii(buffer, stringGenerator.next());
+            }
         }
         if (trailingPathSeparator) {
-            builder.append("/");
+            buffer.put((byte) PATH_SEPARATOR);
         }
-        return builder.toString();
+        return buffer.position() - start;
+    }
+
+    private void appendPath(final StringBuilder builder, final int depth) {
+        for (int i = 0; i < depth; i++) {
+            builder.append(PATH_SEPARATOR);
+            if (i == 0 && uniqueNames != null) {
+                uniqueNames.appendNext(builder);
+                final int length = nextUniqueNamePadding();
+                for (int c = 0; c < length; c++) {
+                    builder.append(nextNameCharacter());
+                }
+            } else if (stringGenerator == null) {
+                final int length = nextNameLength();
+                for (int c = 0; c < length; c++) {
+                    builder.append(nextNameCharacter());
+                }
+            } else {
+                builder.append(stringGenerator.next());
+            }
+        }
+        if (trailingPathSeparator) {
+            builder.append(PATH_SEPARATOR);
+        }
+    }
+
+    private int nextDepth() {
+        source.nextElement();
+        return pathDepth == null ? source.nextInt(minDepth, maxDepth) : pathDepth.next();
+    }
+
+    private int nextRoute() {
+        source.nextElement();
+        return routes.sample(source);
+    }
+
+    private String nextName() {
+        final int length = nextNameLength();
+        final StringBuilder name = new StringBuilder(length);
+        for (int c = 0; c < length; c++) {
+            name.append(nextNameCharacter());
+        }
+        return name.toString();
+    }
 
+    private int nextNameLength() {
+        return source.nextInt(NAME_MIN_SIZE, NAME_MAX_SIZE);
+    }
+
+    private int nextUniqueNamePadding() {
+        return source.nextInt(0, NAME_MAX_SIZE - UniqueNames.LENGTH);
+    }
+
+    private char nextNameCharacter() {
+        return (char) (LO + source.nextInt(LETTERS));
+    }
+
+    private static void checkDepthBounds(final int minDepth, final int maxDepth) {
+        Preconditions.checkArgument(minDepth >= 0, "minDepth must not be negative");
+        Preconditions.checkArgument(minDepth <= maxDepth, "minDepth must not be greater than maxDepth");
+    }
+
+    private static void putAscii(final ByteBuffer buffer, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            buffer.put((byte) (c > MAX_ASCII ? UNMAPPABLE : c));
+        }
     }
 }
@@ -0,0 +1,138 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.Shrinker;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Shrinks paths by dropping part names, shortening them and replacing their letters with {@code 'a'}, without going
+ * below the depth and name length of the generator.
+ *
+ * <p>The part names of the path are found once per step and kept as offsets into it. Each candidate is copied from
+ * those offsets into a reusable builder, so the only allocation per candidate is its final {@code String}.</p>
+ *
+ * @author Paul Murphy
+ */
+final class PathShrinker implements Shrinker<String> {
+
+    private static final char PATH_SEPARATOR = '/';
+    private static final char SMALLEST_LETTER = 'a';
+    private static final int INITIAL_DEPTH = 8;
+
+    private final int minDepth;
+
+    private final int minNameLength;
+
+    private final StringBuilder candidate = new StringBuilder();
+
+    private int[] starts = new int[INITIAL_DEPTH];
+
+    private int[] ends = new int[INITIAL_DEPTH];
+
+    private int depth;
+
+    private boolean trailingPathSeparator;
+
+    PathShrinker(final int minDepth, final int minNameLength) {
+        this.minDepth = minDepth;
+        this.minNameLength = minNameLength;
+    }
+
+    @Override
+    public String shrinkStep(final String path, final Predicate<String> failing) {
+        parse(path);
+        if (depth > minDepth) {
+            for (int i = 0; i < depth; i++) {
+                if (test(path, i, -1, false, failing)) {
+                    return candidate.toString();
+                }
+            }
+        }
+        for (int i = 0; i < depth; i++) {
+            if (shortenName(path, i, failing) || collapseName(path, i, failing)) {
+                return candidate.toString();
+            }
+        }
+        return null;
+    }
+
+    private boolean shortenName(final String path, final int name, final Predicate<String> failing) {
+        final int length = ends[name] - starts[name];
+        if (length <= minNameLength) {
+            return false;
+        }
+        final int half = Math.max(minNameLength, length / 2);
+        return test(path, name, half, false, failing) || half < length - 1 && test(path, name, length - 1, false,
+                failing);
+    }
+
+    private boolean collapseName(final String path, final int name, final Predicate<String> failing) {
+        for (int c = starts[name]; c < ends[name]; c++) {
+            if (path.charAt(c) != SMALLEST_LETTER && Character.isLetter(path.charAt(c))) {
+                return test(path, name, ends[name] - starts[name], true, failing);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the path with one part name edited, and tests it.
+     *
+     * @param name the index of the edited part name.
+     * @param length the length the name is cut to, or {@code -1} to drop it.
+     * @param collapse true to replace the letters of the name with {@code 'a'}.
+     */
+    private boolean test(final String path, final int name, final int length, final boolean collapse,
+                         final Predicate<String> failing) {
+        candidate.setLength(0);
+        for (int i = 0; i < depth; i++) {
+            if (i != name) {
+                candidate.append(PATH_SEPARATOR).append(path, starts[i], ends[i]);
+            } else if (length >= 0) {
+                candidate.append(PATH_SEPARATOR);
+                appendName(path, starts[i], starts[i] + length, collapse);
+            }
+        }
+        if (trailingPathSeparator) {
+            candidate.append(PATH_SEPARATOR);
+        }
+        return failing.test(candidate.toString());
+    }
+
+    private void appendName(final String path, final int start, final int end, final boolean collapse) {
+        if (collapse) {
+            for (int c = start; c < end; c++) {
+                candidate.append(Character.isLetter(path.charAt(c)) ? SMALLEST_LETTER : path.charAt(c));
+            }
+        } else {
+            candidate.append(path, start, end);
+        }
+    }
+
+    private void parse(final String path) {
+        depth = 0;
+        trailingPathSeparator = false;
+        int start = path.indexOf(PATH_SEPARATOR) + 1;
+        while (start > 0) {
+            final int next = path.indexOf(PATH_SEPARATOR, start);
+            final int end = next < 0 ? path.length() : next;
+            if (end == path.length() && start == end) {
+                trailingPathSeparator = true;
+            } else {
+                addName(start, end);
+            }
+            start = next + 1;
+        }
+    }
+
+    private void addName(final int start, final int end) {
+        if (depth == starts.length) {
+            starts = Arrays.copyOf(starts, depth * 2);
+            ends = Arrays.copyOf(ends, depth * 2);
+        }
+        starts[depth] = start;
+        ends[depth] = end;
+        depth++;
+    }
+}
@@ -0,0 +1,57 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import net.java.quickcheck.Generator;
+
+/**
+ * Produces {@code Range} values of one or two byte ranges, each either bounded, open ended or a suffix, such as
+ * {@code bytes=0-499}, {@code bytes=9500-} or {@code bytes=-500, 1000-1999}.
+ *
+ * @author Paul Murphy
+ */
+final class RangeGenerator implements Generator<String> {
+
+    private static final int MAX_RANGES = 2;
+    private static final int FORMS = 3;
+    private static final int MAX_START = 1_048_576;
+    private static final int MAX_LENGTH = 65_536;
+
+    private final RandomSource source;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    RangeGenerator(final RandomSource source) {
+        this.source = source;
+    }
+
+    /**
+     * The length of the longest value: as many ranges as are drawn, each from the largest start to its largest end.
+     */
+    static int maxValueLength() {
+        return "bytes=".length() + MAX_RANGES * (MAX_START + "-" + (MAX_START + MAX_LENGTH)).length()
+                + (MAX_RANGES - 1) * ", ".length();
+    }
+
+    @Override
+    public String next() {
+        builder.setLength(0);
+        builder.append("bytes=");
+        final int ranges = source.nextInt(1, MAX_RANGES);
+        for (int i = 0; i < ranges; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            final int form = source.nextInt(FORMS);
+            if (form == 0) {
+                builder.append('-').append(source.nextInt(1, MAX_LENGTH));
+            } else {
+                final int start = source.nextInt(0, MAX_START);
+                builder.append(start).append('-');
+                if (form == 1) {
+                    builder.append(start + source.nextInt(0, MAX_LENGTH));
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
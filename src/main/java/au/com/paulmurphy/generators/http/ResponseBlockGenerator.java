@@ -0,0 +1,135 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Produces Http response header blocks as US-ASCII bytes: a status line with a code from
+ * {@link StatusCodeGenerator}, a {@code Content-Type} with a known mime type, a zero {@code Content-Length} and the
+ * empty line ending the block.
+ *
+ * <pre>
+ * HTTP/1.1 404 Client Error\r\n
+ * Content-Type: text/html\r\n
+ * Content-Length: 0\r\n
+ * \r\n
+ * </pre>
+ *
+ * <p>The reason phrase names the class of the status code. Like {@link HeaderBlockGenerator}, producing a block does
+ * not allocate: {@link #next()} returns a direct buffer owned by the generator which is reused by the next call, and
+ * {@link #nextInto(ByteBuffer)} writes into a buffer of the caller.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class ResponseBlockGenerator
+        implements SplittableGenerator<ByteBuffer>, SkippableGenerator<ByteBuffer> {
+
+    private static final int CODE_CLASS = 100;
+    private static final int RADIX = 10;
+    private static final int CODE_DIGITS = 3;
+
+    private static final String[] REASONS = {"", " Informational", " Success", " Redirection", " Client Error",
+        " Server Error"};
+    private static final byte[] VERSION = "HTTP/1.1 ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_TYPE = "\r\nContent-Type: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CONTENT_LENGTH = "\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[][] reasons = HeaderBlockGenerator.encode(REASONS);
+    private final byte[][] mimeTypes =
+            HeaderBlockGenerator.encode(MimeTypeGenerator.ALL_MIME_TYPES.toArray(new String[0]));
+
+    private final RandomSource source;
+
+    private final StatusCodeGenerator statusCodes;
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Default constructor.
+     */
+    public ResponseBlockGenerator() {
+        this(RandomSource.quickCheck());
+    }
+
+    /**
+     * Construct an instance which draws its blocks from the provided seed.
+     *
+     * @param seed the seed.
+     */
+    public ResponseBlockGenerator(final long seed) {
+        this(RandomSource.seeded(seed));
+    }
+
+    private ResponseBlockGenerator(final RandomSource source) {
+        this.source = source;
+        this.statusCodes = StatusCodeGenerator.allCodes(source.component());
+        this.buffer = ByteBuffer.allocateDirect(maxBlockSize());
+    }
+
+    /**
+     * The size of the largest block this generator can produce.
+     *
+     * @return the largest block size in bytes.
+     */
+    public int maxBlockSize() {
+        return VERSION.length + CODE_DIGITS + HeaderBlockGenerator.maxLength(reasons) + CONTENT_TYPE.length
+                + HeaderBlockGenerator.maxLength(mimeTypes) + CONTENT_LENGTH.length;
+    }
+
+    /**
+     * Produces the next block in a direct buffer owned by this generator. The buffer is positioned at the start of
+     * the block with its limit at the end, and is overwritten by the next call.
+     *
+     * @return the buffer holding the block.
+     */
+    @Override
+    public ByteBuffer next() {
+        buffer.clear();
+        nextInto(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Writes the next block at the current position of the provided buffer, advancing the position past the block.
+     *
+     * @param dest the buffer the block is written to.
+     * @return the number of bytes written.
+     * @throws java.nio.BufferOverflowException if the block does not fit in the remaining space of the buffer.
+     */
+    public int nextInto(final ByteBuffer dest) {
+        final int start = dest.position();
+        source.nextElement();
+        final int code = statusCodes.nextInt();
+        dest.put(VERSION)
+                .put((byte) ('0' + code / CODE_CLASS))
+                .put((byte) ('0' + code / RADIX % RADIX))
+                .put((byte) ('0' + code % RADIX))
+                .put(reasons[code / CODE_CLASS])
+                .put(CONTENT_TYPE)
+                .put(mimeTypes[source.nextInt(mimeTypes.length)])
+                .put(CONTENT_LENGTH);
+        return dest.position() - start;
+    }
+
+    @Override
+    public ResponseBlockGenerator split() {
+        return new ResponseBlockGenerator(source.split());
+    }
+
+    @Override
+    public ResponseBlockGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (!source.skip(n)) {
+            for (long i = 0; i < n; i++) {
+                next();
+            }
+        }
+        return this;
+    }
+}
@@ -0,0 +1,131 @@
+package au.com.paulmurphy.generators.http;
+
+import au.com.paulmurphy.generators.AliasTable;
+import au.com.paulmurphy.generators.RandomSource;
+import com.google.common.base.Preconditions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A fixed set of routes, built once as a trie, which are drawn with a Zipf distribution over their popularity.
+ *
+ * <p>Each node at depth {@code d} has {@code fanOuts[d]} children with distinct names, and every node below the root
+ * is a route, so {@code /users} and {@code /users/account} can both be drawn. The routes are ranked in a random
+ * order, and the {@code r}th most popular route is drawn in proportion to <code>1 / r<sup>exponent</sup></code>
+ * through an {@link AliasTable}. Every path is built once, with and without a trailing path separator, so drawing a
+ * route returns the same {@code String} each time.</p>
+ *
+ * <p>A trie is immutable, so it is shared by the splits of its generator.</p>
+ *
+ * @author Paul Murphy
+ */
+final class RouteTrie {
+
+    /**
+     * The largest number of routes a trie can hold.
+     */
+    static final int MAX_ROUTES = 16_777_216;
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private final String[] paths;
+
+    private final String[] trailingPaths;
+
+    private final AliasTable popularity;
+
+    private RouteTrie(final String[] paths, final String[] trailingPaths, final AliasTable popularity) {
+        this.paths = paths;
+        this.trailingPaths = trailingPaths;
+        this.popularity = popularity;
+    }
+
+    /**
+     * Builds a trie, drawing the part names from the provided supplier and the ranks of the routes from the source.
+     *
+     * @param fanOuts the number of children of each node at each depth, starting with the root.
+     * @param exponent the exponent of the Zipf distribution; 0 draws every route equally often.
+     * @param source the source the ranks are drawn from.
+     * @param names the supplier of the part names.
+     * @return the trie.
+     */
+    static RouteTrie build(final int[] fanOuts, final double exponent, final RandomSource source,
+                           final Supplier<String> names) {
+        Preconditions.checkArgument(fanOuts != null, "fanOuts is required");
+        Preconditions.checkArgument(fanOuts.length > 0, "fanOuts must not be empty");
+        Preconditions.checkArgument(exponent >= 0 && exponent < Double.POSITIVE_INFINITY,
+                "exponent must be finite and not negative");
+        long routes = 0;
+        long nodes = 1;
+        for (int fanOut : fanOuts) {
+            Preconditions.checkArgument(fanOut > 0, "fanOuts must be positive");
+            nodes = Math.min(nodes * fanOut, MAX_ROUTES + 1L);
+            routes = Math.min(routes + nodes, MAX_ROUTES + 1L);
+        }
+        Preconditions.checkArgument(routes <= MAX_ROUTES, "fanOuts must not make more than %s routes", MAX_ROUTES);
+
+        final String[] paths = new String[(int) routes];
+        List<String> parents = new ArrayList<>();
+        parents.add("");
+        int built = 0;
+        for (int fanOut : fanOuts) {
+            final List<String> children = new ArrayList<>(parents.size() * fanOut);
+            for (String parent : parents) {
+                final Set<String> siblings = new HashSet<>();
+                while (siblings.size() < fanOut) {
+                    final String name = names.get();
+                    if (siblings.add(name)) {
+                        children.add(parent + PATH_SEPARATOR + name);
+                    }
+                }
+            }
+            for (String child : children) {
+                paths[built++] = child;
+            }
+            parents = children;
+        }
+
+        shuffle(paths, source);
+        final String[] trailingPaths = new String[paths.length];
+        final double[] weights = new double[paths.length];
+        for (int rank = 0; rank < paths.length; rank++) {
+            trailingPaths[rank] = paths[rank] + PATH_SEPARATOR;
+            weights[rank] = Math.pow(rank + 1, -exponent);
+        }
+        return new RouteTrie(paths, trailingPaths, AliasTable.of(weights));
+    }
+
+    /**
+     * The path of a route.
+     *
+     * @param rank the rank of the route, counting from 0 for the most popular.
+     * @param trailingPathSeparator whether the path ends with a path separator.
+     * @return the path.
+     */
+    String path(final int rank, final boolean trailingPathSeparator) {
+        return trailingPathSeparator ? trailingPaths[rank] : paths[rank];
+    }
+
+    /**
+     * Draws the rank of a route with one {@link RandomSource#nextLong()}.
+     *
+     * @param source the source to draw from.
+     * @return the rank.
+     */
+    int sample(final RandomSource source) {
+        return popularity.sample(source);
+    }
+
+    private static void shuffle(final String[] paths, final RandomSource source) {
+        for (int i = paths.length - 1; i > 0; i--) {
+            final int j = source.nextInt(i + 1);
+            final String path = paths[i];
+            paths[i] = paths[j];
+            paths[j] = path;
+        }
+    }
+}
@@ -1,18 +1,44 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.AliasTable;
+import au.com.paulmurphy.generators.BatchGenerator;
+import au.com.paulmurphy.generators.GeneratorStreams;
+import au.com.paulmurphy.generators.IntGenerator;
+import au.com.paulmurphy.generators.RandomSource;
+import au.com.paulmurphy.generators.SkippableGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import net.java.quickcheck.Generator;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import static net.java.quickcheck.generator.CombinedGenerators.excludeValues;
-import static net.java.quickcheck.generator.PrimitiveGenerators.fixedValues;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
- * A {@link Generator} for Http Status Codes.
+ * A {@link net.java.quickcheck.Generator} for Http Status Codes.
+ *
+ * <p>The codes of each factory are held in a primitive table, built once when the generator is created, so
+ * {@link #nextInt()}, {@link #fill(int[])} and {@link #ints(long)} produce codes without boxing and excluded codes
+ * are never drawn. As an {@link IntGenerator} it can be composed by callers which never box.</p>
+ *
+ * <p>{@link #fromHistogram(Map)} and {@link #fromHistogram(Path)} reproduce the mix of a real traffic sample: each
+ * code is drawn in proportion to its count, through an {@link AliasTable} built alongside the code table, in
+ * constant time.</p>
+ *
+ * <p>Use {@link #split()} to give each worker thread its own generator; the code table is shared between splits.
+ * Each factory has a seeded variant whose codes are reproducible and can be skipped in constant time.</p>
  *
  * @author Paul Murphy
  */
-public final class StatusCodeGenerator implements Generator<Integer> {
+public final class StatusCodeGenerator
+        implements BatchGenerator<Integer>, SplittableGenerator<Integer>, SkippableGenerator<Integer>, IntGenerator {
 
     public static final List<Integer> INFORMATIONAL_CODES =
             ImmutableList.of(100, 101, 102);
@@ -30,13 +56,40 @@ public final class StatusCodeGenerator implements Generator<Integer> {
             .addAll(SUCCESS_CODES)
             .addAll(REDIRECT_CODES)
             .addAll(CLIENT_ERROR_CODES)
-            .addAll(CLIENT_ERROR_CODES)
             .addAll(SERVER_CODES).build();
 
-    private final Generator<Integer> generator;
+    private static final int MIN_CODE = 100;
+    private static final int MAX_CODE = 599;
+
+    private final int[] codes;
+
+    private final Integer[] boxedCodes;
+
+    /**
+     * The weights of the codes, {@code null} when they are drawn uniformly.
+     */
+    private final AliasTable weights;
+
+    private final RandomSource source;
+
+    private StatusCodeGenerator(final List<Integer> codes, final List<Integer> exclude, final RandomSource source) {
+        this(codes.stream().filter(code -> !exclude.contains(code)).mapToInt(Integer::intValue).toArray(), null,
+                source);
+        Preconditions.checkArgument(this.codes.length > 0, "at least one status code must remain");
+    }
+
+    private StatusCodeGenerator(final int[] codes, final AliasTable weights, final RandomSource source) {
+        this.codes = codes;
+        this.boxedCodes = Arrays.stream(codes).boxed().toArray(Integer[]::new);
+        this.weights = weights;
+        this.source = source;
+    }
 
-    private StatusCodeGenerator(final Generator<Integer> generator) {
-        this.generator = generator;
+    private StatusCodeGenerator(final StatusCodeGenerator parent, final RandomSource source) {
+        this.codes = parent.codes;
+        this.boxedCodes = parent.boxedCodes;
+        this.weights = parent.weights;
+        this.source = source;
     }
 
     /**
@@ -45,7 +98,21 @@ public final class StatusCodeGenerator implements Generator<Integer> {
      * @return StatusCodeGenerator of all Http Status Codes
      */
     public static StatusCodeGenerator allCodes() {
-        return new StatusCodeGenerator(fixedValues(ALL_CODES));
+        return new StatusCodeGenerator(ALL_CODES, Collections.emptyList(), RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces a {@link StatusCodeGenerator} which contains all Http Status Codes, drawn from the provided seed.
+     *
+     * @param seed the seed.
+     * @return StatusCodeGenerator of all Http Status Codes
+     */
+    public static StatusCodeGenerator allCodes(final long seed) {
+        return new StatusCodeGenerator(ALL_CODES, Collections.emptyList(), RandomSource.seeded(seed));
+    }
+
+    static StatusCodeGenerator allCodes(final RandomSource source) {
+        return new StatusCodeGenerator(ALL_CODES, Collections.emptyList(), source);
     }
 
     /**
@@ -54,7 +121,17 @@ public final class StatusCodeGenerator implements Generator<Integer> {
      * @return StatusCodeGenerator with 2XX status codes
      */
     public static StatusCodeGenerator successCodes() {
-        return new StatusCodeGenerator(fixedValues(SUCCESS_CODES));
+        return new StatusCodeGenerator(SUCCESS_CODES, Collections.emptyList(), RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} with Http 2XX status codes, drawn from the provided seed.
+     *
+     * @param seed the seed.
+     * @return StatusCodeGenerator with 2XX status codes
+     */
+    public static StatusCodeGenerator successCodes(final long seed) {
+        return new StatusCodeGenerator(SUCCESS_CODES, Collections.emptyList(), RandomSource.seeded(seed));
     }
 
     /**
@@ -62,14 +139,209 @@ public final class StatusCodeGenerator implements Generator<Integer> {
      *
      * @param exclude List<Integer> values to exclude.
      * @return StatusCodeGenerator excluding the provided values.
+     * @throws IllegalArgumentException if every status code is excluded.
      */
     public static StatusCodeGenerator exclude(List<Integer> exclude) {
-        return new StatusCodeGenerator(excludeValues(fixedValues(ALL_CODES), exclude));
+        return new StatusCodeGenerator(ALL_CODES, exclude, RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} excluding the provided {@code Integer} values, drawn from the provided
+     * seed.
+     *
+     * @param exclude List<Integer> values to exclude.
+     * @param seed the seed.
+     * @return StatusCodeGenerator excluding the provided values.
+     * @throws IllegalArgumentException if every status code is excluded.
+     */
+    public static StatusCodeGenerator exclude(final List<Integer> exclude, final long seed) {
+        return new StatusCodeGenerator(ALL_CODES, exclude, RandomSource.seeded(seed));
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} drawing each code of the histogram in proportion to its count.
+     *
+     * @param histogram the count of each status code.
+     * @return StatusCodeGenerator following the histogram.
+     * @throws IllegalArgumentException if the histogram is empty, has a code outside 100 to 599, a negative count,
+     *                                  or no positive count.
+     */
+    public static StatusCodeGenerator fromHistogram(final Map<Integer, Long> histogram) {
+        return fromHistogram(histogram, RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} drawing each code of the histogram in proportion to its count, drawn from
+     * the provided seed.
+     *
+     * @param histogram the count of each status code.
+     * @param seed the seed.
+     * @return StatusCodeGenerator following the histogram.
+     * @throws IllegalArgumentException if the histogram is empty, has a code outside 100 to 599, a negative count,
+     *                                  or no positive count.
+     */
+    public static StatusCodeGenerator fromHistogram(final Map<Integer, Long> histogram, final long seed) {
+        return fromHistogram(histogram, RandomSource.seeded(seed));
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} from a histogram file, such as one exported from an access log. Each
+     * line holds a status code and its count, separated by white space. Blank lines and lines starting with
+     * {@code #} are ignored, and the counts of a code listed more than once are added up.
+     *
+     * <pre>
+     * # code count
+     * 200 9120344
+     * 304 401877
+     * 404 52311
+     * </pre>
+     *
+     * @param file the histogram file, in UTF-8.
+     * @return StatusCodeGenerator following the histogram.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is not a code and a count, or the histogram is not valid.
+     */
+    public static StatusCodeGenerator fromHistogram(final Path file) throws IOException {
+        return fromHistogram(readHistogram(file), RandomSource.quickCheck());
+    }
+
+    /**
+     * Produces a {@code StatusCodeGenerator} from a histogram file, drawn from the provided seed.
+     *
+     * @param file the histogram file, in UTF-8.
+     * @param seed the seed.
+     * @return StatusCodeGenerator following the histogram.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if a line is not a code and a count, or the histogram is not valid.
+     * @see #fromHistogram(Path)
+     */
+    public static StatusCodeGenerator fromHistogram(final Path file, final long seed) throws IOException {
+        return fromHistogram(readHistogram(file), RandomSource.seeded(seed));
+    }
+
+    private static StatusCodeGenerator fromHistogram(final Map<Integer, Long> histogram, final RandomSource source) {
+        Preconditions.checkArgument(histogram != null, "histogram is required");
+        Preconditions.checkArgument(!histogram.isEmpty(), "histogram must not be empty");
+        final int[] codes = new int[histogram.size()];
+        final double[] counts = new double[codes.length];
+        long total = 0;
+        int i = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            codes[i] = entry.getKey();
+            Preconditions.checkArgument(codes[i] >= MIN_CODE && codes[i] <= MAX_CODE,
+                    "status codes must be between 100 and 599");
+            Preconditions.checkArgument(entry.getValue() >= 0, "counts must not be negative");
+            counts[i++] = entry.getValue();
+            total += entry.getValue();
+        }
+        Preconditions.checkArgument(total > 0, "histogram must have a positive count");
+        return new StatusCodeGenerator(codes, AliasTable.of(counts), source);
+    }
+
+    static Map<Integer, Long> readHistogram(final Path file) throws IOException {
+        final Map<Integer, Long> histogram = new LinkedHashMap<>();
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            final String line = lines.get(i).trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                final String[] fields = line.split("\\s+");
+                try {
+                    Preconditions.checkArgument(fields.length == 2);
+                    histogram.merge(Integer.valueOf(fields[0]), Long.valueOf(fields[1]), Long::sum);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                            String.format("line %s must be a status code and a count: %s", i + 1, line), e);
+                }
+            }
+        }
+        return histogram;
+    }
+
+    @Override
+    public StatusCodeGenerator split() {
+        return new StatusCodeGenerator(this, source.split());
+    }
+
+    @Override
+    public StatusCodeGenerator skip(final long n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        if (!source.skip(n)) {
+            for (long i = 0; i < n; i++) {
+                nextIndex();
+            }
+        }
+        return this;
     }
 
     @Override
     public Integer next() {
-        return generator.next();
+        return boxedCodes[nextIndex()];
+    }
+
+    /**
+     * Produces the next status code without boxing.
+     *
+     * @return the next status code.
+     */
+    @Override
+    public int nextInt() {
+        return codes[nextIndex()];
     }
 
+    /**
+     * Fills the provided array with status codes.
+     *
+     * @param dest the array to fill.
+     * @return the provided array.
+     */
+    @Override
+    public int[] fill(final int[] dest) {
+        for (int i = 0; i < dest.length; i++) {
+            dest[i] = codes[nextIndex()];
+        }
+        return dest;
+    }
+
+    /**
+     * This generator, whose {@link #next()} takes the boxed codes from a table rather than boxing each one.
+     *
+     * @return this generator.
+     */
+    @Override
+    public StatusCodeGenerator asGenerator() {
+        return this;
+    }
+
+    @Override
+    public List<Integer> nextBatch(final int n) {
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final Integer[] batch = new Integer[n];
+        fill(batch, 0, n);
+        return Arrays.asList(batch);
+    }
+
+    @Override
+    public void fill(final Integer[] dest, final int off, final int len) {
+        Preconditions.checkPositionIndexes(off, off + len, dest.length);
+        for (int i = off; i < off + len; i++) {
+            dest[i] = boxedCodes[nextIndex()];
+        }
+    }
+
+    /**
+     * Produces a stream of status codes without boxing. The stream can be made parallel; each part of a parallel
+     * pipeline draws from its own split of this generator.
+     *
+     * @param n the number of status codes in the stream.
+     * @return IntStream of {@code n} status codes.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     */
+    public IntStream ints(final long n) {
+        return GeneratorStreams.ints(this, StatusCodeGenerator::nextInt, StatusCodeGenerator::split, n);
+    }
+
+    private int nextIndex() {
+        source.nextElement();
+        return weights == null ? source.nextInt(codes.length) : weights.sample(source);
+    }
 }
@@ -0,0 +1,92 @@
+package au.com.paulmurphy.generators.http;
+
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Produces the first part name of a unique path. Each name starts with {@link #LENGTH} letters which encode a counter
+ * passed through a bijective mix, so every name is distinct without remembering the names already produced, and
+ * consecutive names look random.
+ *
+ * <p>Each instance owns a range of the counter. {@link #split()} hands half of the remaining range to the new
+ * instance, so splits never produce the same name.</p>
+ *
+ * @author Paul Murphy
+ */
+final class UniqueNames {
+
+    /**
+     * The number of letters which encode the counter; 26<sup>14</sup> is greater than 2<sup>64</sup>.
+     */
+    static final int LENGTH = 14;
+
+    private static final int LETTERS = 'z' - 'a' + 1;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long MIX_MULTIPLIER_1 = 0xbf58476d1ce4e5b9L;
+    private static final long MIX_MULTIPLIER_2 = 0x94d049bb133111ebL;
+    private static final int MIX_SHIFT_1 = 30;
+    private static final int MIX_SHIFT_2 = 27;
+    private static final int MIX_SHIFT_3 = 31;
+
+    private final long key;
+
+    private final char[] letters = new char[LENGTH];
+
+    private long next;
+
+    private long limit;
+
+    UniqueNames(final long seed) {
+        this(mix64(seed), 0, Long.MAX_VALUE);
+    }
+
+    private UniqueNames(final long key, final long next, final long limit) {
+        this.key = key;
+        this.next = next;
+        this.limit = limit;
+    }
+
+    /**
+     * Hands the upper half of the remaining range to a new instance.
+     *
+     * @return the new instance.
+     */
+    UniqueNames split() {
+        final long middle = next + (limit - next >>> 1);
+        final UniqueNames split = new UniqueNames(key, middle, limit);
+        limit = middle;
+        return split;
+    }
+
+    void skip(final long n) {
+        next = n < limit - next ? next + n : limit;
+    }
+
+    void appendNext(final StringBuilder builder) {
+        builder.append(nextLetters());
+    }
+
+    void putNext(final ByteBuffer buffer) {
+        for (char letter : nextLetters()) {
+            buffer.put((byte) letter);
+        }
+    }
+
+    private char[] nextLetters() {
+        Preconditions.checkState(next < limit, "every unique path has been produced");
+        long id = mix64(key + next++ * GOLDEN_GAMMA);
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            letters[i] = (char) ('a' + Long.remainderUnsigned(id, LETTERS));
+            id = Long.divideUnsigned(id, LETTERS);
+        }
+        return letters;
+    }
+
+    private static long mix64(final long value) {
+        final long z = (value ^ (value >>> MIX_SHIFT_1)) * MIX_MULTIPLIER_1;
+        final long mixed = (z ^ (z >>> MIX_SHIFT_2)) * MIX_MULTIPLIER_2;
+        return mixed ^ (mixed >>> MIX_SHIFT_3);
+    }
+}
@@ -0,0 +1,260 @@
+package au.com.paulmurphy.generators.load;
+
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import net.java.quickcheck.Generator;
+import net.java.quickcheck.collection.Pair;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends generated {@link LoadRequest}s to an Http server and reports the throughput and latency of the server.
+ *
+ * <pre>
+ * LoadReport report = LoadDriver.to(URI.create("http://localhost:8080"))
+ *         .threadMode(ThreadMode.VIRTUAL)
+ *         .concurrency(1_000)
+ *         .run(new RequestGenerator(seed, 4), 1_000_000);
+ * </pre>
+ *
+ * <p>Each of the {@code concurrency} workers draws from its own split of the request generator, and sends one
+ * request at a time with {@link HttpURLConnection}, which keeps connections to the target alive. The clock of a
+ * request starts once it has been generated, and the time spent generating is reported apart, so the cost of the
+ * generators is not mixed into the latencies. The latency of every request is kept, 8 bytes each, and the
+ * percentiles are exact.</p>
+ *
+ * <p>A driver is configured before a run and is not thread safe.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class LoadDriver {
+
+    private static final int DEFAULT_CONCURRENCY = 16;
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private static final int FIRST_ERROR_STATUS = 400;
+    private static final int FIRST_SERVER_ERROR_STATUS = 500;
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
+    private final String target;
+
+    private ThreadMode threadMode = ThreadMode.PLATFORM;
+
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    private int timeoutMillis = (int) DEFAULT_TIMEOUT.toMillis();
+
+    private LoadDriver(final String target) {
+        this.target = target;
+    }
+
+    /**
+     * Creates a driver sending requests to the provided target, from 16 platform threads, with a timeout of 10
+     * seconds.
+     *
+     * @param target the Http or Https URI the paths of the requests are appended to.
+     * @return the driver.
+     * @throws IllegalArgumentException if the target is not an Http or Https URI.
+     */
+    public static LoadDriver to(final URI target) {
+        Preconditions.checkArgument(target != null, "target is required");
+        Preconditions.checkArgument("http".equals(target.getScheme()) || "https".equals(target.getScheme()),
+                "target must be an http or https URI");
+        final String uri = target.toString();
+        return new LoadDriver(uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri);
+    }
+
+    /**
+     * Sets the threads the requests are sent from.
+     *
+     * @param threadMode the thread mode.
+     * @return this driver.
+     */
+    public LoadDriver threadMode(final ThreadMode threadMode) {
+        Preconditions.checkArgument(threadMode != null, "threadMode is required");
+        this.threadMode = threadMode;
+        return this;
+    }
+
+    /**
+     * Sets the number of requests in flight at once.
+     *
+     * @param concurrency the number of requests.
+     * @return this driver.
+     * @throws IllegalArgumentException if {@code concurrency} is not positive.
+     */
+    public LoadDriver concurrency(final int concurrency) {
+        Preconditions.checkArgument(concurrency > 0, "concurrency must be positive");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Sets the time allowed to connect, and then to read each part of the response.
+     *
+     * @param timeout the timeout, of at least a millisecond.
+     * @return this driver.
+     * @throws IllegalArgumentException if the timeout is shorter than a millisecond.
+     */
+    public LoadDriver timeout(final Duration timeout) {
+        Preconditions.checkArgument(timeout != null, "timeout is required");
+        Preconditions.checkArgument(timeout.toMillis() > 0, "timeout must be at least 1 ms");
+        this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE, timeout.toMillis());
+        return this;
+    }
+
+    /**
+     * Sends {@code n} requests and waits for their responses.
+     *
+     * @param requests the generator of the requests; each worker sends from its own split.
+     * @param n the number of requests.
+     * @return the report of the run.
+     * @throws IllegalArgumentException if {@code n} is negative.
+     * @throws UnsupportedOperationException if the thread mode is not supported by this JVM.
+     * @throws RuntimeException the first failure of a worker, such as a failure of the generator, once every worker
+     *     has stopped.
+     */
+    public LoadReport run(final SplittableGenerator<LoadRequest> requests, final int n) {
+        Preconditions.checkArgument(requests != null, "requests is required");
+        Preconditions.checkArgument(n >= 0, "n must not be negative");
+        final Run run = new Run(n);
+        final List<Worker> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(new Worker(requests.split(), run));
+        }
+        final ExecutorService executor = threadMode.executor(concurrency);
+        try {
+            final long start = System.nanoTime();
+            final List<Future<Void>> futures = new ArrayList<>(concurrency);
+            for (Worker worker : workers) {
+                futures.add(executor.submit(worker, null));
+            }
+            Throwable failure = null;
+            for (Future<Void> future : futures) {
+                final Throwable workerFailure = await(future);
+                failure = failure == null ? workerFailure : failure;
+            }
+            if (failure != null) {
+                throw Throwables.propagate(failure);
+            }
+            final long elapsed = System.nanoTime() - start;
+            Arrays.sort(run.latencies);
+            return new LoadReport(run.errors.sum(), elapsed, run.generationNanos.sum(), run.latencies);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a worker to stop.
+     *
+     * @return the failure of the worker, or null if it sent its requests.
+     */
+    private static Throwable await(final Future<Void> future) {
+        try {
+            future.get();
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new IllegalStateException("interrupted while waiting for the requests", e);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        }
+    }
+
+    /**
+     * Sends a request and reads its response.
+     *
+     * @return true if the request succeeded, false if it failed with an I/O error or a 5xx status.
+     */
+    boolean send(final LoadRequest request, final byte[] drain) {
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) new URL(target + request.path()).openConnection();
+            connection.setConnectTimeout(timeoutMillis);
+            connection.setReadTimeout(timeoutMillis);
+            for (Pair<String, String> header : request.headers()) {
+                connection.addRequestProperty(header.getFirst(), header.getSecond());
+            }
+            final int status = connection.getResponseCode();
+            final InputStream body = status < FIRST_ERROR_STATUS
+                    ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                try (InputStream in = body) {
+                    int read;
+                    do {
+                        read = in.read(drain);
+                    } while (read >= 0);
+                }
+            }
+            return status < FIRST_SERVER_ERROR_STATUS;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The state shared by the workers of one run. Each request claims the next index, and its worker alone writes
+     * the latency at that index.
+     */
+    private static final class Run {
+
+        private final long[] latencies;
+
+        private final AtomicLong next = new AtomicLong();
+
+        private final LongAdder errors = new LongAdder();
+
+        private final LongAdder generationNanos = new LongAdder();
+
+        Run(final int n) {
+            this.latencies = new long[n];
+        }
+    }
+
+    private final class Worker implements Runnable {
+
+        private final Generator<LoadRequest> requests;
+
+        private final Run run;
+
+        private final byte[] drain = new byte[DRAIN_BUFFER_SIZE];
+
+        Worker(final Generator<LoadRequest> requests, final Run run) {
+            this.requests = requests;
+            this.run = run;
+        }
+
+        @Override
+        public void run() {
+            final int n = run.latencies.length;
+            try {
+                for (long i = run.next.getAndIncrement(); i < n; i = run.next.getAndIncrement()) {
+                    final long generationStart = System.nanoTime();
+                    final LoadRequest request = requests.next();
+                    final long sendStart = System.nanoTime();
+                    run.generationNanos.add(sendStart - generationStart);
+                    if (!send(request, drain)) {
+                        run.errors.increment();
+                    }
+                    run.latencies[(int) i] = System.nanoTime() - sendStart;
+                }
+            } finally {
+                // stops the other workers once this one is done, including when it failed
+                run.next.set(n);
+            }
+        }
+    }
+}
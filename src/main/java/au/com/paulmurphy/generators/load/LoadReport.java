@@ -0,0 +1,112 @@
+package au.com.paulmurphy.generators.load;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The outcome of a {@link LoadDriver} run: the throughput of the run, and the latency of each request from the moment
+ * it was generated to the end of its response. The time spent generating requests is reported on its own, so a slow
+ * generator shows up here rather than in the latencies.
+ *
+ * @author Paul Murphy
+ */
+public final class LoadReport {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100;
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+    private static final double P99_9 = 99.9;
+
+    private final long errors;
+    private final long elapsedNanos;
+    private final long generationNanos;
+    private final long[] latencies;
+
+    /**
+     * @param latencies the latency of every request, sorted.
+     */
+    LoadReport(final long errors, final long elapsedNanos, final long generationNanos, final long[] latencies) {
+        this.errors = errors;
+        this.elapsedNanos = elapsedNanos;
+        this.generationNanos = generationNanos;
+        this.latencies = latencies;
+    }
+
+    /**
+     * The number of requests sent.
+     *
+     * @return the number of requests.
+     */
+    public long requests() {
+        return latencies.length;
+    }
+
+    /**
+     * The number of requests which failed, either with an I/O error, such as a timeout, or a 5xx status.
+     *
+     * @return the number of failed requests.
+     */
+    public long errors() {
+        return errors;
+    }
+
+    /**
+     * The time from the start of the run until the last response.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * The number of requests sent per second of the run.
+     *
+     * @return the rate, or 0 if no request was sent.
+     */
+    public double requestsPerSecond() {
+        return elapsedNanos == 0 ? 0 : latencies.length * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     * The time spent generating requests, summed over every thread. It is not part of the latencies.
+     *
+     * @return the time in nanoseconds.
+     */
+    public long generationNanos() {
+        return generationNanos;
+    }
+
+    /**
+     * The latency of the requests at a percentile.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in nanoseconds, or 0 if no request was sent.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long latencyNanos(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= PERCENT, "percentile must be between 0 and 100");
+        if (latencies.length == 0) {
+            return 0;
+        }
+        final int rank = (int) Math.ceil(percentile / PERCENT * latencies.length);
+        return latencies[Math.max(1, rank) - 1];
+    }
+
+    /**
+     * The highest latency of the requests.
+     *
+     * @return the latency in nanoseconds, or 0 if no request was sent.
+     */
+    public long maxLatencyNanos() {
+        return latencyNanos(PERCENT);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s requests (%s errors) in %.3f s, %.0f requests/s, latency p50 %s ns, p99 %s ns, "
+                        + "p99.9 %s ns, max %s ns, %.3f s generating requests",
+                requests(), errors, elapsedNanos / NANOS_PER_SECOND, requestsPerSecond(), latencyNanos(MEDIAN),
+                latencyNanos(P99), latencyNanos(P99_9), maxLatencyNanos(), generationNanos / NANOS_PER_SECOND);
+    }
+}
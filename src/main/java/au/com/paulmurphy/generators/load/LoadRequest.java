@@ -0,0 +1,51 @@
+package au.com.paulmurphy.generators.load;
+
+import net.java.quickcheck.collection.Pair;
+
+import java.util.List;
+
+/**
+ * A GET request sent by the {@link LoadDriver}: a path, relative to the target, and the headers to send with it.
+ *
+ * @author Paul Murphy
+ */
+public final class LoadRequest {
+
+    private final String path;
+
+    private final List<Pair<String, String>> headers;
+
+    /**
+     * Construct a request.
+     *
+     * @param path the path, starting with {@code /}.
+     * @param headers the headers, in the order they are sent.
+     */
+    public LoadRequest(final String path, final List<Pair<String, String>> headers) {
+        this.path = path;
+        this.headers = headers;
+    }
+
+    /**
+     * The path of the request.
+     *
+     * @return the path.
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * The headers of the request.
+     *
+     * @return the headers, in the order they are sent.
+     */
+    public List<Pair<String, String>> headers() {
+        return headers;
+    }
+
+    @Override
+    public String toString() {
+        return "GET " + path + " " + headers;
+    }
+}
@@ -0,0 +1,89 @@
+package au.com.paulmurphy.generators.load;
+
+import au.com.paulmurphy.generators.SplittableGenerator;
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.MimeTypeGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.collection.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Produces {@link LoadRequest}s from a {@link PathGenerator}, a {@link HeaderGenerator} and a
+ * {@link MimeTypeGenerator}. Each request takes a path, a fixed number of headers and an {@code Accept} header with
+ * the next mime type. Header names are sent as they appear on the wire, without any annotation following the name.
+ *
+ * @author Paul Murphy
+ */
+public final class RequestGenerator implements SplittableGenerator<LoadRequest> {
+
+    private static final String ACCEPT = "Accept";
+
+    private final PathGenerator paths;
+
+    private final HeaderGenerator headers;
+
+    private final MimeTypeGenerator mimeTypes;
+
+    private final int headersPerRequest;
+
+    /**
+     * Construct an instance drawing its requests from the provided seed.
+     *
+     * @param seed the seed.
+     * @param headersPerRequest the number of headers of each request, besides {@code Accept}.
+     * @throws IllegalArgumentException if {@code headersPerRequest} is negative.
+     */
+    public RequestGenerator(final long seed, final int headersPerRequest) {
+        this(new PathGenerator(seed), new HeaderGenerator(seed + 1), MimeTypeGenerator.allMimeTypes(seed + 2),
+                headersPerRequest);
+    }
+
+    /**
+     * Construct an instance combining the provided generators, which must not be used elsewhere.
+     *
+     * @param paths the generator of the paths.
+     * @param headers the generator of the headers.
+     * @param mimeTypes the generator of the {@code Accept} header.
+     * @param headersPerRequest the number of headers of each request, besides {@code Accept}.
+     * @throws IllegalArgumentException if a generator is missing or {@code headersPerRequest} is negative.
+     */
+    public RequestGenerator(final PathGenerator paths, final HeaderGenerator headers,
+                            final MimeTypeGenerator mimeTypes, final int headersPerRequest) {
+        Preconditions.checkArgument(paths != null, "paths is required");
+        Preconditions.checkArgument(headers != null, "headers is required");
+        Preconditions.checkArgument(mimeTypes != null, "mimeTypes is required");
+        Preconditions.checkArgument(headersPerRequest >= 0, "headersPerRequest must not be negative");
+        this.paths = paths;
+        this.headers = headers;
+        this.mimeTypes = mimeTypes;
+        this.headersPerRequest = headersPerRequest;
+    }
+
+    @Override
+    public RequestGenerator split() {
+        return new RequestGenerator(paths.split(), headers.split(), mimeTypes.split(), headersPerRequest);
+    }
+
+    @Override
+    public LoadRequest next() {
+        final String path = paths.next();
+        final List<Pair<String, String>> requestHeaders = new ArrayList<>(headersPerRequest + 1);
+        for (int i = 0; i < headersPerRequest; i++) {
+            final Pair<String, String> header = headers.next();
+            final String name = wireName(header.getFirst());
+            if (!ACCEPT.equals(name)) {
+                requestHeaders.add(new Pair<>(name, header.getSecond()));
+            }
+        }
+        requestHeaders.add(new Pair<>(ACCEPT, mimeTypes.next()));
+        return new LoadRequest(path, requestHeaders);
+    }
+
+    private static String wireName(final String name) {
+        final int space = name.indexOf(' ');
+        return space < 0 ? name : name.substring(0, space);
+    }
+}
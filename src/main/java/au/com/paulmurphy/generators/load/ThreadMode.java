@@ -0,0 +1,59 @@
+package au.com.paulmurphy.generators.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The threads a {@link LoadDriver} sends its requests from.
+ *
+ * @author Paul Murphy
+ */
+public enum ThreadMode {
+
+    /**
+     * A fixed pool of daemon platform threads, one per concurrent request.
+     */
+    PLATFORM {
+        @Override
+        public boolean supported() {
+            return true;
+        }
+
+        @Override
+        ExecutorService executor(final int concurrency) {
+            final AtomicInteger threads = new AtomicInteger();
+            return Executors.newFixedThreadPool(concurrency, runnable -> {
+                final Thread thread = new Thread(runnable, "load-driver-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    },
+
+    /**
+     * A virtual thread per concurrent request. Virtual threads need Java 21 and the multi-release jar built with the
+     * {@code virtual-threads} profile; on an older JVM {@link LoadDriver#run} throws
+     * {@link UnsupportedOperationException}.
+     */
+    VIRTUAL {
+        @Override
+        public boolean supported() {
+            return VirtualThreads.supported();
+        }
+
+        @Override
+        ExecutorService executor(final int concurrency) {
+            return VirtualThreads.executor();
+        }
+    };
+
+    /**
+     * Whether this JVM can run requests in this mode.
+     *
+     * @return true if requests can be run.
+     */
+    public abstract boolean supported();
+
+    abstract ExecutorService executor(int concurrency);
+}
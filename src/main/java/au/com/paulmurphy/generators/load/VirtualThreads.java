@@ -0,0 +1,23 @@
+package au.com.paulmurphy.generators.load;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Makes the executor of {@link ThreadMode#VIRTUAL}. This class is compiled for Java 8, where virtual threads do not
+ * exist; the multi-release jar replaces it on Java 21 with the version in {@code src/main/java21}.
+ *
+ * @author Paul Murphy
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean supported() {
+        return false;
+    }
+
+    static ExecutorService executor() {
+        throw new UnsupportedOperationException("virtual threads need Java 21");
+    }
+}
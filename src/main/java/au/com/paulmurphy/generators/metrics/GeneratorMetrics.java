@@ -0,0 +1,151 @@
+package au.com.paulmurphy.generators.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded by an {@link InstrumentedGenerator} and its splits. Values can be recorded from many threads
+ * at once; each {@link #snapshot()} reads the metrics recorded so far.
+ *
+ * <p>{@link #register()} exposes the metrics through JMX, under
+ * {@code au.com.paulmurphy.generators:type=GeneratorMetrics,name=<name>}.</p>
+ *
+ * @author Paul Murphy
+ */
+public final class GeneratorMetrics implements GeneratorMetricsMXBean {
+
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+    private static final double P999 = 99.9;
+
+    private final String name;
+
+    private final boolean allocationsMeasured;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder ensuredCount = new LongAdder();
+
+    private final LongAdder totalLatencyNanos = new LongAdder();
+
+    private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    GeneratorMetrics(final String name, final boolean allocationsMeasured) {
+        this.name = name;
+        this.allocationsMeasured = allocationsMeasured;
+    }
+
+    void record(final long latencyNanos, final long allocated, final boolean ensured) {
+        count.increment();
+        if (ensured) {
+            ensuredCount.increment();
+        }
+        totalLatencyNanos.add(latencyNanos);
+        maxLatencyNanos.accumulate(latencyNanos);
+        latencies.record(latencyNanos);
+        allocatedBytes.add(allocated);
+    }
+
+    /**
+     * Reads the metrics recorded so far.
+     *
+     * @return the snapshot.
+     */
+    public MetricsSnapshot snapshot() {
+        return new MetricsSnapshot(name, count.sum(), ensuredCount.sum(), totalLatencyNanos.sum(),
+                maxLatencyNanos.get(), allocationsMeasured ? allocatedBytes.sum() : -1, latencies.counts());
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server.
+     *
+     * @return the name the metrics were registered under.
+     * @throws JMException if the metrics cannot be registered, such as when metrics with the same name are already
+     *     registered.
+     */
+    public ObjectName register() throws JMException {
+        final ObjectName objectName = objectName();
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Removes the metrics from the platform MBean server.
+     *
+     * @throws JMException if the metrics are not registered.
+     */
+    public void unregister() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName());
+    }
+
+    private ObjectName objectName() throws JMException {
+        return new ObjectName("au.com.paulmurphy.generators:type=GeneratorMetrics,name=" + ObjectName.quote(name));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getEnsuredCount() {
+        return ensuredCount.sum();
+    }
+
+    @Override
+    public long getRandomCount() {
+        return snapshot().randomCount();
+    }
+
+    @Override
+    public double getValuesPerSecond() {
+        return snapshot().valuesPerSecond();
+    }
+
+    @Override
+    public double getMeanLatencyNanos() {
+        return snapshot().meanLatencyNanos();
+    }
+
+    @Override
+    public long getMedianLatencyNanos() {
+        return snapshot().latencyNanos(MEDIAN);
+    }
+
+    @Override
+    public long getP99LatencyNanos() {
+        return snapshot().latencyNanos(P99);
+    }
+
+    @Override
+    public long getP999LatencyNanos() {
+        return snapshot().latencyNanos(P999);
+    }
+
+    @Override
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    @Override
+    public double getAllocatedBytesPerValue() {
+        return snapshot().allocatedBytesPerValue();
+    }
+
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
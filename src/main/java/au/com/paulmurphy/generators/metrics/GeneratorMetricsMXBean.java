@@ -0,0 +1,86 @@
+package au.com.paulmurphy.generators.metrics;
+
+/**
+ * The JMX view of the {@link GeneratorMetrics} of an instrumented generator.
+ *
+ * @author Paul Murphy
+ */
+public interface GeneratorMetricsMXBean {
+
+    /**
+     * The name of the instrumented generator.
+     *
+     * @return the name.
+     */
+    String getName();
+
+    /**
+     * The number of values produced.
+     *
+     * @return the number of values.
+     */
+    long getCount();
+
+    /**
+     * The number of values produced from the ensured values of an {@code EnsuringGenerator}.
+     *
+     * @return the number of ensured values.
+     */
+    long getEnsuredCount();
+
+    /**
+     * The number of values produced once the ensured values, if any, ran out.
+     *
+     * @return the number of random values.
+     */
+    long getRandomCount();
+
+    /**
+     * The number of values produced per second spent in {@code next()}.
+     *
+     * @return the rate, or 0 if no value has been produced.
+     */
+    double getValuesPerSecond();
+
+    /**
+     * The mean latency of {@code next()}.
+     *
+     * @return the mean latency in nanoseconds, or 0 if no value has been produced.
+     */
+    double getMeanLatencyNanos();
+
+    /**
+     * The median latency of {@code next()}.
+     *
+     * @return the latency in nanoseconds.
+     */
+    long getMedianLatencyNanos();
+
+    /**
+     * The 99th percentile latency of {@code next()}.
+     *
+     * @return the latency in nanoseconds.
+     */
+    long getP99LatencyNanos();
+
+    /**
+     * The 99.9th percentile latency of {@code next()}.
+     *
+     * @return the latency in nanoseconds.
+     */
+    long getP999LatencyNanos();
+
+    /**
+     * The highest latency of {@code next()}.
+     *
+     * @return the latency in nanoseconds.
+     */
+    long getMaxLatencyNanos();
+
+    /**
+     * The mean number of bytes allocated by the producing thread per value.
+     *
+     * @return the bytes per value, or -1 if the JVM cannot measure the allocations of a thread.
+     */
+    double getAllocatedBytesPerValue();
+}
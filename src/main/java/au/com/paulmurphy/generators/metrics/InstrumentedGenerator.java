@@ -0,0 +1,103 @@
+package au.com.paulmurphy.generators.metrics;
+
+import au.com.paulmurphy.generators.EnsuringGenerator;
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.google.common.base.Preconditions;
+import net.java.quickcheck.Generator;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Wraps a generator and records how it performs: the number of values produced, a histogram of the latency of
+ * {@code next()}, the bytes the producing thread allocated for each value, and for an {@link EnsuringGenerator} how
+ * many values were ensured rather than random.
+ *
+ * <pre>
+ * InstrumentedGenerator&lt;String&gt; paths = InstrumentedGenerator.of("paths", new PathGenerator());
+ * paths.metrics().register();
+ * ...
+ * MetricsSnapshot snapshot = paths.metrics().snapshot();
+ * </pre>
+ *
+ * <p>Instrumentation reads the clock and the allocation counter of the thread twice per value, so it is opt in. The
+ * wrapper is not thread safe, like the generators it wraps, but its splits record into the same
+ * {@link GeneratorMetrics}, so a generator handed out with {@code PerThreadGenerator} reports once for every
+ * thread.</p>
+ *
+ * @param <T> the type of the generated values.
+ * @author Paul Murphy
+ */
+public final class InstrumentedGenerator<T> implements SplittableGenerator<T> {
+
+    private static final LongSupplier NO_ALLOCATIONS = () -> 0;
+
+    private final Generator<T> generator;
+
+    private final GeneratorMetrics metrics;
+
+    private final LongSupplier clock;
+
+    private final LongSupplier allocations;
+
+    InstrumentedGenerator(final Generator<T> generator, final GeneratorMetrics metrics, final LongSupplier clock,
+                          final LongSupplier allocations) {
+        this.generator = generator;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.allocations = allocations;
+    }
+
+    /**
+     * Wraps the provided generator.
+     *
+     * @param name the name the metrics are reported under.
+     * @param generator the generator to instrument.
+     * @param <T> the type of the generated values.
+     * @return the instrumented generator.
+     */
+    public static <T> InstrumentedGenerator<T> of(final String name, final Generator<T> generator) {
+        final LongSupplier allocations = ThreadAllocations.currentThread();
+        return of(name, generator, System::nanoTime, allocations);
+    }
+
+    static <T> InstrumentedGenerator<T> of(final String name, final Generator<T> generator, final LongSupplier clock,
+                                           final LongSupplier allocations) {
+        Preconditions.checkArgument(name != null, "name is required");
+        Preconditions.checkArgument(generator != null, "generator is required");
+        return new InstrumentedGenerator<>(generator, new GeneratorMetrics(name, allocations != null), clock,
+                allocations == null ? NO_ALLOCATIONS : allocations);
+    }
+
+    /**
+     * The metrics of this generator and its splits.
+     *
+     * @return the metrics.
+     */
+    public GeneratorMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Splits the wrapped generator when it is a {@link SplittableGenerator}, and shares it otherwise. The split
+     * records into the metrics of this generator.
+     *
+     * @return the split.
+     */
+    @Override
+    public InstrumentedGenerator<T> split() {
+        return new InstrumentedGenerator<>(SplittableGenerator.splitIfPossible(generator), metrics, clock,
+                allocations);
+    }
+
+    @Override
+    public T next() {
+        final boolean ensured = generator instanceof EnsuringGenerator
+                && ((EnsuringGenerator<T>) generator).remainingEnsuredValues() > 0;
+        final long allocatedBefore = allocations.getAsLong();
+        final long start = clock.getAsLong();
+        final T value = generator.next();
+        final long latency = clock.getAsLong() - start;
+        metrics.record(latency, allocations.getAsLong() - allocatedBefore, ensured);
+        return value;
+    }
+}
@@ -0,0 +1,64 @@
+package au.com.paulmurphy.generators.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A log-linear histogram of latencies in nanoseconds, in the style of HdrHistogram. Latencies below 32 have a bucket
+ * each; above that every power of two is split into 32 buckets, so a latency is reported within about 3% of its
+ * value. Recording is lock free and can happen from many threads at once.
+ *
+ * @author Paul Murphy
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Enough buckets for every positive long.
+     */
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    void record(final long nanos) {
+        counts.incrementAndGet(bucket(Math.max(0, nanos)));
+    }
+
+    /**
+     * Copies the counts of every bucket. The copy is not atomic, but each count is.
+     *
+     * @return the counts, indexed by bucket.
+     */
+    long[] counts() {
+        final long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int bucket(final long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * The highest latency which falls in a bucket.
+     *
+     * @param bucket the bucket.
+     * @return the highest latency of the bucket, in nanoseconds.
+     */
+    static long highestValue(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,146 @@
+package au.com.paulmurphy.generators.metrics;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * The metrics of an instrumented generator at one point in time.
+ *
+ * @author Paul Murphy
+ */
+public final class MetricsSnapshot {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double PERCENT = 100;
+    private static final double MEDIAN = 50;
+    private static final double P99 = 99;
+    private static final double P99_9 = 99.9;
+
+    private final String name;
+    private final long count;
+    private final long ensuredCount;
+    private final long totalLatencyNanos;
+    private final long maxLatencyNanos;
+    private final long allocatedBytes;
+    private final long[] latencies;
+
+    MetricsSnapshot(final String name, final long count, final long ensuredCount, final long totalLatencyNanos,
+                    final long maxLatencyNanos, final long allocatedBytes, final long[] latencies) {
+        this.name = name;
+        this.count = count;
+        this.ensuredCount = ensuredCount;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.latencies = latencies;
+    }
+
+    /**
+     * The name of the instrumented generator.
+     *
+     * @return the name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The number of values produced.
+     *
+     * @return the number of values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * The number of values produced from the ensured values of an {@code EnsuringGenerator}.
+     *
+     * @return the number of ensured values.
+     */
+    public long ensuredCount() {
+        return ensuredCount;
+    }
+
+    /**
+     * The number of values produced once the ensured values, if any, ran out.
+     *
+     * @return the number of random values.
+     */
+    public long randomCount() {
+        return count - ensuredCount;
+    }
+
+    /**
+     * The number of values produced per second spent in {@code next()}, which leaves out the time the caller spends
+     * between values.
+     *
+     * @return the rate, or 0 if no value has been produced.
+     */
+    public double valuesPerSecond() {
+        return totalLatencyNanos == 0 ? 0 : count * NANOS_PER_SECOND / totalLatencyNanos;
+    }
+
+    /**
+     * The mean latency of {@code next()}.
+     *
+     * @return the mean latency in nanoseconds, or 0 if no value has been produced.
+     */
+    public double meanLatencyNanos() {
+        return count == 0 ? 0 : (double) totalLatencyNanos / count;
+    }
+
+    /**
+     * The latency of {@code next()} at a percentile, to within about 3%.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the latency in nanoseconds, or 0 if no value has been produced.
+     * @throws IllegalArgumentException if the percentile is not between 0 and 100.
+     */
+    public long latencyNanos(final double percentile) {
+        Preconditions.checkArgument(percentile >= 0 && percentile <= PERCENT, "percentile must be between 0 and 100");
+        long total = 0;
+        for (long bucketCount : latencies) {
+            total += bucketCount;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / PERCENT * total));
+        long seen = 0;
+        for (int bucket = 0; bucket < latencies.length; bucket++) {
+            seen += latencies[bucket];
+            if (seen >= rank) {
+                return Math.min(LatencyHistogram.highestValue(bucket), maxLatencyNanos);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * The highest latency of {@code next()}.
+     *
+     * @return the latency in nanoseconds, or 0 if no value has been produced.
+     */
+    public long maxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    /**
+     * The mean number of bytes allocated by the producing thread per value, measured around each call to
+     * {@code next()}.
+     *
+     * @return the bytes per value, 0 if no value has been produced, or -1 if the JVM cannot measure the
+     *     allocations of a thread.
+     */
+    public double allocatedBytesPerValue() {
+        if (allocatedBytes < 0) {
+            return -1;
+        }
+        return count == 0 ? 0 : (double) allocatedBytes / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s values (%s ensured), %.0f values/s, latency mean %.1f ns, p50 %s ns, "
+                        + "p99 %s ns, p99.9 %s ns, max %s ns, %.1f bytes/value",
+                name, count, ensuredCount, valuesPerSecond(), meanLatencyNanos(), latencyNanos(MEDIAN),
+                latencyNanos(P99), latencyNanos(P99_9), maxLatencyNanos, allocatedBytesPerValue());
+    }
+}
@@ -0,0 +1,32 @@
+package au.com.paulmurphy.generators.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.LongSupplier;
+
+/**
+ * Reads the number of bytes the current thread has allocated, where the JVM supports it.
+ *
+ * @author Paul Murphy
+ */
+final class ThreadAllocations {
+
+    private ThreadAllocations() {
+    }
+
+    /**
+     * A supplier of the bytes allocated by the calling thread so far.
+     *
+     * @return the supplier, or {@code null} if the JVM cannot measure the allocations of a thread.
+     */
+    static LongSupplier currentThread() {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+            if (allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled()) {
+                return () -> allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return null;
+    }
+}
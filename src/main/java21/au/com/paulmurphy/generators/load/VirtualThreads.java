@@ -0,0 +1,24 @@
+package au.com.paulmurphy.generators.load;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Makes the executor of {@link ThreadMode#VIRTUAL}, starting a virtual thread per task. This is the Java 21 version
+ * of the class, packaged under {@code META-INF/versions/21} of the multi-release jar.
+ *
+ * @author Paul Murphy
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    static boolean supported() {
+        return true;
+    }
+
+    static ExecutorService executor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
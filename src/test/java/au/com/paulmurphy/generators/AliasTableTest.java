@@ -0,0 +1,103 @@
+package au.com.paulmurphy.generators;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class AliasTableTest {
+
+    private static final int SAMPLES = 200_000;
+
+    @Test
+    public void shouldSampleInProportionToTheWeights() {
+        double[] weights = {1, 2, 3, 4, 0, 10, 0.5};
+        AliasTable underTest = AliasTable.of(weights);
+
+        double[] frequencies = frequencies(underTest, RandomSource.seeded(42L));
+
+        double total = 20.5;
+        for (int i = 0; i < weights.length; i++) {
+            assertThat("index " + i, frequencies[i], is(closeTo(weights[i] / total, 0.005)));
+        }
+    }
+
+    @Test
+    public void shouldNeverSampleZeroWeights() {
+        AliasTable underTest = AliasTable.of(0, 0, 5, 0);
+        RandomSource source = RandomSource.seeded(7L);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(underTest.sample(source), is(2));
+        }
+    }
+
+    @Test
+    public void shouldSampleEqualWeightsUniformly() {
+        double[] frequencies = frequencies(AliasTable.of(3, 3, 3, 3), RandomSource.splittable(42L));
+
+        for (double frequency : frequencies) {
+            assertThat(frequency, is(closeTo(0.25, 0.005)));
+        }
+    }
+
+    @Test
+    public void shouldSampleHeavilySkewedWeights() {
+        double[] weights = new double[100];
+        weights[0] = 1000;
+        for (int i = 1; i < weights.length; i++) {
+            weights[i] = 1;
+        }
+
+        double[] frequencies = frequencies(AliasTable.of(weights), RandomSource.seeded(42L));
+
+        assertThat(frequencies[0], is(closeTo(1000.0 / 1099, 0.005)));
+        assertThat(frequencies[99], is(closeTo(1.0 / 1099, 0.001)));
+    }
+
+    @Test
+    public void shouldDrawOneLongPerSample() {
+        AliasTable underTest = AliasTable.of(1, 2);
+        RandomSource source = RandomSource.splittable(42L);
+        RandomSource drawn = RandomSource.splittable(42L);
+
+        underTest.sample(source);
+        drawn.nextLong();
+
+        assertThat(source.nextLong(), is(equalTo(drawn.nextLong())));
+    }
+
+    @Test
+    public void sizeShouldBeTheNumberOfWeights() {
+        assertThat(AliasTable.of(1).size(), is(1));
+        assertThat(AliasTable.of(1, 0, 2).size(), is(3));
+    }
+
+    @Test
+    public void shouldRejectInvalidWeights() {
+        assertRejected(null, "weights is required");
+        assertRejected(new double[0], "weights must not be empty");
+        assertRejected(new double[] {1, -1}, "weights must be finite and not negative");
+        assertRejected(new double[] {1, Double.NaN}, "weights must be finite and not negative");
+        assertRejected(new double[] {1, Double.POSITIVE_INFINITY}, "weights must be finite and not negative");
+        assertRejected(new double[] {0, 0}, "weights must not all be zero");
+    }
+
+    private static double[] frequencies(final AliasTable table, final RandomSource source) {
+        double[] frequencies = new double[table.size()];
+        for (int i = 0; i < SAMPLES; i++) {
+            source.nextElement();
+            frequencies[table.sample(source)] += 1.0 / SAMPLES;
+        }
+        return frequencies;
+    }
+
+    private static void assertRejected(final double[] weights, final String message) {
+        Rejections.assertRejected(() -> AliasTable.of(weights), message);
+    }
+}
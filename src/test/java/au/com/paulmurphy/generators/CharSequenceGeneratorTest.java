@@ -0,0 +1,28 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class CharSequenceGeneratorTest {
+
+    @Test
+    public void asGeneratorShouldMakeAStringOfEachValue() {
+        AtomicInteger counter = new AtomicInteger();
+        CharSequenceGenerator underTest = builder -> builder.append("value-").append(counter.incrementAndGet());
+
+        Generator<String> strings = underTest.asGenerator();
+
+        assertThat(strings.next(), is(equalTo("value-1")));
+        assertThat(strings.next(), is(equalTo("value-2")));
+        assertThat(underTest.nextInto(new StringBuilder("/")).toString(), is(equalTo("/value-3")));
+    }
+}
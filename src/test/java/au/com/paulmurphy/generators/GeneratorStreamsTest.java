@@ -0,0 +1,151 @@
+package au.com.paulmurphy.generators;
+
+import au.com.paulmurphy.generators.http.PathGenerator;
+import au.com.paulmurphy.generators.http.StatusCodeGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class GeneratorStreamsTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 100_000;
+
+    @Test
+    public void aSequentialStreamShouldProduceTheValuesOfTheGenerator() {
+        PathGenerator expected = new PathGenerator(SEED);
+
+        List<String> values = new PathGenerator(SEED).stream(1000).collect(Collectors.toList());
+
+        assertThat(values.size(), is(1000));
+        for (String value : values) {
+            assertThat(value, is(equalTo(expected.next())));
+        }
+    }
+
+    @Test
+    public void aParallelStreamShouldProduceExactlyTheRequestedNumberOfValues() {
+        Map<String, Long> counts = new CountingGenerator(0).stream(SAMPLES).parallel()
+                .collect(Collectors.groupingBy(value -> value.split(":")[0], Collectors.counting()));
+
+        assertThat(counts.values().stream().mapToLong(Long::longValue).sum(), is((long) SAMPLES));
+        assertThat("the stream was split", counts.size() > 1, is(true));
+    }
+
+    @Test
+    public void eachSplitShouldDrawFromItsOwnGenerator() {
+        Spliterator<String> underTest = new CountingGenerator(0).stream(5).spliterator();
+
+        Spliterator<String> prefix = underTest.trySplit();
+
+        assertThat(prefix.estimateSize(), is(2L));
+        assertThat(underTest.estimateSize(), is(3L));
+        assertThat(drain(prefix), is(equalTo(list("1:0", "1:1"))));
+        assertThat(drain(underTest), is(equalTo(list("0:0", "0:1", "0:2"))));
+        assertThat(underTest.tryAdvance(value -> fail("no values remain")), is(false));
+    }
+
+    @Test
+    public void aSingleValueShouldNotSplit() {
+        Spliterator<String> underTest = new CountingGenerator(0).stream(1).spliterator();
+
+        assertThat(underTest.trySplit(), is(nullValue()));
+        assertThat(underTest.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+        assertThat(underTest.getExactSizeIfKnown(), is(1L));
+        List<String> values = new ArrayList<>();
+        assertThat(underTest.tryAdvance(values::add), is(true));
+        assertThat(values, is(equalTo(list("0:0"))));
+        assertThat(underTest.estimateSize(), is(0L));
+        assertThat(new CountingGenerator(0).stream(0).count(), is(0L));
+    }
+
+    @Test
+    public void intsShouldSplitLikeStreams() {
+        Spliterator.OfInt underTest = GeneratorStreams.ints(new int[]{0, 0},
+                counter -> counter[0] * 100 + counter[1]++, counter -> new int[]{counter[0] + 1, 0}, 3).spliterator();
+
+        Spliterator.OfInt prefix = underTest.trySplit();
+        assertThat(prefix.estimateSize(), is(1L));
+        assertThat(underTest.estimateSize(), is(2L));
+        List<Integer> values = new ArrayList<>();
+        prefix.forEachRemaining((int value) -> values.add(value));
+        assertThat(underTest.tryAdvance((int value) -> values.add(value)), is(true));
+        underTest.forEachRemaining((int value) -> values.add(value));
+
+        assertThat(values, is(equalTo(list(100, 0, 1))));
+        assertThat(underTest.tryAdvance((int value) -> fail("no values remain")), is(false));
+        assertThat(underTest.trySplit(), is(nullValue()));
+        assertThat(underTest.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+    }
+
+    @Test
+    public void parallelIntsShouldProduceValidCodesOnEveryThread() {
+        IntStream codes = StatusCodeGenerator.successCodes(SEED).ints(SAMPLES).parallel();
+
+        assertThat(codes.filter(StatusCodeGenerator.SUCCESS_CODES::contains).count(), is((long) SAMPLES));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> GeneratorStreams.stream(null, 1), "generator is required");
+        assertRejected(() -> new CountingGenerator(0).stream(-1), "n must not be negative");
+        assertRejected(() -> GeneratorStreams.<int[]>ints(null, counter -> 0, counter -> counter, 1),
+                "generator is required");
+        assertRejected(() -> GeneratorStreams.ints(new int[1], null, counter -> counter, 1),
+                "nextInt is required");
+        assertRejected(() -> GeneratorStreams.ints(new int[1], counter -> 0, null, 1), "split is required");
+        assertRejected(() -> GeneratorStreams.ints(new int[1], counter -> 0, counter -> counter, -1),
+                "n must not be negative");
+    }
+
+    private static List<String> drain(final Spliterator<String> spliterator) {
+        List<String> values = new ArrayList<>();
+        spliterator.forEachRemaining(values::add);
+        return values;
+    }
+
+    @SafeVarargs
+    private static <T> List<T> list(final T... values) {
+        return Stream.of(values).collect(Collectors.toList());
+    }
+
+    /**
+     * Produces {@code split:count} values, numbering each split it hands out.
+     */
+    private static final class CountingGenerator implements SplittableGenerator<String> {
+
+        private int splits;
+        private final int id;
+        private int count;
+
+        CountingGenerator(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public SplittableGenerator<String> split() {
+            return new CountingGenerator(++splits);
+        }
+
+        @Override
+        public String next() {
+            return id + ":" + count++;
+        }
+    }
+}
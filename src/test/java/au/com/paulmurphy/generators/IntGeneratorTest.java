@@ -0,0 +1,37 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class IntGeneratorTest {
+
+    @Test
+    public void fillShouldFillTheWholeArray() {
+        AtomicInteger counter = new AtomicInteger();
+        IntGenerator underTest = counter::incrementAndGet;
+        int[] dest = new int[4];
+
+        assertThat(underTest.fill(dest) == dest, is(true));
+        assertThat(dest, is(equalTo(new int[] {1, 2, 3, 4})));
+        assertThat(underTest.nextInt(), is(5));
+    }
+
+    @Test
+    public void asGeneratorShouldBoxTheValues() {
+        AtomicInteger counter = new AtomicInteger(1000);
+        Generator<Integer> underTest = ((IntGenerator) counter::incrementAndGet).asGenerator();
+
+        assertThat(underTest.next(), is(equalTo(1001)));
+        assertThat(underTest.next(), is(equalTo(1002)));
+        assertThat(counter.get(), is(1002));
+    }
+}
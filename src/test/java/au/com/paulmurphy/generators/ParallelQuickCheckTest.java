@@ -0,0 +1,301 @@
+package au.com.paulmurphy.generators;
+
+import au.com.paulmurphy.generators.http.PathGenerator;
+import au.com.paulmurphy.generators.http.StatusCodeGenerator;
+import net.java.quickcheck.CharacteristicException;
+import net.java.quickcheck.characteristic.AbstractCharacteristic;
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static net.java.quickcheck.QuickCheck.guard;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class ParallelQuickCheckTest {
+
+    private static final long SEED = 42L;
+    private static final int RUNS = 10000;
+    private static final int PARALLELISM = 4;
+    private static final int NOT_FOUND = 404;
+
+    @Test
+    public void shouldCheckEveryValueOfTheSeededGenerator() {
+        final List<String> checked = Collections.synchronizedList(new ArrayList<>());
+
+        ParallelQuickCheck.forAll(PathGenerator::new, SEED, new AbstractCharacteristic<String>() {
+            @Override
+            protected void doSpecify(String path) throws Throwable {
+                checked.add(path);
+            }
+        }, RUNS, PARALLELISM);
+
+        final List<String> expected = new PathGenerator(SEED).nextBatch(RUNS);
+        Collections.sort(expected);
+        Collections.sort(checked);
+        assertThat(checked, is(equalTo(expected)));
+    }
+
+    @Test
+    public void shouldReportTheFirstFailingValueOfTheRun() {
+        final int[] codes = StatusCodeGenerator.allCodes(SEED).fill(new int[RUNS]);
+        int expected = 0;
+        while (codes[expected] != NOT_FOUND) {
+            expected++;
+        }
+
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final ParallelCharacteristicException failure = failOnNotFound(SEED);
+
+            assertThat(failure.getSeed(), is(SEED));
+            assertThat(failure.getPosition(), is((long) expected));
+            assertThat(failure.getInstance(), is((Object) NOT_FOUND));
+            assertThat(failure.getCause().getMessage(), is(equalTo("not found")));
+            assertThat(failure.getMessage(), is(equalTo("Characteristic not-found is not true for value(# "
+                    + expected + "):[404] seed: 42 message: >not found<")));
+        }
+    }
+
+    @Test
+    public void failingValuesShouldBeReproducibleFromTheSeedAndPosition() {
+        final ParallelCharacteristicException failure = failOnNotFound(SEED);
+
+        assertThat(StatusCodeGenerator.allCodes(failure.getSeed()).skip(failure.getPosition()).next(),
+                is(equalTo(failure.getInstance())));
+    }
+
+    @Test
+    public void shouldStopCheckingValuesAfterAFailure() {
+        final AtomicInteger checked = new AtomicInteger();
+
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+                @Override
+                protected void doSpecify(Integer code) throws Throwable {
+                    checked.incrementAndGet();
+                    throw new AssertionError("always fails");
+                }
+            }, RUNS * 10, PARALLELISM);
+
+            fail("expected a ParallelCharacteristicException");
+        } catch (ParallelCharacteristicException ex) {
+            assertThat(ex.getPosition(), is(0L));
+            assertThat(checked.get(), is(lessThan(RUNS * 10)));
+        }
+    }
+
+    @Test
+    public void guardedValuesShouldBeSkipped() {
+        ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+            @Override
+            protected void doSpecify(Integer code) throws Throwable {
+                guard(code != NOT_FOUND);
+                assertThat(code, is(not(NOT_FOUND)));
+            }
+        }, RUNS, PARALLELISM);
+    }
+
+    @Test
+    public void shouldSetUpAndTearDownOnce() {
+        final AtomicInteger setUps = new AtomicInteger();
+        final AtomicInteger tearDowns = new AtomicInteger();
+
+        ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+            @Override
+            public void setUp() {
+                setUps.incrementAndGet();
+            }
+
+            @Override
+            public void tearDown() {
+                tearDowns.incrementAndGet();
+            }
+
+            @Override
+            protected void doSpecify(Integer code) throws Throwable {
+                assertThat(tearDowns.get(), is(0));
+            }
+        }, RUNS, PARALLELISM);
+
+        assertThat(setUps.get(), is(1));
+        assertThat(tearDowns.get(), is(1));
+    }
+
+    @Test
+    public void shouldReportFailingSetUps() {
+        final Exception cause = new Exception("no set up");
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+                @Override
+                public void setUp() throws Exception {
+                    throw cause;
+                }
+
+                @Override
+                protected void doSpecify(Integer code) throws Throwable {
+                }
+            }, RUNS, PARALLELISM);
+
+            fail("expected a CharacteristicException");
+        } catch (CharacteristicException ex) {
+            assertThat(ex.getMessage(), is(equalTo("setup failed")));
+            assertThat(ex.getCause(), is(sameInstance((Throwable) cause)));
+        }
+    }
+
+    @Test
+    public void shouldReportFailingTearDowns() {
+        final Exception cause = new Exception("no tear down");
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+                @Override
+                public void tearDown() throws Exception {
+                    throw cause;
+                }
+
+                @Override
+                protected void doSpecify(Integer code) throws Throwable {
+                }
+            }, RUNS, PARALLELISM);
+
+            fail("expected a CharacteristicException");
+        } catch (CharacteristicException ex) {
+            assertThat(ex.getMessage(), is(equalTo("teardown failed")));
+            assertThat(ex.getCause(), is(sameInstance((Throwable) cause)));
+        }
+    }
+
+    @Test
+    public void shouldDrawTheSeedFromTheQuickCheckSeed() {
+        RandomConfiguration.setSeed(SEED);
+        final long first = failOnNotFound().getSeed();
+        RandomConfiguration.setSeed(SEED);
+        assertThat(failOnNotFound().getSeed(), is(first));
+    }
+
+    @Test
+    public void shouldAllowEmptyRuns() {
+        ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new AbstractCharacteristic<Integer>() {
+            @Override
+            protected void doSpecify(Integer code) throws Throwable {
+                throw new AssertionError("no values expected");
+            }
+        }, 0, PARALLELISM);
+    }
+
+    @Test
+    public void shouldRunOnASingleThread() {
+        assertThat(failOnNotFound(SEED, 1).getPosition(), is(failOnNotFound(SEED).getPosition()));
+    }
+
+    @Test
+    public void shouldShrinkTheFirstFailingValue() {
+        try {
+            ParallelQuickCheck.forAll(PathGenerator::new, SEED, new AbstractCharacteristic<String>("shallow") {
+                @Override
+                protected void doSpecify(String path) throws Throwable {
+                    if (path.split("/").length > 3) {
+                        throw new AssertionError("too deep: " + path.length());
+                    }
+                }
+            }, RUNS, PARALLELISM, new PathGenerator().shrinker());
+
+            fail("expected a ParallelCharacteristicException");
+        } catch (ParallelCharacteristicException ex) {
+            final String failing = new PathGenerator(SEED).skip(ex.getPosition()).next();
+            assertThat(ex.getInstance(), is((Object) failing));
+            assertThat(ex.getShrunkInstance(), is((Object) "/aaa/aaa/aaa"));
+            assertThat(ex.getMessage(), is(equalTo("Characteristic shallow is not true for value(# "
+                    + ex.getPosition() + "):[" + failing + "] seed: 42 message: >too deep: " + failing.length()
+                    + "< shrunk to value:[/aaa/aaa/aaa] message: >too deep: 12<")));
+        }
+    }
+
+    @Test
+    public void shouldReportTheFailingValueWhenItCannotBeShrunk() {
+        final ParallelCharacteristicException failure = failOnNotFound(SEED);
+
+        assertThat(failure.getShrunkInstance(), is((Object) NOT_FOUND));
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, new NotFoundCharacteristic(), RUNS,
+                    PARALLELISM, (code, failing) -> failing.test(code + 1) ? code + 1 : null);
+
+            fail("expected a ParallelCharacteristicException");
+        } catch (ParallelCharacteristicException ex) {
+            assertThat(ex.getShrunkInstance(), is((Object) NOT_FOUND));
+            assertThat(ex.getMessage().contains("shrunk"), is(false));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        final AbstractCharacteristic<Integer> characteristic = new AbstractCharacteristic<Integer>() {
+            @Override
+            protected void doSpecify(Integer code) throws Throwable {
+            }
+        };
+        assertRejected(() -> ParallelQuickCheck.forAll(null, SEED, characteristic, RUNS, PARALLELISM),
+                "generators is required");
+        assertRejected(() -> ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, null, RUNS, PARALLELISM),
+                "characteristic is required");
+        assertRejected(() -> ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, characteristic, -1, 1),
+                "runs must not be negative");
+        assertRejected(() -> ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, characteristic, RUNS, 0),
+                "parallelism must be positive");
+        assertRejected(() -> ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, SEED, characteristic, RUNS, 1,
+                null), "shrinker is required");
+    }
+
+    private static ParallelCharacteristicException failOnNotFound(final long seed) {
+        return failOnNotFound(seed, PARALLELISM);
+    }
+
+    private static ParallelCharacteristicException failOnNotFound(final long seed, final int parallelism) {
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, seed, new NotFoundCharacteristic(),
+                    RUNS, parallelism);
+        } catch (ParallelCharacteristicException ex) {
+            return ex;
+        }
+        throw new AssertionError("expected a ParallelCharacteristicException");
+    }
+
+    private static ParallelCharacteristicException failOnNotFound() {
+        try {
+            ParallelQuickCheck.forAll(StatusCodeGenerator::allCodes, new NotFoundCharacteristic(), RUNS, PARALLELISM);
+        } catch (ParallelCharacteristicException ex) {
+            return ex;
+        }
+        throw new AssertionError("expected a ParallelCharacteristicException");
+    }
+
+    /**
+     * Fails for the 404 status code.
+     */
+    private static final class NotFoundCharacteristic extends AbstractCharacteristic<Integer> {
+
+        NotFoundCharacteristic() {
+            super("not-found");
+        }
+
+        @Override
+        protected void doSpecify(Integer code) throws Throwable {
+            if (code == NOT_FOUND) {
+                throw new AssertionError("not found");
+            }
+        }
+    }
+}
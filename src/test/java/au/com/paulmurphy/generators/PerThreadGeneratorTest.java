@@ -0,0 +1,93 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.Generator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class PerThreadGeneratorTest {
+
+    private static final int THREADS = 4;
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void eachThreadShouldDrawFromItsOwnSplit() throws Exception {
+        final CountingGenerator root = new CountingGenerator(0);
+        final PerThreadGenerator<String> underTest = PerThreadGenerator.of(root);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Set<String>>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                tasks.add(() -> {
+                    final Set<String> splits = new HashSet<>();
+                    for (int s = 0; s < SAMPLES; s++) {
+                        splits.add(underTest.next().split(":")[0]);
+                    }
+                    return splits;
+                });
+            }
+            final Set<String> splits = new HashSet<>();
+            for (Future<Set<String>> result : executor.invokeAll(tasks)) {
+                assertThat("each thread uses one split", result.get().size(), is(1));
+                splits.addAll(result.get());
+            }
+            assertThat(splits.size(), is(THREADS));
+            assertThat(root.splits.get(), is(THREADS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void theSameThreadShouldKeepDrawingFromTheSameSplit() {
+        final PerThreadGenerator<String> underTest = PerThreadGenerator.of(new CountingGenerator(0));
+        assertThat(underTest.next(), is(equalTo("1:0")));
+        assertThat(underTest.next(), is(equalTo("1:1")));
+    }
+
+    @Test
+    public void splitIfPossibleShouldShareOtherGenerators() {
+        final Generator<String> shared = () -> "shared";
+        assertThat(SplittableGenerator.splitIfPossible(shared) == shared, is(true));
+        assertThat(SplittableGenerator.splitIfPossible(new CountingGenerator(0)).next(), is(equalTo("1:0")));
+    }
+
+    /**
+     * Produces {@code split:count} values, numbering each split it hands out.
+     */
+    private static final class CountingGenerator implements SplittableGenerator<String> {
+
+        private final AtomicInteger splits = new AtomicInteger();
+        private final int id;
+        private int count;
+
+        CountingGenerator(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public SplittableGenerator<String> split() {
+            return new CountingGenerator(splits.incrementAndGet());
+        }
+
+        @Override
+        public String next() {
+            return id + ":" + count++;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package au.com.paulmurphy.generators;
+
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import com.google.common.util.concurrent.Uninterruptibles;
+import net.java.quickcheck.Generator;
+import net.java.quickcheck.collection.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class PrefetchingGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 100_000;
+    private static final int RACES = 1000;
+    private static final long WAIT_SECONDS = 10;
+
+    @Test
+    public void shouldProduceTheValuesOfTheGeneratorInOrder() {
+        PathGenerator expected = new PathGenerator(SEED);
+
+        try (PrefetchingGenerator<String> underTest = PrefetchingGenerator.of(new PathGenerator(SEED), 1024)) {
+            for (int i = 0; i < SAMPLES; i++) {
+                assertThat(underTest.next(), is(equalTo(expected.next())));
+            }
+        }
+    }
+
+    @Test
+    public void shouldWrapAroundASmallBuffer() {
+        HeaderGenerator expected = new HeaderGenerator(SEED);
+
+        try (PrefetchingGenerator<Pair<String, String>> underTest =
+                     PrefetchingGenerator.of(new HeaderGenerator(SEED), 1)) {
+            assertThat(underTest.capacity(), is(1));
+            for (int i = 0; i < SAMPLES; i++) {
+                assertThat(underTest.next(), is(equalTo(expected.next())));
+            }
+        }
+    }
+
+    @Test
+    public void capacityShouldBeRoundedUpToAPowerOfTwo() {
+        try (PrefetchingGenerator<String> underTest = PrefetchingGenerator.of(new PathGenerator(SEED), 1000)) {
+            assertThat(underTest.capacity(), is(1024));
+        }
+        try (PrefetchingGenerator<String> underTest = PrefetchingGenerator.of(new PathGenerator(SEED), 2)) {
+            assertThat(underTest.capacity(), is(2));
+        }
+    }
+
+    @Test
+    public void shouldProduceNoMoreThanTheCapacityAhead() {
+        final AtomicInteger produced = new AtomicInteger();
+        final CountDownLatch full = new CountDownLatch(1);
+        Generator<Integer> counting = () -> {
+            int value = produced.getAndIncrement();
+            if (value == 4) {
+                full.countDown();
+            }
+            return value;
+        };
+
+        try (PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(counting, 4)) {
+            assertThat(underTest.next(), is(0));
+            assertTrue(Uninterruptibles.awaitUninterruptibly(full, WAIT_SECONDS, TimeUnit.SECONDS));
+            assertThat(produced.get(), is(5));
+            assertThat(underTest.next(), is(1));
+        }
+    }
+
+    @Test
+    public void shouldRethrowAFailureOnceTheValuesBeforeItAreTaken() {
+        final RuntimeException failure = new IllegalArgumentException("broken");
+        final int[] produced = {0};
+        Generator<Integer> failing = () -> {
+            if (produced[0] == 3) {
+                throw failure;
+            }
+            return produced[0]++;
+        };
+
+        try (PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(failing, 16)) {
+            List<Integer> values = new ArrayList<>();
+            try {
+                for (int i = 0; i < 4; i++) {
+                    values.add(underTest.next());
+                }
+
+                fail("expected an IllegalStateException");
+            } catch (IllegalStateException ex) {
+                assertThat(ex.getMessage(), is(equalTo("generator failed")));
+                assertThat(ex.getCause(), is(sameInstance((Throwable) failure)));
+            }
+            assertThat(values.toString(), is(equalTo("[0, 1, 2]")));
+        }
+    }
+
+    @Test
+    public void shouldTakeTheLastValueBeforeAFailure() {
+        final RuntimeException failure = new IllegalArgumentException("broken");
+        for (int i = 0; i < RACES; i++) {
+            final AtomicInteger produced = new AtomicInteger();
+            Generator<Integer> failing = () -> {
+                if (produced.get() == 1) {
+                    throw failure;
+                }
+                return produced.getAndIncrement();
+            };
+
+            try (PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(failing, 16)) {
+                assertThat(underTest.next(), is(0));
+            }
+        }
+    }
+
+    @Test
+    public void closeShouldKeepTheValuesAlreadyProduced() {
+        final AtomicInteger produced = new AtomicInteger();
+        final CountDownLatch full = new CountDownLatch(1);
+        Generator<Integer> counting = () -> {
+            int value = produced.getAndIncrement();
+            if (value == 3) {
+                full.countDown();
+            }
+            return value;
+        };
+        PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(counting, 4);
+        assertTrue(Uninterruptibles.awaitUninterruptibly(full, WAIT_SECONDS, TimeUnit.SECONDS));
+
+        underTest.close();
+
+        for (int i = 0; i < underTest.capacity(); i++) {
+            assertThat(underTest.next(), is(i));
+        }
+        try {
+            underTest.next();
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("generator is closed")));
+        }
+    }
+
+    @Test
+    public void closeShouldInterruptAGeneratorWhichIsWaiting() {
+        final CountDownLatch waiting = new CountDownLatch(1);
+        Generator<Integer> blocking = () -> {
+            waiting.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        };
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(blocking, 1, runnable -> {
+            producer.set(new Thread(runnable, "producer"));
+            return producer.get();
+        });
+        assertTrue(Uninterruptibles.awaitUninterruptibly(waiting, WAIT_SECONDS, TimeUnit.SECONDS));
+
+        underTest.close();
+
+        assertThat(producer.get().isAlive(), is(false));
+    }
+
+    @Test
+    public void closeShouldWaitForTheProducerWhenInterrupted() {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        PrefetchingGenerator<String> underTest = PrefetchingGenerator.of(new PathGenerator(SEED), 8, runnable -> {
+            producer.set(new Thread(runnable, "producer"));
+            return producer.get();
+        });
+
+        Thread.currentThread().interrupt();
+        underTest.close();
+
+        assertTrue(Thread.interrupted());
+        assertThat(producer.get().isAlive(), is(false));
+    }
+
+    @Test
+    public void nextShouldParkWhileTheProducerIsBehind() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        Generator<Integer> slow = () -> {
+            Uninterruptibles.awaitUninterruptibly(release);
+            return 0;
+        };
+        try (PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(slow, 1)) {
+            Thread consumer = new Thread(underTest::next, "consumer");
+            consumer.start();
+            while (consumer.getState() != Thread.State.TIMED_WAITING) {
+                Thread.yield();
+            }
+
+            release.countDown();
+            consumer.join();
+        }
+    }
+
+    @Test
+    public void nextShouldUnparkAProducerWaitingForSpace() {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        final AtomicInteger produced = new AtomicInteger();
+        Generator<Integer> counting = produced::getAndIncrement;
+
+        try (PrefetchingGenerator<Integer> underTest = PrefetchingGenerator.of(counting, 1, runnable -> {
+            producer.set(new Thread(runnable, "producer"));
+            return producer.get();
+        })) {
+            long waited = 0;
+            for (int i = 0; i < 5; i++) {
+                // idle long enough for the producer to back off to its longest wait
+                Uninterruptibles.sleepUninterruptibly(300, TimeUnit.MILLISECONDS);
+                assertThat(LockSupport.getBlocker(producer.get()), is(sameInstance(underTest)));
+
+                long start = System.nanoTime();
+                assertThat(underTest.next(), is(2 * i));
+                assertThat(underTest.next(), is(2 * i + 1));
+                waited += System.nanoTime() - start;
+            }
+            // a producer left to wake on its own would take 50 milliseconds on average each time
+            assertTrue(String.valueOf(waited), waited < TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    @Test
+    public void closeShouldStopTheProducerThread() {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        PrefetchingGenerator<String> underTest = PrefetchingGenerator.of(new PathGenerator(SEED), 8, runnable -> {
+            producer.set(new Thread(runnable, "producer"));
+            return producer.get();
+        });
+        underTest.next();
+
+        underTest.close();
+        underTest.close();
+
+        assertThat(producer.get().isAlive(), is(false));
+        for (int i = 0; i <= underTest.capacity(); i++) {
+            try {
+                underTest.next();
+            } catch (IllegalStateException ex) {
+                assertThat(ex.getMessage(), is(equalTo("generator is closed")));
+                return;
+            }
+        }
+        fail("expected an IllegalStateException");
+    }
+
+    @Test
+    public void theDefaultProducerShouldBeADaemonThread() throws InterruptedException {
+        final AtomicReference<Thread> producer = new AtomicReference<>();
+        Generator<Thread> threads = Thread::currentThread;
+
+        // started from a thread which is not a daemon, which the producer would otherwise take after
+        Thread creator = new Thread(() -> {
+            try (PrefetchingGenerator<Thread> underTest = PrefetchingGenerator.of(threads, 2)) {
+                producer.set(underTest.next());
+            }
+        });
+        creator.setDaemon(false);
+        creator.start();
+        creator.join();
+
+        assertThat(producer.get().isDaemon(), is(true));
+        assertThat(producer.get().getName(), startsWith("prefetching-generator-"));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> PrefetchingGenerator.of(null, 1), "generator is required");
+        assertRejected(() -> PrefetchingGenerator.of(new PathGenerator(), 0), "capacity must be between 1 and 2^30");
+        assertRejected(() -> PrefetchingGenerator.of(new PathGenerator(), (1 << 30) + 1),
+                "capacity must be between 1 and 2^30");
+        assertRejected(() -> PrefetchingGenerator.of(new PathGenerator(), 1, null), "threads is required");
+    }
+}
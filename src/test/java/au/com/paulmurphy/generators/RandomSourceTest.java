@@ -0,0 +1,210 @@
+package au.com.paulmurphy.generators;
+
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class RandomSourceTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void splittableSourcesWithTheSameSeedShouldProduceTheSameValues() {
+        final RandomSource first = RandomSource.splittable(SEED);
+        final RandomSource second = RandomSource.splittable(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(first.nextLong(), is(equalTo(second.nextLong())));
+        }
+    }
+
+    @Test
+    public void splitShouldProduceAnIndependentStream() {
+        final RandomSource parent = RandomSource.splittable(SEED);
+        final RandomSource child = parent.split();
+        assertThat(longs(child), is(not(equalTo(longs(parent)))));
+    }
+
+    @Test
+    public void splitsOfTheSameSeedShouldBeReproducible() {
+        assertThat(longs(RandomSource.splittable(SEED).split()),
+                is(equalTo(longs(RandomSource.splittable(SEED).split()))));
+    }
+
+    @Test
+    public void splittableNextIntShouldCoverTheInclusiveRange() {
+        assertThat(ints(RandomSource.splittable(SEED), 3, 7), is(equalTo(range(3, 7))));
+    }
+
+    @Test
+    public void quickCheckNextIntShouldCoverTheInclusiveRange() {
+        assertThat(ints(RandomSource.quickCheck(), 3, 7), is(equalTo(range(3, 7))));
+    }
+
+    @Test
+    public void quickCheckNextIntShouldAllowASingleValue() {
+        assertThat(RandomSource.quickCheck().nextInt(1), is(0));
+        assertThat(RandomSource.quickCheck().nextInt(5, 5), is(5));
+    }
+
+    @Test
+    public void quickCheckShouldFollowTheQuickCheckSeed() {
+        RandomConfiguration.setSeed(SEED);
+        final Set<Long> first = longs(RandomSource.quickCheck());
+        RandomConfiguration.setSeed(SEED);
+        assertThat(longs(RandomSource.quickCheck()), is(equalTo(first)));
+    }
+
+    @Test
+    public void quickCheckNextLongShouldUseAllBits() {
+        long or = 0L;
+        long and = -1L;
+        for (int i = 0; i < SAMPLES; i++) {
+            final long value = RandomSource.quickCheck().nextLong();
+            or |= value;
+            and &= value;
+        }
+        assertThat(or, is(-1L));
+        assertThat(and, is(0L));
+    }
+
+    @Test
+    public void quickCheckSplitShouldProduceASplittableSource() {
+        final RandomSource split = RandomSource.quickCheck().split();
+        assertTrue(split != RandomSource.quickCheck());
+        assertThat(ints(split, 0, 1), is(equalTo(range(0, 1))));
+    }
+
+    @Test
+    public void quickCheckNextIntShouldRejectNonPositiveBounds() {
+        try {
+            RandomSource.quickCheck().nextInt(0);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("bound must be positive")));
+        }
+    }
+
+    @Test
+    public void nextIntShouldRejectAnEmptyRange() {
+        try {
+            RandomSource.splittable(SEED).nextInt(2, 1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("min must not be greater than max")));
+        }
+    }
+
+    @Test
+    public void seededSourceShouldFollowSplitMix64BeforeTheFirstElement() {
+        final RandomSource source = RandomSource.seeded(SEED);
+        final SplittableRandom expected = new SplittableRandom(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            assertThat(source.nextLong(), is(equalTo(expected.nextLong())));
+        }
+    }
+
+    @Test
+    public void seededElementsShouldOnlyDependOnTheSeedAndPosition() {
+        final RandomSource source = RandomSource.seeded(SEED);
+        source.nextLong();
+        source.nextElement();
+        assertThat(source.nextLong(), is(-7450291807549245335L));
+        source.nextElement();
+        assertThat(source.nextLong(), is(6332618229526065668L));
+    }
+
+    @Test
+    public void seededSkipShouldMoveToTheSamePositionAsDrawing() {
+        final RandomSource drawn = RandomSource.seeded(SEED);
+        for (int i = 0; i < 3; i++) {
+            drawn.nextElement();
+            drawn.nextInt(SAMPLES);
+        }
+        drawn.nextElement();
+        final RandomSource skipped = RandomSource.seeded(SEED);
+        assertTrue(skipped.skip(3));
+        skipped.nextElement();
+        assertThat(skipped.nextLong(), is(equalTo(drawn.nextLong())));
+    }
+
+    @Test
+    public void seededNextIntShouldCoverTheInclusiveRange() {
+        assertThat(ints(RandomSource.seeded(SEED), 3, 7), is(equalTo(range(3, 7))));
+    }
+
+    @Test
+    public void seededNextIntShouldRejectNonPositiveBounds() {
+        try {
+            RandomSource.seeded(SEED).nextInt(0);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("bound must be positive")));
+        }
+    }
+
+    @Test
+    public void seededSplitsShouldBeReproducibleAndIndependent() {
+        final RandomSource parent = RandomSource.seeded(SEED);
+        final RandomSource split = parent.split();
+        assertThat(longs(split), is(equalTo(longs(RandomSource.seeded(SEED).split()))));
+        assertThat(longs(split), is(not(equalTo(longs(parent)))));
+    }
+
+    @Test
+    public void onlySeededSourcesShouldSkip() {
+        assertFalse(RandomSource.quickCheck().skip(1));
+        assertFalse(RandomSource.splittable(SEED).skip(1));
+        assertFalse(RandomSource.seeded(SEED).component().skip(1));
+    }
+
+    @Test
+    public void componentsShouldDrawFromTheirSourceWithoutMarkingElements() {
+        final RandomSource source = RandomSource.seeded(SEED);
+        final RandomSource component = RandomSource.seeded(SEED).component();
+        component.nextElement();
+        assertThat(component.nextLong(), is(equalTo(source.nextLong())));
+        assertThat(component.nextInt(SAMPLES), is(equalTo(source.nextInt(SAMPLES))));
+        assertThat(longs(component.split()), is(equalTo(longs(source.split()))));
+        assertFalse(component.split().skip(1));
+    }
+
+    private static Set<Long> longs(final RandomSource source) {
+        final Set<Long> values = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            values.add(source.nextLong());
+        }
+        return values;
+    }
+
+    private static Set<Integer> ints(final RandomSource source, final int min, final int max) {
+        final Set<Integer> values = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            values.add(source.nextInt(min, max));
+        }
+        return values;
+    }
+
+    private static Set<Integer> range(final int min, final int max) {
+        return IntStream.rangeClosed(min, max).boxed().collect(Collectors.toSet());
+    }
+}
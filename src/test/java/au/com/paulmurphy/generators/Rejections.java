@@ -0,0 +1,67 @@
+package au.com.paulmurphy.generators;
+
+import org.hamcrest.Matcher;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Assertions that an action rejects its arguments, shared by the tests of every package.
+ *
+ * @author Paul Murphy
+ */
+public final class Rejections {
+
+    private Rejections() {
+    }
+
+    /**
+     * Asserts that the action throws an {@link IllegalArgumentException} with exactly the given message.
+     */
+    public static void assertRejected(final Action action, final String message) {
+        assertRejected(action, is(equalTo(message)));
+    }
+
+    /**
+     * Asserts that the action throws an {@link IllegalArgumentException} whose message matches.
+     */
+    public static void assertRejected(final Action action, final Matcher<? super String> message) {
+        try {
+            action.run();
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), message);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Asserts that the action throws an {@link IndexOutOfBoundsException} that says which index it rejected.
+     */
+    public static void assertOutOfBounds(final Action action) {
+        try {
+            action.run();
+
+            fail("expected an IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            assertThat(ex.getMessage(), is(notNullValue()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * An action under test, which may do I/O.
+     */
+    public interface Action {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,38 @@
+package au.com.paulmurphy.generators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class ShrinkerTest {
+
+    private static final Shrinker<Integer> HALVING = (value, failing) -> {
+        final int half = value / 2;
+        return value != half && failing.test(half) ? half : null;
+    };
+
+    @Test
+    public void shrinkShouldRepeatTheStepUntilNoCandidateFails() {
+        List<Integer> tried = new ArrayList<>();
+
+        int shrunk = HALVING.shrink(1000, value -> tried.add(value) && value > 100);
+
+        assertThat(shrunk, is(125));
+        assertThat(tried.toString(), is(equalTo("[500, 250, 125, 62]")));
+    }
+
+    @Test
+    public void shrinkShouldReturnTheValueWhenItCannotBeShrunk() {
+        assertThat(HALVING.shrink(1000, value -> false), is(1000));
+        assertThat(Shrinker.<Integer>none().shrink(1000, value -> true), is(1000));
+        assertThat(Shrinker.<Integer>none().shrinkStep(1000, value -> true) == null, is(true));
+    }
+}
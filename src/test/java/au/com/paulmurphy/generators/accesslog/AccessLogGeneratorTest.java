@@ -0,0 +1,198 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Paul Murphy
+ */
+public class AccessLogGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 2000;
+    private static final String COMMON = "(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3})\\.(\\d{1,3}) - - \\[([^]]+)\\] "
+            + "\"(GET|POST|HEAD|PUT|DELETE) (/[^ ]*) HTTP/1\\.1\" (\\d{3}) (-|[1-9]\\d*)";
+    private static final String LETTERS = "\"[a-zA-Z]{5,20}\"";
+    private static final String MIME_TYPE = "\"[a-z]+/[a-zA-Z0-9.+-]+\"";
+    private static final Map<LogFormat, Pattern> PATTERNS = new HashMap<>();
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    static {
+        PATTERNS.put(LogFormat.COMMON, Pattern.compile(COMMON));
+        PATTERNS.put(LogFormat.COMBINED, Pattern.compile(COMMON + " " + LETTERS + " " + LETTERS));
+        PATTERNS.put(LogFormat.COMBINED_WITH_CONTENT_TYPE,
+                Pattern.compile(COMMON + " " + LETTERS + " " + LETTERS + " " + MIME_TYPE));
+    }
+
+    @Test
+    public void linesShouldBeInTheirFormat() {
+        for (LogFormat format : LogFormat.values()) {
+            AccessLogGenerator underTest = new AccessLogGenerator(SEED, format);
+            for (int i = 0; i < SAMPLES; i++) {
+                String line = underTest.next();
+                Matcher matcher = PATTERNS.get(format).matcher(line);
+
+                assertTrue(format + ": " + line, matcher.matches());
+                for (int octet = 1; octet <= 4; octet++) {
+                    assertThat(line, Integer.parseInt(matcher.group(octet)), is(lessThanOrEqualTo(255)));
+                }
+                int status = Integer.parseInt(matcher.group(8));
+                boolean noBody = status < 200 || status == 204 || status == 304;
+                assertThat(line, "-".equals(matcher.group(9)), is(noBody));
+                if (!noBody) {
+                    assertThat(line, Integer.parseInt(matcher.group(9)), is(lessThanOrEqualTo(1 << 20)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void seededLinesShouldNotChange() {
+        AccessLogGenerator underTest = new AccessLogGenerator(SEED, LogFormat.COMBINED_WITH_CONTENT_TYPE);
+
+        assertThat(underTest.next(), is(equalTo("10.6.56.105 - - [01/Jan/2020:00:00:00 +0000] \"GET "
+                + "/ismicrjap/hijuqhfzqf/kkkjrgtyqyfbzittterre/mzlxwpgsq/pllhagoltavog HTTP/1.1\" 100 - \"iYrJRC\" "
+                + "\"VnauVOLpZeIYducTHpoe\" \"application/msword\"")));
+        assertThat(underTest.next(), is(equalTo("101.16.114.4 - - [01/Jan/2020:00:00:00 +0000] \"GET "
+                + "/gfnps/zfcwbvlhclvffbuhlfsc/acxkaqtovtgqbgwgcok/rvsjejfyrwmdprbfmdxfcqxbn/leqmpqklcjmvtdobagatxlc "
+                + "HTTP/1.1\" 415 509975 \"mJKHhQSTKqeYHyCsv\" \"YIDVSZaaDHJMn\" \"application/octet-stream\"")));
+    }
+
+    @Test
+    public void shouldDrawEveryMethodWithGetTheMostCommon() {
+        AccessLogGenerator underTest = new AccessLogGenerator(SEED, LogFormat.COMMON);
+        Map<String, Integer> methods = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            Matcher matcher = PATTERNS.get(LogFormat.COMMON).matcher(underTest.next());
+            assertTrue(matcher.matches());
+            methods.merge(matcher.group(6), 1, Integer::sum);
+        }
+
+        assertThat(methods.keySet().size(), is(5));
+        assertThat(methods.get("GET"), is(allOf(greaterThanOrEqualTo(SAMPLES * 75 / 100),
+                lessThanOrEqualTo(SAMPLES * 85 / 100))));
+    }
+
+    @Test
+    public void linesShouldBeLoggedInOrderOfTime() {
+        Instant start = Instant.parse("2024-02-29T23:59:58Z");
+        AccessLogGenerator underTest = new AccessLogGenerator(SEED, LogFormat.COMMON)
+                .startTime(start.plusMillis(999)).linesPerSecond(3);
+
+        for (int i = 0; i < 12; i++) {
+            assertThat(time(underTest.next()), is(equalTo(start.plusSeconds(i / 3))));
+        }
+        AccessLogGenerator defaults = new AccessLogGenerator(SEED, LogFormat.COMMON);
+        assertThat(time(defaults.next()), is(equalTo(AccessLogGenerator.DEFAULT_START_TIME)));
+        assertThat(time(defaults.skip(998).next()), is(equalTo(AccessLogGenerator.DEFAULT_START_TIME)));
+        assertThat(time(defaults.next()), is(equalTo(AccessLogGenerator.DEFAULT_START_TIME.plusSeconds(1))));
+    }
+
+    @Test
+    public void nextIntoShouldAppendTheNextLine() {
+        AccessLogGenerator underTest = new AccessLogGenerator(SEED, LogFormat.COMBINED_WITH_CONTENT_TYPE);
+        AccessLogGenerator expected = new AccessLogGenerator(SEED, LogFormat.COMBINED_WITH_CONTENT_TYPE);
+        StringBuilder builder = new StringBuilder("start\n");
+
+        assertThat(underTest.nextInto(builder), is(sameInstance(builder)));
+        assertThat(builder.toString(), is(equalTo("start\n" + expected.next())));
+        assertThat(underTest.asGenerator().next(), is(equalTo(expected.next())));
+    }
+
+    @Test
+    public void seededLinesShouldBeReproducible() {
+        assertThat(lines(new AccessLogGenerator(SEED, LogFormat.COMBINED), 50),
+                is(equalTo(lines(new AccessLogGenerator(SEED, LogFormat.COMBINED), 50))));
+        assertThat(lines(new AccessLogGenerator(SEED, LogFormat.COMBINED), 50),
+                is(not(equalTo(lines(new AccessLogGenerator(SEED + 1, LogFormat.COMBINED), 50)))));
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        for (LogFormat format : LogFormat.values()) {
+            AccessLogGenerator drawn = new AccessLogGenerator(SEED, format).linesPerSecond(10);
+            lines(drawn, 205);
+
+            assertThat(lines(new AccessLogGenerator(SEED, format).linesPerSecond(10).skip(205), 20),
+                    is(equalTo(lines(drawn, 20))));
+            assertThat(lines(new AccessLogGenerator(SEED, format).skip(0), 20),
+                    is(equalTo(lines(new AccessLogGenerator(SEED, format), 20))));
+        }
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedLinesWithoutASeed() {
+        RandomConfiguration.setSeed(SEED);
+        AccessLogGenerator drawn = new AccessLogGenerator(LogFormat.COMBINED).linesPerSecond(5);
+        lines(drawn, 12);
+        List<String> expected = lines(drawn, 10);
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(lines(new AccessLogGenerator(LogFormat.COMBINED).linesPerSecond(5).skip(12), 10),
+                is(equalTo(expected)));
+    }
+
+    @Test
+    public void splitShouldKeepTheFormatAndTimes() {
+        Instant start = Instant.parse("2024-01-01T00:00:00Z");
+        AccessLogGenerator parent = new AccessLogGenerator(SEED, LogFormat.COMBINED_WITH_CONTENT_TYPE)
+                .startTime(start).linesPerSecond(2);
+        parent.skip(10);
+        AccessLogGenerator split = parent.split();
+
+        List<String> lines = lines(split, 3);
+        for (int i = 0; i < lines.size(); i++) {
+            assertTrue(lines.get(i), PATTERNS.get(LogFormat.COMBINED_WITH_CONTENT_TYPE).matcher(lines.get(i))
+                    .matches());
+            assertThat(time(lines.get(i)), is(equalTo(start.plusSeconds(i / 2))));
+        }
+        assertThat(lines, is(not(equalTo(lines(parent, 3)))));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> new AccessLogGenerator(null), "format is required");
+        assertRejected(() -> new AccessLogGenerator(SEED, null), "format is required");
+        assertRejected(() -> new AccessLogGenerator(SEED, LogFormat.COMMON).startTime(null), "startTime is required");
+        assertRejected(() -> new AccessLogGenerator(SEED, LogFormat.COMMON).linesPerSecond(0),
+                "linesPerSecond must be positive");
+        assertRejected(() -> new AccessLogGenerator(SEED, LogFormat.COMMON).skip(-1), "n must not be negative");
+    }
+
+    static List<String> lines(final AccessLogGenerator generator, final int n) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            lines.add(generator.next());
+        }
+        return lines;
+    }
+
+    private static Instant time(final String line) {
+        Matcher matcher = PATTERNS.get(LogFormat.COMMON).matcher(line);
+        assertTrue(line, matcher.lookingAt());
+        return Instant.from(ZonedDateTime.parse(matcher.group(5), DATE_FORMAT));
+    }
+}
@@ -0,0 +1,223 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class AccessLogWriterTest {
+
+    private static final long SEED = 42L;
+    private static final int LINES = 1000;
+    private static final long WAIT_SECONDS = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteTheLinesInOrder() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        long size = AccessLogWriter.to(file).threads(3).chunkLines(64).write(AccessLogWriterTest::generator, LINES);
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), is(equalTo(expected(LINES))));
+        assertThat(size, is(Files.size(file)));
+    }
+
+    @Test
+    public void shouldCompressFilesNamedWithTheGzipSuffix() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log.gz");
+
+        long size = AccessLogWriter.to(file).threads(3).chunkLines(64).write(AccessLogWriterTest::generator, LINES);
+
+        assertThat(gunzip(file), is(equalTo(expected(LINES))));
+        assertThat(size, is(Files.size(file)));
+    }
+
+    @Test
+    public void gzipShouldOverrideTheFileName() throws IOException {
+        Path compressed = folder.getRoot().toPath().resolve("access.log");
+        Path plain = folder.getRoot().toPath().resolve("access.log.gz");
+
+        AccessLogWriter.to(compressed).gzip(true).chunkLines(64).write(AccessLogWriterTest::generator, 100);
+        AccessLogWriter.to(plain).gzip(false).chunkLines(64).write(AccessLogWriterTest::generator, 100);
+
+        assertThat(gunzip(compressed), is(equalTo(expected(100))));
+        assertThat(new String(Files.readAllBytes(plain), StandardCharsets.UTF_8), is(equalTo(expected(100))));
+    }
+
+    @Test
+    public void shouldWriteAnEmptyLog() throws IOException {
+        Path plain = folder.getRoot().toPath().resolve("access.log");
+        Path compressed = folder.getRoot().toPath().resolve("access.log.gz");
+
+        assertThat(AccessLogWriter.to(plain).write(AccessLogWriterTest::generator, 0), is(0L));
+        AccessLogWriter.to(compressed).write(AccessLogWriterTest::generator, 0);
+
+        assertThat(Files.size(plain), is(0L));
+        assertThat(gunzip(compressed), is(equalTo("")));
+    }
+
+    @Test
+    public void shouldProduceAtMostTwoChunksPerThreadAheadOfTheFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+        CountDownLatch aheadOfTheFirst = new CountDownLatch(3);
+        AtomicBoolean firstProduced = new AtomicBoolean();
+        AtomicInteger producedAhead = new AtomicInteger();
+        AtomicInteger produced = new AtomicInteger();
+
+        AccessLogWriter.to(file).threads(2).chunkLines(10).writeChunks(first -> {
+            produced.incrementAndGet();
+            if (first == 0) {
+                // the first chunk is held back until the other worker has produced every chunk it may
+                assertTrue(Uninterruptibles.awaitUninterruptibly(aheadOfTheFirst, WAIT_SECONDS, TimeUnit.SECONDS));
+                firstProduced.set(true);
+            } else if (!firstProduced.get()) {
+                producedAhead.incrementAndGet();
+                aheadOfTheFirst.countDown();
+            }
+            return generator().skip(first);
+        }, 100);
+
+        assertThat(producedAhead.get(), is(3));
+        assertThat(produced.get(), is(10));
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), is(equalTo(expected(100))));
+    }
+
+    @Test
+    public void shouldThrowTheFailureOfAWorker() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        try {
+            AccessLogWriter.to(file).write(() -> {
+                throw new IllegalStateException("no generator");
+            }, LINES);
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("no generator")));
+        }
+    }
+
+    @Test
+    public void shouldInterruptTheOtherWorkersWhenAWorkerFails() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        CountDownLatch secondInterrupted = new CountDownLatch(1);
+
+        try {
+            AccessLogWriter.to(file).threads(2).chunkLines(10).writeChunks(first -> {
+                if (first == 0) {
+                    Uninterruptibles.awaitUninterruptibly(secondStarted, WAIT_SECONDS, TimeUnit.SECONDS);
+                    throw new IllegalStateException("no generator");
+                }
+                secondStarted.countDown();
+                try {
+                    new CountDownLatch(1).await(WAIT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    secondInterrupted.countDown();
+                }
+                return generator().skip(first);
+            }, 20);
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("no generator")));
+        }
+        assertTrue(Uninterruptibles.awaitUninterruptibly(secondInterrupted, WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldThrowWhenTheFileCannotBeWritten() {
+        Path directory = folder.getRoot().toPath();
+
+        try {
+            AccessLogWriter.to(directory).write(AccessLogWriterTest::generator, LINES);
+
+            fail("expected an IOException");
+        } catch (IOException ex) {
+            assertThat(ex.getMessage(), startsWith(directory.toString()));
+        }
+    }
+
+    @Test
+    public void shouldStopWhenInterrupted() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        Thread.currentThread().interrupt();
+        try {
+            AccessLogWriter.to(file).write(AccessLogWriterTest::generator, LINES);
+
+            fail("expected an InterruptedIOException");
+        } catch (InterruptedIOException ex) {
+            assertTrue(Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        assertRejected(() -> AccessLogWriter.to(null), "file is required");
+        assertRejected(() -> AccessLogWriter.to(file).threads(0), "threads must be positive");
+        assertRejected(() -> AccessLogWriter.to(file).chunkLines(0), "chunkLines must be positive");
+        assertRejected(() -> write(AccessLogWriter.to(file), null, 1), "lines is required");
+        assertRejected(() -> write(AccessLogWriter.to(file), AccessLogWriterTest::generator, -1),
+                "n must not be negative");
+    }
+
+    static String expected(final int lines) {
+        StringBuilder expected = new StringBuilder();
+        for (String line : AccessLogGeneratorTest.lines(generator(), lines)) {
+            expected.append(line).append('\n');
+        }
+        return expected.toString();
+    }
+
+    static String gunzip(final Path file) throws IOException {
+        StringBuilder content = new StringBuilder();
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            byte[] buffer = new byte[4096];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                content.append(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            }
+        }
+        return content.toString();
+    }
+
+    private static AccessLogGenerator generator() {
+        return new AccessLogGenerator(SEED, LogFormat.COMBINED_WITH_CONTENT_TYPE).linesPerSecond(7);
+    }
+
+    private static void write(final AccessLogWriter writer, final Supplier<AccessLogGenerator> lines, final long n) {
+        try {
+            writer.write(lines, n);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package au.com.paulmurphy.generators.accesslog;
+
+import au.com.paulmurphy.generators.Rejections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class AccessLogsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mainShouldWriteTheConfiguredLog() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        AccessLogs.main(new String[] {"--lines", "300", "--output", file.toString(), "--format", "common",
+                "--seed", "7", "--start-time", "2024-06-01T12:00:00Z", "--lines-per-second", "4", "--threads", "2",
+                "--chunk-lines", "16"});
+
+        AccessLogGenerator expected = new AccessLogGenerator(7, LogFormat.COMMON)
+                .startTime(Instant.parse("2024-06-01T12:00:00Z")).linesPerSecond(4);
+        assertThat(Files.readAllLines(file, StandardCharsets.UTF_8),
+                is(equalTo(AccessLogGeneratorTest.lines(expected, 300))));
+    }
+
+    @Test
+    public void shouldWriteTheCombinedFormatFromSeedZeroByDefault() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        assertThat(AccessLogs.parse("--output", file.toString(), "--lines", "20").run(), is(Files.size(file)));
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines, is(equalTo(
+                AccessLogGeneratorTest.lines(new AccessLogGenerator(0, LogFormat.COMBINED), 20))));
+    }
+
+    @Test
+    public void gzipShouldCompressAnyFile() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("access.log");
+
+        AccessLogs.main(new String[] {"--gzip", "--lines", "20", "--output", file.toString(), "--format",
+                "combined-with-content-type"});
+
+        StringBuilder expected = new StringBuilder();
+        for (String line : AccessLogGeneratorTest.lines(
+                new AccessLogGenerator(0, LogFormat.COMBINED_WITH_CONTENT_TYPE), 20)) {
+            expected.append(line).append('\n');
+        }
+        assertThat(AccessLogWriterTest.gunzip(file), is(equalTo(expected.toString())));
+    }
+
+    @Test
+    public void shouldRejectInvalidOptions() {
+        assertRejected("--output is required", "--lines", "1");
+        assertRejected("--lines is required", "--output", "access.log");
+        assertRejected("--lines must not be negative", "--lines", "-1", "--output", "access.log");
+        AccessLogs.parse("--lines", "0", "--output", "access.log");
+        assertRejected("--seed needs a value", "--lines", "1", "--output", "access.log", "--seed");
+        assertRejected("unknown option --size", "--size", "1");
+        assertRejected("No enum constant", "--format", "extended");
+        assertRejected("For input string: \"many\"", "--lines", "many");
+    }
+
+    private static void assertRejected(final String message, final String... args) {
+        Rejections.assertRejected(() -> AccessLogs.parse(args), startsWith(message));
+    }
+}
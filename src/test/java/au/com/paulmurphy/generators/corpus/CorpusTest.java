@@ -0,0 +1,106 @@
+package au.com.paulmurphy.generators.corpus;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Path;
+
+import static au.com.paulmurphy.generators.corpus.CorpusWriterTest.bytes;
+import static au.com.paulmurphy.generators.corpus.CorpusWriterTest.filled;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class CorpusTest {
+
+    private static final int MESSAGES = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void writeCorpus() throws IOException {
+        directory = folder.getRoot().toPath();
+        try (CorpusWriter writer = CorpusWriter.create(directory, 20, 50)) {
+            for (int i = 0; i < MESSAGES; i++) {
+                writer.write(bytes(i + 1, i));
+            }
+        }
+    }
+
+    @Test
+    public void shouldReadAnyMessage() throws IOException {
+        Corpus underTest = Corpus.open(directory);
+
+        assertThat(underTest.size(), is(equalTo((long) MESSAGES)));
+        for (int i = MESSAGES - 1; i >= 0; i--) {
+            assertThat(underTest.message(i), is(equalTo(ByteBuffer.wrap(filled(i + 1, i)))));
+        }
+    }
+
+    @Test
+    public void shouldReadAnIndexMappedInChunks() throws IOException {
+        for (int chunkEntries = 1; chunkEntries <= MESSAGES + 1; chunkEntries++) {
+            Corpus underTest = Corpus.open(directory, chunkEntries);
+
+            assertThat(underTest.size(), is(equalTo((long) MESSAGES)));
+            for (int i = 0; i < MESSAGES; i++) {
+                assertThat(underTest.message(i), is(equalTo(ByteBuffer.wrap(filled(i + 1, i)))));
+            }
+        }
+    }
+
+    @Test
+    public void shouldReturnIndependentReadOnlyBuffers() throws IOException {
+        Corpus underTest = Corpus.open(directory);
+        ByteBuffer first = underTest.message(3);
+        first.get();
+
+        ByteBuffer second = underTest.message(3);
+        assertThat(second.remaining(), is(equalTo(4)));
+        try {
+            second.put(0, (byte) 1);
+            fail("should have thrown ReadOnlyBufferException");
+        } catch (ReadOnlyBufferException e) {
+            assertThat(second.get(second.position()), is(equalTo((byte) 3)));
+        }
+    }
+
+    @Test
+    public void shouldRejectIndexesOutsideTheCorpus() throws IOException {
+        Corpus underTest = Corpus.open(directory);
+        try {
+            underTest.message(-1);
+            fail("should have thrown IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is(equalTo("index (-1) must be between 0 and size (10), exclusive")));
+        }
+        try {
+            underTest.message(MESSAGES);
+            fail("should have thrown IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            assertThat(e.getMessage(), is(equalTo("index (10) must be between 0 and size (10), exclusive")));
+        }
+    }
+
+    @Test
+    public void shouldRequireADirectory() throws IOException {
+        try {
+            Corpus.open(null);
+            fail("should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(equalTo("directory is required")));
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package au.com.paulmurphy.generators.corpus;
+
+import au.com.paulmurphy.generators.http.HeaderBlockGenerator;
+import au.com.paulmurphy.generators.http.ResponseBlockGenerator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class CorpusWriterTest {
+
+    private static final long SEED = 42L;
+    private static final int MESSAGES = 5000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldWriteMessagesWhichCanBeReadBackByIndex() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        HeaderBlockGenerator requests = new HeaderBlockGenerator(SEED);
+        ResponseBlockGenerator responses = new ResponseBlockGenerator(SEED);
+        int maxMessageSize = Math.max(requests.maxBlockSize(), responses.maxBlockSize());
+        try (CorpusWriter underTest = CorpusWriter.create(directory, maxMessageSize, 64 * 1024)) {
+            for (int i = 0; i < MESSAGES; i++) {
+                assertThat(underTest.write(requests::nextInto), is(equalTo(2L * i)));
+                assertThat(underTest.write(responses::nextInto), is(equalTo(2L * i + 1)));
+            }
+            assertThat(underTest.size(), is(equalTo(2L * MESSAGES)));
+        }
+
+        Corpus corpus = Corpus.open(directory);
+        assertThat(corpus.size(), is(equalTo(2L * MESSAGES)));
+        HeaderBlockGenerator expectedRequests = new HeaderBlockGenerator(SEED);
+        ResponseBlockGenerator expectedResponses = new ResponseBlockGenerator(SEED);
+        for (int i = 0; i < MESSAGES; i++) {
+            assertThat(corpus.message(2L * i), is(equalTo(expectedRequests.next())));
+            assertThat(corpus.message(2L * i + 1), is(equalTo(expectedResponses.next())));
+        }
+    }
+
+    @Test
+    public void shouldStartANewSegmentWhenTheLargestMessageMightNotFit() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 250)) {
+            for (int i = 0; i < 7; i++) {
+                underTest.write(bytes(60, i));
+            }
+        }
+
+        assertThat(Files.size(Corpus.segment(directory, 0)), is(equalTo(180L)));
+        assertThat(Files.size(Corpus.segment(directory, 1)), is(equalTo(180L)));
+        assertThat(Files.size(Corpus.segment(directory, 2)), is(equalTo(60L)));
+        assertFalse(Files.exists(Corpus.segment(directory, 3)));
+        Corpus corpus = Corpus.open(directory);
+        for (int i = 0; i < 7; i++) {
+            assertThat(corpus.message(i), is(equalTo(ByteBuffer.wrap(filled(60, i)))));
+        }
+    }
+
+    @Test
+    public void shouldFillASegmentWithMessagesOfTheLargestSize() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 200)) {
+            for (int i = 0; i < 3; i++) {
+                underTest.write(bytes(100, i));
+            }
+        }
+
+        assertThat(Files.size(Corpus.segment(directory, 0)), is(equalTo(200L)));
+        assertThat(Files.size(Corpus.segment(directory, 1)), is(equalTo(100L)));
+        assertThat(Corpus.open(directory).message(2), is(equalTo(ByteBuffer.wrap(filled(100, 2)))));
+    }
+
+    @Test
+    public void shouldWriteAnEmptyCorpus() throws IOException {
+        Path directory = folder.getRoot().toPath().resolve("empty");
+        CorpusWriter.create(directory, 100).close();
+
+        assertThat(Corpus.open(directory).size(), is(equalTo(0L)));
+        assertFalse(Files.exists(Corpus.segment(directory, 0)));
+    }
+
+    @Test
+    public void shouldReplaceAnExistingCorpus() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100)) {
+            for (int i = 0; i < 5; i++) {
+                underTest.write(bytes(10, i));
+            }
+        }
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100)) {
+            underTest.write(bytes(20, 7));
+        }
+
+        Corpus corpus = Corpus.open(directory);
+        assertThat(corpus.size(), is(equalTo(1L)));
+        assertThat(corpus.message(0), is(equalTo(ByteBuffer.wrap(filled(20, 7)))));
+    }
+
+    @Test
+    public void shouldDeleteTheSegmentsOfALargerCorpusItReplaces() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 100)) {
+            for (int i = 0; i < 4; i++) {
+                underTest.write(bytes(100, i));
+            }
+        }
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 100)) {
+            underTest.write(bytes(100, 7));
+            underTest.write(bytes(100, 8));
+        }
+
+        assertTrue(Files.exists(Corpus.segment(directory, 1)));
+        assertFalse(Files.exists(Corpus.segment(directory, 2)));
+        assertFalse(Files.exists(Corpus.segment(directory, 3)));
+        assertThat(Corpus.open(directory).message(1), is(equalTo(ByteBuffer.wrap(filled(100, 8)))));
+
+        CorpusWriter.create(directory, 100).close();
+        assertFalse(Files.exists(Corpus.segment(directory, 0)));
+    }
+
+    @Test
+    public void shouldRejectMessagesLargerThanTheMaxMessageSize() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 1000)) {
+            underTest.write(bytes(100, 0));
+            try {
+                underTest.write(bytes(101, 1));
+                fail("should have thrown BufferOverflowException");
+            } catch (BufferOverflowException e) {
+                assertThat(underTest.size(), is(equalTo(1L)));
+            }
+            underTest.write(bytes(100, 2));
+        }
+
+        Corpus corpus = Corpus.open(directory);
+        assertThat(corpus.size(), is(equalTo(2L)));
+        assertThat(corpus.message(1), is(equalTo(ByteBuffer.wrap(filled(100, 2)))));
+    }
+
+    @Test
+    public void shouldDropTheBytesOfAMessageWhichThrows() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 1000)) {
+            underTest.write(bytes(10, 0));
+            try {
+                underTest.write(buffer -> {
+                    buffer.put(filled(30, 1));
+                    throw new IllegalStateException("no message");
+                });
+                fail("should have thrown IllegalStateException");
+            } catch (IllegalStateException e) {
+                assertThat(underTest.size(), is(equalTo(1L)));
+            }
+            assertThat(underTest.write(bytes(20, 2)), is(equalTo(1L)));
+        }
+
+        assertThat(Files.size(Corpus.segment(directory, 0)), is(equalTo(30L)));
+        Corpus corpus = Corpus.open(directory);
+        assertThat(corpus.size(), is(equalTo(2L)));
+        assertThat(corpus.message(1), is(equalTo(ByteBuffer.wrap(filled(20, 2)))));
+    }
+
+    @Test
+    public void shouldReleaseEachSegmentOnceFinished() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 100, 100)) {
+            underTest.write(bytes(100, 0));
+            underTest.write(bytes(50, 1));
+            Files.delete(Corpus.segment(directory, 0));
+        }
+
+        Files.delete(Corpus.segment(directory, 1));
+        assertFalse(Files.exists(Corpus.segment(directory, 1)));
+    }
+
+    @Test
+    public void shouldRejectWritesAfterClose() throws IOException {
+        CorpusWriter underTest = CorpusWriter.create(folder.getRoot().toPath(), 100);
+        underTest.close();
+        underTest.close();
+        try {
+            underTest.write(bytes(10, 0));
+            fail("should have thrown IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), is(equalTo("writer is closed")));
+        }
+    }
+
+    @Test
+    public void shouldAcceptASegmentSizeEqualToTheMaxMessageSize() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try (CorpusWriter underTest = CorpusWriter.create(directory, 1, 1)) {
+            underTest.write(bytes(1, 0));
+            underTest.write(bytes(1, 1));
+        }
+
+        assertThat(Corpus.open(directory).message(1), is(equalTo(ByteBuffer.wrap(filled(1, 1)))));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        try {
+            CorpusWriter.create(null, 100);
+            fail("should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(equalTo("directory is required")));
+        }
+        try {
+            CorpusWriter.create(directory, 0);
+            fail("should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(equalTo("maxMessageSize must be positive")));
+        }
+        try {
+            CorpusWriter.create(directory, 100, 99);
+            fail("should have thrown IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is(equalTo("segmentSize must not be less than maxMessageSize")));
+        }
+    }
+
+    static Consumer<ByteBuffer> bytes(final int length, final int value) {
+        return buffer -> buffer.put(filled(length, value));
+    }
+
+    static byte[] filled(final int length, final int value) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package au.com.paulmurphy.generators.corpus;
+
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import au.com.paulmurphy.generators.http.StatusCodeGenerator;
+import net.java.quickcheck.collection.Pair;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class RecorderTest {
+
+    private static final long SEED = 42L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void shouldPassTheValuesOfTheGeneratorThrough() throws IOException {
+        Path file = folder.newFile().toPath();
+        StatusCodeGenerator expected = StatusCodeGenerator.allCodes(SEED);
+        try (Recorder<Integer> underTest =
+                     Recorder.create(StatusCodeGenerator.allCodes(SEED), ValueCodec.integers(), file)) {
+            for (int i = 0; i < 100; i++) {
+                assertThat(underTest.next(), is(equalTo(expected.next())));
+            }
+            assertThat(underTest.size(), is(100L));
+        }
+    }
+
+    @Test
+    public void shouldRecordValuesWhichReplayInOrder() throws IOException {
+        Path file = folder.newFile().toPath();
+        List<String> recorded = new ArrayList<>();
+        try (Recorder<String> underTest = Recorder.create(new PathGenerator(SEED), ValueCodec.strings(), file)) {
+            for (int i = 0; i < 10_000; i++) {
+                recorded.add(underTest.next());
+            }
+        }
+
+        Replay<String> replay = Replay.open(file, ValueCodec.strings());
+        List<String> replayed = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            replayed.add(replay.next());
+        }
+        assertThat(replayed, is(equalTo(recorded)));
+        assertThat(replay.remaining(), is(0L));
+    }
+
+    @Test
+    public void recordShouldWriteTheRequestedNumberOfValues() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        Recorder.record(new HeaderGenerator(SEED), ValueCodec.headers(), 500, file);
+
+        Replay<Pair<String, String>> replay = Replay.open(file, ValueCodec.headers());
+        assertThat(replay.size(), is(500L));
+        HeaderGenerator expected = new HeaderGenerator(SEED);
+        for (int i = 0; i < 500; i++) {
+            assertThat(replay.next(), is(equalTo(expected.next())));
+        }
+    }
+
+    @Test
+    public void shouldWriteTheHeaderAndCompactValues() throws IOException {
+        Path file = folder.newFile().toPath();
+
+        Recorder.record(StatusCodeGenerator.successCodes(SEED), ValueCodec.integers(), 3, file);
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertThat(bytes.getInt(), is(Recorder.MAGIC));
+        assertThat(bytes.getLong(), is(3L));
+        // each 2xx code takes two bytes as a zig-zag varint
+        assertThat(bytes.remaining(), is(6));
+    }
+
+    @Test
+    public void closeShouldBeIdempotentAndStopRecording() throws IOException {
+        Path file = folder.newFile().toPath();
+        Recorder<Integer> underTest = Recorder.create(StatusCodeGenerator.allCodes(), ValueCodec.integers(), file);
+        underTest.next();
+        underTest.close();
+        underTest.close();
+
+        try {
+            underTest.next();
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("recorder is closed")));
+        }
+        assertThat(Replay.open(file, ValueCodec.integers()).size(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() throws IOException {
+        Path file = folder.newFile().toPath();
+        assertRejected(() -> Recorder.create(null, ValueCodec.integers(), file), "generator is required");
+        assertRejected(() -> Recorder.create(StatusCodeGenerator.allCodes(), null, file), "codec is required");
+        assertRejected(() -> Recorder.create(StatusCodeGenerator.allCodes(), ValueCodec.integers(), null),
+                "file is required");
+        assertRejected(() -> Recorder.record(StatusCodeGenerator.allCodes(), ValueCodec.integers(), -1, file),
+                "n must not be negative");
+        Recorder.record(StatusCodeGenerator.allCodes(), ValueCodec.integers(), 0, file);
+        assertThat(Replay.open(file, ValueCodec.integers()).size(), is(0L));
+    }
+}
@@ -0,0 +1,90 @@
+package au.com.paulmurphy.generators.corpus;
+
+import au.com.paulmurphy.generators.http.StatusCodeGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class ReplayTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    @Before
+    public void record() throws IOException {
+        file = folder.newFile().toPath();
+        Recorder.record(StatusCodeGenerator.allCodes(42L), ValueCodec.integers(), 3, file);
+    }
+
+    @Test
+    public void shouldThrowOnceEveryValueHasBeenReplayed() throws IOException {
+        Replay<Integer> underTest = Replay.open(file, ValueCodec.integers());
+        underTest.next();
+        underTest.next();
+        underTest.next();
+
+        try {
+            underTest.next();
+
+            fail("expected a NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            assertThat(ex.getMessage(), is(equalTo("all 3 recorded values have been replayed")));
+        }
+    }
+
+    @Test
+    public void rewindShouldStartAgainFromTheFirstValue() throws IOException {
+        Replay<Integer> underTest = Replay.open(file, ValueCodec.integers());
+        Integer first = underTest.next();
+        underTest.next();
+
+        assertThat(underTest.remaining(), is(1L));
+        assertThat(underTest.rewind().next(), is(equalTo(first)));
+        assertThat(underTest.remaining(), is(2L));
+        assertThat(underTest.size(), is(3L));
+    }
+
+    @Test
+    public void shouldRejectFilesWhichAreNotRecordings() throws IOException {
+        Path empty = folder.newFile().toPath();
+        assertRejected(() -> Replay.open(empty, ValueCodec.integers()), "file is not a recording");
+        Path other = folder.newFile().toPath();
+        Files.write(other, new byte[Recorder.HEADER_SIZE]);
+        assertRejected(() -> Replay.open(other, ValueCodec.integers()), "file is not a recording");
+    }
+
+    @Test
+    public void shouldRejectRecordingsWhichWereNotClosed() throws IOException {
+        Path open = folder.newFile().toPath();
+        Recorder<Integer> recorder = Recorder.create(StatusCodeGenerator.allCodes(), ValueCodec.integers(), open);
+        recorder.next();
+        Files.write(open, ByteBuffer.allocate(Recorder.HEADER_SIZE).putInt(Recorder.MAGIC).putLong(-1)
+                .array());
+
+        assertRejected(() -> Replay.open(open, ValueCodec.integers()), "recording was not closed");
+    }
+
+    @Test
+    public void shouldRejectMissingArguments() throws IOException {
+        assertRejected(() -> Replay.open(null, ValueCodec.integers()), "file is required");
+        assertRejected(() -> Replay.open(file, null), "codec is required");
+    }
+}
@@ -0,0 +1,80 @@
+package au.com.paulmurphy.generators.corpus;
+
+import net.java.quickcheck.collection.Pair;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class ValueCodecTest {
+
+    @Test
+    public void integersShouldRoundTrip() throws IOException {
+        int[] values = {0, 1, -1, 63, -64, 64, 200, 404, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        ValueCodec<Integer> codec = ValueCodec.integers();
+        ByteBuffer in = encode(codec, values.length, i -> values[i]);
+
+        for (int value : values) {
+            assertThat(codec.read(in), is(value));
+        }
+        assertThat(in.remaining(), is(0));
+    }
+
+    @Test
+    public void integersShouldTakeOneByteUpTo63AndTwoUpTo8191() throws IOException {
+        ValueCodec<Integer> codec = ValueCodec.integers();
+
+        assertThat(encode(codec, 1, i -> 63).remaining(), is(1));
+        assertThat(encode(codec, 1, i -> -64).remaining(), is(1));
+        assertThat(encode(codec, 1, i -> 64).remaining(), is(2));
+        assertThat(encode(codec, 1, i -> 8191).remaining(), is(2));
+        assertThat(encode(codec, 1, i -> 8192).remaining(), is(3));
+        assertThat(encode(codec, 1, i -> Integer.MIN_VALUE).remaining(), is(5));
+    }
+
+    @Test
+    public void stringsShouldRoundTripAnyLengthAndCharacter() throws IOException {
+        StringBuilder longValue = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            longValue.append((char) ('a' + i % 26));
+        }
+        String[] values = {"", "text/html", "/päth/ünicode/€", longValue.toString(), "a"};
+        ValueCodec<String> codec = ValueCodec.strings();
+        ByteBuffer in = encode(codec, values.length, i -> values[i]);
+
+        for (String value : values) {
+            assertThat(codec.read(in), is(equalTo(value)));
+        }
+        assertThat(in.remaining(), is(0));
+        assertThat(encode(codec, 1, i -> longValue.toString()).remaining(), is(302));
+    }
+
+    @Test
+    public void headersShouldRoundTrip() throws IOException {
+        ValueCodec<Pair<String, String>> codec = ValueCodec.headers();
+        ByteBuffer in = encode(codec, 2, i -> new Pair<>("Accept" + i, "text/plain" + i));
+
+        assertThat(codec.read(in), is(equalTo(new Pair<>("Accept0", "text/plain0"))));
+        assertThat(codec.read(in), is(equalTo(new Pair<>("Accept1", "text/plain1"))));
+    }
+
+    private static <T> ByteBuffer encode(final ValueCodec<T> codec, final int n,
+                                         final IntFunction<T> values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < n; i++) {
+            codec.write(values.apply(i), out);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,203 @@
+package au.com.paulmurphy.generators.http;
+
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Paul Murphy
+ */
+public class HeaderBlockGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 200;
+    private static final String REQUEST_LINE =
+            "(GET|HEAD|POST|PUT|DELETE|OPTIONS|PATCH) (/[a-z]{3,25}){1,5} HTTP/1\\.1";
+
+    @Test
+    public void shouldProduceWellFormedBlocks() {
+        HeaderBlockGenerator underTest = new HeaderBlockGenerator();
+        for (int i = 0; i < SAMPLES; i++) {
+            List<String> lines = lines(underTest.next());
+
+            assertTrue(lines.get(0), lines.get(0).matches(REQUEST_LINE));
+            for (String header : lines.subList(1, lines.size() - 1)) {
+                String[] parts = header.split(": ", 2);
+                int name = HeaderGenerator.WIRE_NAMES.indexOf(parts[0]);
+
+                assertTrue(header, name >= 0);
+                assertTrue(header, parts[1].matches(HeaderGeneratorTest.valuePattern(
+                        HeaderGenerator.HEADER_NAMES.get(name))));
+            }
+            assertThat(lines.get(lines.size() - 1), is(equalTo("")));
+        }
+    }
+
+    @Test
+    public void shouldProduceTheConfiguredNumberOfHeaders() {
+        HeaderBlockGenerator underTest = new HeaderBlockGenerator(2, 4);
+        Set<Integer> counts = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.add(lines(underTest.next()).size() - 2);
+        }
+        assertThat(counts, is(equalTo(new HashSet<>(Arrays.asList(2, 3, 4)))));
+    }
+
+    @Test
+    public void shouldAllowBlocksWithoutHeaders() {
+        List<String> lines = lines(new HeaderBlockGenerator(SEED, 0, 0).next());
+
+        assertThat(lines.size(), is(2));
+        assertTrue(lines.get(0).matches(REQUEST_LINE));
+    }
+
+    @Test
+    public void typedHeadersShouldHaveValuesInTheirFormats() {
+        HeaderBlockGenerator underTest = new HeaderBlockGenerator(SEED);
+        Set<String> typedHeaders = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            for (String header : lines(underTest.next())) {
+                String[] parts = header.split(": ", 2);
+                if ("Accept".equals(parts[0]) || "Content-Type".equals(parts[0])) {
+                    assertTrue(header, MimeTypeGenerator.ALL_MIME_TYPES.contains(parts[1]));
+                    typedHeaders.add(parts[0]);
+                } else if ("Content-Length".equals(parts[0]) || "Max-Forwards".equals(parts[0])) {
+                    assertTrue(header, parts[1].matches("0|[1-9][0-9]*"));
+                    typedHeaders.add(parts[0]);
+                }
+            }
+        }
+        assertThat(typedHeaders.size(), is(4));
+    }
+
+    @Test
+    public void nextShouldReuseADirectBuffer() {
+        HeaderBlockGenerator underTest = new HeaderBlockGenerator(SEED);
+        ByteBuffer first = underTest.next();
+
+        assertTrue(first.isDirect());
+        assertThat(first.position(), is(0));
+        assertThat(first.capacity(), is(underTest.maxBlockSize()));
+        assertThat(underTest.next(), is(sameInstance(first)));
+    }
+
+    @Test
+    public void nextIntoShouldWriteAtThePositionOfTheBuffer() {
+        ByteBuffer dest = ByteBuffer.allocate(new HeaderBlockGenerator().maxBlockSize() + 3);
+        dest.put(new byte[] {'a', 'b', 'c'});
+
+        int written = new HeaderBlockGenerator(SEED).nextInto(dest);
+
+        assertThat(dest.position(), is(3 + written));
+        dest.flip();
+        ByteBuffer expected = new HeaderBlockGenerator(SEED).next();
+        assertThat(written, is(expected.remaining()));
+        dest.position(3);
+        assertThat(dest, is(equalTo(expected)));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void nextIntoShouldFailWhenTheBlockDoesNotFit() {
+        new HeaderBlockGenerator().nextInto(ByteBuffer.allocate(8));
+    }
+
+    @Test
+    public void maxBlockSizeShouldHoldTheLargestBlocks() {
+        HeaderBlockGenerator underTest = new HeaderBlockGenerator(SEED, 50, 50);
+        int largest = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            largest = Math.max(largest, underTest.next().remaining());
+        }
+        assertThat(largest, is(allOf(greaterThanOrEqualTo(underTest.maxBlockSize() / 4),
+                lessThanOrEqualTo(underTest.maxBlockSize()))));
+    }
+
+    @Test
+    public void maxBlockSizeShouldAddUpTheLongestParts() {
+        // "OPTIONS " + the longest path + " HTTP/1.1\r\n" + "\r\n"
+        final int requestLine = 8 + 131 + 11 + 2;
+        // "Proxy-Authorization" + ": " + "max-stale=86400, max-stale=86400, max-stale=86400" + "\r\n"
+        final int header = 19 + 2 + 49 + 2;
+
+        assertThat(new HeaderBlockGenerator(0, 0).maxBlockSize(), is(requestLine));
+        assertThat(new HeaderBlockGenerator(0, 10).maxBlockSize(), is(requestLine + 10 * header));
+    }
+
+    @Test
+    public void seededBlocksShouldBeReproducible() {
+        assertThat(blocks(new HeaderBlockGenerator(SEED), 50), is(equalTo(blocks(new HeaderBlockGenerator(SEED), 50))));
+        assertThat(blocks(new HeaderBlockGenerator(SEED), 50),
+                is(not(equalTo(blocks(new HeaderBlockGenerator(SEED + 1), 50)))));
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        HeaderBlockGenerator drawn = new HeaderBlockGenerator(SEED);
+        blocks(drawn, 100);
+
+        assertThat(blocks(new HeaderBlockGenerator(SEED).skip(100), 10), is(equalTo(blocks(drawn, 10))));
+        assertThat(blocks(new HeaderBlockGenerator(SEED).skip(0), 10),
+                is(equalTo(blocks(new HeaderBlockGenerator(SEED), 10))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedBlocksWithoutASeed() {
+        RandomConfiguration.setSeed(SEED);
+        HeaderBlockGenerator drawn = new HeaderBlockGenerator();
+        blocks(drawn, 10);
+        List<String> expected = blocks(drawn, 10);
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(blocks(new HeaderBlockGenerator().skip(10), 10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void splitShouldKeepTheNumberOfHeaders() {
+        HeaderBlockGenerator parent = new HeaderBlockGenerator(SEED, 3, 3);
+        HeaderBlockGenerator split = parent.split();
+
+        assertThat(lines(split.next()).size(), is(5));
+        assertFalse(split.next() == parent.next());
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> new HeaderBlockGenerator(-1, 1), "minHeaders must not be negative");
+        assertRejected(() -> new HeaderBlockGenerator(SEED, 2, 1), "minHeaders must not be greater than maxHeaders");
+        assertRejected(() -> new HeaderBlockGenerator().skip(-1), "n must not be negative");
+    }
+
+    private static List<String> blocks(final HeaderBlockGenerator generator, final int n) {
+        List<String> blocks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            blocks.add(StandardCharsets.US_ASCII.decode(generator.next()).toString());
+        }
+        return blocks;
+    }
+
+    private static List<String> lines(final ByteBuffer block) {
+        String text = StandardCharsets.US_ASCII.decode(block).toString();
+        assertTrue(text.endsWith("\r\n\r\n"));
+        return Arrays.asList(text.substring(0, text.length() - 2).split("\r\n", -1));
+    }
+}
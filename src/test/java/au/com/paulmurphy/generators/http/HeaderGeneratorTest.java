@@ -1,21 +1,28 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.Shrinker;
+import au.com.paulmurphy.generators.RandomSource;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
-import net.java.quickcheck.Generator;
 import net.java.quickcheck.characteristic.AbstractCharacteristic;
 import net.java.quickcheck.collection.Pair;
 import net.java.quickcheck.generator.PrimitiveGenerators;
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
 import net.java.quickcheck.generator.iterable.Iterables;
 import org.junit.Test;
 
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import static net.java.quickcheck.QuickCheck.forAll;
-import static net.java.quickcheck.QuickCheck.guard;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -28,6 +35,10 @@ public class HeaderGeneratorTest {
     private static final String CONTENT_TYPE = "Content-type";
     private static final String APPLICATION_JSON = "application/json";
     private static final String EMPTY = "";
+    private static final int SAMPLES = 1000;
+    private static final String DIRECTIVE =
+            "(no-cache|no-store|no-transform|only-if-cached|(max-age|max-stale|min-fresh)=(0|[1-9][0-9]{0,4}))";
+    private static final String BYTE_RANGE = "(-[1-9][0-9]*|(0|[1-9][0-9]*)-(0|[1-9][0-9]*)?)";
 
     @Test
     public void shouldContainAllPreConfiguredHeaderNames() {
@@ -76,43 +87,373 @@ public class HeaderGeneratorTest {
     }
 
     @Test
-    public void shouldThrowIllegalArgumentExceptionWhenHeaderNameIsNull() {
+    public void shouldRejectIndexesOutsideTheHeaderNames() {
         HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider();
 
-        try {
-            provider.provide(null);
+        for (int index : new int[] {-1, HeaderGenerator.HEADER_NAMES.size()}) {
+            try {
+                provider.value(index);
 
-            fail("excepted an IllegalArgumentException");
-        } catch (IllegalArgumentException ex) {
-            //Success
+                fail("excepted an IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                //Success
+            }
         }
-
     }
 
     @Test
-    public void shouldReturnMimeTypeGenerator() {
+    public void shouldProduceMimeTypes() {
         HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider();
 
-        assertThat(provider.provide("Accept"), is(instanceOf(MimeTypeGenerator.class)));
-        assertThat(provider.provide("Content-Type"), is(instanceOf(MimeTypeGenerator.class)));
+        for (String headerName : Arrays.asList("Accept", "Content-Type")) {
+            assertTrue(HeaderGenerator.GeneratorProvider.takesMimeType(headerName));
+            assertThat(MimeTypeGenerator.ALL_MIME_TYPES, hasItem(provider.value(indexOf(headerName))));
+            assertThat(MimeTypeGenerator.ALL_MIME_TYPES, hasItem(provider.drawnValue(indexOf(headerName))));
+        }
     }
 
     @Test
-    public void shouldNotReturnMimeTypeGenerator() {
-        Generator<String> headerNames = PrimitiveGenerators.fixedValues(HeaderGenerator.HEADER_NAMES);
+    public void shouldNotProduceMimeTypes() {
         HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider();
 
-        forAll(headerNames, new AbstractCharacteristic<String>() {
-            @Override
-            protected void doSpecify(String headerName) throws Throwable {
-                guard(headerName != "Accept");
-                guard(headerName != "Content-Type");
+        for (int i = 0; i < HeaderGenerator.HEADER_NAMES.size(); i++) {
+            String headerName = HeaderGenerator.HEADER_NAMES.get(i);
+            if (!"Accept".equals(headerName) && !"Content-Type".equals(headerName)) {
+                assertFalse(headerName, HeaderGenerator.GeneratorProvider.takesMimeType(headerName));
+                assertFalse(headerName, provider.value(i).contains("/"));
+            }
+        }
+    }
+
+    @Test
+    public void drawnValueShouldOnlyDifferFromValueForMimeTypes() {
+        HeaderGenerator.GeneratorProvider values = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        HeaderGenerator.GeneratorProvider drawn = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
 
-                assertThat(provider.provide(headerName), is(not(instanceOf(MimeTypeGenerator.class))));
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            for (int i = 0; i < HeaderGenerator.HEADER_NAMES.size(); i++) {
+                String headerName = HeaderGenerator.HEADER_NAMES.get(i);
+                if (!HeaderGenerator.GeneratorProvider.takesMimeType(headerName)) {
+                    assertThat(headerName, drawn.drawnValue(i), is(equalTo(values.value(i))));
+                }
             }
-        });
+        }
+    }
+
+    @Test
+    public void valuesShouldNotBeLongerThanTheLongestValue() {
+        assertThat(DateGenerator.maxValueLength(), is("Thu, 01 Jan 2015 00:00:00 GMT".length()));
+        assertThat(HostGenerator.maxValueLength(), is("abcdefghijkl.com.au:65535".length()));
+        assertThat(CacheControlGenerator.maxValueLength(),
+                is("max-stale=86400, max-stale=86400, max-stale=86400".length()));
+        assertThat(RangeGenerator.maxValueLength(), is("bytes=1048576-1114112, 1048576-1114112".length()));
+        assertThat(HeaderGenerator.GeneratorProvider.maxValueLength(), is(CacheControlGenerator.maxValueLength()));
+
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            for (int i = 0; i < HeaderGenerator.HEADER_NAMES.size(); i++) {
+                String value = provider.drawnValue(i);
+                assertTrue(value, value.length() <= HeaderGenerator.GeneratorProvider.maxValueLength());
+            }
+        }
+    }
+
+    @Test
+    public void randomNamesAndLetterValuesShouldHaveTheLettersAndLengthsOfLetterStrings() {
+        Set<Character> expectedLetters = new HashSet<>();
+        Set<Integer> expectedLengths = new HashSet<>();
+        for (String letters : Iterables.toIterable(PrimitiveGenerators.letterStrings(5, 20), SAMPLES)) {
+            addLettersAndLength(letters, expectedLetters, expectedLengths);
+        }
+
+        Set<Character> letters = new HashSet<>();
+        Set<Integer> lengths = new HashSet<>();
+        HeaderGenerator underTest = new HeaderGenerator(42L);
+        underTest.nextBatch(HeaderGenerator.HEADER_NAMES.size());
+        for (Pair<String, String> header : underTest.nextBatch(SAMPLES)) {
+            addLettersAndLength(header.getFirst(), letters, lengths);
+            addLettersAndLength(header.getSecond(), letters, lengths);
+        }
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            for (int i = 0; i < HeaderGenerator.HEADER_NAMES.size(); i++) {
+                if ("[a-zA-Z]{5,20}".equals(valuePattern(HeaderGenerator.HEADER_NAMES.get(i)))) {
+                    addLettersAndLength(provider.value(i), letters, lengths);
+                }
+            }
+        }
+
+        assertThat(letters, is(equalTo(expectedLetters)));
+        assertThat(lengths, is(equalTo(expectedLengths)));
+    }
+
+    @Test
+    public void headerNamesShouldBeUnique() {
+        assertThat(new HashSet<>(HeaderGenerator.HEADER_NAMES).size(), is(HeaderGenerator.HEADER_NAMES.size()));
+    }
+
+    @Test
+    public void typedHeadersShouldHaveValuesInTheirFormats() {
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        for (int i = 0; i < HeaderGenerator.HEADER_NAMES.size(); i++) {
+            String headerName = HeaderGenerator.HEADER_NAMES.get(i);
+            Set<String> values = new HashSet<>();
+            for (int sample = 0; sample < SAMPLES; sample++) {
+                String value = provider.value(i);
+                assertTrue(headerName + ": " + value, value.matches(valuePattern(headerName)));
+                values.add(value);
+            }
+            assertThat(headerName, values.size() > 1, is(true));
+        }
+    }
+
+    @Test
+    public void datesShouldBeAFixedSetOfRfc1123Dates() {
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        Set<Instant> instants = new HashSet<>();
+        for (int sample = 0; sample < 20 * DateGenerator.DATES; sample++) {
+            instants.add(Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(provider.value(indexOf("Date")))));
+        }
+
+        assertThat(instants.size(), is(DateGenerator.DATES));
+        assertThat(Collections.min(instants), is(equalTo(Instant.parse("2015-01-01T00:00:00Z"))));
+        assertThat(Collections.max(instants),
+                is(equalTo(Instant.ofEpochSecond(
+                        DateGenerator.FIRST + (DateGenerator.DATES - 1) * DateGenerator.STEP))));
+    }
+
+    @Test
+    public void numbersShouldHaveEveryNumberOfDigits() {
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        Set<Integer> lengths = new HashSet<>();
+        Set<String> singleDigits = new HashSet<>();
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            String contentLength = provider.value(indexOf("Content-Length"));
+            lengths.add(contentLength.length());
+            if (contentLength.length() == 1) {
+                singleDigits.add(contentLength);
+            }
+            assertThat(Long.parseLong(contentLength) >= 0, is(true));
+        }
+
+        assertThat(lengths.size(), is(10));
+        assertThat(singleDigits.size(), is(10));
+    }
+
+    @Test
+    public void hostsShouldSometimesHaveAPort() {
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        int withPort = 0;
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            String[] host = provider.value(indexOf("Host")).split(":");
+            if (host.length == 2) {
+                int port = Integer.parseInt(host[1]);
+                assertTrue(port >= 1 && port <= 65_535);
+                withPort++;
+            }
+        }
+
+        assertTrue(String.valueOf(withPort), withPort > SAMPLES / 8 && withPort < SAMPLES / 2);
+    }
+
+    @Test
+    public void boundedRangesShouldNotEndBeforeTheyStart() {
+        HeaderGenerator.GeneratorProvider provider = new HeaderGenerator.GeneratorProvider(RandomSource.seeded(42L));
+        Set<String> forms = new HashSet<>();
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            for (String range : provider.value(indexOf("Range")).substring("bytes=".length()).split(", ")) {
+                String[] bounds = range.split("-", -1);
+                if (bounds[0].isEmpty()) {
+                    forms.add("suffix");
+                } else if (bounds[1].isEmpty()) {
+                    forms.add("open");
+                } else {
+                    forms.add("bounded");
+                    assertTrue(range, Integer.parseInt(bounds[0]) <= Integer.parseInt(bounds[1]));
+                }
+            }
+        }
+
+        assertThat(forms.size(), is(3));
+    }
+
+    @Test
+    public void nextBatchShouldProduceThePreConfiguredHeadersFirst() {
+        HeaderGenerator underTest = new HeaderGenerator();
+        int configured = HeaderGenerator.HEADER_NAMES.size();
+
+        List<Pair<String, String>> headers = underTest.nextBatch(configured + 100);
+
+        for (int i = 0; i < headers.size(); i++) {
+            Pair<String, String> header = headers.get(i);
+            if (i < configured) {
+                assertThat(header.getFirst(), is(equalTo(HeaderGenerator.HEADER_NAMES.get(i))));
+            } else {
+                assertTrue(header.getFirst().matches("[a-zA-Z]{5,20}"));
+            }
+            assertThat(header.getSecond(), is(not(equalTo(EMPTY))));
+        }
+    }
+
+    @Test
+    public void fillShouldContinueFromTheLastPreConfiguredHeader() {
+        HeaderGenerator underTest = new HeaderGenerator();
+        List<String> names = HeaderGenerator.HEADER_NAMES;
+        @SuppressWarnings("unchecked")
+        Pair<String, String>[] dest = new Pair[names.size() + 1];
+
+        assertThat(underTest.next().getFirst(), is(equalTo(names.get(0))));
+        underTest.fill(dest, 0, names.size());
+
+        for (int i = 1; i < names.size(); i++) {
+            assertThat(dest[i - 1].getFirst(), is(equalTo(names.get(i))));
+        }
+        assertTrue(dest[names.size() - 1].getFirst().matches("[a-zA-Z]{5,20}"));
+        assertThat(dest[names.size()], is(nullValue()));
+        assertTrue(underTest.next().getFirst().matches("[a-zA-Z]{5,20}"));
+    }
+
+    @Test
+    public void fillShouldStopWithinThePreConfiguredHeaders() {
+        @SuppressWarnings("unchecked")
+        Pair<String, String>[] dest = new Pair[4];
+
+        new HeaderGenerator().fill(dest, 0, 3);
+
+        assertThat(dest[2].getFirst(), is(equalTo(HeaderGenerator.HEADER_NAMES.get(2))));
+        assertThat(dest[3], is(nullValue()));
+    }
+
+    @Test
+    public void configuredHeadersShouldHaveValuesInTheirFormats() {
+        for (Pair<String, String> header : new HeaderGenerator().nextBatch(HeaderGenerator.HEADER_NAMES.size())) {
+            if ("Accept".equals(header.getFirst()) || "Content-Type".equals(header.getFirst())) {
+                assertTrue(MimeTypeGenerator.ALL_MIME_TYPES.contains(header.getSecond()));
+            } else {
+                assertTrue(header.toString(), header.getSecond().matches(valuePattern(header.getFirst())));
+            }
+        }
     }
 
+    @Test
+    public void nextBatchShouldAllowEmptyBatches() {
+        assertTrue(new HeaderGenerator().nextBatch(0).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectNegativeLengths() {
+        new HeaderGenerator().fill(new Pair[3], 2, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextBatchShouldRejectNegativeSizes() {
+        new HeaderGenerator().nextBatch(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectRangesOutsideTheArray() {
+        new HeaderGenerator().fill(new Pair[1], 0, 2);
+    }
+
+    @Test
+    public void seededHeadersShouldBeReproducible() {
+        assertThat(new HeaderGenerator(42L).nextBatch(100), is(equalTo(new HeaderGenerator(42L).nextBatch(100))));
+        assertThat(new HeaderGenerator(42L).nextBatch(100), is(not(equalTo(new HeaderGenerator(43L).nextBatch(100)))));
+    }
+
+    @Test
+    public void seededFillShouldProduceTheSameHeadersAsNext() {
+        HeaderGenerator drawn = new HeaderGenerator(42L);
+        for (Pair<String, String> header : new HeaderGenerator(42L).nextBatch(100)) {
+            assertThat(drawn.next(), is(equalTo(header)));
+        }
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        for (int n : new int[] {0, 5, HeaderGenerator.HEADER_NAMES.size(), 1000}) {
+            HeaderGenerator drawn = new HeaderGenerator(42L);
+            drawn.nextBatch(n);
+
+            assertThat(new HeaderGenerator(42L).skip(n).nextBatch(50), is(equalTo(drawn.nextBatch(50))));
+        }
+        HeaderGenerator partial = new HeaderGenerator(42L);
+        partial.nextBatch(10);
+        HeaderGenerator partialDrawn = new HeaderGenerator(42L);
+        partialDrawn.nextBatch(40);
+        assertThat(partial.skip(30).nextBatch(10), is(equalTo(partialDrawn.nextBatch(10))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedHeadersWithoutASeed() {
+        RandomConfiguration.setSeed(42L);
+        HeaderGenerator drawn = new HeaderGenerator();
+        drawn.nextBatch(100);
+        List<Pair<String, String>> expected = drawn.nextBatch(10);
+
+        RandomConfiguration.setSeed(42L);
+        assertThat(new HeaderGenerator().skip(100).nextBatch(10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void skipShouldRejectNegativeCounts() {
+        try {
+            new HeaderGenerator().skip(-1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("n must not be negative")));
+        }
+    }
+
+    @Test
+    public void nextValueShouldProduceValuesInTheFormatOfTheHeader() {
+        HeaderGenerator underTest = new HeaderGenerator(42L);
+        for (String headerName : HeaderGenerator.HEADER_NAMES) {
+            String wireName = headerName.split(" ")[0];
+            for (int i = 0; i < 20; i++) {
+                String value = underTest.nextValue(wireName);
+                assertTrue(wireName + ": " + value, value.matches(valuePattern(headerName)));
+            }
+        }
+        assertThat(underTest.remainingEnsuredValues(), is(HeaderGenerator.HEADER_NAMES.size()));
+    }
+
+    @Test
+    public void nextValueShouldTakeThePlaceOfAHeader() {
+        HeaderGenerator drawn = new HeaderGenerator(42L);
+        drawn.nextBatch(50);
+        String expected = drawn.nextValue("Referer");
+
+        assertThat(new HeaderGenerator(42L).skip(50).nextValue("Referer"), is(equalTo(expected)));
+        assertThat(new HeaderGenerator(42L).skip(51).nextValue("User-Agent"),
+                is(equalTo(drawn.nextValue("User-Agent"))));
+    }
+
+    @Test
+    public void mimeTypeValuesShouldDependOnlyOnTheirPosition() {
+        for (String headerName : Arrays.asList("Accept", "Content-Type")) {
+            HeaderGenerator drawn = new HeaderGenerator(42L);
+            for (int i = 0; i < 40; i++) {
+                drawn.nextValue(headerName);
+            }
+            String expected = drawn.nextValue(headerName);
+
+            assertThat(MimeTypeGenerator.ALL_MIME_TYPES, hasItem(expected));
+            assertThat(new HeaderGenerator(42L).skip(40).nextValue(headerName), is(equalTo(expected)));
+        }
+    }
+
+    @Test
+    public void nextValueShouldRejectUnknownNames() {
+        try {
+            new HeaderGenerator().nextValue("Referer [sic]");
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("headerName must be one of HEADER_NAMES")));
+        }
+    }
 
     /**
      *
@@ -146,5 +487,100 @@ public class HeaderGeneratorTest {
         return builder.build();
     }
 
+    @Test
+    public void splitShouldStartWithTheConfiguredHeadersAgain() {
+        HeaderGenerator parent = new HeaderGenerator();
+        parent.nextBatch(HeaderGenerator.HEADER_NAMES.size());
+
+        List<Pair<String, String>> headers = parent.split().nextBatch(HeaderGenerator.HEADER_NAMES.size());
+        for (int i = 0; i < headers.size(); i++) {
+            assertThat(headers.get(i).getFirst(), is(HeaderGenerator.HEADER_NAMES.get(i)));
+        }
+    }
+
+    @Test
+    public void splitShouldProduceRandomLetterKeysAndValues() {
+        HeaderGenerator underTest = new HeaderGenerator().split();
+        underTest.nextBatch(HeaderGenerator.HEADER_NAMES.size());
 
-}
\ No newline at end of file
+        Set<Character> characters = new HashSet<>();
+        for (Pair<String, String> header : underTest.nextBatch(100)) {
+            assertTrue(header.getFirst().matches("[a-zA-Z]{5,20}"));
+            assertTrue(header.getSecond().matches("[a-zA-Z]{5,20}"));
+            for (char c : header.getFirst().toCharArray()) {
+                characters.add(c);
+            }
+        }
+        assertThat(characters.size(), is(52));
+    }
+
+    @Test
+    public void shrinkerShouldMapRandomNamesToHeaderNamesAndShortenLetterValues() {
+        Shrinker<Pair<String, String>> underTest = new HeaderGenerator().shrinker();
+
+        assertThat(underTest.shrink(new Pair<>("qwertyuiop", "asdfghjklzx"), header -> true),
+                is(equalTo(new Pair<>("Accept-Charset", "asdfg"))));
+        assertThat(underTest.shrink(new Pair<>("qwertyuiop", "asdfghjklzx"),
+                header -> header.getFirst().startsWith("D")),
+                is(equalTo(new Pair<>("Date", "asdfg"))));
+    }
+
+    @Test
+    public void shrinkerShouldShortenRandomNamesWhichMustStayRandom() {
+        Shrinker<Pair<String, String>> underTest = new HeaderGenerator().shrinker();
+
+        assertThat(underTest.shrink(new Pair<>("qwertyuiop", "asdfghjklzx"),
+                header -> !HeaderGenerator.HEADER_NAMES.contains(header.getFirst())),
+                is(equalTo(new Pair<>("qwert", "asdfg"))));
+        assertThat(underTest.shrink(new Pair<>("qwertyuiop", "asdfghjklzx"),
+                header -> !HeaderGenerator.HEADER_NAMES.contains(header.getFirst()) && header.getFirst().contains("i")
+                        && header.getSecond().length() > 9),
+                is(equalTo(new Pair<>("qwertyui", "asdfghjklz"))));
+    }
+
+    @Test
+    public void shrinkerShouldLeaveFormattedValuesAsTheyAre() {
+        Shrinker<Pair<String, String>> underTest = new HeaderGenerator().shrinker();
+        Pair<String, String> date = new Pair<>("Date", "Thu, 01 Jan 2015 00:00:00 GMT");
+
+        assertThat(underTest.shrinkStep(date, header -> true), is(nullValue()));
+        assertThat(underTest.shrinkStep(new Pair<>("Host", "abcde"), header -> true), is(nullValue()));
+    }
+
+    private static int indexOf(final String headerName) {
+        return HeaderGenerator.HEADER_NAMES.indexOf(headerName);
+    }
+
+    private static void addLettersAndLength(final String value, final Set<Character> letters,
+                                            final Set<Integer> lengths) {
+        for (char c : value.toCharArray()) {
+            letters.add(c);
+        }
+        lengths.add(value.length());
+    }
+
+    static String valuePattern(final String headerName) {
+        switch (headerName) {
+            case "Accept":
+            case "Content-Type":
+                return "[a-z]+/[a-zA-Z0-9.+-]+";
+            case "Date":
+            case "If-Modified-Since":
+            case "If-Unmodified-Since":
+                return "(Mon|Tue|Wed|Thu|Fri|Sat|Sun), [0-3][0-9] [A-Z][a-z]{2} 20[0-9]{2} "
+                        + "[0-2][0-9]:[0-5][0-9]:[0-5][0-9] GMT";
+            case "Content-Length":
+                return "0|[1-9][0-9]{0,9}";
+            case "Max-Forwards":
+                return "[0-9]|[1-9][0-9]";
+            case "Host":
+                return "[a-z]{3,12}\\.(com|org|net|io|com\\.au)(:[1-9][0-9]{0,4})?";
+            case "Cache-Control":
+                return DIRECTIVE + "(, " + DIRECTIVE + "){0,2}";
+            case "Range":
+                return "bytes=" + BYTE_RANGE + "(, " + BYTE_RANGE + ")?";
+            default:
+                return "[a-zA-Z]{5,20}";
+        }
+    }
+}
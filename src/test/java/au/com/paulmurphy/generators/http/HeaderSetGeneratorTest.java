@@ -0,0 +1,238 @@
+package au.com.paulmurphy.generators.http;
+
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.equalToIgnoringCase;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Paul Murphy
+ */
+public class HeaderSetGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 200;
+    private static final Set<String> WIRE_NAMES = HeaderGenerator.HEADER_NAMES.stream()
+            .map(name -> name.split(" ")[0]).collect(Collectors.toSet());
+
+    @Test
+    public void shouldProduceDistinctKnownNamesWithTheirValues() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator();
+        for (int i = 0; i < SAMPLES; i++) {
+            HeaderSet headers = underTest.next();
+
+            assertThat(headers.size(), is(allOf(greaterThanOrEqualTo(10), lessThanOrEqualTo(30))));
+            Set<String> names = new HashSet<>();
+            for (int h = 0; h < headers.size(); h++) {
+                String name = headers.name(h);
+                assertTrue(name, WIRE_NAMES.contains(name));
+                assertTrue(name, names.add(name));
+                if ("Accept".equals(name) || "Content-Type".equals(name)) {
+                    assertTrue(headers.value(h), MimeTypeGenerator.ALL_MIME_TYPES.contains(headers.value(h)));
+                } else {
+                    assertTrue(headers.value(h), headers.value(h).matches("[a-zA-Z]{5,20}"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldProduceTheConfiguredNumberOfHeaders() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator(2, 4);
+        Set<Integer> counts = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            counts.add(underTest.next().size());
+        }
+        assertThat(counts, is(equalTo(new HashSet<>(Arrays.asList(2, 3, 4)))));
+        assertThat(new HeaderSetGenerator(SEED, 0, 0).next().size(), is(0));
+    }
+
+    @Test
+    public void shouldUseExtensionNamesOnceTheKnownNamesAreUsedUp() {
+        HeaderSet headers = new HeaderSetGenerator(SEED, 40, 40).next();
+
+        Set<String> known = new HashSet<>();
+        for (int h = 0; h < WIRE_NAMES.size(); h++) {
+            known.add(headers.name(h));
+        }
+        assertThat(known, is(equalTo(WIRE_NAMES)));
+        for (int h = WIRE_NAMES.size(); h < headers.size(); h++) {
+            assertTrue(headers.name(h), headers.name(h).matches("X-[a-zA-Z]{5,20}"));
+            assertTrue(headers.value(h), headers.value(h).matches("[a-zA-Z]{5,20}"));
+        }
+    }
+
+    @Test
+    public void shouldRepeatNamesAtTheDuplicateNameRate() {
+        HeaderSetGenerator always = new HeaderSetGenerator(SEED, 5, 5).duplicateNameRate(1);
+        HeaderSet repeated = always.next();
+        for (int h = 1; h < repeated.size(); h++) {
+            assertThat(repeated.name(h), is(equalTo(repeated.name(0))));
+        }
+
+        HeaderSetGenerator underTest = new HeaderSetGenerator(SEED, 21, 21).duplicateNameRate(0.3);
+        int duplicates = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            HeaderSet headers = underTest.next();
+            Set<String> names = new HashSet<>();
+            for (int h = 0; h < headers.size(); h++) {
+                if (!names.add(headers.name(h))) {
+                    duplicates++;
+                    String value = headers.value(h);
+                    assertTrue(value, "Accept".equals(headers.name(h)) || "Content-Type".equals(headers.name(h))
+                            ? MimeTypeGenerator.ALL_MIME_TYPES.contains(value) : value.matches("[a-zA-Z]{5,20}"));
+                }
+            }
+        }
+        // 20 headers of each set may repeat a name
+        assertThat(duplicates, is(allOf(greaterThanOrEqualTo(1_100), lessThanOrEqualTo(1_300))));
+    }
+
+    @Test
+    public void shouldVaryTheCaseOfNamesAtTheCaseVariationRate() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator(SEED).caseVariationRate(1);
+        Map<String, Integer> variants = new HashMap<>();
+        int names = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            HeaderSet headers = underTest.next();
+            for (int h = 0; h < headers.size(); h++) {
+                String name = headers.name(h);
+                assertTrue(name, WIRE_NAMES.stream().anyMatch(name::equalsIgnoreCase));
+                if (name.length() >= 6) {
+                    names++;
+                    variants.merge(name.equals(name.toLowerCase()) ? "lower"
+                            : name.equals(name.toUpperCase()) ? "upper" : "mixed", 1, Integer::sum);
+                }
+            }
+        }
+        for (String variant : Arrays.asList("lower", "upper", "mixed")) {
+            assertThat(variant, variants.get(variant), is(allOf(greaterThanOrEqualTo(names * 28 / 100),
+                    lessThanOrEqualTo(names * 38 / 100))));
+        }
+
+        HeaderSetGenerator half = new HeaderSetGenerator(SEED, 20, 20).caseVariationRate(0.5);
+        int varied = 0;
+        for (int i = 0; i < SAMPLES; i++) {
+            HeaderSet headers = half.next();
+            for (int h = 0; h < headers.size(); h++) {
+                varied += WIRE_NAMES.contains(headers.name(h)) ? 0 : 1;
+            }
+        }
+        assertThat(varied, is(allOf(greaterThanOrEqualTo(1_800), lessThanOrEqualTo(2_200))));
+    }
+
+    @Test
+    public void ratesOfZeroShouldKeepTheNamesAsTheyAre() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator(SEED).duplicateNameRate(0).caseVariationRate(0);
+
+        assertThat(sets(underTest, 20), is(equalTo(sets(new HeaderSetGenerator(SEED), 20))));
+    }
+
+    @Test
+    public void nextShouldReuseItsSet() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator(SEED);
+        HeaderSet first = underTest.next();
+
+        assertThat(underTest.next(), is(sameInstance(first)));
+    }
+
+    @Test
+    public void nextIntoShouldGrowASmallSet() {
+        HeaderSetGenerator underTest = new HeaderSetGenerator(SEED, 100, 100).duplicateNameRate(0.2);
+        HeaderSet dest = new HeaderSet();
+
+        assertThat(underTest.nextInto(dest), is(100));
+        assertThat(dest.toString(), is(equalTo(new HeaderSetGenerator(SEED, 100, 100).duplicateNameRate(0.2).next()
+                .toString())));
+        assertThat(underTest.nextInto(dest), is(100));
+        assertThat(dest.toString(), is(equalTo(new HeaderSetGenerator(SEED, 100, 100).duplicateNameRate(0.2)
+                .skip(1).next().toString())));
+    }
+
+    @Test
+    public void seededSetsShouldBeReproducible() {
+        assertThat(sets(new HeaderSetGenerator(SEED), 50), is(equalTo(sets(new HeaderSetGenerator(SEED), 50))));
+        assertThat(sets(new HeaderSetGenerator(SEED), 50),
+                is(not(equalTo(sets(new HeaderSetGenerator(SEED + 1), 50)))));
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        HeaderSetGenerator drawn = variedGenerator(SEED);
+        sets(drawn, 100);
+
+        assertThat(sets(variedGenerator(SEED).skip(100), 10), is(equalTo(sets(drawn, 10))));
+        assertThat(sets(variedGenerator(SEED).skip(0), 10), is(equalTo(sets(variedGenerator(SEED), 10))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedSetsWithoutASeed() {
+        RandomConfiguration.setSeed(SEED);
+        HeaderSetGenerator drawn = new HeaderSetGenerator();
+        sets(drawn, 10);
+        List<String> expected = sets(drawn, 10);
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(sets(new HeaderSetGenerator().skip(10), 10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void splitShouldKeepTheConfiguration() {
+        HeaderSetGenerator parent = new HeaderSetGenerator(SEED, 3, 3).duplicateNameRate(1).caseVariationRate(1);
+        HeaderSetGenerator split = parent.split();
+
+        HeaderSet headers = split.next();
+        assertThat(headers.size(), is(3));
+        assertThat(headers.name(2), is(equalToIgnoringCase(headers.name(0))));
+        assertFalse(split.next() == parent.next());
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> new HeaderSetGenerator(-1, 1), "minHeaders must not be negative");
+        assertRejected(() -> new HeaderSetGenerator(SEED, 2, 1), "minHeaders must not be greater than maxHeaders");
+        assertRejected(() -> new HeaderSetGenerator().skip(-1), "n must not be negative");
+        assertRejected(() -> new HeaderSetGenerator().duplicateNameRate(-0.1),
+                "duplicateNameRate must be between 0 and 1");
+        assertRejected(() -> new HeaderSetGenerator().duplicateNameRate(1.1),
+                "duplicateNameRate must be between 0 and 1");
+        assertRejected(() -> new HeaderSetGenerator().duplicateNameRate(Double.NaN),
+                "duplicateNameRate must be between 0 and 1");
+        assertRejected(() -> new HeaderSetGenerator().caseVariationRate(-0.1),
+                "caseVariationRate must be between 0 and 1");
+        assertRejected(() -> new HeaderSetGenerator().caseVariationRate(1.1),
+                "caseVariationRate must be between 0 and 1");
+    }
+
+    private static HeaderSetGenerator variedGenerator(final long seed) {
+        return new HeaderSetGenerator(seed).duplicateNameRate(0.2).caseVariationRate(0.2);
+    }
+
+    private static List<String> sets(final HeaderSetGenerator generator, final int n) {
+        List<String> sets = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            sets.add(generator.next().toString());
+        }
+        return sets;
+    }
+}
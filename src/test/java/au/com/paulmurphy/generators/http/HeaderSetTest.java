@@ -0,0 +1,130 @@
+package au.com.paulmurphy.generators.http;
+
+import org.junit.Test;
+
+import static au.com.paulmurphy.generators.Rejections.assertOutOfBounds;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class HeaderSetTest {
+
+    @Test
+    public void headersShouldBePackedOneAfterAnother() {
+        HeaderSet underTest = headers("Accept", "text/html", "Host", "example.com");
+
+        assertThat(underTest.size(), is(2));
+        assertThat(underTest.nameOffset(0), is(0));
+        assertThat(underTest.nameLength(0), is(6));
+        assertThat(underTest.valueOffset(0), is(6));
+        assertThat(underTest.valueLength(0), is(9));
+        assertThat(underTest.nameOffset(1), is(15));
+        assertThat(underTest.nameLength(1), is(4));
+        assertThat(underTest.valueOffset(1), is(19));
+        assertThat(underTest.valueLength(1), is(11));
+        assertThat(underTest.length(), is(30));
+        StringBuilder chars = new StringBuilder();
+        for (int i = 0; i < underTest.length(); i++) {
+            chars.append(underTest.charAt(i));
+        }
+        assertThat(chars.toString(), is(equalTo("Accepttext/htmlHostexample.com")));
+        assertThat(underTest.name(1), is(equalTo("Host")));
+        assertThat(underTest.value(1), is(equalTo("example.com")));
+    }
+
+    @Test
+    public void toStringShouldWriteHeaderLines() {
+        assertThat(headers("Accept", "text/html", "Via", "proxy").toString(),
+                is(equalTo("Accept: text/html\r\nVia: proxy\r\n")));
+        assertThat(new HeaderSet().toString(), is(equalTo("")));
+    }
+
+    @Test
+    public void shouldGrowToHoldLargerSets() {
+        HeaderSet underTest = new HeaderSet(1, 4);
+        underTest.clear(3);
+        for (int i = 0; i < 3; i++) {
+            append(underTest, "Name" + i, "Value" + i);
+        }
+
+        assertThat(underTest.size(), is(3));
+        assertThat(underTest.toString(), is(equalTo("Name0: Value0\r\nName1: Value1\r\nName2: Value2\r\n")));
+    }
+
+    @Test
+    public void appendCopyShouldRepeatCharsOfTheSet() {
+        HeaderSet underTest = new HeaderSet(2, 9);
+        underTest.clear(2);
+        append(underTest, "Cookie", "a=1");
+        underTest.appendCopy(underTest.nameOffset(0), underTest.nameLength(0));
+        underTest.startValue();
+        underTest.append('b');
+        underTest.endHeader();
+
+        assertThat(underTest.toString(), is(equalTo("Cookie: a=1\r\nCookie: b\r\n")));
+        assertThat(underTest.chars().length, is(2 * 9 + 6));
+    }
+
+    @Test
+    public void clearShouldEmptyTheSet() {
+        HeaderSet underTest = headers("Accept", "text/html");
+        char[] chars = underTest.chars();
+
+        underTest.clear(1);
+        append(underTest, "TE", "gzip");
+
+        assertThat(underTest.size(), is(1));
+        assertThat(underTest.toString(), is(equalTo("TE: gzip\r\n")));
+        assertThat(underTest.chars(), is(sameInstance(chars)));
+    }
+
+    @Test
+    public void copyShouldKeepTheHeaders() {
+        HeaderSet original = headers("Accept", "text/html", "Host", "example.com");
+
+        HeaderSet copy = original.copy();
+        original.clear(1);
+        append(original, "TE", "gzip");
+
+        assertThat(copy.toString(), is(equalTo("Accept: text/html\r\nHost: example.com\r\n")));
+        assertThat(copy.chars(), is(not(sameInstance(original.chars()))));
+        assertThat(copy.chars().length, is(30));
+    }
+
+    @Test
+    public void shouldRejectHeadersOutsideTheSet() {
+        HeaderSet underTest = headers("Accept", "text/html");
+
+        assertOutOfBounds(() -> underTest.nameOffset(1));
+        assertOutOfBounds(() -> underTest.nameLength(-1));
+        assertOutOfBounds(() -> underTest.valueOffset(1));
+        assertOutOfBounds(() -> underTest.valueLength(1));
+        assertOutOfBounds(() -> underTest.name(1));
+        assertOutOfBounds(() -> underTest.value(1));
+        assertOutOfBounds(() -> underTest.charAt(15));
+        assertOutOfBounds(() -> underTest.charAt(-1));
+    }
+
+    private static HeaderSet headers(final String... namesAndValues) {
+        HeaderSet headers = new HeaderSet();
+        headers.clear(namesAndValues.length / 2);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            append(headers, namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return headers;
+    }
+
+    private static void append(final HeaderSet headers, final String name, final String value) {
+        headers.append(name.toCharArray());
+        headers.startValue();
+        for (char c : value.toCharArray()) {
+            headers.append(c);
+        }
+        headers.endHeader();
+    }
+}
@@ -1,19 +1,39 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.Shrinker;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import net.java.quickcheck.characteristic.AbstractCharacteristic;
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
 import net.java.quickcheck.generator.iterable.Iterables;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.LongFunction;
 
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
 import static net.java.quickcheck.QuickCheck.forAll;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 
 /**
  * @author Paul Murphy
@@ -32,6 +52,31 @@ public class MimeTypeGeneratorTest {
         });
     }
 
+    @Test
+    public void nextIntoShouldAppendTheSameMimeTypesAsNext() {
+        List<LongFunction<MimeTypeGenerator>> factories = Arrays.asList(
+                MimeTypeGenerator::allMimeTypes, MimeTypeGenerator::text,
+                seed -> MimeTypeGenerator.weighted(ImmutableMap.of("text/html", 3.0, "image/png", 1.0), seed),
+                seed -> MimeTypeGenerator.pooled(20, 0, seed), seed -> MimeTypeGenerator.pooled(20, 0.25, seed));
+        for (LongFunction<MimeTypeGenerator> factory : factories) {
+            MimeTypeGenerator drawn = factory.apply(42L);
+            MimeTypeGenerator appended = factory.apply(42L);
+            StringBuilder builder = new StringBuilder("Accept: ");
+            for (int i = 0; i < 300; i++) {
+                builder.setLength("Accept: ".length());
+
+                assertThat(appended.nextInto(builder).toString(), is(equalTo("Accept: " + drawn.next())));
+            }
+        }
+    }
+
+    @Test
+    public void asGeneratorShouldBeTheGeneratorItself() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.allMimeTypes();
+
+        assertTrue(underTest.asGenerator() == underTest);
+    }
+
     @Test
     public void shouldContainRandomValues() {
         List<String> randomValues = FluentIterable.from(Iterables.toIterable(MimeTypeGenerator.allMimeTypes()))
@@ -76,6 +121,103 @@ public class MimeTypeGeneratorTest {
         contains(Iterables.toIterable(MimeTypeGenerator.video()), MimeTypeGenerator.VIDEO_MIME_TYPE);
     }
 
+    @Test
+    public void nextBatchShouldProduceTheFixedValuesBeforeRandomValues() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.allMimeTypes();
+
+        assertThat(underTest.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size()),
+                is(equalTo(MimeTypeGenerator.ALL_MIME_TYPES)));
+        for (String mimeType : underTest.nextBatch(1000)) {
+            assertTrue(mimeType.matches(MIME_TYPE_PATTERN));
+            assertFalse(MimeTypeGenerator.ALL_MIME_TYPES.contains(mimeType));
+        }
+    }
+
+    @Test
+    public void fillShouldContinueFromTheLastEnsuredValue() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.allMimeTypes();
+        List<String> expected = MimeTypeGenerator.ALL_MIME_TYPES;
+        String[] dest = new String[expected.size() + 2];
+
+        assertThat(underTest.next(), is(equalTo(expected.get(0))));
+        underTest.fill(dest, 1, expected.size());
+
+        assertThat(dest[0], is(nullValue()));
+        assertThat(Arrays.asList(dest).subList(1, expected.size()), is(equalTo(expected.subList(1, expected.size()))));
+        assertFalse(expected.contains(dest[expected.size()]));
+        assertThat(dest[expected.size() + 1], is(nullValue()));
+    }
+
+    @Test
+    public void nextBatchShouldOnlyContainFixedValues() {
+        for (String mimeType : MimeTypeGenerator.image().nextBatch(200)) {
+            assertTrue(MimeTypeGenerator.IMAGE_MIME_TYPE.contains(mimeType));
+        }
+    }
+
+    @Test
+    public void nextBatchShouldAllowEmptyBatches() {
+        assertTrue(MimeTypeGenerator.text().nextBatch(0).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectNegativeLengths() {
+        MimeTypeGenerator.text().fill(new String[3], 2, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextBatchShouldRejectNegativeSizes() {
+        MimeTypeGenerator.allMimeTypes().nextBatch(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectRangesOutsideTheArray() {
+        MimeTypeGenerator.text().fill(new String[3], -1, 2);
+    }
+
+    @Test
+    public void randomMimeTypesShouldHaveBoundedPartLengths() {
+        Set<Integer> leftLengths = new HashSet<>();
+        Set<Integer> rightLengths = new HashSet<>();
+        for (String mimeType : randomMimeTypes(5000)) {
+            int slash = mimeType.indexOf('/');
+            leftLengths.add(slash);
+            rightLengths.add(mimeType.length() - slash - 1);
+        }
+
+        assertThat(leftLengths, is(equalTo(range(10, 20))));
+        assertThat(rightLengths, is(equalTo(range(5, 15))));
+    }
+
+    @Test
+    public void randomMimeTypesShouldMostlyUseLettersRightOfTheSlash() {
+        int symbols = 0;
+        int characters = 0;
+        for (String mimeType : randomMimeTypes(5000)) {
+            String right = mimeType.substring(mimeType.indexOf('/') + 1);
+            characters += right.length();
+            symbols += right.replaceAll("[a-z]", "").length();
+        }
+
+        // One symbol for every ten letters
+        double ratio = (double) symbols / characters;
+        assertThat(ratio, is(both(greaterThan(0.07)).and(lessThan(0.11))));
+    }
+
+    private List<String> randomMimeTypes(final int count) {
+        MimeTypeGenerator generator = MimeTypeGenerator.allMimeTypes();
+        generator.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size());
+        return generator.nextBatch(count);
+    }
+
+    private Set<Integer> range(final int min, final int max) {
+        Set<Integer> values = new HashSet<>();
+        for (int i = min; i <= max; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
     private void contains(Iterable<String> iterable, List<String> fixedValues) {
         Set<String> underTest = ImmutableSet.copyOf(iterable);
 
@@ -86,4 +228,334 @@ public class MimeTypeGeneratorTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void splitShouldStartWithTheEnsuredMimeTypesAgain() {
+        MimeTypeGenerator parent = MimeTypeGenerator.allMimeTypes();
+        parent.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size());
+
+        assertThat(parent.split().nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size()),
+                is(equalTo(MimeTypeGenerator.ALL_MIME_TYPES)));
+    }
+
+    @Test
+    public void splitShouldKeepProducingRandomMimeTypes() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.allMimeTypes().split();
+        underTest.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size());
+
+        for (String mimeType : underTest.nextBatch(100)) {
+            assertTrue(mimeType.matches(MIME_TYPE_PATTERN));
+            assertFalse(MimeTypeGenerator.ALL_MIME_TYPES.contains(mimeType));
+        }
+    }
+
+    @Test
+    public void splitOfACategoryShouldStayWithinTheCategory() {
+        for (String mimeType : MimeTypeGenerator.video().split().nextBatch(100)) {
+            assertTrue(MimeTypeGenerator.VIDEO_MIME_TYPE.contains(mimeType));
+        }
+    }
+
+    @Test
+    public void seededFactoriesShouldBeReproducible() {
+        assertThat(MimeTypeGenerator.allMimeTypes(42L).nextBatch(100),
+                is(equalTo(MimeTypeGenerator.allMimeTypes(42L).nextBatch(100))));
+        assertThat(MimeTypeGenerator.application(42L).nextBatch(10),
+                is(equalTo(MimeTypeGenerator.application(42L).nextBatch(10))));
+    }
+
+    @Test
+    public void seededCategoriesShouldStayWithinTheirCategory() {
+        assertTrue(MimeTypeGenerator.APPLICATION_MIME_TYPE.containsAll(MimeTypeGenerator.application(42L).nextBatch(50)));
+        assertTrue(MimeTypeGenerator.AUDIO_MIME_TYPE.containsAll(MimeTypeGenerator.audio(42L).nextBatch(50)));
+        assertTrue(MimeTypeGenerator.IMAGE_MIME_TYPE.containsAll(MimeTypeGenerator.image(42L).nextBatch(50)));
+        assertTrue(MimeTypeGenerator.MULTIPART_MIME_TYPE.containsAll(MimeTypeGenerator.multipart(42L).nextBatch(50)));
+        assertTrue(MimeTypeGenerator.TEXT_MIME_TYPE.containsAll(MimeTypeGenerator.text(42L).nextBatch(50)));
+        assertTrue(MimeTypeGenerator.VIDEO_MIME_TYPE.containsAll(MimeTypeGenerator.video(42L).nextBatch(50)));
+    }
+
+    @Test
+    public void seededFillShouldProduceTheSameMimeTypesAsNext() {
+        MimeTypeGenerator drawn = MimeTypeGenerator.allMimeTypes(42L);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(drawn.next());
+        }
+
+        assertThat(MimeTypeGenerator.allMimeTypes(42L).nextBatch(100), is(equalTo(expected)));
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        for (long n : new long[] {0, 10, MimeTypeGenerator.ALL_MIME_TYPES.size(), 1000}) {
+            MimeTypeGenerator drawn = MimeTypeGenerator.allMimeTypes(42L);
+            drawn.nextBatch((int) n);
+
+            assertThat(MimeTypeGenerator.allMimeTypes(42L).skip(n).nextBatch(50), is(equalTo(drawn.nextBatch(50))));
+        }
+        MimeTypeGenerator partial = MimeTypeGenerator.allMimeTypes(42L);
+        partial.nextBatch(10);
+        MimeTypeGenerator partialDrawn = MimeTypeGenerator.allMimeTypes(42L);
+        partialDrawn.nextBatch(40);
+        assertThat(partial.skip(30).nextBatch(10), is(equalTo(partialDrawn.nextBatch(10))));
+
+        MimeTypeGenerator drawn = MimeTypeGenerator.video(42L);
+        drawn.nextBatch(10);
+        assertThat(MimeTypeGenerator.video(42L).skip(10).nextBatch(10), is(equalTo(drawn.nextBatch(10))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedMimeTypesWithoutASeed() {
+        for (int n : new int[] {10, 100}) {
+            RandomConfiguration.setSeed(42L);
+            MimeTypeGenerator drawn = MimeTypeGenerator.allMimeTypes();
+            drawn.nextBatch(n);
+            List<String> expected = drawn.nextBatch(10);
+
+            RandomConfiguration.setSeed(42L);
+            assertThat(MimeTypeGenerator.allMimeTypes().skip(n).nextBatch(10), is(equalTo(expected)));
+        }
+        RandomConfiguration.setSeed(42L);
+        MimeTypeGenerator drawn = MimeTypeGenerator.text();
+        drawn.nextBatch(10);
+        List<String> expected = drawn.nextBatch(10);
+
+        RandomConfiguration.setSeed(42L);
+        assertThat(MimeTypeGenerator.text().skip(10).nextBatch(10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void skipShouldRejectNegativeCounts() {
+        try {
+            MimeTypeGenerator.allMimeTypes().skip(-1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("n must not be negative")));
+        }
+    }
+
+    @Test
+    public void weightedShouldDrawMimeTypesInProportionToTheirWeights() {
+        Map<String, Double> weights = new LinkedHashMap<>();
+        weights.put("application/json", 70.0);
+        weights.put("text/html", 20.0);
+        weights.put("image/png", 10.0);
+        weights.put("image/gif", 0.0);
+
+        Map<String, Integer> counts = counts(MimeTypeGenerator.weighted(weights, 42L).nextBatch(10_000));
+
+        assertThat(counts.keySet(), is(equalTo(ImmutableSet.of("application/json", "text/html", "image/png"))));
+        assertThat(counts.get("application/json"), is(both(greaterThan(6700)).and(lessThan(7300))));
+        assertThat(counts.get("text/html"), is(both(greaterThan(1800)).and(lessThan(2200))));
+        assertThat(counts.get("image/png"), is(both(greaterThan(850)).and(lessThan(1150))));
+    }
+
+    @Test
+    public void weightedCategoriesShouldSpreadEachWeightOverItsCategory() {
+        Map<MimeTypeGenerator.Category, Double> weights = new EnumMap<>(MimeTypeGenerator.Category.class);
+        weights.put(MimeTypeGenerator.Category.TEXT, 3.0);
+        weights.put(MimeTypeGenerator.Category.IMAGE, 1.0);
+
+        Map<String, Integer> counts = counts(MimeTypeGenerator.weightedCategories(weights, 42L).nextBatch(20_000));
+
+        Set<String> expected = new HashSet<>(MimeTypeGenerator.TEXT_MIME_TYPE);
+        expected.addAll(MimeTypeGenerator.IMAGE_MIME_TYPE);
+        assertThat(counts.keySet(), is(equalTo(expected)));
+        // text: 15000 over 3 types, image: 5000 over 5 types
+        for (String text : MimeTypeGenerator.TEXT_MIME_TYPE) {
+            assertThat(text, counts.get(text), is(both(greaterThan(4700)).and(lessThan(5300))));
+        }
+        for (String image : MimeTypeGenerator.IMAGE_MIME_TYPE) {
+            assertThat(image, counts.get(image), is(both(greaterThan(850)).and(lessThan(1150))));
+        }
+    }
+
+    @Test
+    public void weightedCategoriesShouldLeaveOutCategoriesWithoutAWeight() {
+        MimeTypeGenerator underTest =
+                MimeTypeGenerator.weightedCategories(ImmutableMap.of(MimeTypeGenerator.Category.VIDEO, 1.0));
+
+        assertThat(new HashSet<>(underTest.nextBatch(200)),
+                is(equalTo(new HashSet<>(MimeTypeGenerator.VIDEO_MIME_TYPE))));
+    }
+
+    @Test
+    public void categoriesShouldHoldTheirMimeTypes() {
+        assertThat(MimeTypeGenerator.Category.APPLICATION.mimeTypes(), is(MimeTypeGenerator.APPLICATION_MIME_TYPE));
+        assertThat(MimeTypeGenerator.Category.AUDIO.mimeTypes(), is(MimeTypeGenerator.AUDIO_MIME_TYPE));
+        assertThat(MimeTypeGenerator.Category.IMAGE.mimeTypes(), is(MimeTypeGenerator.IMAGE_MIME_TYPE));
+        assertThat(MimeTypeGenerator.Category.MULTIPART.mimeTypes(), is(MimeTypeGenerator.MULTIPART_MIME_TYPE));
+        assertThat(MimeTypeGenerator.Category.TEXT.mimeTypes(), is(MimeTypeGenerator.TEXT_MIME_TYPE));
+        assertThat(MimeTypeGenerator.Category.VIDEO.mimeTypes(), is(MimeTypeGenerator.VIDEO_MIME_TYPE));
+    }
+
+    @Test
+    public void weightedShouldBeReproducibleAndSkippable() {
+        Map<String, Double> weights = ImmutableMap.of("a/b", 1.0, "c/d", 2.0, "e/f", 3.0);
+        MimeTypeGenerator drawn = MimeTypeGenerator.weighted(weights, 42L);
+        drawn.nextBatch(100);
+
+        assertThat(MimeTypeGenerator.weighted(weights, 42L).skip(100).nextBatch(50), is(equalTo(drawn.nextBatch(50))));
+        String[] filled = new String[50];
+        MimeTypeGenerator.weighted(weights, 42L).fill(filled, 0, 50);
+        assertThat(Arrays.asList(filled), is(equalTo(MimeTypeGenerator.weighted(weights, 42L).nextBatch(50))));
+    }
+
+    @Test
+    public void splitOfAWeightedGeneratorShouldKeepTheWeights() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.weighted(ImmutableMap.of("a/b", 1.0, "c/d", 0.0)).split();
+
+        assertThat(new HashSet<>(underTest.nextBatch(100)), is(equalTo(ImmutableSet.of("a/b"))));
+    }
+
+    @Test
+    public void weightedShouldRejectInvalidWeights() {
+        assertRejected(() -> MimeTypeGenerator.weighted(null), "weights is required");
+        assertRejected(() -> MimeTypeGenerator.weightedCategories(null, 42L), "weights is required");
+        assertRejected(() -> MimeTypeGenerator.weighted(Collections.emptyMap(), 42L), "weights must not be empty");
+        assertRejected(() -> MimeTypeGenerator.weightedCategories(
+                ImmutableMap.of(MimeTypeGenerator.Category.TEXT, -1.0)), "weights must be finite and not negative");
+    }
+
+    @Test
+    public void shrinkerShouldReduceRandomMimeTypesToTheListedOnes() {
+        Shrinker<String> underTest = MimeTypeGenerator.allMimeTypes().shrinker();
+
+        assertThat(underTest.shrink("qwertyuiopasdf/ghjkl", mimeType -> true),
+                is(equalTo(MimeTypeGenerator.ALL_MIME_TYPES.get(0))));
+        assertThat(underTest.shrink("qwertyuiopasdf/ghjkl", mimeType -> mimeType.startsWith("image/")),
+                is(equalTo(MimeTypeGenerator.IMAGE_MIME_TYPE.get(0))));
+        assertThat(underTest.shrinkStep("qwertyuiopasdf/ghjkl", mimeType -> false), is(nullValue()));
+    }
+
+    @Test
+    public void shrinkerShouldReduceListedMimeTypesToEarlierOnes() {
+        Shrinker<String> underTest = MimeTypeGenerator.text().shrinker();
+        List<String> tried = new ArrayList<>();
+        String last = MimeTypeGenerator.TEXT_MIME_TYPE.get(MimeTypeGenerator.TEXT_MIME_TYPE.size() - 1);
+
+        assertThat(underTest.shrinkStep(last, mimeType -> !tried.add(mimeType)), is(nullValue()));
+        assertThat(tried, is(equalTo(MimeTypeGenerator.TEXT_MIME_TYPE.subList(0, tried.size()))));
+        assertThat(tried.size(), is(MimeTypeGenerator.TEXT_MIME_TYPE.size() - 1));
+        assertThat(underTest.shrinkStep(MimeTypeGenerator.TEXT_MIME_TYPE.get(0), mimeType -> true), is(nullValue()));
+    }
+
+    @Test
+    public void pooledShouldProduceTheKnownMimeTypesThenMimeTypesFromThePool() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.pooled(50, 0, 42L);
+
+        assertThat(underTest.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size()),
+                is(equalTo(MimeTypeGenerator.ALL_MIME_TYPES)));
+        assertThat(underTest.remainingEnsuredValues(), is(0));
+        List<String> random = underTest.nextBatch(10_000);
+        for (String mimeType : random) {
+            assertTrue(mimeType, mimeType.matches(MIME_TYPE_PATTERN));
+        }
+        assertThat(new HashSet<>(random).size(), is(50));
+        assertThat(new HashSet<>(MimeTypeGenerator.pooled(3, 0).skip(200).nextBatch(1000)).size(), is(3));
+    }
+
+    @Test
+    public void pooledWithoutChurnShouldBeReproducibleAndSkippable() {
+        MimeTypeGenerator drawn = MimeTypeGenerator.pooled(20, 0, 42L);
+        drawn.nextBatch(300);
+
+        assertThat(MimeTypeGenerator.pooled(20, 0, 42L).skip(300).nextBatch(50), is(equalTo(drawn.nextBatch(50))));
+        String[] filled = new String[300];
+        MimeTypeGenerator.pooled(20, 0, 42L).fill(filled, 0, 300);
+        assertThat(Arrays.asList(filled), is(equalTo(MimeTypeGenerator.pooled(20, 0, 42L).nextBatch(300))));
+    }
+
+    @Test
+    public void pooledWithChurnShouldBeSkippedByDrawing() {
+        MimeTypeGenerator drawn = MimeTypeGenerator.pooled(20, 0.25, 42L);
+        drawn.nextBatch(300);
+
+        assertThat(MimeTypeGenerator.pooled(20, 0.25, 42L).skip(300).nextBatch(50), is(equalTo(drawn.nextBatch(50))));
+    }
+
+    @Test
+    public void churnShouldAddNewMimeTypesAtTheChurnRate() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.pooled(100, 0.1, 42L).skip(MimeTypeGenerator.ALL_MIME_TYPES.size());
+
+        int distinct = new HashSet<>(underTest.nextBatch(10_000)).size();
+
+        assertThat(distinct, is(both(greaterThan(100 + 900)).and(lessThan(100 + 1100))));
+        MimeTypeGenerator alwaysNew = MimeTypeGenerator.pooled(5, 1, 42L).skip(MimeTypeGenerator.ALL_MIME_TYPES.size());
+        assertThat(new HashSet<>(alwaysNew.nextBatch(1000)).size(), is(1000));
+    }
+
+    @Test
+    public void churnShouldReplaceTheLeastRecentlyProducedMimeType() {
+        final int poolSize = 8;
+        MimeTypeGenerator underTest = MimeTypeGenerator.pooled(poolSize, 0.3, 42L)
+                .skip(MimeTypeGenerator.ALL_MIME_TYPES.size());
+        List<String> recency = new ArrayList<>();
+
+        assertThat(repeatedFromThePool(underTest.nextBatch(5_000), recency, poolSize), is(greaterThan(3_000)));
+        MimeTypeGenerator split = underTest.split().skip(MimeTypeGenerator.ALL_MIME_TYPES.size());
+        assertThat(repeatedFromThePool(split.nextBatch(1_000), recency, poolSize), is(greaterThan(600)));
+    }
+
+    /**
+     * Checks that each mime type produced again is one of the last {@code poolSize} distinct mime types.
+     *
+     * @return the number of mime types produced again.
+     */
+    private static int repeatedFromThePool(final List<String> mimeTypes, final List<String> recency,
+                                           final int poolSize) {
+        int repeated = 0;
+        for (String mimeType : mimeTypes) {
+            int index = recency.lastIndexOf(mimeType);
+            if (index >= 0) {
+                assertThat(mimeType, recency.size() - 1 - index, is(lessThan(poolSize)));
+                recency.remove(index);
+                repeated++;
+            }
+            recency.add(mimeType);
+        }
+        return repeated;
+    }
+
+    @Test
+    public void splitOfAPoolShouldDrawFromTheSamePool() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.pooled(10, 0, 42L);
+        MimeTypeGenerator split = underTest.split();
+
+        assertThat(split.nextBatch(MimeTypeGenerator.ALL_MIME_TYPES.size()), is(equalTo(MimeTypeGenerator.ALL_MIME_TYPES)));
+        Set<String> pool = new HashSet<>(underTest.skip(MimeTypeGenerator.ALL_MIME_TYPES.size()).nextBatch(1000));
+        List<String> fromSplit = split.nextBatch(1000);
+        assertThat(new HashSet<>(fromSplit), is(equalTo(pool)));
+        assertThat(fromSplit, is(not(equalTo(underTest.nextBatch(1000)))));
+    }
+
+    @Test
+    public void splitOfAChurningPoolShouldStartFromACopyOfThePool() {
+        MimeTypeGenerator underTest = MimeTypeGenerator.pooled(10, 0.5, 42L);
+        MimeTypeGenerator notSplit = MimeTypeGenerator.pooled(10, 0.5, 42L);
+        Set<String> before = new HashSet<>(underTest.nextBatch(200));
+        notSplit.nextBatch(200);
+        MimeTypeGenerator split = underTest.split().skip(MimeTypeGenerator.ALL_MIME_TYPES.size());
+
+        List<String> fromSplit = split.nextBatch(100);
+
+        assertThat(fromSplit.stream().filter(before::contains).count(), is(greaterThan(0L)));
+        assertThat(underTest.nextBatch(100), is(equalTo(notSplit.nextBatch(100))));
+    }
+
+    @Test
+    public void pooledShouldRejectInvalidArguments() {
+        assertRejected(() -> MimeTypeGenerator.pooled(0, 0), "poolSize must be between 1 and 59652323");
+        assertRejected(() -> MimeTypeGenerator.pooled(59652324, 0, 42L), "poolSize must be between 1 and 59652323");
+        assertRejected(() -> MimeTypeGenerator.pooled(1, -0.1), "churnRate must be between 0 and 1");
+        assertRejected(() -> MimeTypeGenerator.pooled(1, 1.1, 42L), "churnRate must be between 0 and 1");
+    }
+
+    private static Map<String, Integer> counts(final List<String> mimeTypes) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String mimeType : mimeTypes) {
+            counts.merge(mimeType, 1, Integer::sum);
+        }
+        return counts;
+    }
+}
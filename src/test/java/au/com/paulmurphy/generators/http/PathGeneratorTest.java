@@ -1,20 +1,46 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.CharSequenceGenerator;
+import au.com.paulmurphy.generators.Shrinker;
+import au.com.paulmurphy.generators.SplittableGenerator;
 import com.google.common.base.Splitter;
+import com.google.common.base.Strings;
 import net.java.quickcheck.Generator;
 import net.java.quickcheck.characteristic.AbstractCharacteristic;
 import net.java.quickcheck.collection.Pair;
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
 import org.junit.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
 import static com.google.common.collect.Iterables.size;
 import static net.java.quickcheck.QuickCheck.forAll;
+import static net.java.quickcheck.generator.PrimitiveGenerators.characters;
+import static net.java.quickcheck.generator.PrimitiveGenerators.fixedValues;
 import static net.java.quickcheck.generator.PrimitiveGenerators.integers;
+import static net.java.quickcheck.generator.PrimitiveGenerators.strings;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 /**
  * @author Paul Murphy
@@ -23,6 +49,9 @@ public class PathGeneratorTest {
 
     private static final int PATH_MIN_DEPTH = 1;
     private static final int PATH_MAX_DEPTH = 5;
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 100;
+    private static final int UNIQUE_SAMPLES = 50_000;
 
     private Generator<Pair<Integer, Integer>> rangeGenerator = new Generator<Pair<Integer, Integer>>() {
         final int sensibleLimit = 10;
@@ -63,6 +92,124 @@ public class PathGeneratorTest {
         });
     }
 
+    @Test
+    public void nextIntoBuilderShouldProduceTheSamePathsAsNext() {
+        List<String> expected = seededPaths(new PathGenerator().trailingPathSeparator(true));
+
+        RandomConfiguration.setSeed(SEED);
+        PathGenerator underTest = new PathGenerator().trailingPathSeparator(true);
+        StringBuilder builder = new StringBuilder();
+        for (String path : expected) {
+            builder.setLength(0);
+            assertThat(underTest.nextInto(builder).toString(), is(equalTo(path)));
+        }
+    }
+
+    @Test
+    public void nextIntoBuilderShouldAppendToExistingContent() {
+        StringBuilder builder = new StringBuilder("http://localhost");
+
+        new PathGenerator(integers(1, 1), fixedValues("index")).nextInto(builder);
+
+        assertThat(builder.toString(), is(equalTo("http://localhost/index")));
+    }
+
+    @Test
+    public void nextIntoBufferShouldProduceTheSamePathsAsNext() {
+        List<String> expected = seededPaths(new PathGenerator());
+
+        RandomConfiguration.setSeed(SEED);
+        PathGenerator underTest = new PathGenerator();
+        ByteBuffer buffer = ByteBuffer.allocate(PATH_MAX_DEPTH * 26);
+        for (String path : expected) {
+            buffer.clear();
+            int written = underTest.nextInto(buffer);
+            buffer.flip();
+            assertThat(written, is(equalTo(buffer.remaining())));
+            assertThat(StandardCharsets.US_ASCII.decode(buffer).toString(), is(equalTo(path)));
+        }
+    }
+
+    @Test
+    public void nextIntoBufferShouldUseTheProvidedPartNames() {
+        List<String> expected = seededPaths(
+                new PathGenerator(integers(0, 3), strings(integers(1, 4), characters('A', 'Z'))).trailingPathSeparator(true));
+
+        RandomConfiguration.setSeed(SEED);
+        PathGenerator underTest =
+                new PathGenerator(integers(0, 3), strings(integers(1, 4), characters('A', 'Z'))).trailingPathSeparator(true);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (String path : expected) {
+            buffer.clear();
+            underTest.nextInto(buffer);
+            buffer.flip();
+            assertThat(StandardCharsets.US_ASCII.decode(buffer).toString(), is(equalTo(path)));
+        }
+    }
+
+    @Test
+    public void nextIntoBufferShouldReplaceNonAsciiCharacters() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        buffer.put((byte) ' ');
+
+        int written = new PathGenerator(integers(1, 1), fixedValues("a\u007F\u0080")).nextInto(buffer);
+
+        assertThat(written, is(equalTo(4)));
+        assertThat(buffer.position(), is(equalTo(5)));
+        assertThat(buffer.array()[3], is(equalTo((byte) 0x7F)));
+        assertThat(buffer.array()[4], is(equalTo((byte) '?')));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void nextIntoBufferShouldFailWhenThePathDoesNotFit() {
+        new PathGenerator(integers(1, 1), fixedValues("index")).nextInto(ByteBuffer.allocate(3));
+    }
+
+    @Test
+    public void nextBatchShouldProduceTheSamePathsAsNext() {
+        List<String> expected = seededPaths(new PathGenerator());
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(new PathGenerator().nextBatch(SAMPLES), is(equalTo(expected)));
+    }
+
+    @Test
+    public void fillShouldOnlyWriteTheRequestedRange() {
+        String[] dest = new String[4];
+
+        new PathGenerator(integers(2, 2), fixedValues("a")).trailingPathSeparator(true).fill(dest, 1, 2);
+
+        assertThat(dest, is(equalTo(new String[] {null, "/a/a/", "/a/a/", null})));
+    }
+
+    @Test
+    public void nextBatchShouldAllowEmptyBatches() {
+        assertTrue(new PathGenerator().nextBatch(0).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectNegativeLengths() {
+        new PathGenerator().fill(new String[3], 2, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextBatchShouldRejectNegativeSizes() {
+        new PathGenerator().nextBatch(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectRangesOutsideTheArray() {
+        new PathGenerator().fill(new String[4], 1, 4);
+    }
+
+    private List<String> seededPaths(final PathGenerator pathGenerator) {
+        RandomConfiguration.setSeed(SEED);
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            paths.add(pathGenerator.next());
+        }
+        return paths;
+    }
 
     private void verifyPathDepth(final PathGenerator pathGenerator, final int minDepth, final int maxDepth) {
         forAll(pathGenerator, new AbstractCharacteristic<String>() {
@@ -80,5 +227,471 @@ public class PathGeneratorTest {
         return size(Splitter.on("/").omitEmptyStrings().split(path));
     }
 
+    @Test
+    public void shouldGeneratePathsWithinTheProvidedDepthBounds() {
+        for (String path : new PathGenerator(2, 3).nextBatch(SAMPLES)) {
+            assertThat(size(Splitter.on('/').omitEmptyStrings().split(path)), is(allOf(
+                    greaterThanOrEqualTo(2), lessThanOrEqualTo(3))));
+        }
+    }
+
+    @Test
+    public void shouldAllowEmptyPaths() {
+        assertThat(new PathGenerator(0, 0).next(), is(equalTo("")));
+    }
+
+    @Test
+    public void depthBoundsShouldRejectNegativeDepths() {
+        try {
+            new PathGenerator(-1, 1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("minDepth must not be negative")));
+        }
+    }
+
+    @Test
+    public void depthBoundsShouldRejectAnEmptyRange() {
+        try {
+            new PathGenerator(2, 1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("minDepth must not be greater than maxDepth")));
+        }
+    }
+
+    @Test
+    public void splitShouldKeepTheConfiguration() {
+        PathGenerator underTest = new PathGenerator(2, 2).trailingPathSeparator(true).split();
+
+        for (String path : underTest.nextBatch(SAMPLES)) {
+            assertTrue(path.matches("(/[a-z]{3,25}){2}/"));
+        }
+    }
+
+    @Test
+    public void splitShouldSplitSplittableComponents() {
+        PathGenerator underTest = new PathGenerator(fixedValues(2), new GenerationGenerator(0)).split();
+
+        assertThat(underTest.next(), is(equalTo("/generation1/generation1")));
+    }
+
+    @Test
+    public void splitShouldShareOtherComponents() {
+        PathGenerator underTest = new PathGenerator(fixedValues(1), fixedValues("shared")).split();
+
+        assertThat(underTest.next(), is(equalTo("/shared")));
+    }
+
+    @Test
+    public void seededPathsShouldBeReproducible() {
+        assertThat(new PathGenerator(SEED).nextBatch(SAMPLES), is(equalTo(new PathGenerator(SEED).nextBatch(SAMPLES))));
+        assertThat(new PathGenerator(SEED).nextBatch(SAMPLES), is(not(equalTo(new PathGenerator(SEED + 1).nextBatch(SAMPLES)))));
+    }
+
+    @Test
+    public void seededPathsShouldBeWithinTheProvidedDepthBounds() {
+        for (String path : new PathGenerator(SEED, 2, 3).nextBatch(SAMPLES)) {
+            assertThat(size(Splitter.on('/').omitEmptyStrings().split(path)), is(allOf(
+                    greaterThanOrEqualTo(2), lessThanOrEqualTo(3))));
+        }
+        for (String path : new PathGenerator(SEED).nextBatch(SAMPLES)) {
+            assertThat(size(Splitter.on('/').omitEmptyStrings().split(path)), is(allOf(
+                    greaterThanOrEqualTo(PATH_MIN_DEPTH), lessThanOrEqualTo(PATH_MAX_DEPTH))));
+        }
+    }
+
+    @Test
+    public void seededPathsShouldBeTheSameWhicheverWayTheyAreWritten() {
+        List<String> expected = new PathGenerator(SEED).nextBatch(SAMPLES);
+
+        PathGenerator next = new PathGenerator(SEED);
+        PathGenerator builder = new PathGenerator(SEED);
+        PathGenerator buffer = new PathGenerator(SEED);
+        ByteBuffer bytes = ByteBuffer.allocate(256);
+        for (String path : expected) {
+            assertThat(next.next(), is(equalTo(path)));
+            assertThat(builder.nextInto(new StringBuilder()).toString(), is(equalTo(path)));
+            bytes.clear();
+            buffer.nextInto(bytes);
+            assertThat(new String(bytes.array(), 0, bytes.position(), StandardCharsets.US_ASCII), is(equalTo(path)));
+        }
+    }
+
+    @Test
+    public void seededDepthBoundsShouldBeChecked() {
+        try {
+            new PathGenerator(SEED, 3, 2);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("minDepth must not be greater than maxDepth")));
+        }
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        PathGenerator drawn = new PathGenerator(SEED);
+        drawn.nextBatch(1000);
+
+        assertThat(new PathGenerator(SEED).skip(1000).nextBatch(SAMPLES), is(equalTo(drawn.nextBatch(SAMPLES))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedPathsWithoutASeed() {
+        Generator<String> names = strings(integers(1, 5), characters('a', 'z'));
+
+        RandomConfiguration.setSeed(SEED);
+        PathGenerator drawn = new PathGenerator(integers(1, 3), names);
+        drawn.nextBatch(10);
+        List<String> expected = drawn.nextBatch(10);
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(new PathGenerator(integers(1, 3), names).skip(10).nextBatch(10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void skipShouldAllowSkippingNothing() {
+        assertThat(new PathGenerator(SEED).skip(0).nextBatch(10), is(equalTo(new PathGenerator(SEED).nextBatch(10))));
+    }
+
+    @Test
+    public void skipShouldRejectNegativeCounts() {
+        try {
+            new PathGenerator().skip(-1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("n must not be negative")));
+        }
+    }
+
+    @Test
+    public void uniquePathsShouldNotRepeat() {
+        PathGenerator underTest = PathGenerator.unique(SEED);
+        Set<String> paths = new HashSet<>();
+        Set<Integer> firstNameLengths = new HashSet<>();
+
+        for (int i = 0; i < UNIQUE_SAMPLES; i++) {
+            String path = underTest.next();
+            assertTrue("repeated " + path, paths.add(path));
+            List<String> names = Splitter.on('/').omitEmptyStrings().splitToList(path);
+            assertThat(names.size(), is(allOf(greaterThanOrEqualTo(PATH_MIN_DEPTH), lessThanOrEqualTo(PATH_MAX_DEPTH))));
+            assertThat(names.get(0).length(), is(allOf(greaterThanOrEqualTo(14), lessThanOrEqualTo(25))));
+            firstNameLengths.add(names.get(0).length());
+            for (String name : names) {
+                assertThat(name.length(), is(allOf(greaterThanOrEqualTo(3), lessThanOrEqualTo(25))));
+            }
+        }
+        assertThat(firstNameLengths.size(), is(12));
+    }
+
+    @Test
+    public void uniquePathsShouldStartWithTheirEncodedPosition() {
+        PathGenerator underTest = PathGenerator.unique(SEED, 1, 1);
+
+        assertThat(underTest.next().substring(0, 15), is(equalTo("/eksmjfuxxpfxfp")));
+        assertThat(underTest.next().substring(0, 15), is(equalTo("/elgaslthsasspl")));
+    }
+
+    @Test
+    public void uniquePathsShouldKeepTheDepthBounds() {
+        PathGenerator underTest = PathGenerator.unique(SEED, 2, 3).trailingPathSeparator(true);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String path = underTest.next();
+            assertTrue(path.endsWith("/"));
+            assertThat(size(Splitter.on('/').omitEmptyStrings().split(path)), is(allOf(greaterThanOrEqualTo(2),
+                    lessThanOrEqualTo(3))));
+        }
+    }
+
+    @Test
+    public void uniquePathsShouldBeReproducibleAndSkippable() {
+        PathGenerator expected = PathGenerator.unique(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            expected.next();
+        }
+        String path = expected.next();
+
+        assertThat(PathGenerator.unique(SEED).skip(SAMPLES).next(), is(equalTo(path)));
+        ByteBuffer buffer = ByteBuffer.allocate(PathGenerator.DEFAULT_MAX_LENGTH);
+        PathGenerator.unique(SEED).skip(SAMPLES).nextInto(buffer);
+        assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII), is(equalTo(path)));
+        assertThat(PathGenerator.unique(SEED + 1).skip(SAMPLES).next(), is(not(equalTo(path))));
+    }
+
+    @Test
+    public void splitsOfAUniqueGeneratorShouldNotProduceEachOthersPaths() {
+        PathGenerator first = PathGenerator.unique(SEED, 1, 1);
+        PathGenerator second = first.split();
+        List<PathGenerator> generators = new ArrayList<>();
+        generators.add(first);
+        generators.add(second);
+        generators.add(first.split());
+        generators.add(second.split());
+        Set<String> names = new HashSet<>();
+
+        for (PathGenerator generator : generators) {
+            for (int i = 0; i < UNIQUE_SAMPLES / generators.size(); i++) {
+                // only the unique letters, so that the random padding cannot hide a repeat
+                String name = generator.next().substring(1, 15);
+                assertTrue("repeated " + name, names.add(name));
+            }
+        }
+    }
+
+    @Test
+    public void uniquePathsShouldRunOutAtTheEndOfTheirRange() {
+        PathGenerator underTest = PathGenerator.unique(SEED).skip(Long.MAX_VALUE - 1);
+        underTest.next();
+
+        try {
+            underTest.next();
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("every unique path has been produced")));
+        }
+        PathGenerator split = PathGenerator.unique(SEED).split();
+        split.skip(Long.MAX_VALUE / 2).next();
+        try {
+            split.next();
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("every unique path has been produced")));
+        }
+        try {
+            PathGenerator.unique(SEED).skip(Long.MAX_VALUE).skip(1).next();
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("every unique path has been produced")));
+        }
+    }
+
+    @Test
+    public void asACharSequenceGeneratorShouldAppendTheSamePaths() {
+        CharSequenceGenerator paths = new PathGenerator(SEED);
+        PathGenerator drawn = new PathGenerator(SEED);
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = 0; i < 100; i++) {
+            builder.setLength(0);
+            assertThat(paths.nextInto(builder.append("GET ")).toString(), is(equalTo("GET " + drawn.next())));
+        }
+        assertTrue(drawn.asGenerator() == drawn);
+    }
+
+    @Test
+    public void zipfianPathsShouldComeFromAFixedTrie() {
+        Set<String> routes = new HashSet<>(PathGenerator.zipfian(SEED, 1, 3, 2).nextBatch(10_000));
+
+        assertThat(routes.size(), is(9));
+        int firstLevel = 0;
+        for (String route : routes) {
+            List<String> names = Splitter.on('/').splitToList(route.substring(1));
+            if (names.size() == 1) {
+                firstLevel++;
+            } else {
+                assertThat(names.size(), is(2));
+                assertTrue(route, routes.contains("/" + names.get(0)));
+            }
+            for (String name : names) {
+                assertTrue(route, name.matches("[a-z]{3,25}"));
+            }
+        }
+        assertThat(firstLevel, is(3));
+    }
+
+    @Test
+    public void zipfianPathsShouldFavourTheHotRoutes() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String path : PathGenerator.zipfian(SEED).nextBatch(100_000)) {
+            counts.merge(path, 1, Integer::sum);
+        }
+        List<Integer> sorted = new ArrayList<>(counts.values());
+        sorted.sort(Collections.reverseOrder());
+
+        // 3400 routes, so the hottest takes 1 / H(3400) of the paths and the next one half of that
+        assertThat(sorted.get(0), is(allOf(greaterThanOrEqualTo(10_500), lessThanOrEqualTo(12_500))));
+        assertThat(sorted.get(1), is(allOf(greaterThanOrEqualTo(5_000), lessThanOrEqualTo(6_500))));
+        assertThat(counts.size(), is(allOf(greaterThanOrEqualTo(2_500), lessThanOrEqualTo(3_400))));
+    }
+
+    @Test
+    public void theHottestZipfianRouteShouldBeAnyRouteOfTheTrie() {
+        Set<Integer> depths = new HashSet<>();
+        for (long seed = 0; seed < 10; seed++) {
+            Map<String, Integer> counts = new HashMap<>();
+            for (String path : PathGenerator.zipfian(seed, 2, 2, 8).nextBatch(1_000)) {
+                counts.merge(path, 1, Integer::sum);
+            }
+            String hottest = Collections.max(counts.entrySet(), Map.Entry.comparingByValue()).getKey();
+            depths.add(Splitter.on('/').splitToList(hottest.substring(1)).size());
+        }
+
+        assertThat(depths, containsInAnyOrder(1, 2));
+    }
+
+    @Test
+    public void zipfianPathsWithAnExponentOfZeroShouldBeUniform() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String path : PathGenerator.zipfian(SEED, 0, 10).nextBatch(10_000)) {
+            counts.merge(path, 1, Integer::sum);
+        }
+
+        assertThat(counts.size(), is(10));
+        for (int count : counts.values()) {
+            assertThat(count, is(allOf(greaterThanOrEqualTo(850), lessThanOrEqualTo(1_150))));
+        }
+    }
+
+    @Test
+    public void zipfianPathsShouldBeBuiltOnce() {
+        PathGenerator underTest = PathGenerator.zipfian(SEED, 1, 2);
+        Map<String, String> instances = new HashMap<>();
 
-}
\ No newline at end of file
+        for (String path : underTest.nextBatch(200)) {
+            assertThat(path, is(sameInstance(instances.computeIfAbsent(path, p -> path))));
+        }
+        assertThat(instances.size(), is(2));
+    }
+
+    @Test
+    public void zipfianPathsShouldBeTheSameWhicheverWayTheyAreWritten() {
+        List<String> expected = PathGenerator.zipfian(SEED).nextBatch(100);
+
+        PathGenerator built = PathGenerator.zipfian(SEED);
+        PathGenerator written = PathGenerator.zipfian(SEED);
+        PathGenerator filled = PathGenerator.zipfian(SEED);
+        String[] dest = new String[100];
+        filled.fill(dest, 0, 100);
+        ByteBuffer buffer = ByteBuffer.allocate(PathGenerator.DEFAULT_MAX_LENGTH);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(built.nextInto(new StringBuilder()).toString(), is(equalTo(expected.get(i))));
+            buffer.clear();
+            assertThat(written.nextInto(buffer), is(expected.get(i).length()));
+            assertThat(new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII),
+                    is(equalTo(expected.get(i))));
+            assertThat(dest[i], is(equalTo(expected.get(i))));
+        }
+        PathGenerator trailing = PathGenerator.zipfian(SEED).trailingPathSeparator(true);
+        assertThat(trailing.nextBatch(100).get(99), is(equalTo(expected.get(99) + "/")));
+        assertThat(trailing.next(), is(equalTo(PathGenerator.zipfian(SEED).skip(100).next() + "/")));
+    }
+
+    @Test
+    public void zipfianPathsShouldBeReproducibleAndSkippable() {
+        PathGenerator drawn = PathGenerator.zipfian(SEED, 0.8, 4, 4, 4);
+        drawn.nextBatch(500);
+
+        assertThat(PathGenerator.zipfian(SEED, 0.8, 4, 4, 4).skip(500).nextBatch(50),
+                is(equalTo(drawn.nextBatch(50))));
+        assertThat(PathGenerator.zipfian(SEED + 1, 0.8, 4, 4, 4).nextBatch(50),
+                is(not(equalTo(PathGenerator.zipfian(SEED, 0.8, 4, 4, 4).nextBatch(50)))));
+    }
+
+    @Test
+    public void splitsOfAZipfianGeneratorShouldShareTheRoutes() {
+        PathGenerator underTest = PathGenerator.zipfian(SEED, 1, 3, 3);
+        Set<String> routes = new HashSet<>(underTest.nextBatch(10_000));
+
+        List<String> fromSplit = underTest.split().nextBatch(10_000);
+
+        assertThat(new HashSet<>(fromSplit), is(equalTo(routes)));
+        assertThat(fromSplit.subList(0, 50), is(not(equalTo(underTest.nextBatch(50)))));
+    }
+
+    @Test
+    public void zipfianShouldRejectInvalidTries() {
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1, (int[]) null), "fanOuts is required");
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1), "fanOuts must have between 1 and 5 depths");
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1, 2, 2, 2, 2, 2, 2),
+                "fanOuts must have between 1 and 5 depths");
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1, 2, 0), "fanOuts must be positive");
+        assertRejected(() -> PathGenerator.zipfian(SEED, -0.5, 2), "exponent must be finite and not negative");
+        assertRejected(() -> PathGenerator.zipfian(SEED, Double.NaN, 2), "exponent must be finite and not negative");
+        assertRejected(() -> PathGenerator.zipfian(SEED, Double.POSITIVE_INFINITY, 2),
+                "exponent must be finite and not negative");
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1, 4096, 4096, 4096, 4096),
+                "fanOuts must not make more than 16777216 routes");
+        assertRejected(() -> PathGenerator.zipfian(SEED, 1, 4096, 4096),
+                "fanOuts must not make more than 16777216 routes");
+    }
+
+    @Test
+    public void uniquePathsShouldNeedAPartName() {
+        try {
+            PathGenerator.unique(SEED, 0, 3);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("minDepth must be positive for unique paths")));
+        }
+        try {
+            PathGenerator.unique(SEED, 3, 2);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("minDepth must not be greater than maxDepth")));
+        }
+    }
+
+    @Test
+    public void shrinkerShouldDropShortenAndSimplifyNamesDownToTheBounds() {
+        Shrinker<String> underTest = new PathGenerator(2, 5).shrinker();
+
+        assertThat(underTest.shrink("/qwertyuiop/asdfgh/zxcvb/", path -> true), is(equalTo("/aaa/aaa/")));
+        assertThat(underTest.shrink("/qwertyuiop/asdfgh/zxcvb", path -> true), is(equalTo("/aaa/aaa")));
+        assertThat(new PathGenerator(0, 5).shrinker().shrink("/qwertyuiop/asdfgh/", path -> true),
+                is(equalTo("/")));
+        assertThat(new PathGenerator(9, 12).shrinker().shrink(Strings.repeat("/abcd", 12), path -> true),
+                is(equalTo(Strings.repeat("/aaa", 9))));
+    }
+
+    @Test
+    public void shrinkerShouldKeepWhatMakesThePathFail() {
+        Shrinker<String> underTest = new PathGenerator().shrinker();
+
+        assertThat(underTest.shrink("/qwerty/asdxfgh/zxcvb", path -> path.contains("x")), is(equalTo("/zxc")));
+        assertThat(underTest.shrink("/qwerty/asdxfgh/zxcvb", path -> path.contains("xfg")), is(equalTo("/asdxfg")));
+        assertThat(underTest.shrink("/abc/abd", path -> path.contains("/abd")), is(equalTo("/abd")));
+        assertThat(underTest.shrinkStep("/aaa", path -> true), is(nullValue()));
+    }
+
+    @Test
+    public void shrinkerShouldShortenCustomNamesToOneCharacter() {
+        Shrinker<String> underTest = new PathGenerator(fixedValues(2), strings()).shrinker();
+
+        assertThat(underTest.shrink("/Q7z/9//xy", path -> true), is(equalTo("")));
+        assertThat(underTest.shrink("/Q7z/9//xy", path -> path.contains("7")), is(equalTo("/a7")));
+        assertThat(underTest.shrink("/Q7z/9", path -> path.startsWith("/Q") && path.length() > 4),
+                is(equalTo("/Q7/9")));
+    }
+
+    /**
+     * Produces part names holding the number of splits that led to the generator.
+     */
+    private static final class GenerationGenerator implements SplittableGenerator<String> {
+
+        private final int generation;
+
+        GenerationGenerator(final int generation) {
+            this.generation = generation;
+        }
+
+        @Override
+        public GenerationGenerator split() {
+            return new GenerationGenerator(generation + 1);
+        }
+
+        @Override
+        public String next() {
+            return "generation" + generation;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package au.com.paulmurphy.generators.http;
+
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class ResponseBlockGeneratorTest {
+
+    private static final long SEED = 42L;
+    private static final int SAMPLES = 2000;
+    private static final String[] REASONS =
+            {"", "Informational", "Success", "Redirection", "Client Error", "Server Error"};
+
+    @Test
+    public void shouldProduceWellFormedBlocks() {
+        ResponseBlockGenerator underTest = new ResponseBlockGenerator();
+        Set<Integer> codes = new HashSet<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            String[] lines = text(underTest.next()).split("\r\n", -1);
+
+            assertThat(lines.length, is(5));
+            int code = Integer.parseInt(lines[0].substring(9, 12));
+            assertTrue(StatusCodeGenerator.ALL_CODES.contains(code));
+            assertThat(lines[0], is(equalTo("HTTP/1.1 " + code + " " + REASONS[code / 100])));
+            assertTrue(lines[1], lines[1].startsWith("Content-Type: "));
+            assertTrue(lines[1], MimeTypeGenerator.ALL_MIME_TYPES.contains(lines[1].substring(14)));
+            assertThat(lines[2], is(equalTo("Content-Length: 0")));
+            assertThat(lines[3] + lines[4], is(equalTo("")));
+            codes.add(code);
+        }
+        assertThat(codes, is(equalTo(new HashSet<>(StatusCodeGenerator.ALL_CODES))));
+    }
+
+    @Test
+    public void nextShouldReuseADirectBuffer() {
+        ResponseBlockGenerator underTest = new ResponseBlockGenerator(SEED);
+        ByteBuffer first = underTest.next();
+
+        assertTrue(first.isDirect());
+        assertThat(first.position(), is(0));
+        assertThat(first.capacity(), is(underTest.maxBlockSize()));
+        assertThat(underTest.next(), is(sameInstance(first)));
+    }
+
+    @Test
+    public void nextIntoShouldWriteAtThePositionOfTheBuffer() {
+        ByteBuffer dest = ByteBuffer.allocate(new ResponseBlockGenerator().maxBlockSize() + 3);
+        dest.put(new byte[] {'a', 'b', 'c'});
+
+        int written = new ResponseBlockGenerator(SEED).nextInto(dest);
+
+        assertThat(dest.position(), is(3 + written));
+        dest.flip();
+        ByteBuffer expected = new ResponseBlockGenerator(SEED).next();
+        assertThat(written, is(expected.remaining()));
+        dest.position(3);
+        assertThat(dest, is(equalTo(expected)));
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void nextIntoShouldFailWhenTheBlockDoesNotFit() {
+        new ResponseBlockGenerator().nextInto(ByteBuffer.allocate(8));
+    }
+
+    @Test
+    public void maxBlockSizeShouldAddUpTheLongestParts() {
+        // "HTTP/1.1 " + "100" + " Informational" + "\r\nContent-Type: " + "application/x-java-serialized-object"
+        // + "\r\nContent-Length: 0\r\n\r\n"
+        assertThat(new ResponseBlockGenerator().maxBlockSize(), is(9 + 3 + 14 + 16 + 36 + 23));
+    }
+
+    @Test
+    public void seededBlocksShouldBeReproducible() {
+        assertThat(blocks(new ResponseBlockGenerator(SEED), 50),
+                is(equalTo(blocks(new ResponseBlockGenerator(SEED), 50))));
+        assertThat(blocks(new ResponseBlockGenerator(SEED), 50),
+                is(not(equalTo(blocks(new ResponseBlockGenerator(SEED + 1), 50)))));
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        ResponseBlockGenerator drawn = new ResponseBlockGenerator(SEED);
+        blocks(drawn, 100);
+
+        assertThat(blocks(new ResponseBlockGenerator(SEED).skip(100), 10), is(equalTo(blocks(drawn, 10))));
+        assertThat(blocks(new ResponseBlockGenerator(SEED).skip(0), 10),
+                is(equalTo(blocks(new ResponseBlockGenerator(SEED), 10))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedBlocksWithoutASeed() {
+        RandomConfiguration.setSeed(SEED);
+        ResponseBlockGenerator drawn = new ResponseBlockGenerator();
+        blocks(drawn, 10);
+        List<String> expected = blocks(drawn, 10);
+
+        RandomConfiguration.setSeed(SEED);
+        assertThat(blocks(new ResponseBlockGenerator().skip(10), 10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void splitShouldProduceADifferentStream() {
+        ResponseBlockGenerator parent = new ResponseBlockGenerator(SEED);
+        ResponseBlockGenerator split = parent.split();
+
+        assertFalse(blocks(split, 20).equals(blocks(parent, 20)));
+    }
+
+    @Test
+    public void shouldRejectANegativeSkip() {
+        try {
+            new ResponseBlockGenerator().skip(-1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("n must not be negative")));
+        }
+    }
+
+    private static List<String> blocks(final ResponseBlockGenerator generator, final int n) {
+        List<String> blocks = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            blocks.add(text(generator.next()));
+        }
+        return blocks;
+    }
+
+    private static String text(final ByteBuffer block) {
+        return StandardCharsets.US_ASCII.decode(block).toString();
+    }
+}
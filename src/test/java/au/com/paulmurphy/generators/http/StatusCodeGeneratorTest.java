@@ -1,16 +1,41 @@
 package au.com.paulmurphy.generators.http;
 
+import au.com.paulmurphy.generators.IntGenerator;
+import au.com.paulmurphy.generators.Rejections;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import net.java.quickcheck.Generator;
 import net.java.quickcheck.characteristic.AbstractCharacteristic;
 import net.java.quickcheck.generator.CombinedGenerators;
+import net.java.quickcheck.generator.distribution.RandomConfiguration;
 import net.java.quickcheck.generator.iterable.Iterables;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 import static net.java.quickcheck.QuickCheck.forAll;
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isIn;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 
@@ -25,6 +50,9 @@ import static au.com.paulmurphy.generators.http.StatusCodeGenerator.SERVER_CODES
  */
 public class StatusCodeGeneratorTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void allCodesShouldNotGenerateValuesLowerThan100() {
         forAll(StatusCodeGenerator.allCodes(), new AbstractCharacteristic<Integer>() {
@@ -73,4 +101,292 @@ public class StatusCodeGeneratorTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    public void nextIntShouldOnlyGenerateSuccessCodes() {
+        StatusCodeGenerator underTest = StatusCodeGenerator.successCodes();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(underTest.nextInt(), isIn(SUCCESS_CODES));
+        }
+    }
+
+    @Test
+    public void asAnIntGeneratorShouldProduceTheSameCodes() {
+        IntGenerator codes = StatusCodeGenerator.allCodes(42L);
+        StatusCodeGenerator boxed = StatusCodeGenerator.allCodes(42L);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(codes.nextInt(), is(equalTo(boxed.next())));
+        }
+        assertTrue(boxed.asGenerator() == boxed);
+    }
+
+    @Test
+    public void nextIntShouldGenerateEveryCode() {
+        StatusCodeGenerator underTest = StatusCodeGenerator.allCodes();
+
+        int[] codes = underTest.fill(new int[10000]);
+
+        for (Integer code : StatusCodeGenerator.ALL_CODES) {
+            assertTrue("Missing " + code, Arrays.stream(codes).anyMatch(c -> c == code));
+        }
+    }
+
+    @Test
+    public void fillShouldNotIncludeExcludedValues() {
+        List<Integer> excluded = Arrays.asList(200, 404, 500);
+        StatusCodeGenerator underTest = StatusCodeGenerator.exclude(excluded);
+
+        int[] dest = new int[5000];
+        assertThat(underTest.fill(dest), is(dest));
+
+        for (int code : dest) {
+            assertFalse("Contains excluded value", excluded.contains(code));
+            assertThat(code, isIn(StatusCodeGenerator.ALL_CODES));
+        }
+    }
+
+    @Test
+    public void intsShouldProduceTheRequestedNumberOfCodes() {
+        StatusCodeGenerator underTest = StatusCodeGenerator.successCodes();
+
+        assertThat(underTest.ints(1000).filter(SUCCESS_CODES::contains).count(), is(equalTo(1000L)));
+        assertThat(underTest.ints(0).count(), is(equalTo(0L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intsShouldRejectNegativeSizes() {
+        StatusCodeGenerator.allCodes().ints(-1);
+    }
+
+    @Test
+    public void excludingEveryCodeShouldFail() {
+        try {
+            StatusCodeGenerator.exclude(StatusCodeGenerator.ALL_CODES);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("at least one status code must remain")));
+        }
+    }
+
+    @Test
+    public void excludingAllButOneCodeShouldOnlyGenerateThatCode() {
+        List<Integer> excluded = new ArrayList<>(StatusCodeGenerator.ALL_CODES);
+        excluded.removeAll(Arrays.asList(418));
+
+        StatusCodeGenerator underTest = StatusCodeGenerator.exclude(excluded);
+
+        assertThat(underTest.next(), is(equalTo(418)));
+        assertThat(underTest.nextInt(), is(equalTo(418)));
+    }
+
+    @Test
+    public void nextBatchShouldProduceTheRequestedNumberOfCodes() {
+        List<Integer> batch = StatusCodeGenerator.successCodes().nextBatch(500);
+
+        assertThat(batch.size(), is(equalTo(500)));
+        for (Integer code : batch) {
+            assertThat(code, isIn(SUCCESS_CODES));
+        }
+    }
+
+    @Test
+    public void fillShouldOnlyWriteTheRequestedRange() {
+        Integer[] dest = new Integer[10];
+
+        StatusCodeGenerator.exclude(Arrays.asList(200)).fill(dest, 2, 5);
+
+        for (int i = 0; i < dest.length; i++) {
+            if (i < 2 || i >= 7) {
+                assertThat(dest[i], is(nullValue()));
+            } else {
+                assertThat(dest[i], isIn(StatusCodeGenerator.ALL_CODES));
+                assertThat(dest[i], is(not(equalTo(200))));
+            }
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectRangesOutsideTheArray() {
+        StatusCodeGenerator.allCodes().fill(new Integer[10], 6, 5);
+    }
+
+    @Test
+    public void nextBatchShouldAllowEmptyBatches() {
+        assertTrue(StatusCodeGenerator.allCodes().nextBatch(0).isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fillShouldRejectNegativeLengths() {
+        StatusCodeGenerator.allCodes().fill(new Integer[3], 2, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nextBatchShouldRejectNegativeSizes() {
+        StatusCodeGenerator.allCodes().nextBatch(-1);
+    }
+
+    @Test
+    public void splitShouldKeepTheExcludedCodes() {
+        List<Integer> excluded = new ArrayList<>(StatusCodeGenerator.ALL_CODES);
+        excluded.removeAll(Arrays.asList(418, 500));
+
+        StatusCodeGenerator underTest = StatusCodeGenerator.exclude(excluded).split();
+
+        for (int code : underTest.fill(new int[100])) {
+            assertThat(code, isIn(Arrays.asList(418, 500)));
+        }
+    }
+
+    @Test
+    public void splitsShouldDrawIndependently() {
+        StatusCodeGenerator parent = StatusCodeGenerator.allCodes();
+        StatusCodeGenerator child = parent.split();
+
+        assertThat(child, is(not(parent)));
+        assertThat(child.fill(new int[100]), is(not(equalTo(child.split().fill(new int[100])))));
+    }
+
+    @Test
+    public void seededFactoriesShouldBeReproducible() {
+        assertThat(StatusCodeGenerator.allCodes(42L).fill(new int[100]),
+                is(equalTo(StatusCodeGenerator.allCodes(42L).fill(new int[100]))));
+        assertThat(StatusCodeGenerator.successCodes(42L).nextBatch(100),
+                is(equalTo(StatusCodeGenerator.successCodes(42L).nextBatch(100))));
+        assertThat(StatusCodeGenerator.allCodes(42L).fill(new int[100]),
+                is(not(equalTo(StatusCodeGenerator.allCodes(43L).fill(new int[100])))));
+    }
+
+    @Test
+    public void seededFactoriesShouldKeepTheirCodes() {
+        for (Integer code : StatusCodeGenerator.successCodes(42L).nextBatch(100)) {
+            assertThat(code, isIn(SUCCESS_CODES));
+        }
+        for (Integer code : StatusCodeGenerator.exclude(CLIENT_ERROR_CODES, 42L).nextBatch(100)) {
+            assertThat(code, not(isIn(CLIENT_ERROR_CODES)));
+        }
+    }
+
+    @Test
+    public void seededSkipShouldStartWhereDrawingWouldHaveReached() {
+        StatusCodeGenerator drawn = StatusCodeGenerator.allCodes(42L);
+        drawn.fill(new int[1000]);
+
+        StatusCodeGenerator skipped = StatusCodeGenerator.allCodes(42L).skip(1000);
+
+        assertThat(skipped.nextBatch(100), is(equalTo(drawn.nextBatch(100))));
+    }
+
+    @Test
+    public void skipShouldDrawTheSkippedCodesWithoutASeed() {
+        RandomConfiguration.setSeed(42L);
+        StatusCodeGenerator drawn = StatusCodeGenerator.allCodes();
+        drawn.fill(new int[10]);
+        List<Integer> expected = drawn.nextBatch(10);
+
+        RandomConfiguration.setSeed(42L);
+        assertThat(StatusCodeGenerator.allCodes().skip(10).nextBatch(10), is(equalTo(expected)));
+    }
+
+    @Test
+    public void skipShouldAllowSkippingNothing() {
+        StatusCodeGenerator underTest = StatusCodeGenerator.allCodes(42L);
+
+        assertThat(underTest.skip(0).nextBatch(10), is(equalTo(StatusCodeGenerator.allCodes(42L).nextBatch(10))));
+    }
+
+    @Test
+    public void skipShouldRejectNegativeCounts() {
+        try {
+            StatusCodeGenerator.allCodes().skip(-1);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("n must not be negative")));
+        }
+    }
+
+    @Test
+    public void allCodesShouldListEachCodeOnce() {
+        assertThat(new HashSet<>(StatusCodeGenerator.ALL_CODES).size(), is(StatusCodeGenerator.ALL_CODES.size()));
+    }
+
+    @Test
+    public void fromHistogramShouldDrawCodesInProportionToTheirCounts() {
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        histogram.put(200, 900_000L);
+        histogram.put(304, 60_000L);
+        histogram.put(404, 30_000L);
+        histogram.put(500, 10_000L);
+        histogram.put(418, 0L);
+
+        int[] counts = new int[600];
+        for (int code : StatusCodeGenerator.fromHistogram(histogram, 42L).fill(new int[100_000])) {
+            counts[code]++;
+        }
+
+        assertThat(counts[200], is(both(greaterThan(89_500)).and(lessThan(90_500))));
+        assertThat(counts[304], is(both(greaterThan(5_750)).and(lessThan(6_250))));
+        assertThat(counts[404], is(both(greaterThan(2_800)).and(lessThan(3_200))));
+        assertThat(counts[500], is(both(greaterThan(880)).and(lessThan(1_120))));
+        assertThat(counts[418], is(0));
+        assertThat(counts[200] + counts[304] + counts[404] + counts[500], is(100_000));
+    }
+
+    @Test
+    public void fromHistogramShouldReadAHistogramFile() throws IOException {
+        Path file = folder.newFile("histogram.txt").toPath();
+        Files.write(file, Arrays.asList("# code count", "200 75", "", "  404\t20  ", "200 5"), StandardCharsets.UTF_8);
+
+        assertThat(StatusCodeGenerator.readHistogram(file), is(equalTo(ImmutableMap.of(200, 80L, 404, 20L))));
+        Set<Integer> codes = new HashSet<>(StatusCodeGenerator.fromHistogram(file).nextBatch(200));
+        assertThat(codes, is(equalTo(ImmutableSet.of(200, 404))));
+        assertThat(StatusCodeGenerator.fromHistogram(file, 42L).nextBatch(100),
+                is(equalTo(StatusCodeGenerator.fromHistogram(ImmutableMap.of(200, 80L, 404, 20L), 42L).nextBatch(100))));
+    }
+
+    @Test
+    public void fromHistogramShouldRejectMalformedLines() throws IOException {
+        for (String line : new String[] {"200", "200 10 3", "two 10", "200 ten"}) {
+            Path file = folder.newFile().toPath();
+            Files.write(file, Arrays.asList("200 1", line), StandardCharsets.UTF_8);
+            try {
+                StatusCodeGenerator.fromHistogram(file);
+
+                fail("expected an IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                assertThat(ex.getMessage(), is(equalTo("line 2 must be a status code and a count: " + line)));
+            }
+        }
+    }
+
+    @Test
+    public void fromHistogramShouldRejectInvalidHistograms() {
+        assertRejected(null, "histogram is required");
+        assertRejected(Collections.emptyMap(), "histogram must not be empty");
+        assertRejected(ImmutableMap.of(99, 1L), "status codes must be between 100 and 599");
+        assertRejected(ImmutableMap.of(600, 1L), "status codes must be between 100 and 599");
+        assertRejected(ImmutableMap.of(200, -1L), "counts must not be negative");
+        assertRejected(ImmutableMap.of(200, 0L, 404, 0L), "histogram must have a positive count");
+        assertThat(StatusCodeGenerator.fromHistogram(ImmutableMap.of(100, 1L, 599, 0L)).nextInt(), is(100));
+        assertThat(StatusCodeGenerator.fromHistogram(ImmutableMap.of(100, 0L, 599, 1L)).nextInt(), is(599));
+    }
+
+    @Test
+    public void fromHistogramShouldBeReproducibleSplittableAndSkippable() {
+        Map<Integer, Long> histogram = ImmutableMap.of(200, 7L, 301, 2L, 503, 1L);
+        StatusCodeGenerator drawn = StatusCodeGenerator.fromHistogram(histogram, 42L);
+        drawn.nextBatch(100);
+
+        assertThat(StatusCodeGenerator.fromHistogram(histogram, 42L).skip(100).nextBatch(50),
+                is(equalTo(drawn.nextBatch(50))));
+        Set<Integer> split = new HashSet<>(StatusCodeGenerator.fromHistogram(ImmutableMap.of(204, 1L, 205, 0L))
+                .split().nextBatch(50));
+        assertThat(split, is(equalTo(ImmutableSet.of(204))));
+    }
+
+    private static void assertRejected(final Map<Integer, Long> histogram, final String message) {
+        Rejections.assertRejected(() -> StatusCodeGenerator.fromHistogram(histogram, 42L), message);
+    }
+}
@@ -0,0 +1,242 @@
+package au.com.paulmurphy.generators.load;
+
+import au.com.paulmurphy.generators.SplittableGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the driver against the Http server built into the JDK.
+ *
+ * @author Paul Murphy
+ */
+public class LoadDriverTest {
+
+    private static final long SEED = 42L;
+    private static final byte[] BODY = "ok".getBytes(StandardCharsets.US_ASCII);
+
+    private final Set<String> paths = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final Set<String> accepted = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private volatile int status = 200;
+    private volatile long delayMillis;
+
+    private HttpServer server;
+    private URI target;
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            paths.add(exchange.getRequestURI().getPath());
+            accepted.add(exchange.getRequestHeaders().getFirst("Accept"));
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(status, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        target = URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void shouldSendEveryRequestToTheTarget() {
+        RequestGenerator requests = new RequestGenerator(SEED, 3);
+
+        LoadReport report = LoadDriver.to(target).concurrency(4).run(requests, 200);
+
+        assertThat(report.requests(), is(200L));
+        assertThat(report.errors(), is(0L));
+        LoadRequest first = new RequestGenerator(SEED, 3).split().next();
+        assertThat(paths.contains(first.path()), is(true));
+        assertThat(accepted.contains(first.headers().get(first.headers().size() - 1).getSecond()), is(true));
+        assertThat(report.latencyNanos(0), is(greaterThan(0L)));
+        assertThat(report.latencyNanos(50), is(greaterThanOrEqualTo(report.latencyNanos(0))));
+        assertThat(report.maxLatencyNanos(), is(greaterThanOrEqualTo(report.latencyNanos(50))));
+        assertThat(report.generationNanos(), is(greaterThan(0L)));
+        assertThat(report.elapsedNanos(), is(greaterThanOrEqualTo(report.maxLatencyNanos())));
+        assertThat(report.elapsedNanos(), is(lessThan(TimeUnit.MINUTES.toNanos(1))));
+        assertThat(report.generationNanos(), is(lessThan(4 * report.elapsedNanos())));
+    }
+
+    @Test
+    public void shouldAppendPathsToATargetEndingWithASlash() {
+        LoadReport report = LoadDriver.to(URI.create(target + "/")).concurrency(1)
+                .run(new RequestGenerator(SEED, 0), 10);
+
+        assertThat(report.errors(), is(0L));
+        for (String path : paths) {
+            assertThat(path.startsWith("//"), is(false));
+        }
+    }
+
+    @Test
+    public void shouldCountServerErrorsButNotClientErrors() {
+        status = 400;
+        assertThat(LoadDriver.to(target).run(new RequestGenerator(SEED, 1), 20).errors(), is(0L));
+
+        status = 500;
+        assertThat(LoadDriver.to(target).run(new RequestGenerator(SEED, 1), 20).errors(), is(20L));
+    }
+
+    @Test
+    public void shouldCountRequestsWhichTimeOut() {
+        delayMillis = 1000;
+
+        LoadReport report = LoadDriver.to(target).concurrency(2).timeout(Duration.ofMillis(100))
+                .run(new RequestGenerator(SEED, 1), 2);
+
+        assertThat(report.errors(), is(2L));
+        assertThat(report.maxLatencyNanos(), is(lessThan(TimeUnit.MILLISECONDS.toNanos(900))));
+    }
+
+    @Test
+    public void shouldSendFromDaemonPlatformThreads() {
+        final Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        SplittableGenerator<LoadRequest> recording = new SplittableGenerator<LoadRequest>() {
+            private final RequestGenerator requests = new RequestGenerator(SEED, 0);
+
+            @Override
+            public SplittableGenerator<LoadRequest> split() {
+                return this;
+            }
+
+            @Override
+            public synchronized LoadRequest next() {
+                Thread thread = Thread.currentThread();
+                threads.add(thread.getName() + (thread.isDaemon() ? " daemon" : ""));
+                return requests.next();
+            }
+        };
+
+        LoadDriver.to(target).concurrency(1).run(recording, 3);
+
+        assertThat(threads.size(), is(1));
+        assertThat(threads.iterator().next(), is(equalTo("load-driver-1 daemon")));
+    }
+
+    @Test
+    public void shouldCountRequestsWhichCannotConnect() {
+        server.stop(0);
+
+        LoadReport report = LoadDriver.to(target).concurrency(2).timeout(Duration.ofSeconds(1))
+                .run(new RequestGenerator(SEED, 1), 10);
+
+        assertThat(report.requests(), is(10L));
+        assertThat(report.errors(), is(10L));
+    }
+
+    @Test
+    public void shouldStopTheOtherWorkersAndRethrowWhenAGeneratorFails() {
+        Splits requests = new Splits(new AtomicInteger(), new AtomicInteger(), false);
+
+        try {
+            LoadDriver.to(target).concurrency(2).run(requests, 1000);
+
+            fail("expected an IllegalStateException");
+        } catch (IllegalStateException ex) {
+            assertThat(ex.getMessage(), is(equalTo("broken")));
+        }
+        assertThat(requests.produced.get(), is(lessThan(500)));
+    }
+
+    @Test
+    public void anEmptyRunShouldSendNothing() {
+        LoadReport report = LoadDriver.to(target).run(new RequestGenerator(SEED, 1), 0);
+
+        assertThat(report.requests(), is(0L));
+        assertThat(paths.isEmpty(), is(true));
+    }
+
+    @Test
+    public void virtualThreadsShouldNeedJava21() {
+        assertThat(ThreadMode.PLATFORM.supported(), is(true));
+        assertThat(ThreadMode.VIRTUAL.supported(), is(false));
+        try {
+            LoadDriver.to(target).threadMode(ThreadMode.VIRTUAL).run(new RequestGenerator(SEED, 1), 1);
+
+            fail("expected an UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            assertThat(ex.getMessage(), is(equalTo("virtual threads need Java 21")));
+        }
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        LoadDriver underTest = LoadDriver.to(target);
+        assertRejected(() -> LoadDriver.to(null), "target is required");
+        assertRejected(() -> LoadDriver.to(URI.create("ftp://localhost")), "target must be an http or https URI");
+        assertRejected(() -> LoadDriver.to(URI.create("/relative")), "target must be an http or https URI");
+        assertRejected(() -> underTest.threadMode(null), "threadMode is required");
+        assertRejected(() -> underTest.concurrency(0), "concurrency must be positive");
+        assertRejected(() -> underTest.timeout(null), "timeout is required");
+        assertRejected(() -> underTest.timeout(Duration.ofNanos(999_999)), "timeout must be at least 1 ms");
+        assertRejected(() -> underTest.run(null, 1), "requests is required");
+        assertRejected(() -> underTest.run(new RequestGenerator(SEED, 1), -1), "n must not be negative");
+    }
+
+    /**
+     * Hands out splits which produce requests, except for the first split, which fails.
+     */
+    private static final class Splits implements SplittableGenerator<LoadRequest> {
+
+        private final AtomicInteger splits;
+        private final AtomicInteger produced;
+        private final boolean broken;
+        private final RequestGenerator requests = new RequestGenerator(SEED, 0);
+
+        Splits(final AtomicInteger splits, final AtomicInteger produced, final boolean broken) {
+            this.splits = splits;
+            this.produced = produced;
+            this.broken = broken;
+        }
+
+        @Override
+        public Splits split() {
+            return new Splits(splits, produced, splits.incrementAndGet() == 1);
+        }
+
+        @Override
+        public LoadRequest next() {
+            if (broken) {
+                throw new IllegalStateException("broken");
+            }
+            produced.incrementAndGet();
+            return requests.next();
+        }
+    }
+}
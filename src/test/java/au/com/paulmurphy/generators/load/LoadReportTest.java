@@ -0,0 +1,61 @@
+package au.com.paulmurphy.generators.load;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class LoadReportTest {
+
+    @Test
+    public void shouldReportExactPercentiles() {
+        long[] latencies = new long[1000];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (i + 1) * 1000L;
+        }
+
+        LoadReport underTest = new LoadReport(3, 2_000_000_000L, 500_000_000L, latencies);
+
+        assertThat(underTest.requests(), is(1000L));
+        assertThat(underTest.errors(), is(3L));
+        assertThat(underTest.elapsedNanos(), is(2_000_000_000L));
+        assertThat(underTest.generationNanos(), is(500_000_000L));
+        assertThat(underTest.requestsPerSecond(), is(closeTo(500, 1e-9)));
+        assertThat(underTest.latencyNanos(0), is(1000L));
+        assertThat(underTest.latencyNanos(50), is(500_000L));
+        assertThat(underTest.latencyNanos(99), is(990_000L));
+        assertThat(underTest.latencyNanos(99.95), is(1_000_000L));
+        assertThat(underTest.maxLatencyNanos(), is(1_000_000L));
+        assertThat(underTest.toString(), is(equalTo("1000 requests (3 errors) in 2.000 s, 500 requests/s, "
+                + "latency p50 500000 ns, p99 990000 ns, p99.9 1000000 ns, max 1000000 ns, 0.500 s generating requests")));
+    }
+
+    @Test
+    public void anEmptyRunShouldReportZeros() {
+        LoadReport underTest = new LoadReport(0, 0, 0, new long[0]);
+
+        assertThat(underTest.requestsPerSecond(), is(0.0));
+        assertThat(underTest.latencyNanos(50), is(0L));
+        assertThat(underTest.maxLatencyNanos(), is(0L));
+    }
+
+    @Test
+    public void shouldRejectPercentilesOutOfRange() {
+        LoadReport underTest = new LoadReport(0, 1, 0, new long[]{1});
+        for (double percentile : new double[]{-0.1, 100.1}) {
+            try {
+                underTest.latencyNanos(percentile);
+
+                fail("expected an IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                assertThat(ex.getMessage(), is(equalTo("percentile must be between 0 and 100")));
+            }
+        }
+    }
+}
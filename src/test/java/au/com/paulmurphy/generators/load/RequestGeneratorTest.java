@@ -0,0 +1,89 @@
+package au.com.paulmurphy.generators.load;
+
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.MimeTypeGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import net.java.quickcheck.collection.Pair;
+import org.junit.Test;
+
+import java.util.List;
+
+import static au.com.paulmurphy.generators.Rejections.assertRejected;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.isIn;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class RequestGeneratorTest {
+
+    private static final long SEED = 42L;
+
+    @Test
+    public void shouldCombineThePathHeaderAndMimeTypeGenerators() {
+        PathGenerator paths = new PathGenerator(SEED);
+        HeaderGenerator headers = new HeaderGenerator(SEED + 1);
+        MimeTypeGenerator mimeTypes = MimeTypeGenerator.allMimeTypes(SEED + 2);
+        RequestGenerator underTest = new RequestGenerator(SEED, 2);
+
+        for (int i = 0; i < 100; i++) {
+            LoadRequest request = underTest.next();
+
+            assertThat(request.path(), is(equalTo(paths.next())));
+            List<Pair<String, String>> expected = new java.util.ArrayList<>();
+            for (int h = 0; h < 2; h++) {
+                Pair<String, String> header = headers.next();
+                String name = header.getFirst().split(" ")[0];
+                if (!"Accept".equals(name)) {
+                    expected.add(new Pair<>(name, header.getSecond()));
+                }
+            }
+            expected.add(new Pair<>("Accept", mimeTypes.next()));
+            assertThat(request.headers(), is(equalTo(expected)));
+        }
+    }
+
+    @Test
+    public void shouldSendEveryHeaderNameAsItAppearsOnTheWire() {
+        RequestGenerator underTest = new RequestGenerator(SEED, HeaderGenerator.HEADER_NAMES.size());
+
+        LoadRequest request = underTest.next();
+
+        assertThat(request.headers().size(), is(HeaderGenerator.HEADER_NAMES.size()));
+        assertThat(new Pair<>("Referer", request.headers().get(26).getSecond()), isIn(request.headers()));
+        assertThat(request.headers().get(request.headers().size() - 1).getFirst(), is(equalTo("Accept")));
+        assertThat(request.toString(), is(equalTo("GET " + request.path() + " " + request.headers())));
+    }
+
+    @Test
+    public void shouldSendOnlyAcceptWithoutHeaders() {
+        LoadRequest request = new RequestGenerator(SEED, 0).next();
+
+        assertThat(request.headers().size(), is(1));
+        assertThat(request.headers().get(0).getFirst(), is(equalTo("Accept")));
+    }
+
+    @Test
+    public void splitShouldProduceOtherRequests() {
+        RequestGenerator underTest = new RequestGenerator(SEED, 2);
+
+        RequestGenerator split = underTest.split();
+
+        assertThat(split.next().toString(), is(not(equalTo(underTest.next().toString()))));
+        assertThat(underTest.split().next().toString(), is(not(equalTo(split.next().toString()))));
+    }
+
+    @Test
+    public void shouldRejectInvalidArguments() {
+        assertRejected(() -> new RequestGenerator(SEED, -1), "headersPerRequest must not be negative");
+        assertRejected(() -> new RequestGenerator(null, new HeaderGenerator(), MimeTypeGenerator.allMimeTypes(), 1),
+                "paths is required");
+        assertRejected(() -> new RequestGenerator(new PathGenerator(), null, MimeTypeGenerator.allMimeTypes(), 1),
+                "headers is required");
+        assertRejected(() -> new RequestGenerator(new PathGenerator(), new HeaderGenerator(), null, 1),
+                "mimeTypes is required");
+    }
+}
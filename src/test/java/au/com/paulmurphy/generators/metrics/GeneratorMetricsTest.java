@@ -0,0 +1,78 @@
+package au.com.paulmurphy.generators.metrics;
+
+import au.com.paulmurphy.generators.http.MimeTypeGenerator;
+import org.junit.Test;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static au.com.paulmurphy.generators.metrics.InstrumentedGeneratorTest.sequence;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class GeneratorMetricsTest {
+
+    @Test
+    public void shouldExposeTheMetricsThroughJmx() throws JMException {
+        InstrumentedGenerator<String> generator = InstrumentedGenerator.of("text, \"quoted\"",
+                MimeTypeGenerator.allMimeTypes(42L), sequence(0, 10, 0, 20, 0, 30, 0, 4000), sequence(0, 8, 8, 8, 8, 8, 8, 40));
+        for (int i = 0; i < 4; i++) {
+            generator.next();
+        }
+        GeneratorMetrics underTest = generator.metrics();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        ObjectName name = underTest.register();
+        try {
+            assertThat(name.getKeyProperty("type"), is(equalTo("GeneratorMetrics")));
+            assertThat(server.getAttribute(name, "Name"), is((Object) "text, \"quoted\""));
+            assertThat(server.getAttribute(name, "Count"), is((Object) 4L));
+            assertThat(server.getAttribute(name, "EnsuredCount"), is((Object) 4L));
+            assertThat(server.getAttribute(name, "RandomCount"), is((Object) 0L));
+            assertThat((Double) server.getAttribute(name, "ValuesPerSecond"), is(closeTo(4e9 / 4060, 0.001)));
+            assertThat((Double) server.getAttribute(name, "MeanLatencyNanos"), is(closeTo(1015, 0.001)));
+            assertThat(server.getAttribute(name, "MedianLatencyNanos"), is((Object) 20L));
+            assertThat(server.getAttribute(name, "P99LatencyNanos"), is((Object) 4000L));
+            assertThat(server.getAttribute(name, "P999LatencyNanos"), is((Object) 4000L));
+            assertThat(server.getAttribute(name, "MaxLatencyNanos"), is((Object) 4000L));
+            assertThat((Double) server.getAttribute(name, "AllocatedBytesPerValue"), is(closeTo(10, 0.001)));
+            assertThat(underTest.toString(), is(equalTo(underTest.snapshot().toString())));
+        } finally {
+            underTest.unregister();
+        }
+        assertThat(server.isRegistered(name), is(false));
+    }
+
+    @Test
+    public void registeringTheSameNameTwiceShouldFail() throws JMException {
+        GeneratorMetrics first = InstrumentedGenerator.of("twice", MimeTypeGenerator.text()).metrics();
+        GeneratorMetrics second = InstrumentedGenerator.of("twice", MimeTypeGenerator.text()).metrics();
+        first.register();
+        try {
+            second.register();
+
+            fail("expected an InstanceAlreadyExistsException");
+        } catch (InstanceAlreadyExistsException ex) {
+            assertThat(ex.getMessage().contains("twice"), is(true));
+        } finally {
+            first.unregister();
+        }
+        try {
+            first.unregister();
+
+            fail("expected an InstanceNotFoundException");
+        } catch (InstanceNotFoundException ex) {
+            assertThat(ex.getMessage().contains("twice"), is(true));
+        }
+    }
+}
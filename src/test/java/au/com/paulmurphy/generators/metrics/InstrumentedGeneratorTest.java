@@ -0,0 +1,179 @@
+package au.com.paulmurphy.generators.metrics;
+
+import au.com.paulmurphy.generators.SplittableGenerator;
+import au.com.paulmurphy.generators.http.HeaderGenerator;
+import au.com.paulmurphy.generators.http.MimeTypeGenerator;
+import au.com.paulmurphy.generators.http.PathGenerator;
+import net.java.quickcheck.Generator;
+import net.java.quickcheck.collection.Pair;
+import org.junit.Test;
+
+import java.util.function.LongSupplier;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * @author Paul Murphy
+ */
+public class InstrumentedGeneratorTest {
+
+    private static final long SEED = 42L;
+
+    @Test
+    public void shouldPassTheValuesOfTheGeneratorThrough() {
+        PathGenerator expected = new PathGenerator(SEED);
+        InstrumentedGenerator<String> underTest = InstrumentedGenerator.of("paths", new PathGenerator(SEED));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(underTest.next(), is(equalTo(expected.next())));
+        }
+        MetricsSnapshot snapshot = underTest.metrics().snapshot();
+        assertThat(snapshot.name(), is(equalTo("paths")));
+        assertThat(snapshot.count(), is(100L));
+        assertThat(snapshot.randomCount(), is(100L));
+        assertThat(snapshot.allocatedBytesPerValue(), is(greaterThan(0.0)));
+        assertThat(snapshot.valuesPerSecond(), is(greaterThan(0.0)));
+    }
+
+    @Test
+    public void shouldRecordTheLatencyAndAllocationsOfEachValue() {
+        InstrumentedGenerator<String> underTest = InstrumentedGenerator.of("fixed", () -> "value",
+                sequence(0, 10, 100, 130, 1000, 2000), sequence(0, 24, 24, 24, 24, 72));
+
+        underTest.next();
+        underTest.next();
+        underTest.next();
+
+        MetricsSnapshot snapshot = underTest.metrics().snapshot();
+        assertThat(snapshot.count(), is(3L));
+        assertThat(snapshot.meanLatencyNanos(), is(closeTo(1040 / 3.0, 0.001)));
+        assertThat(snapshot.valuesPerSecond(), is(closeTo(3e9 / 1040, 0.001)));
+        assertThat(snapshot.latencyNanos(0), is(10L));
+        assertThat(snapshot.latencyNanos(33.3), is(10L));
+        assertThat(snapshot.latencyNanos(50), is(30L));
+        assertThat(snapshot.latencyNanos(100), is(1000L));
+        assertThat(snapshot.maxLatencyNanos(), is(1000L));
+        assertThat(snapshot.allocatedBytesPerValue(), is(closeTo(24.0, 0.001)));
+        assertThat(snapshot.toString(), is(equalTo("fixed: 3 values (0 ensured), 2884615 values/s, latency mean "
+                + "346.7 ns, p50 30 ns, p99 1000 ns, p99.9 1000 ns, max 1000 ns, 24.0 bytes/value")));
+    }
+
+    @Test
+    public void shouldReportLatenciesToWithinTheirBucket() {
+        InstrumentedGenerator<String> underTest = InstrumentedGenerator.of("fixed", () -> "value",
+                sequence(0, 1_000_000, 0, 1_015_000), null);
+
+        underTest.next();
+        underTest.next();
+
+        assertThat(underTest.metrics().snapshot().latencyNanos(50), is(1_015_000L));
+        assertThat(underTest.metrics().snapshot().latencyNanos(100), is(1_015_000L));
+    }
+
+    @Test
+    public void anEmptySnapshotShouldReportZeros() {
+        MetricsSnapshot snapshot = InstrumentedGenerator.of("empty", () -> "value", System::nanoTime, () -> 0)
+                .metrics().snapshot();
+
+        assertThat(snapshot.count(), is(0L));
+        assertThat(snapshot.valuesPerSecond(), is(0.0));
+        assertThat(snapshot.meanLatencyNanos(), is(0.0));
+        assertThat(snapshot.latencyNanos(99), is(0L));
+        assertThat(snapshot.maxLatencyNanos(), is(0L));
+        assertThat(snapshot.allocatedBytesPerValue(), is(0.0));
+    }
+
+    @Test
+    public void allocationsShouldBeReportedAsUnknownWhenTheyCannotBeMeasured() {
+        InstrumentedGenerator<String> underTest = InstrumentedGenerator.of("unmeasured", () -> "value",
+                System::nanoTime, null);
+
+        underTest.next();
+
+        assertThat(underTest.metrics().snapshot().allocatedBytesPerValue(), is(-1.0));
+    }
+
+    @Test
+    public void shouldSplitEnsuredFromRandomValues() {
+        InstrumentedGenerator<String> mimeTypes = InstrumentedGenerator.of("mime", MimeTypeGenerator.allMimeTypes(SEED));
+        InstrumentedGenerator<String> text = InstrumentedGenerator.of("text", MimeTypeGenerator.text(SEED));
+        InstrumentedGenerator<Pair<String, String>> headers = InstrumentedGenerator.of("headers", new HeaderGenerator(SEED));
+
+        for (int i = 0; i < 100; i++) {
+            mimeTypes.next();
+            text.next();
+            headers.next();
+        }
+
+        assertThat(mimeTypes.metrics().snapshot().ensuredCount(), is((long) MimeTypeGenerator.ALL_MIME_TYPES.size()));
+        assertThat(mimeTypes.metrics().snapshot().randomCount(),
+                is(100L - MimeTypeGenerator.ALL_MIME_TYPES.size()));
+        assertThat(text.metrics().snapshot().ensuredCount(), is(0L));
+        assertThat(headers.metrics().snapshot().ensuredCount(), is((long) HeaderGenerator.HEADER_NAMES.size()));
+        InstrumentedGenerator<String> weighted = InstrumentedGenerator.of("weighted",
+                MimeTypeGenerator.allMimeTypes(SEED).split());
+        weighted.next();
+        assertThat(weighted.metrics().snapshot().ensuredCount(), is(1L));
+    }
+
+    @Test
+    public void splitsShouldRecordIntoTheSameMetrics() {
+        InstrumentedGenerator<String> underTest = InstrumentedGenerator.of("paths", new PathGenerator(SEED));
+        InstrumentedGenerator<String> split = underTest.split();
+
+        underTest.next();
+        split.next();
+        split.next();
+
+        assertThat(split.metrics(), is(sameInstance(underTest.metrics())));
+        assertThat(underTest.metrics().snapshot().count(), is(3L));
+        split.next();
+        Generator<String> shared = () -> "shared";
+        assertThat(InstrumentedGenerator.of("shared", shared).split().next(), is(equalTo("shared")));
+        SplittableGenerator.splitIfPossible(underTest).next();
+        assertThat(underTest.metrics().snapshot().count(), is(5L));
+    }
+
+    @Test
+    public void shouldRejectMissingArguments() {
+        try {
+            InstrumentedGenerator.of(null, new PathGenerator());
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("name is required")));
+        }
+        try {
+            InstrumentedGenerator.of("paths", null);
+
+            fail("expected an IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            assertThat(ex.getMessage(), is(equalTo("generator is required")));
+        }
+    }
+
+    @Test
+    public void percentilesMustBeBetween0And100() {
+        MetricsSnapshot snapshot = InstrumentedGenerator.of("paths", new PathGenerator()).metrics().snapshot();
+        for (double percentile : new double[]{-0.1, 100.1}) {
+            try {
+                snapshot.latencyNanos(percentile);
+
+                fail("expected an IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                assertThat(ex.getMessage(), is(equalTo("percentile must be between 0 and 100")));
+            }
+        }
+    }
+
+    static LongSupplier sequence(final long... values) {
+        final int[] next = {0};
+        return () -> values[next[0]++];
+    }
+}
@@ -0,0 +1,59 @@
+package au.com.paulmurphy.generators.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author Paul Murphy
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallLatenciesShouldHaveABucketEach() {
+        for (int nanos = 0; nanos < 64; nanos++) {
+            assertThat(LatencyHistogram.bucket(nanos), is(nanos));
+            assertThat(LatencyHistogram.highestValue(nanos), is((long) nanos));
+        }
+    }
+
+    @Test
+    public void largerLatenciesShouldShareBucketsWithinThePrecision() {
+        assertThat(LatencyHistogram.bucket(64), is(64));
+        assertThat(LatencyHistogram.bucket(65), is(64));
+        assertThat(LatencyHistogram.bucket(66), is(65));
+        assertThat(LatencyHistogram.highestValue(64), is(65L));
+        assertThat(LatencyHistogram.bucket(1_000_000), is(LatencyHistogram.bucket(1_015_000)));
+        assertThat(LatencyHistogram.bucket(Long.MAX_VALUE), is(LatencyHistogram.BUCKETS - 1));
+        assertThat(LatencyHistogram.highestValue(LatencyHistogram.BUCKETS - 1), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void everyLatencyShouldFallWithinItsBucket() {
+        for (long nanos = 1; nanos > 0; nanos = nanos * 3 + 1) {
+            final int bucket = LatencyHistogram.bucket(nanos);
+            assertThat(nanos <= LatencyHistogram.highestValue(bucket), is(true));
+            assertThat(bucket == 0 || nanos > LatencyHistogram.highestValue(bucket - 1), is(true));
+            assertThat("within 1/32 of the latency",
+                    LatencyHistogram.highestValue(bucket) - nanos <= nanos / 32, is(true));
+        }
+    }
+
+    @Test
+    public void recordShouldCountEachLatencyInItsBucket() {
+        LatencyHistogram underTest = new LatencyHistogram();
+
+        underTest.record(7);
+        underTest.record(7);
+        underTest.record(-3);
+        underTest.record(1000);
+
+        long[] counts = underTest.counts();
+        assertThat(counts[7], is(2L));
+        assertThat(counts[0], is(1L));
+        assertThat(counts[LatencyHistogram.bucket(1000)], is(1L));
+        assertThat(counts.length, is(equalTo(LatencyHistogram.BUCKETS)));
+    }
+}